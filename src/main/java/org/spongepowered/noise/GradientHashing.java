@@ -0,0 +1,59 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise;
+
+/**
+ * The way gradient noise assigns a gradient vector to each lattice vertex.
+ *
+ * @see PermutationTable
+ */
+public enum GradientHashing {
+
+    /**
+     * Hashes the integer coordinates of each lattice vertex and the seed with
+     * a multiply-and-shift function, and picks one of 256 gradient vectors.
+     *
+     * <p>The hash is recomputed for every vertex, and the small number of
+     * gradient vectors can produce visible repetition at large scales. This
+     * is the original libnoise behaviour.</p>
+     */
+    ARITHMETIC,
+    /**
+     * Looks up each lattice vertex in a {@link PermutationTable} built from
+     * the seed, and picks one of 2048 gradient vectors.
+     *
+     * <p>The vertices of a lattice cell share most of their lookups, which
+     * makes hashing cheaper, and the larger gradient set hides the lattice
+     * better. The noise repeats every {@value PermutationTable#PERIOD} units
+     * along each axis.</p>
+     */
+    PERMUTATION
+
+}
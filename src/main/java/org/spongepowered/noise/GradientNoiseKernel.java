@@ -0,0 +1,502 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise;
+
+/**
+ * Coherent-noise functions specialized for one {@link NoiseQuality}.
+ *
+ * <p>The functions of {@link Noise} that take a {@link NoiseQuality} check
+ * it on every call. A kernel is bound to a single quality instead, so noise
+ * modules can pick one when their quality is set and evaluate every octave of
+ * every input value without checking the quality again. The output values are
+ * identical to those of the corresponding {@link Noise} functions.</p>
+ *
+ * <p>Kernels are immutable and may be shared between threads.</p>
+ */
+public abstract class GradientNoiseKernel {
+    private static final GradientNoiseKernel[] KERNELS = {new Fast(), new Standard(), new Best()};
+
+    private final NoiseQuality quality;
+
+    GradientNoiseKernel(final NoiseQuality quality) {
+        this.quality = quality;
+    }
+
+    /**
+     * Get the kernel for a noise quality.
+     *
+     * @param quality the noise quality
+     * @return the kernel
+     */
+    public static GradientNoiseKernel of(final NoiseQuality quality) {
+        return GradientNoiseKernel.KERNELS[quality.ordinal()];
+    }
+
+    /**
+     * Get the noise quality this kernel is specialized for.
+     *
+     * @return the noise quality
+     */
+    public NoiseQuality quality() {
+        return this.quality;
+    }
+
+    /**
+     * Generates a gradient-coherent-noise value.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param seed the random number seed
+     * @return the generated value
+     * @see Noise#gradientCoherentNoise3D(double, double, double, int, NoiseQuality)
+     */
+    public abstract double get(double x, double y, double z, int seed);
+
+    /**
+     * Generates a gradient-coherent-noise value and its gradient.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param seed the random number seed
+     * @param gradient an array of at least three elements that receives the
+     *     gradient
+     * @return the generated value
+     * @see Noise#gradientCoherentNoise3D(double, double, double, int, NoiseQuality, double[])
+     */
+    public abstract double get(double x, double y, double z, int seed, double[] gradient);
+
+    /**
+     * Generates a gradient-coherent-noise value, using a permutation table to
+     * pick the gradient vectors.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param table the permutation table
+     * @return the generated value
+     * @see Noise#gradientCoherentNoise3D(double, double, double, PermutationTable, NoiseQuality)
+     */
+    public abstract double get(double x, double y, double z, PermutationTable table);
+
+    /**
+     * Generates a gradient-coherent-noise value and its gradient, using a
+     * permutation table to pick the gradient vectors.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param table the permutation table
+     * @param gradient an array of at least three elements that receives the
+     *     gradient
+     * @return the generated value
+     * @see Noise#gradientCoherentNoise3D(double, double, double, PermutationTable, NoiseQuality, double[])
+     */
+    public abstract double get(double x, double y, double z, PermutationTable table, double[] gradient);
+
+    /**
+     * Generates a gradient-coherent-noise value on a lattice that wraps
+     * around, so that the noise repeats with the given period along each
+     * axis.
+     *
+     * <p>Within a single period the lattice vertices are hashed as by
+     * {@link #get(double, double, double, int)}; the vertices on the far side
+     * of the period are hashed as the matching vertices at {@code 0}. A
+     * period of {@code 0} disables the wrapping along that axis.</p>
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param seed the random number seed
+     * @param periodX the period along the {@code x} axis, in lattice cells, or
+     *     {@code 0}; must not be negative
+     * @param periodY the period along the {@code y} axis, in lattice cells, or
+     *     {@code 0}; must not be negative
+     * @param periodZ the period along the {@code z} axis, in lattice cells, or
+     *     {@code 0}; must not be negative
+     * @return the generated value
+     */
+    public final double get(final double x, final double y, final double z, final int seed, final int periodX, final int periodY, final int periodZ) {
+        final int x0 = GradientNoiseKernel.floor(x);
+        final int y0 = GradientNoiseKernel.floor(y);
+        final int z0 = GradientNoiseKernel.floor(z);
+        return this.periodicCell(x, y, z, x0, y0, z0,
+            Noise.wrapLattice(x0, periodX), Noise.wrapLattice(x0 + 1, periodX),
+            Noise.wrapLattice(y0, periodY), Noise.wrapLattice(y0 + 1, periodY),
+            Noise.wrapLattice(z0, periodZ), Noise.wrapLattice(z0 + 1, periodZ),
+            x - (double) x0, y - (double) y0, z - (double) z0, Noise.seedHash(seed));
+    }
+
+    /**
+     * Generates a gradient-coherent-noise value and its gradient on a lattice
+     * that wraps around.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param seed the random number seed
+     * @param periodX the period along the {@code x} axis, or {@code 0}
+     * @param periodY the period along the {@code y} axis, or {@code 0}
+     * @param periodZ the period along the {@code z} axis, or {@code 0}
+     * @param gradient an array of at least three elements that receives the
+     *     gradient
+     * @return the generated value
+     * @see #get(double, double, double, int, int, int, int)
+     */
+    public final double get(final double x, final double y, final double z, final int seed, final int periodX, final int periodY, final int periodZ,
+            final double[] gradient) {
+        final int x0 = GradientNoiseKernel.floor(x);
+        final int y0 = GradientNoiseKernel.floor(y);
+        final int z0 = GradientNoiseKernel.floor(z);
+        return this.periodicCell(x, y, z, x0, y0, z0,
+            Noise.wrapLattice(x0, periodX), Noise.wrapLattice(x0 + 1, periodX),
+            Noise.wrapLattice(y0, periodY), Noise.wrapLattice(y0 + 1, periodY),
+            Noise.wrapLattice(z0, periodZ), Noise.wrapLattice(z0 + 1, periodZ),
+            x - (double) x0, y - (double) y0, z - (double) z0, Noise.seedHash(seed), gradient);
+    }
+
+    /**
+     * Generates a gradient-coherent-noise value on a lattice that wraps
+     * around, using a permutation table to pick the gradient vectors.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param table the permutation table
+     * @param periodX the period along the {@code x} axis, or {@code 0}
+     * @param periodY the period along the {@code y} axis, or {@code 0}
+     * @param periodZ the period along the {@code z} axis, or {@code 0}
+     * @return the generated value
+     * @see #get(double, double, double, int, int, int, int)
+     */
+    public final double get(final double x, final double y, final double z, final PermutationTable table, final int periodX, final int periodY,
+            final int periodZ) {
+        final int x0 = GradientNoiseKernel.floor(x);
+        final int y0 = GradientNoiseKernel.floor(y);
+        final int z0 = GradientNoiseKernel.floor(z);
+        return this.periodicCell(x, y, z, x0, y0, z0,
+            Noise.wrapLattice(x0, periodX), Noise.wrapLattice(x0 + 1, periodX),
+            Noise.wrapLattice(y0, periodY), Noise.wrapLattice(y0 + 1, periodY),
+            Noise.wrapLattice(z0, periodZ), Noise.wrapLattice(z0 + 1, periodZ),
+            x - (double) x0, y - (double) y0, z - (double) z0, table);
+    }
+
+    /**
+     * Generates a gradient-coherent-noise value and its gradient on a lattice
+     * that wraps around, using a permutation table to pick the gradient
+     * vectors.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param table the permutation table
+     * @param periodX the period along the {@code x} axis, or {@code 0}
+     * @param periodY the period along the {@code y} axis, or {@code 0}
+     * @param periodZ the period along the {@code z} axis, or {@code 0}
+     * @param gradient an array of at least three elements that receives the
+     *     gradient
+     * @return the generated value
+     * @see #get(double, double, double, int, int, int, int)
+     */
+    public final double get(final double x, final double y, final double z, final PermutationTable table, final int periodX, final int periodY,
+            final int periodZ, final double[] gradient) {
+        final int x0 = GradientNoiseKernel.floor(x);
+        final int y0 = GradientNoiseKernel.floor(y);
+        final int z0 = GradientNoiseKernel.floor(z);
+        return this.periodicCell(x, y, z, x0, y0, z0,
+            Noise.wrapLattice(x0, periodX), Noise.wrapLattice(x0 + 1, periodX),
+            Noise.wrapLattice(y0, periodY), Noise.wrapLattice(y0 + 1, periodY),
+            Noise.wrapLattice(z0, periodZ), Noise.wrapLattice(z0 + 1, periodZ),
+            x - (double) x0, y - (double) y0, z - (double) z0, table, gradient);
+    }
+
+    // The lattice coordinate of the cell that contains a coordinate.
+    private static int floor(final double value) {
+        return value > 0.0 ? (int) value : (int) value - 1;
+    }
+
+    // Interpolate a gradient-noise cell whose vertices have been wrapped into
+    // the periods, given the offset of the input value from the
+    // outer-lower-left vertex of the cell, by mapping the offset onto the
+    // curve of this kernel. Only the periodic entry points use these, so the
+    // others reach Noise.gradientCell without wrapping any vertices.
+    abstract double periodicCell(double x, double y, double z, int x0, int y0, int z0, int lx0, int lx1, int ly0, int ly1, int lz0, int lz1,
+        double xd, double yd, double zd, int seedHash);
+
+    abstract double periodicCell(double x, double y, double z, int x0, int y0, int z0, int lx0, int lx1, int ly0, int ly1, int lz0, int lz1,
+        double xd, double yd, double zd, int seedHash, double[] gradient);
+
+    abstract double periodicCell(double x, double y, double z, int x0, int y0, int z0, int lx0, int lx1, int ly0, int ly1, int lz0, int lz1,
+        double xd, double yd, double zd, PermutationTable table);
+
+    abstract double periodicCell(double x, double y, double z, int x0, int y0, int z0, int lx0, int lx1, int ly0, int ly1, int lz0, int lz1,
+        double xd, double yd, double zd, PermutationTable table, double[] gradient);
+
+    private static final class Fast extends GradientNoiseKernel {
+        Fast() {
+            super(NoiseQuality.FAST);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, xd, yd, zd, Noise.seedHash(seed));
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed, final double[] gradient) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, xd, yd, zd,
+                1.0, 1.0, 1.0, Noise.seedHash(seed), gradient);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final PermutationTable table) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, xd, yd, zd, table);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final PermutationTable table, final double[] gradient) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, xd, yd, zd,
+                1.0, 1.0, 1.0, table, gradient);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final int seedHash) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, xd, yd, zd, seedHash);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final int seedHash,
+                final double[] gradient) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, xd, yd, zd,
+                1.0, 1.0, 1.0, seedHash, gradient);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final PermutationTable table) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, xd, yd, zd, table);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final PermutationTable table,
+                final double[] gradient) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, xd, yd, zd,
+                1.0, 1.0, 1.0, table, gradient);
+        }
+    }
+
+    private static final class Standard extends GradientNoiseKernel {
+        Standard() {
+            super(NoiseQuality.STANDARD);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, Utils.sCurve3(xd), Utils.sCurve3(yd), Utils.sCurve3(zd), Noise.seedHash(seed));
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed, final double[] gradient) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, Utils.sCurve3(xd), Utils.sCurve3(yd), Utils.sCurve3(zd),
+                Utils.sCurve3Derivative(xd), Utils.sCurve3Derivative(yd), Utils.sCurve3Derivative(zd), Noise.seedHash(seed), gradient);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final PermutationTable table) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, Utils.sCurve3(xd), Utils.sCurve3(yd), Utils.sCurve3(zd), table);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final PermutationTable table, final double[] gradient) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, Utils.sCurve3(xd), Utils.sCurve3(yd), Utils.sCurve3(zd),
+                Utils.sCurve3Derivative(xd), Utils.sCurve3Derivative(yd), Utils.sCurve3Derivative(zd), table, gradient);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final int seedHash) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, Utils.sCurve3(xd), Utils.sCurve3(yd), Utils.sCurve3(zd), seedHash);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final int seedHash,
+                final double[] gradient) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, Utils.sCurve3(xd), Utils.sCurve3(yd), Utils.sCurve3(zd),
+                Utils.sCurve3Derivative(xd), Utils.sCurve3Derivative(yd), Utils.sCurve3Derivative(zd), seedHash, gradient);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final PermutationTable table) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, Utils.sCurve3(xd), Utils.sCurve3(yd), Utils.sCurve3(zd), table);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final PermutationTable table,
+                final double[] gradient) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, Utils.sCurve3(xd), Utils.sCurve3(yd), Utils.sCurve3(zd),
+                Utils.sCurve3Derivative(xd), Utils.sCurve3Derivative(yd), Utils.sCurve3Derivative(zd), table, gradient);
+        }
+    }
+
+    private static final class Best extends GradientNoiseKernel {
+        Best() {
+            super(NoiseQuality.BEST);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, Utils.sCurve5(xd), Utils.sCurve5(yd), Utils.sCurve5(zd), Noise.seedHash(seed));
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed, final double[] gradient) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, Utils.sCurve5(xd), Utils.sCurve5(yd), Utils.sCurve5(zd),
+                Utils.sCurve5Derivative(xd), Utils.sCurve5Derivative(yd), Utils.sCurve5Derivative(zd), Noise.seedHash(seed), gradient);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final PermutationTable table) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, Utils.sCurve5(xd), Utils.sCurve5(yd), Utils.sCurve5(zd), table);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final PermutationTable table, final double[] gradient) {
+            final int x0 = GradientNoiseKernel.floor(x);
+            final int y0 = GradientNoiseKernel.floor(y);
+            final int z0 = GradientNoiseKernel.floor(z);
+            final double xd = x - (double) x0;
+            final double yd = y - (double) y0;
+            final double zd = z - (double) z0;
+            return Noise.gradientCell(x, y, z, x0, y0, z0, Utils.sCurve5(xd), Utils.sCurve5(yd), Utils.sCurve5(zd),
+                Utils.sCurve5Derivative(xd), Utils.sCurve5Derivative(yd), Utils.sCurve5Derivative(zd), table, gradient);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final int seedHash) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, Utils.sCurve5(xd), Utils.sCurve5(yd), Utils.sCurve5(zd), seedHash);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final int seedHash,
+                final double[] gradient) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, Utils.sCurve5(xd), Utils.sCurve5(yd), Utils.sCurve5(zd),
+                Utils.sCurve5Derivative(xd), Utils.sCurve5Derivative(yd), Utils.sCurve5Derivative(zd), seedHash, gradient);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final PermutationTable table) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, Utils.sCurve5(xd), Utils.sCurve5(yd), Utils.sCurve5(zd), table);
+        }
+
+        @Override
+        double periodicCell(final double x, final double y, final double z, final int x0, final int y0, final int z0, final int lx0, final int lx1,
+                final int ly0, final int ly1, final int lz0, final int lz1, final double xd, final double yd, final double zd, final PermutationTable table,
+                final double[] gradient) {
+            return Noise.gradientCell(x, y, z, x0, y0, z0, lx0, lx1, ly0, ly1, lz0, lz1, Utils.sCurve5(xd), Utils.sCurve5(yd), Utils.sCurve5(zd),
+                Utils.sCurve5Derivative(xd), Utils.sCurve5Derivative(yd), Utils.sCurve5Derivative(zd), table, gradient);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise;
+
+/**
+ * A seeded permutation of lattice coordinates, used to assign gradient vectors
+ * to lattice vertices when generating gradient noise with
+ * {@link GradientHashing#PERMUTATION}.
+ *
+ * <p>The gradient vector of the vertex {@code (x, y, z)} is
+ * {@code P[P[P[x] + y] + z]}, where {@code P} is the permutation and each
+ * coordinate is reduced modulo {@link #PERIOD}. Adjacent vertices share the
+ * inner lookups, so the eight vertices of a lattice cell take fourteen lookups
+ * in total. The gradient vectors are spread evenly over the unit sphere.</p>
+ *
+ * <p>Tables are immutable and may be shared between threads.</p>
+ *
+ * @see Noise#gradientCoherentNoise3D(double, double, double, PermutationTable, NoiseQuality)
+ */
+public final class PermutationTable {
+
+    /**
+     * The number of entries in a permutation table, which is also the number
+     * of gradient vectors and the period of the noise along each axis.
+     */
+    public static final int PERIOD = 2048;
+
+    static final int MASK = PermutationTable.PERIOD - 1;
+
+    // Gradient vectors, four elements per vector. The fourth element is unused
+    // and keeps indices aligned with those into Utils.RANDOM_VECTORS.
+    static final double[] GRADIENTS = new double[PermutationTable.PERIOD * 4];
+    static {
+        // Unit gradient vectors bound the gradient noise by sqrt(3) / 2, which
+        // is scaled down to keep the generated values between 0 and 1.
+        final double scale = 1.0 / Math.sqrt(3.0);
+        // Place the vectors along a Fibonacci spiral for an even distribution.
+        final double goldenAngle = Math.PI * (3.0 - Math.sqrt(5.0));
+        for (int i = 0; i < PermutationTable.PERIOD; i++) {
+            final double z = 1.0 - (2.0 * i + 1.0) / PermutationTable.PERIOD;
+            final double radius = Math.sqrt(1.0 - z * z);
+            final double angle = goldenAngle * i;
+            PermutationTable.GRADIENTS[i << 2] = radius * Math.cos(angle) * scale;
+            PermutationTable.GRADIENTS[(i << 2) + 1] = radius * Math.sin(angle) * scale;
+            PermutationTable.GRADIENTS[(i << 2) + 2] = z * scale;
+        }
+    }
+
+    private final int seed;
+    // The permutation, repeated twice so that the sum of an entry and a
+    // reduced coordinate is always a valid index.
+    final short[] permutation = new short[PermutationTable.PERIOD * 2];
+
+    /**
+     * Create a new permutation table.
+     *
+     * @param seed the seed used to shuffle the table
+     */
+    public PermutationTable(final int seed) {
+        this.seed = seed;
+        for (int i = 0; i < PermutationTable.PERIOD; i++) {
+            this.permutation[i] = (short) i;
+        }
+
+        // Fisher-Yates shuffle driven by SplitMix64, which unlike
+        // java.util.Random gives unrelated sequences for consecutive seeds.
+        long state = seed;
+        for (int i = PermutationTable.PERIOD - 1; i > 0; i--) {
+            state += 0x9e3779b97f4a7c15L;
+            long mixed = state;
+            mixed = (mixed ^ (mixed >>> 30)) * 0xbf58476d1ce4e5b9L;
+            mixed = (mixed ^ (mixed >>> 27)) * 0x94d049bb133111ebL;
+            mixed ^= mixed >>> 31;
+            final int j = (int) ((mixed >>> 33) % (i + 1));
+            final short swap = this.permutation[i];
+            this.permutation[i] = this.permutation[j];
+            this.permutation[j] = swap;
+        }
+        System.arraycopy(this.permutation, 0, this.permutation, PermutationTable.PERIOD, PermutationTable.PERIOD);
+    }
+
+    /**
+     * Create the permutation tables for successive octaves of fractal noise.
+     *
+     * <p>The table for octave {@code i} is seeded with {@code seed + i},
+     * matching the seeds used by {@link GradientHashing#ARITHMETIC}.</p>
+     *
+     * @param seed the seed of the first octave
+     * @param octaveCount the number of octaves
+     * @return a new array of tables
+     */
+    public static PermutationTable[] octaves(final int seed, final int octaveCount) {
+        final PermutationTable[] tables = new PermutationTable[octaveCount];
+        for (int i = 0; i < octaveCount; i++) {
+            tables[i] = new PermutationTable(seed + i);
+        }
+        return tables;
+    }
+
+    /**
+     * Get the seed this table was shuffled with.
+     *
+     * @return the seed
+     */
+    public int seed() {
+        return this.seed;
+    }
+}
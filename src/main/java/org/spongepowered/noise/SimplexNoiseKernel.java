@@ -0,0 +1,209 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise;
+
+/**
+ * Simplex-style coherent-noise functions specialized for one
+ * {@link LatticeOrientation}.
+ *
+ * <p>A kernel performs the rotation of its lattice orientation directly,
+ * rather than choosing it on every call as
+ * {@link Noise#simplexStyleGradientCoherentNoise3D(double, double, double, int, LatticeOrientation, NoiseQualitySimplex)}
+ * does. The output values are identical to those of the corresponding
+ * {@link Noise} functions.</p>
+ *
+ * <p>Kernels are immutable and may be shared between threads.</p>
+ */
+public abstract class SimplexNoiseKernel {
+    private static final SimplexNoiseKernel[] KERNELS;
+    static {
+        final LatticeOrientation[] orientations = LatticeOrientation.values();
+        final NoiseQualitySimplex[] qualities = NoiseQualitySimplex.values();
+        KERNELS = new SimplexNoiseKernel[orientations.length * qualities.length];
+        for (final NoiseQualitySimplex quality : qualities) {
+            final int base = quality.ordinal() * orientations.length;
+            SimplexNoiseKernel.KERNELS[base + LatticeOrientation.CLASSIC.ordinal()] = new Classic(quality);
+            SimplexNoiseKernel.KERNELS[base + LatticeOrientation.XZ_BEFORE_Y.ordinal()] = new XzBeforeY(quality);
+            SimplexNoiseKernel.KERNELS[base + LatticeOrientation.XY_BEFORE_Z.ordinal()] = new XyBeforeZ(quality);
+        }
+    }
+
+    private final LatticeOrientation orientation;
+    final NoiseQualitySimplex quality;
+
+    SimplexNoiseKernel(final LatticeOrientation orientation, final NoiseQualitySimplex quality) {
+        this.orientation = orientation;
+        this.quality = quality;
+    }
+
+    /**
+     * Get the kernel for a lattice orientation and noise quality.
+     *
+     * @param orientation the lattice orientation
+     * @param quality the noise quality
+     * @return the kernel
+     */
+    public static SimplexNoiseKernel of(final LatticeOrientation orientation, final NoiseQualitySimplex quality) {
+        return SimplexNoiseKernel.KERNELS[quality.ordinal() * LatticeOrientation.values().length + orientation.ordinal()];
+    }
+
+    /**
+     * Get the lattice orientation this kernel is specialized for.
+     *
+     * @return the lattice orientation
+     */
+    public LatticeOrientation orientation() {
+        return this.orientation;
+    }
+
+    /**
+     * Get the noise quality of this kernel.
+     *
+     * @return the noise quality
+     */
+    public NoiseQualitySimplex quality() {
+        return this.quality;
+    }
+
+    /**
+     * Generates a simplex-style gradient coherent noise value.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param seed the random number seed
+     * @return the generated value
+     * @see Noise#simplexStyleGradientCoherentNoise3D(double, double, double, int, LatticeOrientation, NoiseQualitySimplex)
+     */
+    public abstract double get(double x, double y, double z, int seed);
+
+    /**
+     * Generates a simplex-style gradient coherent noise value and its
+     * gradient.
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param seed the random number seed
+     * @param gradient an array of at least three elements that receives the
+     *     gradient
+     * @return the generated value
+     * @see Noise#simplexStyleGradientCoherentNoise3D(double, double, double, int, LatticeOrientation, NoiseQualitySimplex, double[])
+     */
+    public abstract double get(double x, double y, double z, int seed, double[] gradient);
+
+    private static final class Classic extends SimplexNoiseKernel {
+        Classic(final NoiseQualitySimplex quality) {
+            super(LatticeOrientation.CLASSIC, quality);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed) {
+            final double r = (2.0 / 3.0) * (x + y + z);
+            return Noise.simplexStyleLattice(r - x, r - y, r - z, seed, this.quality);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed, final double[] gradient) {
+            final double r = (2.0 / 3.0) * (x + y + z);
+            final double value = Noise.simplexStyleLattice(r - x, r - y, r - z, seed, this.quality, gradient);
+            final double xrGradient = gradient[0];
+            final double yrGradient = gradient[1];
+            final double zrGradient = gradient[2];
+            final double rGradient = (2.0 / 3.0) * (xrGradient + yrGradient + zrGradient);
+            gradient[0] = rGradient - xrGradient;
+            gradient[1] = rGradient - yrGradient;
+            gradient[2] = rGradient - zrGradient;
+            return value;
+        }
+    }
+
+    private static final class XyBeforeZ extends SimplexNoiseKernel {
+        XyBeforeZ(final NoiseQualitySimplex quality) {
+            super(LatticeOrientation.XY_BEFORE_Z, quality);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed) {
+            final double xy = x + y;
+            final double s2 = xy * -0.211324865405187;
+            final double zz = z * 0.577350269189626;
+            return Noise.simplexStyleLattice(x + s2 - zz, y + s2 - zz, xy * 0.577350269189626 + zz, seed, this.quality);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed, final double[] gradient) {
+            final double xy = x + y;
+            final double s2 = xy * -0.211324865405187;
+            final double zz = z * 0.577350269189626;
+            final double value = Noise.simplexStyleLattice(x + s2 - zz, y + s2 - zz, xy * 0.577350269189626 + zz, seed, this.quality, gradient);
+            final double xrGradient = gradient[0];
+            final double yrGradient = gradient[1];
+            final double zrGradient = gradient[2];
+            final double s2Gradient = (xrGradient + yrGradient) * -0.211324865405187;
+            final double zzGradient = zrGradient * 0.577350269189626;
+            gradient[0] = xrGradient + s2Gradient + zzGradient;
+            gradient[1] = yrGradient + s2Gradient + zzGradient;
+            gradient[2] = (zrGradient - xrGradient - yrGradient) * 0.577350269189626;
+            return value;
+        }
+    }
+
+    private static final class XzBeforeY extends SimplexNoiseKernel {
+        XzBeforeY(final NoiseQualitySimplex quality) {
+            super(LatticeOrientation.XZ_BEFORE_Y, quality);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed) {
+            final double xz = x + z;
+            final double s2 = xz * -0.211324865405187;
+            final double yy = y * 0.577350269189626;
+            return Noise.simplexStyleLattice(x + s2 - yy, xz * 0.577350269189626 + yy, z + s2 - yy, seed, this.quality);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z, final int seed, final double[] gradient) {
+            final double xz = x + z;
+            final double s2 = xz * -0.211324865405187;
+            final double yy = y * 0.577350269189626;
+            final double value = Noise.simplexStyleLattice(x + s2 - yy, xz * 0.577350269189626 + yy, z + s2 - yy, seed, this.quality, gradient);
+            final double xrGradient = gradient[0];
+            final double yrGradient = gradient[1];
+            final double zrGradient = gradient[2];
+            final double s2Gradient = (xrGradient + zrGradient) * -0.211324865405187;
+            final double yyGradient = yrGradient * 0.577350269189626;
+            gradient[0] = xrGradient + s2Gradient + yyGradient;
+            gradient[1] = (yrGradient - xrGradient - zrGradient) * 0.577350269189626;
+            gradient[2] = zrGradient + s2Gradient + yyGradient;
+            return value;
+        }
+    }
+}
@@ -86,6 +86,29 @@ public final class Utils {
         return (6.0 * a5) - (15.0 * a4) + (10.0 * a3);
     }
 
+    /**
+     * Returns the derivative of the cubic S-Curve at a value.
+     *
+     * @param a the value at which to evaluate the derivative of
+     *     {@link #sCurve3(double)}
+     * @return the slope of the S-Curve
+     */
+    public static double sCurve3Derivative(final double a) {
+        return 6.0 * a * (1.0 - a);
+    }
+
+    /**
+     * Returns the derivative of the quintic S-Curve at a value.
+     *
+     * @param a the value at which to evaluate the derivative of
+     *     {@link #sCurve5(double)}
+     * @return the slope of the S-Curve
+     */
+    public static double sCurve5Derivative(final double a) {
+        final double b = a * (1.0 - a);
+        return 30.0 * b * b;
+    }
+
     public static double[] latLonToXYZ(final double latitude, final double longitude) {
         final double r = Math.cos(Math.toRadians(latitude));
         final double x = r * Math.cos(Math.toRadians(longitude));
@@ -138,6 +161,42 @@ public final class Utils {
         return value;
     }
 
+    /**
+     * Returns the number of octaves of a fractal noise that can be sampled at a
+     * given spacing without aliasing.
+     *
+     * <p>An octave is only kept while its frequency is at most half the
+     * sampling rate (the Nyquist limit). When {@code fade} is {@code false},
+     * the result is a whole number of octaves. When {@code fade} is
+     * {@code true}, the fractional part of the result is the weight of the
+     * last octave, which fades out smoothly as its frequency approaches the
+     * Nyquist limit, so that changing the spacing does not cause a visible pop
+     * when an octave is dropped.</p>
+     *
+     * <p>The result is always between 1 and {@code octaveCount}, inclusive. A
+     * sample spacing of zero disables culling.</p>
+     *
+     * @param frequency the frequency of the first octave
+     * @param lacunarity the frequency multiplier between successive octaves
+     * @param sampleSpacing the distance between adjacent samples, in input
+     *     units
+     * @param octaveCount the maximum number of octaves
+     * @param fade whether to fade the last octave
+     * @return the number of octaves to evaluate
+     */
+    public static double octaveLimit(final double frequency, final double lacunarity, final double sampleSpacing, final int octaveCount,
+            final boolean fade) {
+        if (sampleSpacing <= 0.0 || lacunarity <= 1.0 || frequency <= 0.0) {
+            return octaveCount;
+        }
+
+        // Continuous index of the octave whose frequency is exactly at the
+        // Nyquist limit.
+        final double nyquistOctave = Math.log(1.0 / (2.0 * sampleSpacing * frequency)) / Math.log(lacunarity);
+        final double limit = fade ? nyquistOctave : Math.floor(nyquistOctave) + 1.0;
+        return Math.max(1.0, Math.min(octaveCount, limit));
+    }
+
     /**
      * Rounds x down to the closest integer
      *
@@ -369,15 +428,14 @@ public final class Utils {
      */
     static final class LatticePointBCC {
         public final double dxr, dyr, dzr;
-        public final int xrv, yrv, zrv;
+        // Lattice hash of the vertex offset from the base of the cell.
+        public final int vertexHash;
         LatticePointBCC nextOnFailure, nextOnSuccess;
         public LatticePointBCC(final int xrv, final int yrv, final int zrv, final int lattice) {
             this.dxr = -xrv + lattice * 0.5;
             this.dyr = -yrv + lattice * 0.5;
             this.dzr = -zrv + lattice * 0.5;
-            this.xrv = xrv + lattice * 0x8000;
-            this.yrv = yrv + lattice * 0x8000;
-            this.zrv = zrv + lattice * 0x8000;
+            this.vertexHash = Noise.latticeHash(xrv + lattice * 0x8000, yrv + lattice * 0x8000, zrv + lattice * 0x8000);
         }
     }
 }
@@ -0,0 +1,339 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.codec;
+
+import org.spongepowered.noise.GradientHashing;
+import org.spongepowered.noise.LatticeOrientation;
+import org.spongepowered.noise.NoiseQuality;
+import org.spongepowered.noise.NoiseQualitySimplex;
+import org.spongepowered.noise.exception.NoiseException;
+import org.spongepowered.noise.module.Cache;
+import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.combiner.Add;
+import org.spongepowered.noise.module.combiner.Blend;
+import org.spongepowered.noise.module.combiner.Displace;
+import org.spongepowered.noise.module.combiner.Max;
+import org.spongepowered.noise.module.combiner.Min;
+import org.spongepowered.noise.module.combiner.Multiply;
+import org.spongepowered.noise.module.combiner.Power;
+import org.spongepowered.noise.module.combiner.Select;
+import org.spongepowered.noise.module.modifier.Abs;
+import org.spongepowered.noise.module.modifier.Clamp;
+import org.spongepowered.noise.module.modifier.Curve;
+import org.spongepowered.noise.module.modifier.Exponent;
+import org.spongepowered.noise.module.modifier.Invert;
+import org.spongepowered.noise.module.modifier.Range;
+import org.spongepowered.noise.module.modifier.RotatePoint;
+import org.spongepowered.noise.module.modifier.ScaleBias;
+import org.spongepowered.noise.module.modifier.ScalePoint;
+import org.spongepowered.noise.module.modifier.Terrace;
+import org.spongepowered.noise.module.modifier.TranslatePoint;
+import org.spongepowered.noise.module.modifier.Turbulence;
+import org.spongepowered.noise.module.source.Billow;
+import org.spongepowered.noise.module.source.Checkerboard;
+import org.spongepowered.noise.module.source.Const;
+import org.spongepowered.noise.module.source.Cylinders;
+import org.spongepowered.noise.module.source.Fractal;
+import org.spongepowered.noise.module.source.FractalBasis;
+import org.spongepowered.noise.module.source.FractalType;
+import org.spongepowered.noise.module.source.Perlin;
+import org.spongepowered.noise.module.source.RidgedMulti;
+import org.spongepowered.noise.module.source.RidgedMultiSimplex;
+import org.spongepowered.noise.module.source.Simplex;
+import org.spongepowered.noise.module.source.Spheres;
+import org.spongepowered.noise.module.source.Voronoi;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Factories for the noise modules included in this library.
+ *
+ * <p>The parameter names match those reported by each module's
+ * {@code visitParameters} method.</p>
+ */
+final class BuiltinModuleFactories {
+    // Types of the fractal bases that the Fractal factory can recreate.
+    private static final Set<Class<? extends FractalBasis>> FRACTAL_BASES = new HashSet<>(Arrays.asList(
+        FractalBasis.perlin(NoiseQuality.STANDARD, 0).getClass(),
+        FractalBasis.simplex(LatticeOrientation.CLASSIC, NoiseQualitySimplex.STANDARD, 0).getClass(),
+        FractalBasis.voronoi(0, 1.0, false).getClass()
+    ));
+
+    private BuiltinModuleFactories() {
+    }
+
+    static List<ModuleFactory> factories() {
+        return Arrays.asList(
+            // Combiners
+            ModuleFactory.of(Add.class, parameters -> new Add()),
+            ModuleFactory.of(Blend.class, parameters -> new Blend()),
+            ModuleFactory.of(Displace.class, parameters -> new Displace()),
+            ModuleFactory.of(Max.class, parameters -> new Max()),
+            ModuleFactory.of(Min.class, parameters -> new Min()),
+            ModuleFactory.of(Multiply.class, parameters -> new Multiply()),
+            ModuleFactory.of(Power.class, parameters -> new Power()),
+            ModuleFactory.of(Select.class, parameters -> {
+                final Select module = new Select();
+                module.setBounds(parameters.getDouble("upperBound"), parameters.getDouble("lowerBound"));
+                module.setEdgeFalloff(parameters.getDouble("edgeFalloff"));
+                return module;
+            }),
+
+            // Modifiers
+            ModuleFactory.of(Abs.class, parameters -> new Abs()),
+            ModuleFactory.of(Clamp.class, parameters -> {
+                final Clamp module = new Clamp();
+                module.setLowerBound(parameters.getDouble("lowerBound"));
+                module.setUpperBound(parameters.getDouble("upperBound"));
+                return module;
+            }),
+            ModuleFactory.of(Curve.class, parameters -> {
+                final Curve module = new Curve();
+                final double[] controlPoints = parameters.getDoubleArray("controlPoints");
+                for (int i = 0; i + 1 < controlPoints.length; i += 2) {
+                    module.addControlPoint(controlPoints[i], controlPoints[i + 1]);
+                }
+                return module;
+            }),
+            ModuleFactory.of(Exponent.class, parameters -> {
+                final Exponent module = new Exponent();
+                module.setExponent(parameters.getDouble("exponent"));
+                return module;
+            }),
+            ModuleFactory.of(Invert.class, parameters -> {
+                final Invert module = new Invert();
+                module.setMiddle(parameters.getDouble("middle"));
+                return module;
+            }),
+            ModuleFactory.of(Range.class, parameters -> {
+                final Range module = new Range();
+                module.setBounds(parameters.getDouble("currentLowerBound"), parameters.getDouble("currentUpperBound"),
+                    parameters.getDouble("newLowerBound"), parameters.getDouble("newUpperBound"));
+                return module;
+            }),
+            ModuleFactory.of(RotatePoint.class, parameters -> {
+                final RotatePoint module = new RotatePoint();
+                module.setAngles(parameters.getDouble("xAngle"), parameters.getDouble("yAngle"), parameters.getDouble("zAngle"));
+                return module;
+            }),
+            ModuleFactory.of(ScaleBias.class, parameters -> {
+                final ScaleBias module = new ScaleBias();
+                module.setScale(parameters.getDouble("scale"));
+                module.setBias(parameters.getDouble("bias"));
+                return module;
+            }),
+            ModuleFactory.of(ScalePoint.class, parameters -> {
+                final ScalePoint module = new ScalePoint();
+                module.setXScale(parameters.getDouble("xScale"));
+                module.setYScale(parameters.getDouble("yScale"));
+                module.setZScale(parameters.getDouble("zScale"));
+                return module;
+            }),
+            ModuleFactory.of(Terrace.class, parameters -> {
+                final Terrace module = new Terrace();
+                for (final double controlPoint : parameters.getDoubleArray("controlPoints")) {
+                    module.addControlPoint(controlPoint);
+                }
+                module.setInvertTerraces(parameters.getBoolean("invertTerraces"));
+                return module;
+            }),
+            ModuleFactory.of(TranslatePoint.class, parameters -> {
+                final TranslatePoint module = new TranslatePoint();
+                module.setTranslations(parameters.getDouble("xTranslation"), parameters.getDouble("yTranslation"),
+                    parameters.getDouble("zTranslation"));
+                return module;
+            }),
+            ModuleFactory.of(Turbulence.class, parameters -> {
+                final Turbulence module = new Turbulence();
+                module.setPower(parameters.getDouble("power"));
+                module.setFrequency(parameters.getDouble("frequency"));
+                module.setRoughness(parameters.getInt("roughness"));
+                if (parameters.contains("seed")) {
+                    module.setSeed(parameters.getInt("seed"));
+                }
+                return module;
+            }),
+
+            // Sources
+            ModuleFactory.of(Billow.class, parameters -> {
+                final Billow module = new Billow();
+                module.setFrequency(parameters.getDouble("frequency"));
+                module.setLacunarity(parameters.getDouble("lacunarity"));
+                module.setQuality(parameters.getEnum("quality", NoiseQuality.class));
+                module.setOctaveCount(parameters.getInt("octaveCount"));
+                module.setPersistence(parameters.getDouble("persistence"));
+                module.setSeed(parameters.getInt("seed"));
+                module.setGradientHashing(BuiltinModuleFactories.gradientHashing(parameters));
+                module.setSampleSpacing(parameters.getDouble("sampleSpacing"));
+                module.setFadeLastOctave(parameters.getBoolean("fadeLastOctave"));
+                return module;
+            }),
+            ModuleFactory.of(Checkerboard.class, parameters -> new Checkerboard()),
+            ModuleFactory.of(Const.class, parameters -> {
+                final Const module = new Const();
+                module.setValue(parameters.getDouble("value"));
+                return module;
+            }),
+            ModuleFactory.of(Cylinders.class, parameters -> {
+                final Cylinders module = new Cylinders();
+                module.setFrequency(parameters.getDouble("frequency"));
+                return module;
+            }),
+            ModuleFactory.of(Fractal.class, parameters -> {
+                final Fractal module = new Fractal();
+                module.setBasis(BuiltinModuleFactories.fractalBasis(parameters));
+                module.setType(parameters.getEnum("type", FractalType.class));
+                module.setFrequency(parameters.getDouble("frequency"));
+                module.setLacunarity(parameters.getDouble("lacunarity"));
+                module.setOctaveCount(parameters.getInt("octaveCount"));
+                module.setPersistence(parameters.getDouble("persistence"));
+                module.setOffset(parameters.getDouble("offset"));
+                module.setGain(parameters.getDouble("gain"));
+                module.setSampleSpacing(parameters.getDouble("sampleSpacing"));
+                module.setFadeLastOctave(parameters.getBoolean("fadeLastOctave"));
+                return module;
+            }),
+            ModuleFactory.of(Perlin.class, parameters -> {
+                final Perlin module = new Perlin();
+                module.setFrequency(parameters.getDouble("frequency"));
+                module.setLacunarity(parameters.getDouble("lacunarity"));
+                module.setNoiseQuality(parameters.getEnum("quality", NoiseQuality.class));
+                module.setOctaveCount(parameters.getInt("octaveCount"));
+                module.setPersistence(parameters.getDouble("persistence"));
+                module.setSeed(parameters.getInt("seed"));
+                module.setGradientHashing(BuiltinModuleFactories.gradientHashing(parameters));
+                module.setSampleSpacing(parameters.getDouble("sampleSpacing"));
+                module.setFadeLastOctave(parameters.getBoolean("fadeLastOctave"));
+                module.setPeriod(BuiltinModuleFactories.period(parameters, "periodX"), BuiltinModuleFactories.period(parameters, "periodY"),
+                    BuiltinModuleFactories.period(parameters, "periodZ"));
+                return module;
+            }),
+            ModuleFactory.of(RidgedMulti.class, parameters -> {
+                final RidgedMulti module = new RidgedMulti();
+                module.setFrequency(parameters.getDouble("frequency"));
+                module.setLacunarity(parameters.getDouble("lacunarity"));
+                module.setNoiseQuality(parameters.getEnum("quality", NoiseQuality.class));
+                module.setOctaveCount(parameters.getInt("octaveCount"));
+                module.setSeed(parameters.getInt("seed"));
+                module.setGradientHashing(BuiltinModuleFactories.gradientHashing(parameters));
+                module.setSampleSpacing(parameters.getDouble("sampleSpacing"));
+                module.setFadeLastOctave(parameters.getBoolean("fadeLastOctave"));
+                return module;
+            }),
+            ModuleFactory.of(RidgedMultiSimplex.class, parameters -> {
+                final RidgedMultiSimplex module = new RidgedMultiSimplex();
+                module.setFrequency(parameters.getDouble("frequency"));
+                module.setLacunarity(parameters.getDouble("lacunarity"));
+                module.setNoiseQuality(parameters.getEnum("quality", NoiseQualitySimplex.class));
+                module.setLatticeOrientation(parameters.getEnum("latticeOrientation", LatticeOrientation.class));
+                module.setOctaveCount(parameters.getInt("octaveCount"));
+                module.setSeed(parameters.getInt("seed"));
+                module.setSampleSpacing(parameters.getDouble("sampleSpacing"));
+                module.setFadeLastOctave(parameters.getBoolean("fadeLastOctave"));
+                return module;
+            }),
+            ModuleFactory.of(Simplex.class, parameters -> {
+                final Simplex module = new Simplex();
+                module.setFrequency(parameters.getDouble("frequency"));
+                module.setLacunarity(parameters.getDouble("lacunarity"));
+                module.setNoiseQuality(parameters.getEnum("quality", NoiseQualitySimplex.class));
+                module.setLatticeOrientation(parameters.getEnum("latticeOrientation", LatticeOrientation.class));
+                module.setOctaveCount(parameters.getInt("octaveCount"));
+                module.setPersistence(parameters.getDouble("persistence"));
+                module.setSeed(parameters.getInt("seed"));
+                module.setSampleSpacing(parameters.getDouble("sampleSpacing"));
+                module.setFadeLastOctave(parameters.getBoolean("fadeLastOctave"));
+                return module;
+            }),
+            ModuleFactory.of(Spheres.class, parameters -> {
+                final Spheres module = new Spheres();
+                module.setFrequency(parameters.getDouble("frequency"));
+                return module;
+            }),
+            ModuleFactory.of(Voronoi.class, parameters -> {
+                final Voronoi module = new Voronoi();
+                module.setDisplacement(parameters.getDouble("displacement"));
+                module.setEnableDistance(parameters.getBoolean("enableDistance"));
+                module.setFrequency(parameters.getDouble("frequency"));
+                module.setSeed(parameters.getInt("seed"));
+                return module;
+            }),
+
+            ModuleFactory.of(Cache.class, parameters -> new Cache())
+        );
+    }
+
+    /**
+     * Checks that a noise module can be recreated by the factories in this
+     * class.
+     *
+     * @param module the noise module
+     * @throws NoiseException if the module is a {@link Fractal} with a custom
+     *     basis
+     */
+    static void checkEncodable(final NoiseModule module) {
+        if (module instanceof Fractal) {
+            final FractalBasis basis = ((Fractal) module).basis();
+            if (!BuiltinModuleFactories.FRACTAL_BASES.contains(basis.getClass())) {
+                throw new NoiseException("Fractal module with custom basis " + basis.getClass().getName() + " cannot be encoded");
+            }
+        }
+    }
+
+    // Graphs encoded before gradient hashing was configurable always used
+    // arithmetic hashing.
+    private static GradientHashing gradientHashing(final ModuleParameters parameters) {
+        if (parameters.contains("gradientHashing")) {
+            return parameters.getEnum("gradientHashing", GradientHashing.class);
+        }
+        return GradientHashing.ARITHMETIC;
+    }
+
+    // Graphs encoded before periods were configurable never repeated.
+    private static double period(final ModuleParameters parameters, final String name) {
+        return parameters.contains(name) ? parameters.getDouble(name) : 0.0;
+    }
+
+    private static FractalBasis fractalBasis(final ModuleParameters parameters) {
+        if (parameters.contains("perlinSeed")) {
+            return FractalBasis.perlin(parameters.getEnum("perlinQuality", NoiseQuality.class), parameters.getInt("perlinSeed"));
+        } else if (parameters.contains("simplexSeed")) {
+            return FractalBasis.simplex(parameters.getEnum("simplexOrientation", LatticeOrientation.class),
+                parameters.getEnum("simplexQuality", NoiseQualitySimplex.class), parameters.getInt("simplexSeed"));
+        } else if (parameters.contains("voronoiSeed")) {
+            return FractalBasis.voronoi(parameters.getInt("voronoiSeed"), parameters.getDouble("voronoiDisplacement"),
+                parameters.getBoolean("voronoiEnableDistance"));
+        }
+        throw new NoiseException("Fractal module has no recognized basis");
+    }
+}
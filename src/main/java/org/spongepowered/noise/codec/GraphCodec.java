@@ -0,0 +1,573 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.codec;
+
+import org.spongepowered.noise.exception.NoModuleException;
+import org.spongepowered.noise.exception.NoiseException;
+import org.spongepowered.noise.model.Cylinder;
+import org.spongepowered.noise.model.Line;
+import org.spongepowered.noise.model.Plane;
+import org.spongepowered.noise.model.Sphere;
+import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Encodes noise module graphs and the models built on them into a compact,
+ * versioned binary format, and decodes them again.
+ *
+ * <p>Each noise module is written once with its type, every parameter it
+ * reports to {@link NoiseModule#visitParameters(ParameterVisitor)}, and
+ * references to its source modules. A module that is the source of several
+ * other modules is decoded as a single shared instance, so the decoded graph
+ * has the same shape as the encoded one, and the same
+ * {@link org.spongepowered.noise.module.ModuleFingerprint}.</p>
+ *
+ * <p>Modules are created by the {@link ModuleFactory} registered for their
+ * type. Factories for every noise module included in this library are always
+ * registered; factories for custom noise modules are discovered with
+ * {@link ServiceLoader} when the codec is created, or may be registered with
+ * {@link #register(ModuleFactory)}.</p>
+ *
+ * <p>A {@link org.spongepowered.noise.module.source.Fractal} module can only
+ * be encoded if its basis is one of those created by the static methods of
+ * {@link org.spongepowered.noise.module.source.FractalBasis}; a custom basis
+ * cannot be recreated from its parameters.</p>
+ *
+ * <p>The format starts with a magic number and a version number, followed by
+ * a table of the strings used for type and parameter names, the modules in an
+ * order where every module follows its source modules, and finally the root
+ * of the graph. All multi-byte values are big-endian.</p>
+ *
+ * <p>A codec may be used by several threads at once, as long as no factory
+ * is registered at the same time.</p>
+ */
+public final class GraphCodec {
+    // "NGRF" in ASCII.
+    private static final int MAGIC = 0x4E475246;
+    private static final int VERSION = 1;
+
+    // Tags that distinguish the kinds of parameter values.
+    private static final byte TAG_DOUBLE = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_ENUM = 4;
+    private static final byte TAG_DOUBLE_ARRAY = 5;
+
+    // Kinds of object at the root of an encoded graph.
+    private static final byte ROOT_MODULE = 0;
+    private static final byte ROOT_PLANE = 1;
+    private static final byte ROOT_SPHERE = 2;
+    private static final byte ROOT_CYLINDER = 3;
+    private static final byte ROOT_LINE = 4;
+
+    private final Map<String, ModuleFactory> factories = new HashMap<>();
+
+    /**
+     * Create a new codec with factories for the noise modules included in
+     * this library, and any factories provided as services.
+     */
+    public GraphCodec() {
+        for (final ModuleFactory factory : BuiltinModuleFactories.factories()) {
+            this.register(factory);
+        }
+        for (final ModuleFactory factory : ServiceLoader.load(ModuleFactory.class)) {
+            this.register(factory);
+        }
+    }
+
+    /**
+     * Register a factory for a type of noise module.
+     *
+     * <p>A factory registered for a type that already has one replaces the
+     * existing factory.</p>
+     *
+     * @param factory the factory to register
+     */
+    public void register(final ModuleFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("factory cannot be null");
+        }
+        this.factories.put(factory.type().getName(), factory);
+    }
+
+    /**
+     * Encode a noise module and all of its source modules.
+     *
+     * @param module the noise module
+     * @return the encoded graph
+     * @throws NoiseException if a module in the graph does not describe its
+     *     parameters or is a fractal module with a custom basis, or the graph
+     *     contains a cycle
+     */
+    public byte[] encode(final NoiseModule module) {
+        return this.encode(GraphCodec.ROOT_MODULE, GraphCodec.requireModule(module), null);
+    }
+
+    /**
+     * Encode a plane model and its noise module graph.
+     *
+     * @param plane the model
+     * @return the encoded model
+     * @throws NoModuleException if the model has no noise module
+     * @throws NoiseException if a module in the graph cannot be encoded
+     */
+    public byte[] encode(final Plane plane) {
+        return this.encode(GraphCodec.ROOT_PLANE, GraphCodec.requireModule(plane.module()), null);
+    }
+
+    /**
+     * Encode a sphere model and its noise module graph.
+     *
+     * @param sphere the model
+     * @return the encoded model
+     * @throws NoModuleException if the model has no noise module
+     * @throws NoiseException if a module in the graph cannot be encoded
+     */
+    public byte[] encode(final Sphere sphere) {
+        return this.encode(GraphCodec.ROOT_SPHERE, GraphCodec.requireModule(sphere.module()), null);
+    }
+
+    /**
+     * Encode a cylinder model and its noise module graph.
+     *
+     * @param cylinder the model
+     * @return the encoded model
+     * @throws NoModuleException if the model has no noise module
+     * @throws NoiseException if a module in the graph cannot be encoded
+     */
+    public byte[] encode(final Cylinder cylinder) {
+        return this.encode(GraphCodec.ROOT_CYLINDER, GraphCodec.requireModule(cylinder.module()), null);
+    }
+
+    /**
+     * Encode a line model, including its end points and attenuation, and its
+     * noise module graph.
+     *
+     * @param line the model
+     * @return the encoded model
+     * @throws NoModuleException if the model has no noise module
+     * @throws NoiseException if a module in the graph cannot be encoded
+     */
+    public byte[] encode(final Line line) {
+        return this.encode(GraphCodec.ROOT_LINE, GraphCodec.requireModule(line.module()), line);
+    }
+
+    /**
+     * Decode a noise module graph or model.
+     *
+     * <p>{@code type} must be {@link NoiseModule} (or a supertype of the type
+     * of the encoded root module) for encoded modules, and the model class for
+     * encoded models.</p>
+     *
+     * @param data the encoded graph
+     * @param type the expected type of the decoded object
+     * @param <T> the expected type of the decoded object
+     * @return the decoded object
+     * @throws NoiseException if the data is malformed, was written by a newer
+     *     version of this codec, contains a module type without a registered
+     *     factory, or does not contain an object of the expected type
+     */
+    public <T> T decode(final byte[] data, final Class<T> type) {
+        final Object decoded;
+        try {
+            decoded = new Decoder(new DataInputStream(new ByteArrayInputStream(data)), data.length).decode();
+        } catch (final EOFException ex) {
+            throw new NoiseException("Encoded noise module graph is truncated");
+        } catch (final IOException ex) {
+            throw new NoiseException("Failed to read encoded noise module graph: " + ex.getMessage());
+        }
+        if (!type.isInstance(decoded)) {
+            throw new NoiseException("Encoded object is a " + decoded.getClass().getName() + ", not a " + type.getName());
+        }
+        return type.cast(decoded);
+    }
+
+    private static NoiseModule requireModule(final NoiseModule module) {
+        if (module == null) {
+            throw new NoModuleException(0);
+        }
+        return module;
+    }
+
+    private byte[] encode(final byte kind, final NoiseModule module, final Line line) {
+        final Encoder encoder = new Encoder();
+        final int root = encoder.add(module);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(GraphCodec.MAGIC);
+            GraphCodec.writeVarInt(out, GraphCodec.VERSION);
+            encoder.write(out);
+            out.writeByte(kind);
+            GraphCodec.writeVarInt(out, root + 1);
+            if (line != null) {
+                out.writeBoolean(line.attenuate());
+                out.writeDouble(line.startX());
+                out.writeDouble(line.startY());
+                out.writeDouble(line.startZ());
+                out.writeDouble(line.endX());
+                out.writeDouble(line.endY());
+                out.writeDouble(line.endZ());
+            }
+        } catch (final IOException ex) {
+            // Writing to a byte array does not fail.
+            throw new IllegalStateException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void writeVarInt(final DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(final DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new NoiseException("Malformed variable-length integer");
+    }
+
+    private static final class Encoder {
+        // Indices of the strings in the string table.
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<String> stringTable = new ArrayList<>();
+        // Indices of the modules that have already been added.
+        private final Map<NoiseModule, Integer> indices = new IdentityHashMap<>();
+        // Modules being added, used to detect cycles.
+        private final Set<NoiseModule> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        // The encoded modules, each following its source modules.
+        private final ByteArrayOutputStream nodes = new ByteArrayOutputStream();
+        private final DataOutputStream nodeOut = new DataOutputStream(this.nodes);
+
+        int add(final NoiseModule module) {
+            final Integer existing = this.indices.get(module);
+            if (existing != null) {
+                return existing;
+            }
+            if (!this.visiting.add(module)) {
+                throw new NoiseException("Noise module graph contains a cycle through " + module.getClass().getName());
+            }
+
+            final int count = module.sourceModuleCount();
+            final int[] sources = new int[count];
+            for (int i = 0; i < count; i++) {
+                NoiseModule source;
+                try {
+                    source = module.sourceModule(i);
+                } catch (final NoModuleException ex) {
+                    source = null;
+                }
+                // References are one-based, leaving zero for missing sources.
+                sources[i] = source == null ? 0 : this.add(source) + 1;
+            }
+
+            BuiltinModuleFactories.checkEncodable(module);
+            final ParameterWriter parameters = new ParameterWriter(this);
+            module.visitParameters(parameters);
+            try {
+                GraphCodec.writeVarInt(this.nodeOut, this.string(module.getClass().getName()));
+                GraphCodec.writeVarInt(this.nodeOut, parameters.count);
+                parameters.out.flush();
+                parameters.bytes.writeTo(this.nodeOut);
+                GraphCodec.writeVarInt(this.nodeOut, count);
+                for (final int source : sources) {
+                    GraphCodec.writeVarInt(this.nodeOut, source);
+                }
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+
+            this.visiting.remove(module);
+            final int index = this.indices.size();
+            this.indices.put(module, index);
+            return index;
+        }
+
+        int string(final String value) {
+            return this.strings.computeIfAbsent(value, key -> {
+                this.stringTable.add(key);
+                return this.stringTable.size() - 1;
+            });
+        }
+
+        void write(final DataOutputStream out) throws IOException {
+            GraphCodec.writeVarInt(out, this.stringTable.size());
+            for (final String value : this.stringTable) {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                GraphCodec.writeVarInt(out, bytes.length);
+                out.write(bytes);
+            }
+            GraphCodec.writeVarInt(out, this.indices.size());
+            this.nodeOut.flush();
+            this.nodes.writeTo(out);
+        }
+    }
+
+    private static final class ParameterWriter implements ParameterVisitor {
+        private final Encoder encoder;
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(this.bytes);
+        int count;
+
+        ParameterWriter(final Encoder encoder) {
+            this.encoder = encoder;
+        }
+
+        private void header(final String name, final byte tag) throws IOException {
+            GraphCodec.writeVarInt(this.out, this.encoder.string(name));
+            this.out.writeByte(tag);
+            this.count++;
+        }
+
+        @Override
+        public void visit(final String name, final double value) {
+            try {
+                this.header(name, GraphCodec.TAG_DOUBLE);
+                this.out.writeDouble(value);
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void visit(final String name, final int value) {
+            try {
+                this.header(name, GraphCodec.TAG_INT);
+                // Zig-zag encoding keeps small negative values short.
+                GraphCodec.writeVarInt(this.out, (value << 1) ^ (value >> 31));
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void visit(final String name, final boolean value) {
+            try {
+                this.header(name, GraphCodec.TAG_BOOLEAN);
+                this.out.writeBoolean(value);
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void visit(final String name, final Enum<?> value) {
+            try {
+                this.header(name, GraphCodec.TAG_ENUM);
+                GraphCodec.writeVarInt(this.out, this.encoder.string(value.getDeclaringClass().getName()));
+                GraphCodec.writeVarInt(this.out, this.encoder.string(value.name()));
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void visit(final String name, final double[] values) {
+            try {
+                this.header(name, GraphCodec.TAG_DOUBLE_ARRAY);
+                GraphCodec.writeVarInt(this.out, values.length);
+                for (final double value : values) {
+                    this.out.writeDouble(value);
+                }
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private final class Decoder {
+        private final DataInputStream in;
+        // An upper bound on any count in the data, to reject corrupt counts
+        // before allocating for them.
+        private final int limit;
+        private String[] strings;
+
+        Decoder(final DataInputStream in, final int limit) {
+            this.in = in;
+            this.limit = limit;
+        }
+
+        Object decode() throws IOException {
+            if (this.in.readInt() != GraphCodec.MAGIC) {
+                throw new NoiseException("Data is not an encoded noise module graph");
+            }
+            final int version = GraphCodec.readVarInt(this.in);
+            if (version != GraphCodec.VERSION) {
+                throw new NoiseException("Unsupported noise module graph version " + version);
+            }
+
+            this.strings = new String[this.count()];
+            for (int i = 0; i < this.strings.length; i++) {
+                final byte[] bytes = new byte[this.count()];
+                this.in.readFully(bytes);
+                this.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            final NoiseModule[] modules = new NoiseModule[this.count()];
+            for (int i = 0; i < modules.length; i++) {
+                modules[i] = this.module(modules, i);
+            }
+
+            final byte kind = this.in.readByte();
+            final NoiseModule root = this.source(modules, modules.length);
+            if (root == null) {
+                throw new NoiseException("Encoded noise module graph has no root module");
+            }
+            final Object decoded;
+            switch (kind) {
+                case GraphCodec.ROOT_MODULE:
+                    decoded = root;
+                    break;
+                case GraphCodec.ROOT_PLANE:
+                    decoded = new Plane(root);
+                    break;
+                case GraphCodec.ROOT_SPHERE:
+                    decoded = new Sphere(root);
+                    break;
+                case GraphCodec.ROOT_CYLINDER:
+                    decoded = new Cylinder(root);
+                    break;
+                case GraphCodec.ROOT_LINE:
+                    final Line line = new Line(root);
+                    line.setAttenuate(this.in.readBoolean());
+                    line.setStartPoint(this.in.readDouble(), this.in.readDouble(), this.in.readDouble());
+                    line.setEndPoint(this.in.readDouble(), this.in.readDouble(), this.in.readDouble());
+                    decoded = line;
+                    break;
+                default:
+                    throw new NoiseException("Unknown kind of encoded object " + kind);
+            }
+            if (this.in.read() != -1) {
+                throw new NoiseException("Unexpected data after the end of the encoded noise module graph");
+            }
+            return decoded;
+        }
+
+        private NoiseModule module(final NoiseModule[] modules, final int index) throws IOException {
+            final String type = this.string();
+            final ModuleFactory factory = GraphCodec.this.factories.get(type);
+            if (factory == null) {
+                throw new NoiseException("No factory is registered for noise module type " + type);
+            }
+
+            final ModuleParameters parameters = new ModuleParameters();
+            final int parameterCount = this.count();
+            for (int i = 0; i < parameterCount; i++) {
+                final String name = this.string();
+                final byte tag = this.in.readByte();
+                switch (tag) {
+                    case GraphCodec.TAG_DOUBLE:
+                        parameters.put(name, this.in.readDouble());
+                        break;
+                    case GraphCodec.TAG_INT:
+                        final int zigZag = GraphCodec.readVarInt(this.in);
+                        parameters.put(name, (zigZag >>> 1) ^ -(zigZag & 1));
+                        break;
+                    case GraphCodec.TAG_BOOLEAN:
+                        parameters.put(name, this.in.readBoolean());
+                        break;
+                    case GraphCodec.TAG_ENUM:
+                        parameters.put(name, new ModuleParameters.EnumValue(this.string(), this.string()));
+                        break;
+                    case GraphCodec.TAG_DOUBLE_ARRAY:
+                        final double[] values = new double[this.count()];
+                        for (int j = 0; j < values.length; j++) {
+                            values[j] = this.in.readDouble();
+                        }
+                        parameters.put(name, values);
+                        break;
+                    default:
+                        throw new NoiseException("Unknown parameter tag " + tag + " for parameter " + name + " of " + type);
+                }
+            }
+
+            final NoiseModule module = factory.create(parameters);
+            final int sourceCount = this.count();
+            if (sourceCount != module.sourceModuleCount()) {
+                throw new NoiseException("Noise module type " + type + " has " + module.sourceModuleCount()
+                    + " source modules, but " + sourceCount + " were encoded");
+            }
+            for (int i = 0; i < sourceCount; i++) {
+                module.setSourceModule(i, this.source(modules, index));
+            }
+            return module;
+        }
+
+        // Read a reference to one of the modules before the given index.
+        private NoiseModule source(final NoiseModule[] modules, final int index) throws IOException {
+            final int reference = GraphCodec.readVarInt(this.in);
+            if (reference < 0 || reference > index) {
+                throw new NoiseException("Invalid noise module reference " + reference);
+            }
+            return reference == 0 ? null : modules[reference - 1];
+        }
+
+        private String string() throws IOException {
+            final int index = GraphCodec.readVarInt(this.in);
+            if (index < 0 || index >= this.strings.length) {
+                throw new NoiseException("Invalid string reference " + index);
+            }
+            return this.strings[index];
+        }
+
+        private int count() throws IOException {
+            final int count = GraphCodec.readVarInt(this.in);
+            if (count < 0 || count > this.limit) {
+                throw new NoiseException("Invalid count " + count);
+            }
+            return count;
+        }
+    }
+}
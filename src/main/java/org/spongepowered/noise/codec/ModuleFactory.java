@@ -0,0 +1,93 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.codec;
+
+import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
+
+import java.util.function.Function;
+
+/**
+ * Creates noise modules of a single type from their decoded parameters.
+ *
+ * <p>{@link GraphCodec} uses one factory per module type to rebuild a graph.
+ * Factories for every noise module included in this library are always
+ * available. To decode graphs that contain custom noise modules, register a
+ * factory with {@link GraphCodec#register(ModuleFactory)} or provide it as a
+ * service implementation of this interface, which is discovered with
+ * {@link java.util.ServiceLoader}. Custom noise modules must also override
+ * {@link NoiseModule#visitParameters(ParameterVisitor)} to be encoded.</p>
+ *
+ * <p>The factory only creates the module and applies its parameters; source
+ * modules are connected by the codec afterwards.</p>
+ */
+public interface ModuleFactory {
+
+    /**
+     * Create a factory from a function.
+     *
+     * @param type the type of noise module created by the factory
+     * @param create the function that creates a noise module
+     * @param <M> the type of noise module
+     * @return a new factory
+     */
+    static <M extends NoiseModule> ModuleFactory of(final Class<M> type, final Function<ModuleParameters, ? extends M> create) {
+        return new ModuleFactory() {
+            @Override
+            public Class<? extends NoiseModule> type() {
+                return type;
+            }
+
+            @Override
+            public NoiseModule create(final ModuleParameters parameters) {
+                return create.apply(parameters);
+            }
+        };
+    }
+
+    /**
+     * Get the type of noise module created by this factory.
+     *
+     * <p>Encoded graphs refer to module types by their class name.</p>
+     *
+     * @return the type of noise module
+     */
+    Class<? extends NoiseModule> type();
+
+    /**
+     * Create a noise module with the given parameters.
+     *
+     * @param parameters the parameters that were visited when the module was
+     *     encoded
+     * @return a new noise module
+     */
+    NoiseModule create(ModuleParameters parameters);
+
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.codec;
+
+import org.spongepowered.noise.exception.NoiseException;
+import org.spongepowered.noise.module.ParameterVisitor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The decoded parameters of a noise module.
+ *
+ * <p>Parameters have the names and types with which they were passed to a
+ * {@link ParameterVisitor} when the module was encoded.</p>
+ */
+public final class ModuleParameters {
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    ModuleParameters() {
+    }
+
+    void put(final String name, final Object value) {
+        this.values.put(name, value);
+    }
+
+    /**
+     * Get whether a parameter is present.
+     *
+     * @param name the name of the parameter
+     * @return whether the parameter is present
+     */
+    public boolean contains(final String name) {
+        return this.values.containsKey(name);
+    }
+
+    /**
+     * Get the value of a floating-point parameter.
+     *
+     * @param name the name of the parameter
+     * @return the value of the parameter
+     * @throws NoiseException if the parameter is missing or has another type
+     */
+    public double getDouble(final String name) {
+        return this.get(name, Double.class);
+    }
+
+    /**
+     * Get the value of an integer parameter.
+     *
+     * @param name the name of the parameter
+     * @return the value of the parameter
+     * @throws NoiseException if the parameter is missing or has another type
+     */
+    public int getInt(final String name) {
+        return this.get(name, Integer.class);
+    }
+
+    /**
+     * Get the value of a boolean parameter.
+     *
+     * @param name the name of the parameter
+     * @return the value of the parameter
+     * @throws NoiseException if the parameter is missing or has another type
+     */
+    public boolean getBoolean(final String name) {
+        return this.get(name, Boolean.class);
+    }
+
+    /**
+     * Get the value of a parameter whose value is a constant of an enum type.
+     *
+     * @param name the name of the parameter
+     * @param type the enum type
+     * @param <E> the enum type
+     * @return the value of the parameter
+     * @throws NoiseException if the parameter is missing, has another type,
+     *     or names a constant that does not exist
+     */
+    public <E extends Enum<E>> E getEnum(final String name, final Class<E> type) {
+        final EnumValue value = this.get(name, EnumValue.class);
+        if (!value.type.equals(type.getName())) {
+            throw new NoiseException("Parameter " + name + " is a " + value.type + ", not a " + type.getName());
+        }
+        try {
+            return Enum.valueOf(type, value.name);
+        } catch (final IllegalArgumentException ex) {
+            throw new NoiseException("Unknown constant " + value.name + " of " + type.getName() + " for parameter " + name);
+        }
+    }
+
+    /**
+     * Get the value of a parameter whose value is a list of floating-point
+     * values.
+     *
+     * @param name the name of the parameter
+     * @return a copy of the values of the parameter
+     * @throws NoiseException if the parameter is missing or has another type
+     */
+    public double[] getDoubleArray(final String name) {
+        return this.get(name, double[].class).clone();
+    }
+
+    private <T> T get(final String name, final Class<T> type) {
+        final Object value = this.values.get(name);
+        if (value == null) {
+            throw new NoiseException("Missing parameter " + name);
+        }
+        if (!type.isInstance(value)) {
+            throw new NoiseException("Parameter " + name + " does not have the expected type");
+        }
+        return type.cast(value);
+    }
+
+    static final class EnumValue {
+        final String type;
+        final String name;
+
+        EnumValue(final String type, final String name) {
+            this.type = type;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.image;
+
+import java.util.Arrays;
+
+/**
+ * Maps output values to colours by interpolating between gradient points.
+ *
+ * <p>Each gradient point assigns a colour to an output value. Values
+ * between two points are assigned a linear blend of their colours, and
+ * values beyond the first or last point are assigned the colour of that
+ * point.</p>
+ *
+ * <p>Colours are packed into an {@code int} as {@code 0xAARRGGBB}, the
+ * layout used by {@code java.awt.image.BufferedImage#TYPE_INT_ARGB}.</p>
+ */
+public final class ColorGradient {
+    // Positions of the gradient points, in increasing order.
+    private double[] positions = new double[0];
+    // Colours of the gradient points.
+    private int[] colors = new int[0];
+
+    /**
+     * Create a new gradient without any gradient points.
+     */
+    public ColorGradient() {
+    }
+
+    /**
+     * Create a gradient from black at {@code -1.0} to white at
+     * {@code 1.0}.
+     *
+     * @return a new grayscale gradient
+     */
+    public static ColorGradient grayscale() {
+        final ColorGradient gradient = new ColorGradient();
+        gradient.addPoint(-1.0, 0xff000000);
+        gradient.addPoint(1.0, 0xffffffff);
+        return gradient;
+    }
+
+    /**
+     * Create a gradient that colours output values from {@code -1.0} to
+     * {@code 1.0} as terrain, with water below {@code 0.0} and land
+     * above it.
+     *
+     * <p>This is the default gradient of libnoise's terrain renderer.</p>
+     *
+     * @return a new terrain gradient
+     */
+    public static ColorGradient terrain() {
+        final ColorGradient gradient = new ColorGradient();
+        gradient.addPoint(-1.00, 0xff000080); // deep water
+        gradient.addPoint(-0.20, 0xff204080); // shallow water
+        gradient.addPoint(-0.04, 0xff4060c0); // shore
+        gradient.addPoint(-0.02, 0xffc0c080); // sand
+        gradient.addPoint(0.00, 0xff00c000); // grass
+        gradient.addPoint(0.25, 0xffc0c000); // dirt
+        gradient.addPoint(0.50, 0xffa06040); // rock
+        gradient.addPoint(0.75, 0xff80ffff); // ice
+        gradient.addPoint(1.00, 0xffffffff); // snow
+        return gradient;
+    }
+
+    /**
+     * Adds a gradient point.
+     *
+     * @param position the output value of the gradient point
+     * @param color the colour of the gradient point, as {@code 0xAARRGGBB}
+     * @throws IllegalArgumentException if the position is not finite, or the
+     *     gradient already has a point at that position
+     */
+    public void addPoint(final double position, final int color) {
+        if (Double.isNaN(position) || Double.isInfinite(position)) {
+            throw new IllegalArgumentException("Gradient point positions must be finite: " + position);
+        }
+        int index = Arrays.binarySearch(this.positions, position);
+        if (index >= 0) {
+            throw new IllegalArgumentException("The gradient already has a point at " + position);
+        }
+        index = -index - 1;
+
+        final double[] positions = new double[this.positions.length + 1];
+        final int[] colors = new int[this.colors.length + 1];
+        System.arraycopy(this.positions, 0, positions, 0, index);
+        System.arraycopy(this.colors, 0, colors, 0, index);
+        positions[index] = position;
+        colors[index] = color;
+        System.arraycopy(this.positions, index, positions, index + 1, this.positions.length - index);
+        System.arraycopy(this.colors, index, colors, index + 1, this.colors.length - index);
+        this.positions = positions;
+        this.colors = colors;
+    }
+
+    /**
+     * Removes all gradient points.
+     */
+    public void clear() {
+        this.positions = new double[0];
+        this.colors = new int[0];
+    }
+
+    /**
+     * Get the number of gradient points.
+     *
+     * @return the number of gradient points
+     */
+    public int pointCount() {
+        return this.positions.length;
+    }
+
+    /**
+     * Get the colour of an output value.
+     *
+     * @param value the output value
+     * @return the colour, as {@code 0xAARRGGBB}
+     * @throws IllegalStateException if the gradient has fewer than two
+     *     gradient points
+     */
+    public int color(final double value) {
+        final double[] positions = this.positions;
+        if (positions.length < 2) {
+            throw new IllegalStateException("A gradient needs at least two gradient points, but has " + positions.length);
+        }
+        if (!(value > positions[0])) {
+            return this.colors[0];
+        }
+        final int last = positions.length - 1;
+        if (value >= positions[last]) {
+            return this.colors[last];
+        }
+        int upper = 1;
+        while (value >= positions[upper]) {
+            upper++;
+        }
+        final double alpha = (value - positions[upper - 1]) / (positions[upper] - positions[upper - 1]);
+        return ColorGradient.blend(this.colors[upper - 1], this.colors[upper], alpha);
+    }
+
+    /**
+     * Get a lookup table of the colours of evenly spaced output values, from
+     * the first gradient point to the last.
+     *
+     * <p>Entry {@code n} of the table is the colour of the output value
+     * {@code first + n * (last - first) / (size - 1)}, where {@code first}
+     * and {@code last} are the positions of the first and last gradient
+     * points. Mapping values through a table avoids searching the gradient
+     * points for every pixel, at the cost of quantizing the output
+     * values.</p>
+     *
+     * @param size the number of entries in the table
+     * @return a new lookup table
+     * @throws IllegalArgumentException if the size is less than {@code 2}
+     * @throws IllegalStateException if the gradient has fewer than two
+     *     gradient points
+     */
+    public int[] lookupTable(final int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("A lookup table needs at least two entries, not " + size);
+        }
+        final double[] positions = this.positions;
+        if (positions.length < 2) {
+            throw new IllegalStateException("A gradient needs at least two gradient points, but has " + positions.length);
+        }
+        final double first = positions[0];
+        final double step = (positions[positions.length - 1] - first) / (size - 1);
+        final int[] table = new int[size];
+        for (int n = 0; n < size; n++) {
+            table[n] = this.color(first + n * step);
+        }
+        return table;
+    }
+
+    /**
+     * Get the position of the first gradient point.
+     *
+     * @return the lowest position
+     * @throws IllegalStateException if the gradient has no gradient points
+     */
+    public double firstPosition() {
+        if (this.positions.length == 0) {
+            throw new IllegalStateException("The gradient has no gradient points");
+        }
+        return this.positions[0];
+    }
+
+    /**
+     * Get the position of the last gradient point.
+     *
+     * @return the highest position
+     * @throws IllegalStateException if the gradient has no gradient points
+     */
+    public double lastPosition() {
+        if (this.positions.length == 0) {
+            throw new IllegalStateException("The gradient has no gradient points");
+        }
+        return this.positions[this.positions.length - 1];
+    }
+
+    // Blend each channel of two colours.
+    static int blend(final int color0, final int color1, final double alpha) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            final int channel0 = (color0 >>> shift) & 0xff;
+            final int channel1 = (color1 >>> shift) & 0xff;
+            result |= ((int) (channel1 * alpha + channel0 * (1.0 - alpha)) & 0xff) << shift;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.image;
+
+import org.spongepowered.noise.model.Cylinder;
+import org.spongepowered.noise.model.Plane;
+import org.spongepowered.noise.model.Sphere;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Renders a region of a model and writes it as an image or a height map
+ * file.
+ *
+ * <p>The region is a grid of {@link #width()} by {@link #height()} output
+ * values, sampled as described by the {@code render} method of the model.
+ * Output values are rendered a strip of rows at a time and written as soon
+ * as their strip is complete, so the size of the image is not limited by
+ * the available memory. As in libnoise, the first row of the grid is the
+ * bottom row of the image, so that north points up on maps of a
+ * sphere.</p>
+ *
+ * <p>Images are written as PNG, either in grayscale, mapping the
+ * {@linkplain #setValueRange(double, double) value range} from black to
+ * white, or in colour, as rendered by an {@link ImageRenderer}. Height maps can also be
+ * written as raw 32-bit floating point values.</p>
+ */
+public final class HeightMapExporter {
+
+    // Renders rows firstRow to firstRow + rowCount of a grid into dest.
+    private interface Region {
+        void render(int width, int height, int firstRow, int rowCount, double[] dest);
+    }
+
+    // Receives one rendered row of a strip, and the rows either side of it.
+    private interface RowWriter {
+        void write(double[] strip, int offset, int below, int above) throws IOException;
+    }
+
+    private final Region region;
+    private int width = 256;
+    private int height = 256;
+    // Output values mapped to black and white in grayscale images.
+    private double lowerValue = -1.0;
+    private double upperValue = 1.0;
+    // Number of rows rendered at once.
+    private int stripHeight = 64;
+    // Colours colour images.
+    private final ImageRenderer renderer = new ImageRenderer();
+
+    private HeightMapExporter(final Region region) {
+        this.region = region;
+    }
+
+    /**
+     * Create an exporter of a rectangular region of a plane.
+     *
+     * @param plane the plane
+     * @param lowerX the lower {@code x} boundary
+     * @param upperX the upper {@code x} boundary
+     * @param lowerZ the lower {@code z} boundary
+     * @param upperZ the upper {@code z} boundary
+     * @return a new exporter
+     * @throws IllegalArgumentException if a lower boundary is not less than
+     *     its upper boundary
+     * @see Plane#render(double, double, double, double, int, int, double[], int)
+     */
+    public static HeightMapExporter plane(final Plane plane, final double lowerX, final double upperX, final double lowerZ, final double upperZ) {
+        Objects.requireNonNull(plane, "plane");
+        HeightMapExporter.checkBounds(lowerX, upperX, lowerZ, upperZ);
+        return new HeightMapExporter((width, height, firstRow, rowCount, dest) -> {
+            final double zDelta = (upperZ - lowerZ) / height;
+            plane.render(lowerX, upperX, lowerZ + firstRow * zDelta, lowerZ + (firstRow + rowCount) * zDelta, width, rowCount, dest, 0);
+        });
+    }
+
+    /**
+     * Create an exporter of a region of latitudes and longitudes of a
+     * sphere.
+     *
+     * @param sphere the sphere
+     * @param southLat the southern latitude boundary, in degrees
+     * @param northLat the northern latitude boundary, in degrees
+     * @param westLon the western longitude boundary, in degrees
+     * @param eastLon the eastern longitude boundary, in degrees
+     * @return a new exporter
+     * @throws IllegalArgumentException if a lower boundary is not less than
+     *     its upper boundary
+     * @see Sphere#render(double, double, double, double, int, int, double[], int)
+     */
+    public static HeightMapExporter sphere(final Sphere sphere, final double southLat, final double northLat, final double westLon,
+        final double eastLon) {
+        Objects.requireNonNull(sphere, "sphere");
+        HeightMapExporter.checkBounds(westLon, eastLon, southLat, northLat);
+        return new HeightMapExporter((width, height, firstRow, rowCount, dest) -> {
+            final double latDelta = (northLat - southLat) / height;
+            sphere.render(southLat + firstRow * latDelta, southLat + (firstRow + rowCount) * latDelta, westLon, eastLon, width, rowCount, dest, 0);
+        });
+    }
+
+    /**
+     * Create an exporter of a region of angles and heights of a cylinder.
+     *
+     * @param cylinder the cylinder
+     * @param lowerAngle the lower angle boundary, in degrees
+     * @param upperAngle the upper angle boundary, in degrees
+     * @param lowerHeight the lower height boundary
+     * @param upperHeight the upper height boundary
+     * @return a new exporter
+     * @throws IllegalArgumentException if a lower boundary is not less than
+     *     its upper boundary
+     * @see Cylinder#render(double, double, double, double, int, int, double[], int)
+     */
+    public static HeightMapExporter cylinder(final Cylinder cylinder, final double lowerAngle, final double upperAngle, final double lowerHeight,
+        final double upperHeight) {
+        Objects.requireNonNull(cylinder, "cylinder");
+        HeightMapExporter.checkBounds(lowerAngle, upperAngle, lowerHeight, upperHeight);
+        return new HeightMapExporter((width, height, firstRow, rowCount, dest) -> {
+            final double heightDelta = (upperHeight - lowerHeight) / height;
+            cylinder.render(lowerAngle, upperAngle, lowerHeight + firstRow * heightDelta, lowerHeight + (firstRow + rowCount) * heightDelta, width,
+                rowCount, dest, 0);
+        });
+    }
+
+    private static void checkBounds(final double lowerColumn, final double upperColumn, final double lowerRow, final double upperRow) {
+        if (!(lowerColumn < upperColumn && lowerRow < upperRow)) {
+            throw new IllegalArgumentException("Lower bounds must be less than upper bounds");
+        }
+    }
+
+    /**
+     * Get the width of the image, in pixels.
+     *
+     * @return the width
+     */
+    public int width() {
+        return this.width;
+    }
+
+    /**
+     * Get the height of the image, in pixels.
+     *
+     * @return the height
+     */
+    public int height() {
+        return this.height;
+    }
+
+    /**
+     * Set the size of the image.
+     *
+     * @param width the width of the image, in pixels
+     * @param height the height of the image, in pixels
+     * @throws IllegalArgumentException if either dimension is not positive
+     */
+    public void setSize(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Image dimensions must be positive, got " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Get the output value that is black in grayscale images.
+     *
+     * @return the lower value
+     */
+    public double lowerValue() {
+        return this.lowerValue;
+    }
+
+    /**
+     * Get the output value that is white in grayscale images.
+     *
+     * @return the upper value
+     */
+    public double upperValue() {
+        return this.upperValue;
+    }
+
+    /**
+     * Set the range of output values of grayscale images.
+     *
+     * <p>Output values outside of the range are clamped to black or
+     * white.</p>
+     *
+     * @param lowerValue the output value that is black
+     * @param upperValue the output value that is white
+     * @throws IllegalArgumentException if the lower value is not less than
+     *     the upper value
+     */
+    public void setValueRange(final double lowerValue, final double upperValue) {
+        if (!(lowerValue < upperValue)) {
+            throw new IllegalArgumentException("The lower value must be less than the upper value: " + lowerValue + ", " + upperValue);
+        }
+        this.lowerValue = lowerValue;
+        this.upperValue = upperValue;
+    }
+
+    /**
+     * Get the number of rows that are rendered at once.
+     *
+     * @return the strip height
+     */
+    public int stripHeight() {
+        return this.stripHeight;
+    }
+
+    /**
+     * Set the number of rows that are rendered at once.
+     *
+     * <p>At most {@code width * (stripHeight + 2)} output values are held
+     * in memory while writing.</p>
+     *
+     * @param stripHeight the strip height
+     * @throws IllegalArgumentException if the strip height is not positive
+     */
+    public void setStripHeight(final int stripHeight) {
+        if (stripHeight <= 0) {
+            throw new IllegalArgumentException("stripHeight must be positive: " + stripHeight);
+        }
+        this.stripHeight = stripHeight;
+    }
+
+    /**
+     * Get the renderer that colours colour images.
+     *
+     * <p>The gradient, hillshading and light of colour images are configured
+     * on the renderer. Its strip height and parallelism are not used, as
+     * colour images are rendered in the strips of this exporter.</p>
+     *
+     * @return the renderer
+     */
+    public ImageRenderer renderer() {
+        return this.renderer;
+    }
+
+    /**
+     * Writes the region as a grayscale PNG image.
+     *
+     * @param out the stream that receives the image, which is not closed
+     * @param bitDepth the number of bits per pixel, {@code 8} or {@code 16}
+     * @throws IOException if the image cannot be written
+     * @throws IllegalArgumentException if the bit depth is not supported
+     */
+    public void writeGrayscale(final OutputStream out, final int bitDepth) throws IOException {
+        if (bitDepth != 8 && bitDepth != 16) {
+            throw new IllegalArgumentException("Grayscale images must have 8 or 16 bits per pixel, not " + bitDepth);
+        }
+        final int width = this.width;
+        final int maxLevel = (1 << bitDepth) - 1;
+        final double lowerValue = this.lowerValue;
+        final double scale = maxLevel / (this.upperValue - lowerValue);
+        try (final PngEncoder png = new PngEncoder(out, width, this.height, bitDepth, PngEncoder.COLOR_TYPE_GRAYSCALE)) {
+            final byte[] row = new byte[width * bitDepth / 8];
+            this.forEachRow(false, (strip, offset, below, above) -> {
+                for (int column = 0; column < width; column++) {
+                    final double level = (strip[offset + column] - lowerValue) * scale;
+                    final int clamped = level > 0.0 ? (int) Math.min(Math.round(level), maxLevel) : 0;
+                    if (bitDepth == 8) {
+                        row[column] = (byte) clamped;
+                    } else {
+                        row[2 * column] = (byte) (clamped >>> 8);
+                        row[2 * column + 1] = (byte) clamped;
+                    }
+                }
+                png.writeRow(row);
+            });
+            png.finish();
+        }
+    }
+
+    /**
+     * Writes the region as an 8-bit RGB PNG image, coloured by the
+     * {@linkplain #renderer() renderer}.
+     *
+     * <p>The alpha channel of the colours is ignored.</p>
+     *
+     * @param out the stream that receives the image, which is not closed
+     * @throws IOException if the image cannot be written
+     * @throws IllegalStateException if the gradient has fewer than two
+     *     gradient points
+     */
+    public void writeColor(final OutputStream out) throws IOException {
+        final ImageRenderer.Rows rows = this.renderer.rows();
+        final int width = this.width;
+        try (final PngEncoder png = new PngEncoder(out, width, this.height, 8, PngEncoder.COLOR_TYPE_RGB)) {
+            final int[] pixels = new int[width];
+            final byte[] row = new byte[3 * width];
+            this.forEachRow(this.renderer.hillshade(), (strip, offset, below, above) -> {
+                rows.render(strip, offset, below, above, width, pixels, 0);
+                for (int column = 0; column < width; column++) {
+                    final int pixel = pixels[column];
+                    row[3 * column] = (byte) (pixel >>> 16);
+                    row[3 * column + 1] = (byte) (pixel >>> 8);
+                    row[3 * column + 2] = (byte) pixel;
+                }
+                png.writeRow(row);
+            });
+            png.finish();
+        }
+    }
+
+    /**
+     * Writes the output values of the region as raw 32-bit floating point
+     * values, in little-endian byte order, with the rows in the same order
+     * as in images.
+     *
+     * @param out the stream that receives the values, which is not closed
+     * @throws IOException if the values cannot be written
+     */
+    public void writeRaw(final OutputStream out) throws IOException {
+        final int width = this.width;
+        final ByteBuffer row = ByteBuffer.allocate(Float.BYTES * width).order(ByteOrder.LITTLE_ENDIAN);
+        this.forEachRow(false, (strip, offset, below, above) -> {
+            row.clear();
+            for (int column = 0; column < width; column++) {
+                row.putFloat((float) strip[offset + column]);
+            }
+            out.write(row.array(), 0, row.position());
+        });
+        out.flush();
+    }
+
+    // Render the region one strip at a time, and pass each row to the writer
+    // from the top of the image, which is the last row of the grid. The rows
+    // either side of each row are also rendered if requested, and are the row
+    // itself at the edges of the grid.
+    private void forEachRow(final boolean neighbours, final RowWriter writer) throws IOException {
+        final int width = this.width;
+        final int height = this.height;
+        final int stripHeight = Math.min(this.stripHeight, height);
+        final int margin = neighbours ? 1 : 0;
+        final long stripSize = (long) width * (stripHeight + 2 * margin);
+        if (stripSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("A strip of " + stripHeight + " rows of " + width + " pixels is too large");
+        }
+        final double[] strip = new double[(int) stripSize];
+        for (int top = height; top > 0; top -= stripHeight) {
+            final int bottom = Math.max(top - stripHeight, 0);
+            final int first = Math.max(bottom - margin, 0);
+            final int end = Math.min(top + margin, height);
+            this.region.render(width, height, first, end - first, strip);
+            for (int row = top - 1; row >= bottom; row--) {
+                final int below = Math.max(row - 1, first) - first;
+                final int above = Math.min(row + 1, end - 1) - first;
+                writer.write(strip, (row - first) * width, below * width, above * width);
+            }
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.image;
+
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Maps grids of output values to colour images, as by libnoise's image
+ * renderer.
+ *
+ * <p>Each output value is coloured through a lookup table of the
+ * {@linkplain #setGradient(ColorGradient) gradient}, and can be shaded by the
+ * slope of the surface from the output values of its neighbours. Grids are
+ * rendered a strip of rows at a time, in parallel if
+ * {@linkplain #setParallel(boolean) enabled}, into an array of
+ * {@code 0xAARRGGBB} pixels that can be copied directly into a
+ * {@code java.awt.image.BufferedImage#TYPE_INT_ARGB} image.</p>
+ *
+ * <p>Grids are in the layout produced by the {@code render} methods of the
+ * models, with the first row of the grid at the bottom of the image, so that
+ * north points up on maps of a sphere.</p>
+ */
+public final class ImageRenderer {
+    private ColorGradient gradient = ColorGradient.terrain();
+    // Number of entries in the lookup table of the gradient.
+    private int lookupSize = 4096;
+    // Whether pixels are shaded by the slope of the surface.
+    private boolean hillshade = false;
+    // Direction of the light, in degrees.
+    private double lightAzimuth = 45.0;
+    private double lightElevation = 45.0;
+    private double lightContrast = 1.0;
+    private double lightBrightness = 2.0;
+    // Number of rows rendered by each task.
+    private int stripHeight = 64;
+    private boolean parallel = false;
+
+    /**
+     * Create a new renderer with the terrain gradient and without
+     * hillshading.
+     */
+    public ImageRenderer() {
+    }
+
+    /**
+     * Get the gradient that colours output values.
+     *
+     * @return the gradient
+     */
+    public ColorGradient gradient() {
+        return this.gradient;
+    }
+
+    /**
+     * Set the gradient that colours output values.
+     *
+     * <p>The default is the {@linkplain ColorGradient#terrain() terrain}
+     * gradient. Changes to the gradient apply from the next render.</p>
+     *
+     * @param gradient the gradient
+     */
+    public void setGradient(final ColorGradient gradient) {
+        this.gradient = Objects.requireNonNull(gradient, "gradient");
+    }
+
+    /**
+     * Get the number of entries in the lookup table of the gradient.
+     *
+     * @return the lookup table size
+     */
+    public int lookupSize() {
+        return this.lookupSize;
+    }
+
+    /**
+     * Set the number of entries in the lookup table of the gradient.
+     *
+     * <p>Output values are rounded to the nearest of this many evenly spaced
+     * values between the first and last gradient points before they are
+     * coloured. The default is {@code 4096}.</p>
+     *
+     * @param lookupSize the lookup table size
+     * @throws IllegalArgumentException if the size is less than {@code 2}
+     * @see ColorGradient#lookupTable(int)
+     */
+    public void setLookupSize(final int lookupSize) {
+        if (lookupSize < 2) {
+            throw new IllegalArgumentException("A lookup table needs at least two entries, not " + lookupSize);
+        }
+        this.lookupSize = lookupSize;
+    }
+
+    /**
+     * Get whether pixels are shaded by the slope of the surface.
+     *
+     * @return whether hillshading is enabled
+     */
+    public boolean hillshade() {
+        return this.hillshade;
+    }
+
+    /**
+     * Sets whether pixels are shaded by the slope of the surface.
+     *
+     * <p>The shading is calculated as by libnoise's image renderer, from the
+     * differences between the output values of the neighbours of each pixel
+     * and the direction of the light. The alpha channel is not shaded.</p>
+     *
+     * @param hillshade whether hillshading is enabled
+     */
+    public void setHillshade(final boolean hillshade) {
+        this.hillshade = hillshade;
+    }
+
+    /**
+     * Get the azimuth of the light, in degrees.
+     *
+     * @return the azimuth
+     */
+    public double lightAzimuth() {
+        return this.lightAzimuth;
+    }
+
+    /**
+     * Get the elevation of the light, in degrees.
+     *
+     * @return the elevation
+     */
+    public double lightElevation() {
+        return this.lightElevation;
+    }
+
+    /**
+     * Set the direction of the light.
+     *
+     * <p>As in libnoise, the azimuth is the direction the light comes from:
+     * {@code 0} degrees is the right of the image, or east on a map, and
+     * {@code 90} degrees is the top, or north. An elevation of {@code 90}
+     * degrees is directly above the surface. The default is {@code 45}
+     * degrees for both.</p>
+     *
+     * @param azimuth the azimuth, in degrees
+     * @param elevation the elevation, in degrees
+     */
+    public void setLightDirection(final double azimuth, final double elevation) {
+        this.lightAzimuth = azimuth;
+        this.lightElevation = elevation;
+    }
+
+    /**
+     * Get the factor applied to the slopes of the surface when shading.
+     *
+     * @return the light contrast
+     */
+    public double lightContrast() {
+        return this.lightContrast;
+    }
+
+    /**
+     * Set the factor applied to the slopes of the surface when shading.
+     *
+     * <p>Slopes are measured as the difference in output value between
+     * neighbouring pixels, so maps that cover a small region with many pixels
+     * need a larger contrast for the shading to be visible.</p>
+     *
+     * @param lightContrast the light contrast
+     * @throws IllegalArgumentException if the contrast is negative
+     */
+    public void setLightContrast(final double lightContrast) {
+        if (!(lightContrast >= 0.0)) {
+            throw new IllegalArgumentException("lightContrast must not be negative: " + lightContrast);
+        }
+        this.lightContrast = lightContrast;
+    }
+
+    /**
+     * Get the factor applied to the intensity of the light.
+     *
+     * @return the light brightness
+     */
+    public double lightBrightness() {
+        return this.lightBrightness;
+    }
+
+    /**
+     * Set the factor applied to the intensity of the light.
+     *
+     * <p>A flat surface receives half of the light when it is lit from an
+     * elevation of {@code 45} degrees, so the default brightness of
+     * {@code 2.0} leaves its colour unchanged.</p>
+     *
+     * @param lightBrightness the light brightness
+     * @throws IllegalArgumentException if the brightness is negative
+     */
+    public void setLightBrightness(final double lightBrightness) {
+        if (!(lightBrightness >= 0.0)) {
+            throw new IllegalArgumentException("lightBrightness must not be negative: " + lightBrightness);
+        }
+        this.lightBrightness = lightBrightness;
+    }
+
+    /**
+     * Get the number of rows rendered by each task.
+     *
+     * @return the strip height
+     */
+    public int stripHeight() {
+        return this.stripHeight;
+    }
+
+    /**
+     * Set the number of rows rendered by each task.
+     *
+     * @param stripHeight the strip height
+     * @throws IllegalArgumentException if the strip height is not positive
+     */
+    public void setStripHeight(final int stripHeight) {
+        if (stripHeight <= 0) {
+            throw new IllegalArgumentException("stripHeight must be positive: " + stripHeight);
+        }
+        this.stripHeight = stripHeight;
+    }
+
+    /**
+     * Get whether strips are rendered in parallel.
+     *
+     * @return whether rendering is parallel
+     */
+    public boolean parallel() {
+        return this.parallel;
+    }
+
+    /**
+     * Sets whether strips are rendered in parallel, in the common fork-join
+     * pool.
+     *
+     * <p>By default, strips are rendered one after another on the calling
+     * thread, so that rendering does not compete with other work for the
+     * common pool.</p>
+     *
+     * @param parallel whether rendering is parallel
+     */
+    public void setParallel(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Renders a grid of output values to an image.
+     *
+     * <p>The grid has {@code width} values per row and {@code height} rows,
+     * with the first row at the bottom of the image. The image is written to
+     * {@code dest} from {@code offset}, one row of {@code width} pixels at a
+     * time from the top of the image.</p>
+     *
+     * @param values the grid of output values
+     * @param width the width of the grid
+     * @param height the height of the grid
+     * @param dest the array that receives the pixels
+     * @param offset the index in {@code dest} of the top left pixel
+     * @throws IllegalArgumentException if either dimension is not positive,
+     *     or either array is too small
+     * @throws IllegalStateException if the gradient has fewer than two
+     *     gradient points
+     */
+    public void render(final double[] values, final int width, final int height, final int[] dest, final int offset) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Image dimensions must be positive, got " + width + "x" + height);
+        }
+        final long size = (long) width * height;
+        if (values.length < size) {
+            throw new IllegalArgumentException("A grid of " + width + "x" + height + " values does not fit in an array of " + values.length);
+        }
+        if (offset < 0 || dest.length - offset < size) {
+            throw new IllegalArgumentException("Range [" + offset + ", " + (offset + size) + ") is out of bounds for length " + dest.length);
+        }
+
+        final Rows rows = this.rows();
+        final int stripHeight = this.stripHeight;
+        final int strips = (height + stripHeight - 1) / stripHeight;
+        IntStream stream = IntStream.range(0, strips);
+        if (this.parallel) {
+            stream = stream.parallel();
+        }
+        stream.forEach(strip -> {
+            final int end = Math.min((strip + 1) * stripHeight, height);
+            for (int row = strip * stripHeight; row < end; row++) {
+                final int below = Math.max(row - 1, 0);
+                final int above = Math.min(row + 1, height - 1);
+                rows.render(values, row * width, below * width, above * width, width, dest, offset + (height - 1 - row) * width);
+            }
+        });
+    }
+
+    // Capture the current settings, and build the lookup table.
+    Rows rows() {
+        return new Rows(this);
+    }
+
+    // Renders single rows with the settings of a renderer at the time it
+    // was created.
+    static final class Rows {
+        private final int[] table;
+        private final double first;
+        // Number of table entries per unit of output value.
+        private final double scale;
+        private final boolean hillshade;
+        // Light intensity of a flat surface, and of slopes along each axis.
+        private final double flat;
+        private final double xSlope;
+        private final double ySlope;
+        private final double brightness;
+
+        Rows(final ImageRenderer renderer) {
+            final ColorGradient gradient = renderer.gradient;
+            this.table = gradient.lookupTable(renderer.lookupSize);
+            this.first = gradient.firstPosition();
+            this.scale = (this.table.length - 1) / (gradient.lastPosition() - this.first);
+            this.hillshade = renderer.hillshade;
+            final double azimuth = Math.toRadians(renderer.lightAzimuth);
+            final double elevation = Math.toRadians(renderer.lightElevation);
+            this.flat = Math.sqrt(2.0) * Math.sin(elevation) / 2.0;
+            final double slope = (1.0 - this.flat) * renderer.lightContrast * Math.sqrt(2.0) * Math.cos(elevation);
+            this.xSlope = slope * Math.cos(azimuth);
+            this.ySlope = slope * Math.sin(azimuth);
+            this.brightness = renderer.lightBrightness;
+        }
+
+        // Render the row of values at offset, with its neighbouring rows at
+        // below and above, into width pixels of dest from destOffset.
+        void render(final double[] values, final int offset, final int below, final int above, final int width, final int[] dest,
+            final int destOffset) {
+            final int[] table = this.table;
+            final int last = table.length - 1;
+            for (int column = 0; column < width; column++) {
+                final double position = (values[offset + column] - this.first) * this.scale + 0.5;
+                // Comparing before casting also maps NaN to the first entry.
+                final int color = table[position > 0.0 ? Math.min((int) position, last) : 0];
+                if (!this.hillshade) {
+                    dest[destOffset + column] = color;
+                    continue;
+                }
+                final double left = values[offset + Math.max(column - 1, 0)];
+                final double right = values[offset + Math.min(column + 1, width - 1)];
+                final double intensity = this.xSlope * (left - right) + this.ySlope * (values[below + column] - values[above + column]) + this.flat;
+                final double light = Math.max(intensity, 0.0) * this.brightness;
+                dest[destOffset + column] = (color & 0xff000000)
+                    | Rows.shade(color >>> 16, light) << 16
+                    | Rows.shade(color >>> 8, light) << 8
+                    | Rows.shade(color, light);
+            }
+        }
+
+        private static int shade(final int channel, final double light) {
+            return Math.min((int) ((channel & 0xff) * light), 0xff);
+        }
+    }
+}
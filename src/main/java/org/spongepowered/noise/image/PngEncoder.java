@@ -0,0 +1,184 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.image;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a PNG image one row at a time, without holding the image in
+ * memory.
+ *
+ * <p>The encoder must be closed to release its compressor, whether or not the
+ * image was finished.</p>
+ */
+final class PngEncoder implements Closeable {
+    static final int COLOR_TYPE_GRAYSCALE = 0;
+    static final int COLOR_TYPE_RGB = 2;
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    // Largest amount of compressed data in a single IDAT chunk.
+    private static final int CHUNK_SIZE = 1 << 16;
+    // Filter type that subtracts the previous pixel of the row.
+    private static final int FILTER_SUB = 1;
+
+    private final OutputStream out;
+    private final int rowSize;
+    private final int pixelSize;
+    private final int height;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] filtered;
+    private final byte[] chunk = new byte[PngEncoder.CHUNK_SIZE];
+    private int chunkLength = 0;
+    private int rows = 0;
+
+    /**
+     * Writes the header of an image.
+     *
+     * @param out the stream that receives the image, which is not closed
+     * @param width the width of the image, in pixels
+     * @param height the height of the image, in pixels
+     * @param bitDepth the number of bits per channel, {@code 8} or
+     *     {@code 16}
+     * @param colorType {@link #COLOR_TYPE_GRAYSCALE} or
+     *     {@link #COLOR_TYPE_RGB}
+     * @throws IOException if the header cannot be written
+     */
+    PngEncoder(final OutputStream out, final int width, final int height, final int bitDepth, final int colorType) throws IOException {
+        this.out = out;
+        this.pixelSize = (colorType == PngEncoder.COLOR_TYPE_RGB ? 3 : 1) * bitDepth / 8;
+        final long rowSize = (long) width * this.pixelSize;
+        if (rowSize >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Image is too wide: " + width);
+        }
+        this.rowSize = (int) rowSize;
+        this.height = height;
+        this.filtered = new byte[this.rowSize + 1];
+
+        out.write(PngEncoder.SIGNATURE);
+        final byte[] header = new byte[13];
+        PngEncoder.putInt(header, 0, width);
+        PngEncoder.putInt(header, 4, height);
+        header[8] = (byte) bitDepth;
+        header[9] = (byte) colorType;
+        // Compression, filter and interlace methods are all the default.
+        this.writeChunk("IHDR", header, header.length);
+        // Only allocated once nothing else can fail, as it must be ended.
+        this.deflater = new Deflater();
+    }
+
+    /**
+     * Writes the next row of the image, from top to bottom.
+     *
+     * @param row the samples of the row, with 16-bit samples in big-endian
+     *     byte order
+     * @throws IOException if the row cannot be written
+     */
+    void writeRow(final byte[] row) throws IOException {
+        if (this.rows == this.height) {
+            throw new IllegalStateException("All " + this.height + " rows have already been written");
+        }
+        final byte[] filtered = this.filtered;
+        final int pixelSize = this.pixelSize;
+        filtered[0] = PngEncoder.FILTER_SUB;
+        System.arraycopy(row, 0, filtered, 1, pixelSize);
+        for (int i = pixelSize; i < this.rowSize; i++) {
+            filtered[i + 1] = (byte) (row[i] - row[i - pixelSize]);
+        }
+        this.deflater.setInput(filtered, 0, this.rowSize + 1);
+        while (!this.deflater.needsInput()) {
+            this.deflate();
+        }
+        this.rows++;
+    }
+
+    /**
+     * Writes the end of the image, after all rows have been written.
+     *
+     * @throws IOException if the image cannot be written
+     */
+    void finish() throws IOException {
+        if (this.rows != this.height) {
+            throw new IllegalStateException("Only " + this.rows + " of " + this.height + " rows have been written");
+        }
+        this.deflater.finish();
+        while (!this.deflater.finished()) {
+            this.deflate();
+        }
+        if (this.chunkLength > 0) {
+            this.writeChunk("IDAT", this.chunk, this.chunkLength);
+        }
+        this.writeChunk("IEND", this.chunk, 0);
+        this.out.flush();
+    }
+
+    /**
+     * Releases the compressor. The stream that receives the image is not
+     * closed.
+     */
+    @Override
+    public void close() {
+        this.deflater.end();
+    }
+
+    // Compress more of the input, and write the IDAT chunk once it is full.
+    private void deflate() throws IOException {
+        this.chunkLength += this.deflater.deflate(this.chunk, this.chunkLength, this.chunk.length - this.chunkLength);
+        if (this.chunkLength == this.chunk.length) {
+            this.writeChunk("IDAT", this.chunk, this.chunkLength);
+            this.chunkLength = 0;
+        }
+    }
+
+    private void writeChunk(final String type, final byte[] data, final int length) throws IOException {
+        final byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        final byte[] field = new byte[4];
+        PngEncoder.putInt(field, 0, length);
+        this.out.write(field);
+        this.out.write(typeBytes);
+        this.out.write(data, 0, length);
+        this.crc.reset();
+        this.crc.update(typeBytes, 0, typeBytes.length);
+        this.crc.update(data, 0, length);
+        PngEncoder.putInt(field, 0, (int) this.crc.getValue());
+        this.out.write(field);
+    }
+
+    private static void putInt(final byte[] dest, final int offset, final int value) {
+        dest[offset] = (byte) (value >>> 24);
+        dest[offset + 1] = (byte) (value >>> 16);
+        dest[offset + 2] = (byte) (value >>> 8);
+        dest[offset + 3] = (byte) value;
+    }
+}
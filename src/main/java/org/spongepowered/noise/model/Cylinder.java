@@ -32,6 +32,7 @@ package org.spongepowered.noise.model;
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -87,4 +88,73 @@ public class Cylinder {
         return this.module.get(x, y, z);
     }
 
+    /**
+     * Renders the output values over a grid of angles and heights into a
+     * buffer.
+     *
+     * <p>The grid has {@code width} columns running around the cylinder and
+     * {@code height} rows running up its {@code y} axis. The cell at
+     * {@code (column, row)} is sampled at angle
+     * {@code lowerAngle + column * (upperAngle - lowerAngle) / width} and
+     * height {@code lowerHeight + row * (upperHeight - lowerHeight) / height},
+     * and its output value is written to
+     * {@code dest[offset + row * width + column]}.</p>
+     *
+     * <p>Each output value is identical to the one returned by
+     * {@link #get(double, double)}, but the sines and cosines of the angles
+     * are computed once per column rather than once per sample. Each row is
+     * passed to the noise module as a single list of input values, with
+     * {@link NoiseModule#get(double[], double[], double[], double[], int, int)},
+     * so modules with a bulk implementation evaluate the grid faster than
+     * with one call per cell. No per-sample allocation takes place.</p>
+     *
+     * @param lowerAngle the lower angle boundary, in degrees
+     * @param upperAngle the upper angle boundary, in degrees
+     * @param lowerHeight the lower height boundary
+     * @param upperHeight the upper height boundary
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param dest the buffer that receives the output values
+     * @param offset the index in {@code dest} of the first output value
+     * @throws IllegalArgumentException if the grid is empty or does not fit
+     *     in the buffer
+     */
+    public void render(final double lowerAngle, final double upperAngle, final double lowerHeight, final double upperHeight, final int width, final int height,
+        final double[] dest, final int offset) {
+        if (this.module == null) {
+            throw new NoModuleException(0);
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive, got " + width + "x" + height);
+        }
+        if (offset < 0 || dest.length - offset < (long) width * height) {
+            throw new IllegalArgumentException("Destination buffer is too small for a " + width + "x" + height + " grid at offset " + offset);
+        }
+
+        final double[] angleCos = new double[width];
+        final double[] angleSin = new double[width];
+        final double angleDelta = (upperAngle - lowerAngle) / width;
+        for (int column = 0; column < width; column++) {
+            final double angle = Math.toRadians(lowerAngle + column * angleDelta);
+            angleCos[column] = Math.cos(angle);
+            angleSin[column] = Math.sin(angle);
+        }
+
+        // The module may modify the input values, so they are refilled for
+        // every row.
+        final double[] x = new double[width];
+        final double[] y = new double[width];
+        final double[] z = new double[width];
+        final double[] values = new double[width];
+        final double heightDelta = (upperHeight - lowerHeight) / height;
+        for (int row = 0; row < height; row++) {
+            final double rowY = lowerHeight + row * heightDelta;
+            System.arraycopy(angleCos, 0, x, 0, width);
+            Arrays.fill(y, rowY);
+            System.arraycopy(angleSin, 0, z, 0, width);
+            this.module.get(x, y, z, values, 0, width);
+            System.arraycopy(values, 0, dest, offset + row * width, width);
+        }
+    }
+
 }
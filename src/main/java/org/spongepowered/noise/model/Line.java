@@ -131,6 +131,60 @@ public class Line {
         this.z1 = z;
     }
 
+    /**
+     * Gets the {@code x} coordinate of the start of the line segment.
+     *
+     * @return x coordinate of the start position.
+     */
+    public double startX() {
+        return this.x0;
+    }
+
+    /**
+     * Gets the {@code y} coordinate of the start of the line segment.
+     *
+     * @return y coordinate of the start position.
+     */
+    public double startY() {
+        return this.y0;
+    }
+
+    /**
+     * Gets the {@code z} coordinate of the start of the line segment.
+     *
+     * @return z coordinate of the start position.
+     */
+    public double startZ() {
+        return this.z0;
+    }
+
+    /**
+     * Gets the {@code x} coordinate of the end of the line segment.
+     *
+     * @return x coordinate of the end position.
+     */
+    public double endX() {
+        return this.x1;
+    }
+
+    /**
+     * Gets the {@code y} coordinate of the end of the line segment.
+     *
+     * @return y coordinate of the end position.
+     */
+    public double endY() {
+        return this.y1;
+    }
+
+    /**
+     * Gets the {@code z} coordinate of the end of the line segment.
+     *
+     * @return z coordinate of the end position.
+     */
+    public double endZ() {
+        return this.z1;
+    }
+
     /**
      * Returns the noise module that is used to generate the output values.
      *
@@ -176,4 +230,99 @@ public class Line {
         }
     }
 
+    /**
+     * Samples the line segment at evenly spaced positions into a buffer.
+     *
+     * <p>The {@code i}th output value is sampled at the distance
+     * {@code i / (count - 1)} along the line segment, so the first and last
+     * values lie on the start and end positions. If {@code count} is one, the
+     * only value is sampled at the start position. Each output value is
+     * identical to the one returned by {@link #get(double)}, including the
+     * attenuation towards the ends of the line segment.</p>
+     *
+     * <p>The points are passed to the noise module as a single list of input
+     * values, with
+     * {@link NoiseModule#get(double[], double[], double[], double[], int, int)},
+     * so modules with a bulk implementation evaluate them faster than with one
+     * call to {@link #get(double)} per position.</p>
+     *
+     * @param dest the buffer that receives the output values
+     * @param offset the index in {@code dest} of the first output value
+     * @param count the number of positions to sample
+     * @throws IllegalArgumentException if {@code count} is negative or the
+     *     output values do not fit in the buffer
+     */
+    public void render(final double[] dest, final int offset, final int count) {
+        if (this.module == null) {
+            throw new NoModuleException(0);
+        }
+        Line.checkRange(dest, offset, count);
+
+        final double step = count > 1 ? 1.0 / (count - 1) : 0.0;
+        final double[] positions = new double[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = i * step;
+        }
+        this.sample(positions, 0, dest, offset, count);
+    }
+
+    /**
+     * Samples the line segment at caller-specified positions into a buffer.
+     *
+     * <p>Each position is a distance along the line segment, where
+     * {@code 0.0} is the start position and {@code 1.0} the end position. Each
+     * output value is identical to the one returned by {@link #get(double)}
+     * for the corresponding position. As with
+     * {@link #render(double[], int, int)}, the points are passed to the noise
+     * module as a single list of input values.</p>
+     *
+     * @param positions the distances along the line segment to sample
+     * @param positionOffset the index in {@code positions} of the first
+     *     position
+     * @param dest the buffer that receives the output values
+     * @param destOffset the index in {@code dest} of the first output value
+     * @param length the number of positions to sample
+     * @throws IllegalArgumentException if {@code length} is negative or a
+     *     range does not fit in its buffer
+     */
+    public void render(final double[] positions, final int positionOffset, final double[] dest, final int destOffset, final int length) {
+        if (this.module == null) {
+            throw new NoModuleException(0);
+        }
+        Line.checkRange(positions, positionOffset, length);
+        Line.checkRange(dest, destOffset, length);
+
+        this.sample(positions, positionOffset, dest, destOffset, length);
+    }
+
+    // Pass the points at the positions to the noise module as a single list of
+    // input values, then attenuate the output values.
+    private void sample(final double[] positions, final int positionOffset, final double[] dest, final int destOffset, final int length) {
+        final double[] x = new double[length];
+        final double[] y = new double[length];
+        final double[] z = new double[length];
+        final double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            final double p = positions[positionOffset + i];
+            x[i] = (this.x1 - this.x0) * p + this.x0;
+            y[i] = (this.y1 - this.y0) * p + this.y0;
+            z[i] = (this.z1 - this.z0) * p + this.z0;
+        }
+        this.module.get(x, y, z, values, 0, length);
+        if (this.attenuate) {
+            for (int i = 0; i < length; i++) {
+                final double p = positions[positionOffset + i];
+                dest[destOffset + i] = p * (1.0 - p) * 4 * values[i];
+            }
+        } else {
+            System.arraycopy(values, 0, dest, destOffset, length);
+        }
+    }
+
+    private static void checkRange(final double[] buffer, final int offset, final int length) {
+        if (length < 0 || offset < 0 || buffer.length - offset < length) {
+            throw new IllegalArgumentException("Range of " + length + " elements at offset " + offset + " does not fit in a buffer of " + buffer.length);
+        }
+    }
+
 }
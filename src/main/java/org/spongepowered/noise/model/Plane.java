@@ -92,4 +92,74 @@ public class Plane {
         return this.module.get(x, 0, z);
     }
 
+    /**
+     * Renders the output values over a grid of {@code (x, z)} coordinates
+     * into a buffer.
+     *
+     * <p>The grid has {@code width} columns along the {@code x} axis and
+     * {@code height} rows along the {@code z} axis. The cell at
+     * {@code (column, row)} is sampled at
+     * {@code x = lowerX + column * (upperX - lowerX) / width} and
+     * {@code z = lowerZ + row * (upperZ - lowerZ) / height}, and its output
+     * value is written to {@code dest[offset + row * width + column]}.</p>
+     *
+     * <p>Each row is passed to the noise module as a single list of input
+     * values, with
+     * {@link NoiseModule#get(double[], double[], double[], double[], int, int)},
+     * so modules with a bulk implementation evaluate the grid faster than
+     * with one call to {@link #get(double, double)} per cell.</p>
+     *
+     * @param lowerX the lower {@code x} boundary
+     * @param upperX the upper {@code x} boundary
+     * @param lowerZ the lower {@code z} boundary
+     * @param upperZ the upper {@code z} boundary
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param dest the buffer that receives the output values
+     * @param offset the index in {@code dest} of the first output value
+     * @throws IllegalArgumentException if the grid is empty or does not fit
+     *     in the buffer
+     */
+    public void render(final double lowerX, final double upperX, final double lowerZ, final double upperZ, final int width, final int height,
+        final double[] dest, final int offset) {
+        if (this.module == null) {
+            throw new NoModuleException(0);
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive, got " + width + "x" + height);
+        }
+        if (offset < 0 || dest.length - offset < (long) width * height) {
+            throw new IllegalArgumentException("Destination buffer is too small for a " + width + "x" + height + " grid at offset " + offset);
+        }
+
+        // The module may modify the input values, so they are refilled for
+        // every row.
+        final double[] x = new double[width];
+        final double[] y = new double[width];
+        final double[] z = new double[width];
+        final double[] values = new double[width];
+        final double xDelta = (upperX - lowerX) / width;
+        final double zDelta = (upperZ - lowerZ) / height;
+        for (int row = 0; row < height; row++) {
+            final double rowZ = lowerZ + row * zDelta;
+            for (int column = 0; column < width; column++) {
+                x[column] = lowerX + column * xDelta;
+                y[column] = 0.0;
+                z[column] = rowZ;
+            }
+            this.module.get(x, y, z, values, 0, width);
+            System.arraycopy(values, 0, dest, offset + row * width, width);
+        }
+    }
+
+    /**
+     * Create a builder that renders height, normal, slope and curvature maps
+     * over a region of this plane.
+     *
+     * @return a new builder sampling this plane
+     */
+    public PlaneSurfaceBuilder surfaceBuilder() {
+        return new PlaneSurfaceBuilder(this);
+    }
+
 }
@@ -0,0 +1,258 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.model;
+
+import org.spongepowered.noise.Utils;
+import org.spongepowered.noise.exception.NoModuleException;
+
+import java.util.Objects;
+
+/**
+ * Builds height, normal, slope and curvature maps from a {@link Plane}.
+ *
+ * <p>The maps cover the rectangle between the lower and upper {@code x} and
+ * {@code z} bounds. The cell at {@code (column, row)} is sampled at
+ * {@code x = lowerX + column * (upperX - lowerX) / width} and
+ * {@code z = lowerZ + row * (upperZ - lowerZ) / height}, so the upper bounds
+ * are the first coordinates of the neighbouring regions.</p>
+ *
+ * <p>In {@linkplain #setSeamless(boolean) seamless} mode the maps instead
+ * wrap around at the boundaries of the region, so that they can be tiled.</p>
+ *
+ * @see Plane#surfaceBuilder()
+ */
+public class PlaneSurfaceBuilder extends SurfaceMapBuilder {
+
+    private final Plane plane;
+    // Lower {@code x} boundary of the region.
+    private double lowerX = 0.0;
+    // Upper {@code x} boundary of the region.
+    private double upperX = 1.0;
+    // Lower {@code z} boundary of the region.
+    private double lowerZ = 0.0;
+    // Upper {@code z} boundary of the region.
+    private double upperZ = 1.0;
+    // Whether the maps wrap around at the boundaries of the region.
+    private boolean seamless = false;
+    // Input values of a row, refilled before every call to the module since
+    // it may modify them.
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    // Output values at the positions offset by the size of the region along
+    // x, z and both, in seamless mode.
+    private double[] eastValues;
+    private double[] northValues;
+    private double[] northEastValues;
+
+    /**
+     * Create a new builder for a plane.
+     *
+     * @param plane the plane to sample
+     */
+    public PlaneSurfaceBuilder(final Plane plane) {
+        this.plane = Objects.requireNonNull(plane, "plane");
+    }
+
+    /**
+     * Get the plane that is sampled by this builder.
+     *
+     * @return the plane
+     */
+    public Plane plane() {
+        return this.plane;
+    }
+
+    /**
+     * Sets the boundaries of the region to render.
+     *
+     * @param lowerX the lower {@code x} boundary
+     * @param upperX the upper {@code x} boundary
+     * @param lowerZ the lower {@code z} boundary
+     * @param upperZ the upper {@code z} boundary
+     * @throws IllegalArgumentException if a lower boundary is not less than
+     *     its upper boundary
+     */
+    public void setBounds(final double lowerX, final double upperX, final double lowerZ, final double upperZ) {
+        if (lowerX >= upperX || lowerZ >= upperZ) {
+            throw new IllegalArgumentException("Lower bounds must be less than upper bounds");
+        }
+        this.lowerX = lowerX;
+        this.upperX = upperX;
+        this.lowerZ = lowerZ;
+        this.upperZ = upperZ;
+    }
+
+    /**
+     * Get the lower {@code x} boundary of the region.
+     *
+     * @return the lower {@code x} boundary
+     */
+    public double lowerX() {
+        return this.lowerX;
+    }
+
+    /**
+     * Get the upper {@code x} boundary of the region.
+     *
+     * @return the upper {@code x} boundary
+     */
+    public double upperX() {
+        return this.upperX;
+    }
+
+    /**
+     * Get the lower {@code z} boundary of the region.
+     *
+     * @return the lower {@code z} boundary
+     */
+    public double lowerZ() {
+        return this.lowerZ;
+    }
+
+    /**
+     * Get the upper {@code z} boundary of the region.
+     *
+     * @return the upper {@code z} boundary
+     */
+    public double upperZ() {
+        return this.upperZ;
+    }
+
+    /**
+     * Get whether the maps wrap around at the boundaries of the region.
+     *
+     * @return whether seamless mode is enabled
+     */
+    public boolean seamless() {
+        return this.seamless;
+    }
+
+    /**
+     * Sets whether the maps wrap around at the boundaries of the region.
+     *
+     * <p>In seamless mode the output value of each cell is blended from the
+     * values at its position and at the positions offset by the size of the
+     * region along {@code x}, {@code z} and both, weighted by the distance of
+     * the cell from the boundaries, so that the values on opposite edges of
+     * the maps are continuous. Normals, slopes and curvatures at the edges
+     * are computed from the cells on the opposite edge. This takes four
+     * samples of the plane per cell.</p>
+     *
+     * <p>A noise module that repeats by itself with the size of the region,
+     * such as a {@link org.spongepowered.noise.module.source.Perlin} module
+     * with a {@linkplain org.spongepowered.noise.module.source.Perlin#setPeriod(double, double, double)
+     * period}, produces maps that tile seamlessly with a single sample per
+     * cell, without this mode.</p>
+     *
+     * @param seamless whether the maps wrap around
+     */
+    public void setSeamless(final boolean seamless) {
+        this.seamless = seamless;
+    }
+
+    @Override
+    void prepare() {
+        if (this.plane.module() == null) {
+            throw new NoModuleException(0);
+        }
+        final int columns = this.destWidth() + 2;
+        if (this.x == null || this.x.length != columns) {
+            this.x = new double[columns];
+            this.y = new double[columns];
+            this.z = new double[columns];
+            this.eastValues = new double[columns];
+            this.northValues = new double[columns];
+            this.northEastValues = new double[columns];
+        }
+    }
+
+    @Override
+    void sampleRow(final int row, final double[] dest) {
+        final double xDelta = this.columnSpacing(row);
+        if (this.seamless) {
+            this.sampleSeamlessRow(row, xDelta, dest);
+            return;
+        }
+        final double z = this.lowerZ + row * this.rowSpacing();
+        this.sampleColumns(-1, this.destWidth() + 2, xDelta, 0.0, z, dest);
+    }
+
+    private void sampleSeamlessRow(final int row, final double xDelta, final double[] dest) {
+        final int width = this.destWidth();
+        final double xExtent = this.upperX - this.lowerX;
+        final double zExtent = this.upperZ - this.lowerZ;
+        // The rows outside of the region repeat the rows on the opposite edge.
+        final int wrappedRow = Math.floorMod(row, this.destHeight());
+        final double z = this.lowerZ + wrappedRow * this.rowSpacing();
+        final double zBlend = 1.0 - wrappedRow / (double) this.destHeight();
+        this.sampleColumns(0, width, xDelta, 0.0, z, dest);
+        this.sampleColumns(0, width, xDelta, xExtent, z, this.eastValues);
+        this.sampleColumns(0, width, xDelta, 0.0, z + zExtent, this.northValues);
+        this.sampleColumns(0, width, xDelta, xExtent, z + zExtent, this.northEastValues);
+        // Blend from the last column back, since the values of the region are
+        // shifted up by one column in place.
+        for (int column = width - 1; column >= 0; column--) {
+            final double xBlend = 1.0 - column / (double) width;
+            final double south = Utils.linearInterp(dest[column], this.eastValues[column], xBlend);
+            final double north = Utils.linearInterp(this.northValues[column], this.northEastValues[column], xBlend);
+            dest[column + 1] = Utils.linearInterp(south, north, zBlend);
+        }
+        dest[0] = dest[width];
+        dest[width + 1] = dest[1];
+    }
+
+    // Sample consecutive columns of a row in a single call to the module,
+    // offsetting their x coordinates by a shift. The value of the first
+    // column is written to dest[0].
+    private void sampleColumns(final int firstColumn, final int count, final double xDelta, final double xShift, final double z,
+            final double[] dest) {
+        final double[] xs = this.x;
+        final double[] ys = this.y;
+        final double[] zs = this.z;
+        for (int n = 0; n < count; n++) {
+            xs[n] = this.lowerX + (firstColumn + n) * xDelta + xShift;
+            ys[n] = 0.0;
+            zs[n] = z;
+        }
+        this.plane.module().get(xs, ys, zs, dest, 0, count);
+    }
+
+    @Override
+    double columnSpacing(final int row) {
+        return (this.upperX - this.lowerX) / this.destWidth();
+    }
+
+    @Override
+    double rowSpacing() {
+        return (this.upperZ - this.lowerZ) / this.destHeight();
+    }
+
+}
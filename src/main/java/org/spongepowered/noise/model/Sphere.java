@@ -29,7 +29,6 @@
  */
 package org.spongepowered.noise.model;
 
-import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
 
@@ -85,8 +84,122 @@ public class Sphere {
         if (this.module == null) {
             throw new NoModuleException(0);
         }
-        final double[] vec = Utils.latLonToXYZ(lat, lon);
-        return this.module.get(vec[0], vec[1], vec[2]);
+        // Same conversion as Utils.latLonToXYZ, without allocating the vector.
+        final double r = Math.cos(Math.toRadians(lat));
+        final double x = r * Math.cos(Math.toRadians(lon));
+        final double y = Math.sin(Math.toRadians(lat));
+        final double z = r * Math.sin(Math.toRadians(lon));
+        return this.module.get(x, y, z);
+    }
+
+    /**
+     * Renders the output values over a grid of latitudes and longitudes into
+     * a buffer.
+     *
+     * <p>The grid has {@code width} columns running from west to east and
+     * {@code height} rows running from south to north. The cell at
+     * {@code (column, row)} is sampled at latitude
+     * {@code southLat + row * (northLat - southLat) / height} and longitude
+     * {@code westLon + column * (eastLon - westLon) / width}, and its output
+     * value is written to {@code dest[offset + row * width + column]}.</p>
+     *
+     * <p>Each output value is identical to the one returned by
+     * {@link #get(double, double)}, but the sines and cosines of the
+     * longitudes are computed once per column and those of the latitudes
+     * once per row, rather than once per sample. Each row is passed to the
+     * noise module as a single list of input values, with
+     * {@link NoiseModule#get(double[], double[], double[], double[], int, int)},
+     * so modules with a bulk implementation evaluate the grid faster than
+     * with one call per cell. No per-sample allocation takes place.</p>
+     *
+     * @param southLat the southern latitude boundary, in degrees
+     * @param northLat the northern latitude boundary, in degrees
+     * @param westLon the western longitude boundary, in degrees
+     * @param eastLon the eastern longitude boundary, in degrees
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param dest the buffer that receives the output values
+     * @param offset the index in {@code dest} of the first output value
+     * @throws IllegalArgumentException if the grid is empty or does not fit
+     *     in the buffer
+     */
+    public void render(final double southLat, final double northLat, final double westLon, final double eastLon, final int width, final int height,
+        final double[] dest, final int offset) {
+        if (this.module == null) {
+            throw new NoModuleException(0);
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive, got " + width + "x" + height);
+        }
+        if (offset < 0 || dest.length - offset < (long) width * height) {
+            throw new IllegalArgumentException("Destination buffer is too small for a " + width + "x" + height + " grid at offset " + offset);
+        }
+
+        final double[] lonCos = new double[width];
+        final double[] lonSin = new double[width];
+        Sphere.longitudeTable(westLon, (eastLon - westLon) / width, 0, lonCos, lonSin);
+        final double[] x = new double[width];
+        final double[] y = new double[width];
+        final double[] z = new double[width];
+        final double[] values = new double[width];
+        final double latDelta = (northLat - southLat) / height;
+        for (int row = 0; row < height; row++) {
+            this.renderRow(southLat + row * latDelta, lonCos, lonSin, x, y, z, values);
+            System.arraycopy(values, 0, dest, offset + row * width, width);
+        }
+    }
+
+    /**
+     * Fills the cosine and sine tables of evenly spaced longitudes.
+     *
+     * @param westLon the longitude of column zero, in degrees
+     * @param lonDelta the spacing between columns, in degrees
+     * @param firstColumn the column of the first entry of the tables
+     * @param lonCos the cosine table
+     * @param lonSin the sine table
+     */
+    static void longitudeTable(final double westLon, final double lonDelta, final int firstColumn, final double[] lonCos, final double[] lonSin) {
+        for (int i = 0; i < lonCos.length; i++) {
+            final double lon = Math.toRadians(westLon + (firstColumn + i) * lonDelta);
+            lonCos[i] = Math.cos(lon);
+            lonSin[i] = Math.sin(lon);
+        }
+    }
+
+    /**
+     * Renders one row of constant latitude from precomputed longitude
+     * tables, passing the row to the noise module as a single list of input
+     * values.
+     *
+     * @param lat the latitude of the row, in degrees
+     * @param lonCos the cosines of the longitudes of the row
+     * @param lonSin the sines of the longitudes of the row
+     * @param x scratch space for the {@code x} coordinates of the row
+     * @param y scratch space for the {@code y} coordinates of the row
+     * @param z scratch space for the {@code z} coordinates of the row
+     * @param dest the buffer that receives the output values, from index
+     *     {@code 0}
+     */
+    void renderRow(final double lat, final double[] lonCos, final double[] lonSin, final double[] x, final double[] y, final double[] z,
+        final double[] dest) {
+        final double r = Math.cos(Math.toRadians(lat));
+        final double rowY = Math.sin(Math.toRadians(lat));
+        for (int i = 0; i < lonCos.length; i++) {
+            x[i] = r * lonCos[i];
+            y[i] = rowY;
+            z[i] = r * lonSin[i];
+        }
+        this.module.get(x, y, z, dest, 0, lonCos.length);
+    }
+
+    /**
+     * Create a builder that renders height, normal, slope and curvature maps
+     * over a region of this sphere.
+     *
+     * @return a new builder sampling this sphere
+     */
+    public SphereSurfaceBuilder surfaceBuilder() {
+        return new SphereSurfaceBuilder(this);
     }
 
 }
@@ -0,0 +1,182 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.model;
+
+import java.util.Objects;
+
+/**
+ * Builds height, normal, slope and curvature maps from a {@link Sphere}.
+ *
+ * <p>The maps cover the region between the southern and northern latitude
+ * bounds and the western and eastern longitude bounds, in degrees. Rows run
+ * from south to north and columns from west to east, using the same spacing
+ * rules as {@link PlaneSurfaceBuilder}.</p>
+ *
+ * <p>Distances are measured on the surface of the unit sphere, so the
+ * spacing between columns shrinks towards the poles. Normals are expressed
+ * in the local tangent frame of each cell, where {@code x} points east,
+ * {@code y} points away from the center of the sphere and {@code z} points
+ * north.</p>
+ *
+ * @see Sphere#surfaceBuilder()
+ */
+public class SphereSurfaceBuilder extends SurfaceMapBuilder {
+
+    // Smallest column spacing used near the poles, where the spacing between
+    // meridians tends to zero.
+    private static final double MIN_COLUMN_SPACING = 1.0e-9;
+
+    private final Sphere sphere;
+    // Southern boundary of the region, in degrees.
+    private double southLat = -90.0;
+    // Northern boundary of the region, in degrees.
+    private double northLat = 90.0;
+    // Western boundary of the region, in degrees.
+    private double westLon = -180.0;
+    // Eastern boundary of the region, in degrees.
+    private double eastLon = 180.0;
+    // Trigonometric tables of the longitudes of the columns being built.
+    private double[] lonCos;
+    private double[] lonSin;
+    // Coordinates of the input values of a row.
+    private double[] x;
+    private double[] y;
+    private double[] z;
+
+    /**
+     * Create a new builder for a sphere.
+     *
+     * @param sphere the sphere to sample
+     */
+    public SphereSurfaceBuilder(final Sphere sphere) {
+        this.sphere = Objects.requireNonNull(sphere, "sphere");
+    }
+
+    /**
+     * Get the sphere that is sampled by this builder.
+     *
+     * @return the sphere
+     */
+    public Sphere sphere() {
+        return this.sphere;
+    }
+
+    /**
+     * Sets the boundaries of the region to render.
+     *
+     * @param southLat the southern latitude boundary, in degrees
+     * @param northLat the northern latitude boundary, in degrees
+     * @param westLon the western longitude boundary, in degrees
+     * @param eastLon the eastern longitude boundary, in degrees
+     * @throws IllegalArgumentException if the southern boundary is not less
+     *     than the northern boundary, or the western boundary is not less
+     *     than the eastern boundary
+     */
+    public void setBounds(final double southLat, final double northLat, final double westLon, final double eastLon) {
+        if (southLat >= northLat || westLon >= eastLon) {
+            throw new IllegalArgumentException("Southern and western bounds must be less than northern and eastern bounds");
+        }
+        this.southLat = southLat;
+        this.northLat = northLat;
+        this.westLon = westLon;
+        this.eastLon = eastLon;
+    }
+
+    /**
+     * Get the southern latitude boundary of the region, in degrees.
+     *
+     * @return the southern boundary
+     */
+    public double southLat() {
+        return this.southLat;
+    }
+
+    /**
+     * Get the northern latitude boundary of the region, in degrees.
+     *
+     * @return the northern boundary
+     */
+    public double northLat() {
+        return this.northLat;
+    }
+
+    /**
+     * Get the western longitude boundary of the region, in degrees.
+     *
+     * @return the western boundary
+     */
+    public double westLon() {
+        return this.westLon;
+    }
+
+    /**
+     * Get the eastern longitude boundary of the region, in degrees.
+     *
+     * @return the eastern boundary
+     */
+    public double eastLon() {
+        return this.eastLon;
+    }
+
+    private double latitude(final int row) {
+        return this.southLat + row * (this.northLat - this.southLat) / this.destHeight();
+    }
+
+    @Override
+    void prepare() {
+        final int columns = this.destWidth() + 2;
+        if (this.lonCos == null || this.lonCos.length != columns) {
+            this.lonCos = new double[columns];
+            this.lonSin = new double[columns];
+            this.x = new double[columns];
+            this.y = new double[columns];
+            this.z = new double[columns];
+        }
+        final double lonDelta = (this.eastLon - this.westLon) / this.destWidth();
+        Sphere.longitudeTable(this.westLon, lonDelta, -1, this.lonCos, this.lonSin);
+    }
+
+    @Override
+    void sampleRow(final int row, final double[] dest) {
+        this.sphere.renderRow(this.latitude(row), this.lonCos, this.lonSin, this.x, this.y, this.z, dest);
+    }
+
+    @Override
+    double columnSpacing(final int row) {
+        final double lonDelta = Math.toRadians((this.eastLon - this.westLon) / this.destWidth());
+        return Math.max(lonDelta * Math.cos(Math.toRadians(this.latitude(row))), SphereSurfaceBuilder.MIN_COLUMN_SPACING);
+    }
+
+    @Override
+    double rowSpacing() {
+        return Math.toRadians((this.northLat - this.southLat) / this.destHeight());
+    }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.model;
+
+/**
+ * Renders a height map, together with the surface normals, slopes and
+ * curvatures derived from it, over a rectangular region of a model.
+ *
+ * <p>All requested maps are generated in a single pass. The builder keeps a
+ * rolling window of three rows of height samples, so each sample is
+ * requested from the noise module exactly once and is shared by the normal,
+ * slope and curvature calculations of its neighbours. One extra row and
+ * column of samples is taken around the region so that the maps of adjacent
+ * regions line up seamlessly.</p>
+ *
+ * <p>Each map is written into a caller-provided buffer in row-major order,
+ * so the value for the cell at {@code (column, row)} is stored at index
+ * {@code row * width + column}. Only the maps whose buffer has been set are
+ * generated:</p>
+ * <ul>
+ *   <li>The height buffer receives the output values from the model.</li>
+ *   <li>The normal buffer receives three elements per cell, the unit normal
+ *   of the surface in the local {@code (x, y, z)} frame of the model where
+ *   {@code y} points up, stored at index {@code 3 * (row * width + column)}.</li>
+ *   <li>The slope buffer receives the magnitude of the height gradient (rise
+ *   over run).</li>
+ *   <li>The curvature buffer receives the Laplacian of the height, which is
+ *   positive in valleys and negative on ridges.</li>
+ * </ul>
+ *
+ * <p>Derivatives are estimated with central differences over the sample
+ * grid. The height scale is applied to the output values before the
+ * derivatives are computed, which allows the vertical units of the noise to
+ * be related to the horizontal units of the model.</p>
+ */
+public abstract class SurfaceMapBuilder {
+
+    // Width of the maps, in cells.
+    private int width;
+    // Height of the maps, in cells.
+    private int height;
+    // Factor applied to the output values when computing derivatives.
+    private double heightScale = 1.0;
+    // Destination buffers, or null if the map is not requested.
+    private double[] heights;
+    private double[] normals;
+    private double[] slopes;
+    private double[] curvatures;
+
+    SurfaceMapBuilder() {
+    }
+
+    /**
+     * Get the width of the maps to generate, in cells.
+     *
+     * @return the width of the maps
+     */
+    public int destWidth() {
+        return this.width;
+    }
+
+    /**
+     * Get the height of the maps to generate, in cells.
+     *
+     * @return the height of the maps
+     */
+    public int destHeight() {
+        return this.height;
+    }
+
+    /**
+     * Set the size of the maps to generate.
+     *
+     * @param width the number of columns of each map
+     * @param height the number of rows of each map
+     * @throws IllegalArgumentException if either dimension is not positive
+     */
+    public void setDestSize(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Map dimensions must be positive, got " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Get the factor applied to the output values when computing normals,
+     * slopes and curvatures.
+     *
+     * @return the height scale
+     */
+    public double heightScale() {
+        return this.heightScale;
+    }
+
+    /**
+     * Set the factor applied to the output values when computing normals,
+     * slopes and curvatures.
+     *
+     * <p>The height map itself always receives the unscaled output
+     * values.</p>
+     *
+     * @param heightScale the height scale
+     */
+    public void setHeightScale(final double heightScale) {
+        this.heightScale = heightScale;
+    }
+
+    /**
+     * Set the buffer that receives the height map.
+     *
+     * @param heights a buffer of at least {@code width * height} elements, or
+     *     {@code null} to skip the height map
+     */
+    public void setHeightBuffer(final double[] heights) {
+        this.heights = heights;
+    }
+
+    /**
+     * Set the buffer that receives the normal map.
+     *
+     * @param normals a buffer of at least {@code 3 * width * height}
+     *     elements, or {@code null} to skip the normal map
+     */
+    public void setNormalBuffer(final double[] normals) {
+        this.normals = normals;
+    }
+
+    /**
+     * Set the buffer that receives the slope map.
+     *
+     * @param slopes a buffer of at least {@code width * height} elements, or
+     *     {@code null} to skip the slope map
+     */
+    public void setSlopeBuffer(final double[] slopes) {
+        this.slopes = slopes;
+    }
+
+    /**
+     * Set the buffer that receives the curvature map.
+     *
+     * @param curvatures a buffer of at least {@code width * height} elements,
+     *     or {@code null} to skip the curvature map
+     */
+    public void setCurvatureBuffer(final double[] curvatures) {
+        this.curvatures = curvatures;
+    }
+
+    /**
+     * Generates the requested maps.
+     *
+     * @throws IllegalStateException if the size of the maps has not been set
+     * @throws IllegalArgumentException if a buffer is too small for the
+     *     size of the maps
+     */
+    public void build() {
+        if (this.width == 0 || this.height == 0) {
+            throw new IllegalStateException("The size of the maps must be set before building");
+        }
+        final int cellCount = this.width * this.height;
+        SurfaceMapBuilder.checkBuffer("height", this.heights, cellCount);
+        SurfaceMapBuilder.checkBuffer("normal", this.normals, 3 * cellCount);
+        SurfaceMapBuilder.checkBuffer("slope", this.slopes, cellCount);
+        SurfaceMapBuilder.checkBuffer("curvature", this.curvatures, cellCount);
+        final boolean derivatives = this.normals != null || this.slopes != null || this.curvatures != null;
+        this.prepare();
+
+        // Rows of samples, including one extra column on each side.
+        double[] previous = new double[this.width + 2];
+        double[] current = new double[this.width + 2];
+        double[] next = new double[this.width + 2];
+        if (derivatives) {
+            this.sampleRow(-1, previous);
+        }
+        this.sampleRow(0, current);
+
+        final double rowSpacing = this.rowSpacing();
+        for (int row = 0; row < this.height; row++) {
+            if (derivatives) {
+                this.sampleRow(row + 1, next);
+            }
+            final int rowOffset = row * this.width;
+            if (this.heights != null) {
+                System.arraycopy(current, 1, this.heights, rowOffset, this.width);
+            }
+            if (derivatives) {
+                final double columnSpacing = this.columnSpacing(row);
+                final double xScale = this.heightScale / (2.0 * columnSpacing);
+                final double zScale = this.heightScale / (2.0 * rowSpacing);
+                final double xCurvatureScale = this.heightScale / (columnSpacing * columnSpacing);
+                final double zCurvatureScale = this.heightScale / (rowSpacing * rowSpacing);
+                for (int column = 0; column < this.width; column++) {
+                    final double center = current[column + 1];
+                    final double west = current[column];
+                    final double east = current[column + 2];
+                    final double south = previous[column + 1];
+                    final double north = next[column + 1];
+                    final double dx = (east - west) * xScale;
+                    final double dz = (north - south) * zScale;
+                    final int index = rowOffset + column;
+                    if (this.normals != null) {
+                        final double length = Math.sqrt(dx * dx + 1.0 + dz * dz);
+                        this.normals[3 * index] = -dx / length;
+                        this.normals[3 * index + 1] = 1.0 / length;
+                        this.normals[3 * index + 2] = -dz / length;
+                    }
+                    if (this.slopes != null) {
+                        this.slopes[index] = Math.sqrt(dx * dx + dz * dz);
+                    }
+                    if (this.curvatures != null) {
+                        this.curvatures[index] = (east - 2.0 * center + west) * xCurvatureScale
+                            + (north - 2.0 * center + south) * zCurvatureScale;
+                    }
+                }
+            } else if (row + 1 < this.height) {
+                this.sampleRow(row + 1, next);
+            }
+
+            // Shift the window up by one row.
+            final double[] recycled = previous;
+            previous = current;
+            current = next;
+            next = recycled;
+        }
+    }
+
+    private static void checkBuffer(final String name, final double[] buffer, final int required) {
+        if (buffer != null && buffer.length < required) {
+            throw new IllegalArgumentException("The " + name + " buffer must hold at least " + required + " elements, but only holds " + buffer.length);
+        }
+    }
+
+    /**
+     * Prepares any state that is shared by all rows of a build.
+     */
+    void prepare() {
+    }
+
+    /**
+     * Samples one row of output values.
+     *
+     * @param row the row to sample, from {@code -1} to {@code height}
+     *     inclusive
+     * @param dest the destination of {@code width + 2} samples, for the
+     *     columns {@code -1} to {@code width} inclusive
+     */
+    abstract void sampleRow(int row, double[] dest);
+
+    /**
+     * Returns the distance between two adjacent columns of a row.
+     *
+     * @param row the row
+     * @return the column spacing
+     */
+    abstract double columnSpacing(int row);
+
+    /**
+     * Returns the distance between two adjacent rows.
+     *
+     * @return the row spacing
+     */
+    abstract double rowSpacing();
+
+}
@@ -90,6 +90,11 @@ public class Cache extends NoiseModule {
         this.isCached = false;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        // This module has no parameters.
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -105,4 +110,14 @@ public class Cache extends NoiseModule {
         this.isCached = true;
         return this.cachedValue;
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        // Gradients are not cached, so pass the request straight through.
+        return this.sourceModule[0].get(x, y, z, gradient);
+    }
 }
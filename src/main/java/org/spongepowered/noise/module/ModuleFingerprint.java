@@ -0,0 +1,246 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module;
+
+import org.spongepowered.noise.exception.NoiseException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A stable hash of the structure of a noise module graph.
+ *
+ * <p>The fingerprint of a noise module is a SHA-256 digest of its type, every
+ * parameter it reports to {@link NoiseModule#visitParameters(ParameterVisitor)},
+ * and the fingerprints of its source modules in index order. It does not
+ * depend on object identity, so two separately built graphs with the same
+ * structure and parameters have the same fingerprint, whether or not they
+ * share modules. It is also the same across runs of the JVM, which makes it
+ * suitable as the key of a persistent cache of rendered output values.</p>
+ *
+ * <p>A module that appears several times in a graph is only hashed
+ * once.</p>
+ */
+public final class ModuleFingerprint {
+    // Tags that distinguish the kinds of values that are hashed.
+    private static final byte TAG_DOUBLE = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_ENUM = 4;
+    private static final byte TAG_DOUBLE_ARRAY = 5;
+    private static final byte TAG_SOURCE = 6;
+    private static final byte TAG_MISSING_SOURCE = 7;
+
+    private final byte[] digest;
+
+    private ModuleFingerprint(final byte[] digest) {
+        this.digest = digest;
+    }
+
+    /**
+     * Computes the fingerprint of a noise module and its source modules.
+     *
+     * <p>Source modules that have not been connected are hashed as missing
+     * rather than causing an exception.</p>
+     *
+     * @param module the noise module
+     * @return the fingerprint of the noise module
+     * @throws NoiseException if a module in the graph does not describe its
+     *     parameters, or the graph contains a cycle
+     */
+    public static ModuleFingerprint of(final NoiseModule module) {
+        return new ModuleFingerprint(new Computation().digest(module));
+    }
+
+    /**
+     * Get the bytes of this fingerprint.
+     *
+     * @return a copy of the 32 bytes of the digest
+     */
+    public byte[] bytes() {
+        return this.digest.clone();
+    }
+
+    /**
+     * Get the first 64 bits of this fingerprint.
+     *
+     * @return the first eight bytes of the digest, in big-endian order
+     */
+    public long toLong() {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (this.digest[i] & 0xff);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof ModuleFingerprint && Arrays.equals(this.digest, ((ModuleFingerprint) other).digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.digest);
+    }
+
+    /**
+     * Get this fingerprint as a hexadecimal string.
+     *
+     * @return the digest in lower-case hexadecimal
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(this.digest.length * 2);
+        for (final byte b : this.digest) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    private static final class Computation {
+        // Digests of the modules that have already been hashed.
+        private final Map<NoiseModule, byte[]> digests = new IdentityHashMap<>();
+        // Modules whose digest is being computed, used to detect cycles.
+        private final Set<NoiseModule> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        byte[] digest(final NoiseModule module) {
+            final byte[] existing = this.digests.get(module);
+            if (existing != null) {
+                return existing;
+            }
+            if (!this.visiting.add(module)) {
+                throw new NoiseException("Noise module graph contains a cycle through " + module.getClass().getName());
+            }
+
+            final Hasher hasher = new Hasher();
+            hasher.putString(module.getClass().getName());
+            module.visitParameters(hasher);
+            hasher.putInt(module.sourceModule.length);
+            for (final NoiseModule source : module.sourceModule) {
+                if (source == null) {
+                    hasher.putByte(ModuleFingerprint.TAG_MISSING_SOURCE);
+                } else {
+                    hasher.putByte(ModuleFingerprint.TAG_SOURCE);
+                    hasher.digest.update(this.digest(source));
+                }
+            }
+
+            final byte[] digest = hasher.digest.digest();
+            this.visiting.remove(module);
+            this.digests.put(module, digest);
+            return digest;
+        }
+    }
+
+    private static final class Hasher implements ParameterVisitor {
+        final MessageDigest digest;
+        // Scratch space for encoding primitive values.
+        private final byte[] buffer = new byte[Long.BYTES];
+
+        Hasher() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (final NoSuchAlgorithmException ex) {
+                // Every Java platform is required to support SHA-256.
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void visit(final String name, final double value) {
+            this.putByte(ModuleFingerprint.TAG_DOUBLE);
+            this.putString(name);
+            this.putLong(Double.doubleToLongBits(value));
+        }
+
+        @Override
+        public void visit(final String name, final int value) {
+            this.putByte(ModuleFingerprint.TAG_INT);
+            this.putString(name);
+            this.putInt(value);
+        }
+
+        @Override
+        public void visit(final String name, final boolean value) {
+            this.putByte(ModuleFingerprint.TAG_BOOLEAN);
+            this.putString(name);
+            this.putByte((byte) (value ? 1 : 0));
+        }
+
+        @Override
+        public void visit(final String name, final Enum<?> value) {
+            this.putByte(ModuleFingerprint.TAG_ENUM);
+            this.putString(name);
+            this.putString(value.getDeclaringClass().getName());
+            this.putString(value.name());
+        }
+
+        @Override
+        public void visit(final String name, final double[] values) {
+            this.putByte(ModuleFingerprint.TAG_DOUBLE_ARRAY);
+            this.putString(name);
+            this.putInt(values.length);
+            for (final double value : values) {
+                this.putLong(Double.doubleToLongBits(value));
+            }
+        }
+
+        void putByte(final byte value) {
+            this.digest.update(value);
+        }
+
+        void putInt(final int value) {
+            for (int i = 0; i < Integer.BYTES; i++) {
+                this.buffer[i] = (byte) (value >>> (24 - i * 8));
+            }
+            this.digest.update(this.buffer, 0, Integer.BYTES);
+        }
+
+        void putLong(final long value) {
+            for (int i = 0; i < Long.BYTES; i++) {
+                this.buffer[i] = (byte) (value >>> (56 - i * 8));
+            }
+            this.digest.update(this.buffer, 0, Long.BYTES);
+        }
+
+        void putString(final String value) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.putInt(bytes.length);
+            this.digest.update(bytes);
+        }
+    }
+}
@@ -30,6 +30,7 @@
 package org.spongepowered.noise.module;
 
 import org.spongepowered.noise.exception.NoModuleException;
+import org.spongepowered.noise.exception.NoiseException;
 import org.spongepowered.noise.module.combiner.Add;
 import org.spongepowered.noise.module.combiner.Blend;
 import org.spongepowered.noise.module.combiner.Max;
@@ -194,6 +195,15 @@ import org.spongepowered.noise.module.source.Voronoi;
  * <p>To generate an output value, pass the {@code (x, y, z)} coordinates
  * of an input value to the {@link #get(double, double, double)} method.</p>
  *
+ * <p>To generate an output value together with its gradient, for example to
+ * compute terrain normals or slopes, pass an array of three elements to the
+ * {@link #get(double, double, double, double[])} method.</p>
+ *
+ * <p>To generate output values for many input values at once, for example the
+ * positions of scattered features or coordinates that were transformed by
+ * another module, pass the coordinates as three arrays to the
+ * {@link #get(double[], double[], double[], double[], int, int)} method.</p>
+ *
  * <h2>Using a noise module to generate terrain height maps or textures</h2>
  *
  * <p>One way to generate a terrain height map or a texture is to first
@@ -224,12 +234,19 @@ import org.spongepowered.noise.module.source.Voronoi;
  * method and then attempts to call the {@link #get(double, double, double)}
  * method, your module will throw an exception.</p>
  *
+ * <p>Override the {@link #visitParameters(ParameterVisitor)} method to
+ * describe every parameter that affects the output values of your noise
+ * module, so that applications can fingerprint or serialize graphs that
+ * contain it.</p>
+ *
  * <p>It shouldn't be too difficult to create your own noise module. If you
  * still have some problems, take a look at the source code for {@link Add},
  * which is a very simple noise module.</p>
  */
 public abstract class NoiseModule {
     private static final NoiseModule[] EMPTY_MODULE_ARRAY = new NoiseModule[0];
+    // Step used when estimating the gradient of a module with central differences.
+    private static final double GRADIENT_DELTA = 1.0e-6;
 
     /**
      * An array containing references to each source module required by this
@@ -335,4 +352,116 @@ public abstract class NoiseModule {
      */
     public abstract double get(double x, double y, double z);
 
+    /**
+     * Generates an output value and its gradient given the coordinates of the
+     * specified input value.
+     *
+     * <p>The partial derivatives of the output value with respect to
+     * {@code x}, {@code y} and {@code z} are written to the first three
+     * elements of {@code gradient}. The returned value is the same as the one
+     * returned by {@link #get(double, double, double)}.</p>
+     *
+     * <p>Generator modules based on gradient noise, and modifiers that apply
+     * a differentiable function to their source modules, override this method
+     * to compute the gradient analytically using the chain rule. The default
+     * implementation estimates the gradient with central differences, which
+     * requires six additional calls to {@link #get(double, double, double)}.</p>
+     *
+     * @param x the {@code x} coordinate of the input value
+     * @param y the {@code y} coordinate of the input value
+     * @param z the {@code z} coordinate of the input value
+     * @param gradient an array of at least three elements that receives the
+     *     gradient of the output value
+     * @return the output value
+     */
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        final double delta = NoiseModule.GRADIENT_DELTA;
+        gradient[0] = (this.get(x + delta, y, z) - this.get(x - delta, y, z)) / (2.0 * delta);
+        gradient[1] = (this.get(x, y + delta, z) - this.get(x, y - delta, z)) / (2.0 * delta);
+        gradient[2] = (this.get(x, y, z + delta) - this.get(x, y, z - delta)) / (2.0 * delta);
+        return this.get(x, y, z);
+    }
+
+    /**
+     * Passes every parameter of this noise module to a visitor.
+     *
+     * <p>The parameters, together with the type of this noise module and its
+     * source modules, must determine its output values; two modules of the
+     * same type with the same parameters and equivalent source modules must
+     * produce the same output values. Source modules are not visited; they
+     * can be retrieved with {@link #sourceModule(int)}.</p>
+     *
+     * <p>All noise modules included in this library override this method.
+     * The default implementation throws an exception, because a module that
+     * does not describe its parameters cannot be reliably fingerprinted or
+     * serialized.</p>
+     *
+     * @param visitor the visitor that receives the parameters
+     * @throws NoiseException if this noise module does not describe its
+     *     parameters
+     */
+    public void visitParameters(final ParameterVisitor visitor) {
+        throw new NoiseException(this.getClass().getName() + " does not describe its parameters");
+    }
+
+    /**
+     * Generates output values given the coordinates of a list of
+     * input values.
+     *
+     * <p>The coordinates of input value {@code i} are {@code x[i]},
+     * {@code y[i]} and {@code z[i]}, and its output value is written to
+     * {@code dest[i]}, for each {@code i} from {@code offset} (inclusive) to
+     * {@code offset + length} (exclusive). Each output value is the same as
+     * the one returned by {@link #get(double, double, double)}.</p>
+     *
+     * <p>A noise module may use the given range of the coordinate arrays as
+     * scratch space, so their contents are undefined after this method
+     * returns. This lets transformer modules transform the coordinates in
+     * place before passing them to their source module. Applications that
+     * need the coordinates afterwards must pass a copy.</p>
+     *
+     * <p>The default implementation calls {@link #get(double, double, double)}
+     * for each input value. Modules override this method to share work
+     * between input values, or to evaluate their source modules over the
+     * whole list at once.</p>
+     *
+     * @param x the {@code x} coordinates of the input values
+     * @param y the {@code y} coordinates of the input values
+     * @param z the {@code z} coordinates of the input values
+     * @param dest the array that receives the output values
+     * @param offset the index of the first input value
+     * @param length the number of input values
+     * @throws IllegalArgumentException if the range is out of bounds for any
+     *     of the arrays
+     */
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+        for (int i = offset, end = offset + length; i < end; i++) {
+            dest[i] = this.get(x[i], y[i], z[i]);
+        }
+    }
+
+    /**
+     * Checks that a range of input values is within the bounds of the arrays
+     * passed to {@link #get(double[], double[], double[], double[], int, int)}.
+     *
+     * @param x the {@code x} coordinates of the input values
+     * @param y the {@code y} coordinates of the input values
+     * @param z the {@code z} coordinates of the input values
+     * @param dest the array that receives the output values
+     * @param offset the index of the first input value
+     * @param length the number of input values
+     * @throws IllegalArgumentException if the range is out of bounds for any
+     *     of the arrays
+     */
+    protected static void checkRange(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("offset and length must not be negative: " + offset + ", " + length);
+        }
+        final int end = offset + length;
+        if (end < 0 || end > x.length || end > y.length || end > z.length || end > dest.length) {
+            throw new IllegalArgumentException("Range [" + offset + ", " + end + ") is out of bounds");
+        }
+    }
+
 }
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module;
+
+/**
+ * Receives the parameters of a noise module.
+ *
+ * <p>A noise module describes its configuration by passing each of its
+ * parameters to a visitor from
+ * {@link NoiseModule#visitParameters(ParameterVisitor)}. Together with the
+ * type of the module and its source modules, the parameters fully determine
+ * the output values of the module, which lets applications compare, hash or
+ * serialize noise module graphs without knowing every module type.</p>
+ *
+ * <p>Parameter names are stable identifiers, usually the name of the
+ * corresponding accessor method, and are visited in the same order every
+ * time.</p>
+ */
+public interface ParameterVisitor {
+
+    /**
+     * Visits a floating-point parameter.
+     *
+     * @param name the name of the parameter
+     * @param value the value of the parameter
+     */
+    void visit(String name, double value);
+
+    /**
+     * Visits an integer parameter.
+     *
+     * @param name the name of the parameter
+     * @param value the value of the parameter
+     */
+    void visit(String name, int value);
+
+    /**
+     * Visits a boolean parameter.
+     *
+     * @param name the name of the parameter
+     * @param value the value of the parameter
+     */
+    void visit(String name, boolean value);
+
+    /**
+     * Visits a parameter whose value is a constant of an enum type.
+     *
+     * @param name the name of the parameter
+     * @param value the value of the parameter
+     */
+    void visit(String name, Enum<?> value);
+
+    /**
+     * Visits a parameter whose value is a list of floating-point values, such
+     * as the control points of a curve.
+     *
+     * <p>The array is a copy that the visitor may keep.</p>
+     *
+     * @param name the name of the parameter
+     * @param values the values of the parameter
+     */
+    void visit(String name, double[] values);
+
+}
@@ -32,6 +32,7 @@ package org.spongepowered.noise.module.combiner;
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs a weighted blend of the output values of two source
@@ -123,6 +124,11 @@ public class Blend extends NoiseModule {
         this.sourceModule[2] = module;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        // This module has no parameters.
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -140,4 +146,33 @@ public class Blend extends NoiseModule {
         final double alpha = this.sourceModule[2].get(x, y, z);
         return Utils.linearInterp(v0, v1, alpha);
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+        if (this.sourceModule[1] == null) {
+            throw new NoModuleException(1);
+        }
+        if (this.sourceModule[2] == null) {
+            throw new NoModuleException(2);
+        }
+
+        // Every source module reuses the gradient array, so the gradients of
+        // the first two are kept in locals.
+        final double v0 = this.sourceModule[0].get(x, y, z, gradient);
+        final double leftX = gradient[0];
+        final double leftY = gradient[1];
+        final double leftZ = gradient[2];
+        final double v1 = this.sourceModule[1].get(x, y, z, gradient);
+        final double rightX = gradient[0];
+        final double rightY = gradient[1];
+        final double rightZ = gradient[2];
+        final double alpha = this.sourceModule[2].get(x, y, z, gradient);
+        gradient[0] = Utils.linearInterp(leftX, rightX, alpha) + gradient[0] * (v1 - v0);
+        gradient[1] = Utils.linearInterp(leftY, rightY, alpha) + gradient[1] * (v1 - v0);
+        gradient[2] = Utils.linearInterp(leftZ, rightZ, alpha) + gradient[2] * (v1 - v0);
+        return Utils.linearInterp(v0, v1, alpha);
+    }
 }
@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.combiner;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 import org.spongepowered.noise.module.modifier.Turbulence;
 import org.spongepowered.noise.module.source.Perlin;
 
@@ -225,6 +226,11 @@ public class Displace extends NoiseModule {
         this.setZDisplaceModule(z);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        // This module has no parameters.
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -250,4 +256,52 @@ public class Displace extends NoiseModule {
         // the original input value.
         return this.sourceModule[0].get(xDisplace, yDisplace, zDisplace);
     }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+        if (this.sourceModule[1] == null) {
+            throw new NoModuleException(1);
+        }
+        if (this.sourceModule[2] == null) {
+            throw new NoModuleException(2);
+        }
+        if (this.sourceModule[3] == null) {
+            throw new NoModuleException(3);
+        }
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+
+        // Evaluate each displacement module over the whole list of input values.
+        // The displacement modules may overwrite the coordinates they are given,
+        // so each one receives a copy of the input values.
+        final double[] xScratch = new double[length];
+        final double[] yScratch = new double[length];
+        final double[] zScratch = new double[length];
+        final double[] xDisplace = new double[length];
+        final double[] yDisplace = new double[length];
+        final double[] zDisplace = new double[length];
+        Displace.displace(this.sourceModule[1], x, y, z, offset, xScratch, yScratch, zScratch, xDisplace);
+        Displace.displace(this.sourceModule[2], x, y, z, offset, xScratch, yScratch, zScratch, yDisplace);
+        Displace.displace(this.sourceModule[3], x, y, z, offset, xScratch, yScratch, zScratch, zDisplace);
+
+        // Offset the input values in place, then retrieve the output values for
+        // the resulting list of points from the source module.
+        for (int i = 0; i < length; i++) {
+            x[offset + i] += xDisplace[i];
+            y[offset + i] += yDisplace[i];
+            z[offset + i] += zDisplace[i];
+        }
+        this.sourceModule[0].get(x, y, z, dest, offset, length);
+    }
+
+    private static void displace(final NoiseModule module, final double[] x, final double[] y, final double[] z, final int offset,
+            final double[] xScratch, final double[] yScratch, final double[] zScratch, final double[] dest) {
+        final int length = dest.length;
+        System.arraycopy(x, offset, xScratch, 0, length);
+        System.arraycopy(y, offset, yScratch, 0, length);
+        System.arraycopy(z, offset, zScratch, 0, length);
+        module.get(xScratch, yScratch, zScratch, dest, 0, length);
+    }
 }
@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.combiner;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs the smaller of the two output values from two
@@ -55,6 +56,11 @@ public class Min extends NoiseModule {
         this.setSourceModule(1, right);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        // This module has no parameters.
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -68,4 +74,28 @@ public class Min extends NoiseModule {
         final double v1 = this.sourceModule[1].get(x, y, z);
         return Math.min(v0, v1);
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+        if (this.sourceModule[1] == null) {
+            throw new NoModuleException(1);
+        }
+
+        // The right source module reuses the gradient array, so the gradient of
+        // the left one is kept in locals.
+        final double v0 = this.sourceModule[0].get(x, y, z, gradient);
+        final double leftX = gradient[0];
+        final double leftY = gradient[1];
+        final double leftZ = gradient[2];
+        final double v1 = this.sourceModule[1].get(x, y, z, gradient);
+        if (!(v1 < v0)) {
+            gradient[0] = leftX;
+            gradient[1] = leftY;
+            gradient[2] = leftZ;
+        }
+        return Math.min(v0, v1);
+    }
 }
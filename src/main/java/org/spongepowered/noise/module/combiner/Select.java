@@ -32,6 +32,7 @@ package org.spongepowered.noise.module.combiner;
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs the value selected from one of two source modules
@@ -263,6 +264,13 @@ public class Select extends NoiseModule {
         this.setEdgeFalloff(this.edgeFalloff);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("lowerBound", this.lowerBound);
+        visitor.visit("upperBound", this.upperBound);
+        visitor.visit("edgeFalloff", this.edgeFalloff);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
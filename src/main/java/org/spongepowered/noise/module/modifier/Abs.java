@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs the absolute value of the output value from a
@@ -53,6 +54,11 @@ public class Abs extends NoiseModule {
         this.setSourceModule(0, source);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        // This module has no parameters.
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -60,4 +66,19 @@ public class Abs extends NoiseModule {
         }
         return Math.abs(this.sourceModule[0].get(x, y, z));
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        final double value = this.sourceModule[0].get(x, y, z, gradient);
+        if (value < 0.0) {
+            gradient[0] = -gradient[0];
+            gradient[1] = -gradient[1];
+            gradient[2] = -gradient[2];
+        }
+        return Math.abs(value);
+    }
 }
@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that clamps the output value from a source module to a range
@@ -129,6 +130,12 @@ public class Clamp extends NoiseModule {
         this.upperBound = upperBound;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("lowerBound", this.lowerBound);
+        visitor.visit("upperBound", this.upperBound);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -145,4 +152,23 @@ public class Clamp extends NoiseModule {
             return value;
         }
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        assert this.lowerBound <= this.upperBound;
+        final double value = this.sourceModule[0].get(x, y, z, gradient);
+        if (value < this.lowerBound) {
+            gradient[0] = gradient[1] = gradient[2] = 0.0;
+            return this.lowerBound;
+        } else if (value > this.upperBound) {
+            gradient[0] = gradient[1] = gradient[2] = 0.0;
+            return this.upperBound;
+        } else {
+            return value;
+        }
+    }
 }
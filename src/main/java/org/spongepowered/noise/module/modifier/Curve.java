@@ -33,6 +33,7 @@ import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.exception.NoiseException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -156,6 +157,17 @@ public class Curve extends NoiseModule {
         this.controlPoints.add(insertionPos, newPoint);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        final double[] controlPoints = new double[this.controlPoints.size() * 2];
+        for (int i = 0; i < this.controlPoints.size(); i++) {
+            controlPoints[i * 2] = this.controlPoints.get(i).inputValue;
+            controlPoints[i * 2 + 1] = this.controlPoints.get(i).outputValue;
+        }
+        // Input and output values of each control point, in order.
+        visitor.visit("controlPoints", controlPoints);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that maps the output value from a source module onto an
@@ -94,6 +95,11 @@ public class Exponent extends NoiseModule {
         this.exponent = exponent;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("exponent", this.exponent);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -103,4 +109,17 @@ public class Exponent extends NoiseModule {
         return Math.pow(value, this.exponent);
     }
 
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        final double value = this.sourceModule[0].get(x, y, z, gradient);
+        final double slope = this.exponent * Math.pow(value, this.exponent - 1.0);
+        gradient[0] *= slope;
+        gradient[1] *= slope;
+        gradient[2] *= slope;
+        return Math.pow(value, this.exponent);
+    }
 }
@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that inverts the output value from a source module.
@@ -80,6 +81,11 @@ public class Invert extends NoiseModule {
         this.middle = middle;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("middle", this.middle);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -87,4 +93,17 @@ public class Invert extends NoiseModule {
         }
         return this.middle - this.sourceModule[0].get(x, y, z);
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        final double value = this.sourceModule[0].get(x, y, z, gradient);
+        gradient[0] = -gradient[0];
+        gradient[1] = -gradient[1];
+        gradient[2] = -gradient[2];
+        return this.middle - value;
+    }
 }
@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * A modifier module to map a value from one range to another.
@@ -121,6 +122,14 @@ public class Range extends NoiseModule {
         this.recalculateScaleBias();
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("currentLowerBound", this.currentLowerBound);
+        visitor.visit("currentUpperBound", this.currentUpperBound);
+        visitor.visit("newLowerBound", this.newLowerBound);
+        visitor.visit("newUpperBound", this.newUpperBound);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -131,4 +140,16 @@ public class Range extends NoiseModule {
         return oldVal * this.scale + this.bias;
     }
 
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        final double oldVal = this.sourceModule[0].get(x, y, z, gradient);
+        gradient[0] *= this.scale;
+        gradient[1] *= this.scale;
+        gradient[2] *= this.scale;
+        return oldVal * this.scale + this.bias;
+    }
 }
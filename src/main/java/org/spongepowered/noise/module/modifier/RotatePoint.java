@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that rotates the input value around the origin before returning
@@ -222,6 +223,13 @@ public class RotatePoint extends NoiseModule {
         this.setAngles(this.xAngle, this.yAngle, zAngle);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("xAngle", this.xAngle);
+        visitor.visit("yAngle", this.yAngle);
+        visitor.visit("zAngle", this.zAngle);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -233,4 +241,43 @@ public class RotatePoint extends NoiseModule {
         final double nz = (this.x3Matrix * x) + (this.y3Matrix * y) + (this.z3Matrix * z);
         return this.sourceModule[0].get(nx, ny, nz);
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        final double nx = (this.x1Matrix * x) + (this.y1Matrix * y) + (this.z1Matrix * z);
+        final double ny = (this.x2Matrix * x) + (this.y2Matrix * y) + (this.z2Matrix * z);
+        final double nz = (this.x3Matrix * x) + (this.y3Matrix * y) + (this.z3Matrix * z);
+        final double value = this.sourceModule[0].get(nx, ny, nz, gradient);
+
+        // Rotate the gradient back using the transpose of the rotation matrix.
+        final double xGradient = gradient[0];
+        final double yGradient = gradient[1];
+        final double zGradient = gradient[2];
+        gradient[0] = (this.x1Matrix * xGradient) + (this.x2Matrix * yGradient) + (this.x3Matrix * zGradient);
+        gradient[1] = (this.y1Matrix * xGradient) + (this.y2Matrix * yGradient) + (this.y3Matrix * zGradient);
+        gradient[2] = (this.z1Matrix * xGradient) + (this.z2Matrix * yGradient) + (this.z3Matrix * zGradient);
+        return value;
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            final double x0 = x[i];
+            final double y0 = y[i];
+            final double z0 = z[i];
+            x[i] = (this.x1Matrix * x0) + (this.y1Matrix * y0) + (this.z1Matrix * z0);
+            y[i] = (this.x2Matrix * x0) + (this.y2Matrix * y0) + (this.z2Matrix * z0);
+            z[i] = (this.x3Matrix * x0) + (this.y3Matrix * y0) + (this.z3Matrix * z0);
+        }
+        this.sourceModule[0].get(x, y, z, dest, offset, length);
+    }
 }
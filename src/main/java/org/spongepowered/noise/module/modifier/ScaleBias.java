@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that applies a scaling factor and a bias to the output value
@@ -128,6 +129,12 @@ public class ScaleBias extends NoiseModule {
         this.scale = scale;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("scale", this.scale);
+        visitor.visit("bias", this.bias);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -136,4 +143,17 @@ public class ScaleBias extends NoiseModule {
 
         return this.sourceModule[0].get(x, y, z) * this.scale + this.bias;
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        final double value = this.sourceModule[0].get(x, y, z, gradient);
+        gradient[0] *= this.scale;
+        gradient[1] *= this.scale;
+        gradient[2] *= this.scale;
+        return value * this.scale + this.bias;
+    }
 }
@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that scales the coordinates of the input value before returning
@@ -176,6 +177,13 @@ public class ScalePoint extends NoiseModule {
         this.xScale = this.yScale = this.zScale = scale;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("xScale", this.xScale);
+        visitor.visit("yScale", this.yScale);
+        visitor.visit("zScale", this.zScale);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -184,4 +192,32 @@ public class ScalePoint extends NoiseModule {
 
         return this.sourceModule[0].get(x * this.xScale, y * this.yScale, z * this.zScale);
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        final double value = this.sourceModule[0].get(x * this.xScale, y * this.yScale, z * this.zScale, gradient);
+        gradient[0] *= this.xScale;
+        gradient[1] *= this.yScale;
+        gradient[2] *= this.zScale;
+        return value;
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            x[i] *= this.xScale;
+            y[i] *= this.yScale;
+            z[i] *= this.zScale;
+        }
+        this.sourceModule[0].get(x, y, z, dest, offset, length);
+    }
 }
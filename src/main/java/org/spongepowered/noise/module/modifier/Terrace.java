@@ -32,6 +32,7 @@ package org.spongepowered.noise.module.modifier;
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that maps the output value from a source module onto a
@@ -220,6 +221,12 @@ public class Terrace extends NoiseModule {
         this.controlPoints[insertionPos] = value;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("controlPoints", this.controlPointCount == 0 ? new double[0] : this.controlPoints.clone());
+        visitor.visit("invertTerraces", this.invertTerraces);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
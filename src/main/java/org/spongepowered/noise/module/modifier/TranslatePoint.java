@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.modifier;
 
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that moves the coordinates of the input value before returning
@@ -184,6 +185,13 @@ public class TranslatePoint extends NoiseModule {
         this.setZTranslation(z);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("xTranslation", this.xTranslation);
+        visitor.visit("yTranslation", this.yTranslation);
+        visitor.visit("zTranslation", this.zTranslation);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -192,4 +200,28 @@ public class TranslatePoint extends NoiseModule {
 
         return this.sourceModule[0].get(x + this.xTranslation, y + this.yTranslation, z + this.zTranslation);
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+
+        return this.sourceModule[0].get(x + this.xTranslation, y + this.yTranslation, z + this.zTranslation, gradient);
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            x[i] += this.xTranslation;
+            y[i] += this.yTranslation;
+            z[i] += this.zTranslation;
+        }
+        this.sourceModule[0].get(x, y, z, dest, offset, length);
+    }
 }
@@ -29,8 +29,11 @@
  */
 package org.spongepowered.noise.module.modifier;
 
+import org.spongepowered.noise.GradientNoiseKernel;
+import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.exception.NoModuleException;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 import org.spongepowered.noise.module.source.Perlin;
 
 /**
@@ -252,6 +255,18 @@ public class Turbulence extends NoiseModule {
         this.zDistortModule.setSeed(seed + 2);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("power", this.power);
+        visitor.visit("frequency", this.frequency());
+        visitor.visit("roughness", this.roughnessCount());
+        // Until a seed is set, all three Perlin noise modules share the same
+        // default seed, a state that setSeed cannot reproduce.
+        if (this.yDistortModule.seed() != this.xDistortModule.seed()) {
+            visitor.visit("seed", this.seed());
+        }
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         if (this.sourceModule[0] == null) {
@@ -277,12 +292,115 @@ public class Turbulence extends NoiseModule {
         x2 = x + (53820.0 / 65536.0);
         y2 = y + (11213.0 / 65536.0);
         z2 = z + (44845.0 / 65536.0);
-        final double xDistort = x + (this.xDistortModule.get(x0, y0, z0) * this.power);
-        final double yDistort = y + (this.yDistortModule.get(x1, y1, z1) * this.power);
-        final double zDistort = z + (this.zDistortModule.get(x2, y2, z2) * this.power);
+        // The three Perlin noise modules only differ by their seed, so their
+        // octaves are evaluated together in a single loop. This produces the same
+        // values as calling each module in turn.
+        final double frequency = this.xDistortModule.frequency();
+        final double lacunarity = this.xDistortModule.lacunarity();
+        final double persistence = this.xDistortModule.persistence();
+        final GradientNoiseKernel kernel = GradientNoiseKernel.of(this.xDistortModule.noiseQuality());
+        final int octaveCount = this.xDistortModule.octaveCount();
+        final int xSeed = this.xDistortModule.seed();
+        final int ySeed = this.yDistortModule.seed();
+        final int zSeed = this.zDistortModule.seed();
+
+        double xx = x0 * frequency, xy = y0 * frequency, xz = z0 * frequency;
+        double yx = x1 * frequency, yy = y1 * frequency, yz = z1 * frequency;
+        double zx = x2 * frequency, zy = y2 * frequency, zz = z2 * frequency;
+        double xValue = 0.0;
+        double yValue = 0.0;
+        double zValue = 0.0;
+        double curPersistence = 1.0;
+
+        for (int curOctave = 0; curOctave < octaveCount; curOctave++) {
+            xValue += kernel.get(Utils.makeInt32Range(xx), Utils.makeInt32Range(xy), Utils.makeInt32Range(xz),
+                xSeed + curOctave) * curPersistence;
+            yValue += kernel.get(Utils.makeInt32Range(yx), Utils.makeInt32Range(yy), Utils.makeInt32Range(yz),
+                ySeed + curOctave) * curPersistence;
+            zValue += kernel.get(Utils.makeInt32Range(zx), Utils.makeInt32Range(zy), Utils.makeInt32Range(zz),
+                zSeed + curOctave) * curPersistence;
+
+            // Prepare the next octave.
+            xx *= lacunarity;
+            xy *= lacunarity;
+            xz *= lacunarity;
+            yx *= lacunarity;
+            yy *= lacunarity;
+            yz *= lacunarity;
+            zx *= lacunarity;
+            zy *= lacunarity;
+            zz *= lacunarity;
+            curPersistence *= persistence;
+        }
+
+        final double xDistort = x + (xValue * this.power);
+        final double yDistort = y + (yValue * this.power);
+        final double zDistort = z + (zValue * this.power);
 
         // Retrieve the output value at the offset input value instead of the
         // original input value.
         return this.sourceModule[0].get(xDistort, yDistort, zDistort);
     }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        if (this.sourceModule[0] == null) {
+            throw new NoModuleException(0);
+        }
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+
+        // Evaluate the three Perlin noise modules together for each input
+        // value, in the same fused octave loop and at the same offsets as the
+        // single-value method, then displace the input value in place. The
+        // settings are read once for the whole list, and no scratch arrays are
+        // needed since each input value is only displaced after all three of
+        // its channels have been evaluated.
+        final double frequency = this.xDistortModule.frequency();
+        final double lacunarity = this.xDistortModule.lacunarity();
+        final double persistence = this.xDistortModule.persistence();
+        final GradientNoiseKernel kernel = GradientNoiseKernel.of(this.xDistortModule.noiseQuality());
+        final int octaveCount = this.xDistortModule.octaveCount();
+        final int xSeed = this.xDistortModule.seed();
+        final int ySeed = this.yDistortModule.seed();
+        final int zSeed = this.zDistortModule.seed();
+        final double power = this.power;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            final double x0 = x[i];
+            final double y0 = y[i];
+            final double z0 = z[i];
+            double xx = (x0 + (12414.0 / 65536.0)) * frequency, xy = (y0 + (65124.0 / 65536.0)) * frequency, xz = (z0 + (31337.0 / 65536.0)) * frequency;
+            double yx = (x0 + (26519.0 / 65536.0)) * frequency, yy = (y0 + (18128.0 / 65536.0)) * frequency, yz = (z0 + (60493.0 / 65536.0)) * frequency;
+            double zx = (x0 + (53820.0 / 65536.0)) * frequency, zy = (y0 + (11213.0 / 65536.0)) * frequency, zz = (z0 + (44845.0 / 65536.0)) * frequency;
+            double xValue = 0.0;
+            double yValue = 0.0;
+            double zValue = 0.0;
+            double curPersistence = 1.0;
+
+            for (int curOctave = 0; curOctave < octaveCount; curOctave++) {
+                xValue += kernel.get(Utils.makeInt32Range(xx), Utils.makeInt32Range(xy), Utils.makeInt32Range(xz),
+                    xSeed + curOctave) * curPersistence;
+                yValue += kernel.get(Utils.makeInt32Range(yx), Utils.makeInt32Range(yy), Utils.makeInt32Range(yz),
+                    ySeed + curOctave) * curPersistence;
+                zValue += kernel.get(Utils.makeInt32Range(zx), Utils.makeInt32Range(zy), Utils.makeInt32Range(zz),
+                    zSeed + curOctave) * curPersistence;
+
+                // Prepare the next octave.
+                xx *= lacunarity;
+                xy *= lacunarity;
+                xz *= lacunarity;
+                yx *= lacunarity;
+                yy *= lacunarity;
+                yz *= lacunarity;
+                zx *= lacunarity;
+                zy *= lacunarity;
+                zz *= lacunarity;
+                curPersistence *= persistence;
+            }
+
+            x[i] = x0 + (xValue * power);
+            y[i] = y0 + (yValue * power);
+            z[i] = z0 + (zValue * power);
+        }
+        this.sourceModule[0].get(x, y, z, dest, offset, length);
+    }
 }
@@ -29,10 +29,13 @@
  */
 package org.spongepowered.noise.module.source;
 
-import org.spongepowered.noise.Noise;
+import org.spongepowered.noise.GradientHashing;
+import org.spongepowered.noise.GradientNoiseKernel;
 import org.spongepowered.noise.NoiseQuality;
+import org.spongepowered.noise.PermutationTable;
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs three-dimensional "billowy" noise.
@@ -78,6 +81,11 @@ public class Billow extends NoiseModule {
      */
     public static final int DEFAULT_BILLOW_SEED = 0;
 
+    /**
+     * Default gradient hashing for the {@link Billow} noise module.
+     */
+    public static final GradientHashing DEFAULT_BILLOW_GRADIENT_HASHING = GradientHashing.ARITHMETIC;
+
     /**
      * Maximum number of octaves for the {@link Billow} noise module.
      */
@@ -86,9 +94,18 @@ public class Billow extends NoiseModule {
     private double frequency = Billow.DEFAULT_BILLOW_FREQUENCY;
     private double lacunarity = Billow.DEFAULT_BILLOW_LACUNARITY;
     private NoiseQuality quality = Billow.DEFAULT_BILLOW_QUALITY;
+    private GradientNoiseKernel kernel = GradientNoiseKernel.of(Billow.DEFAULT_BILLOW_QUALITY);
     private double persistence = Billow.DEFAULT_BILLOW_PERSISTENCE;
     private int seed = Billow.DEFAULT_BILLOW_SEED;
     private int octaveCount = Billow.DEFAULT_BILLOW_OCTAVE_COUNT;
+    private double sampleSpacing = 0.0;
+    private boolean fadeLastOctave = false;
+    private int octaveLimit = Billow.DEFAULT_BILLOW_OCTAVE_COUNT;
+    private double lastOctaveWeight = 1.0;
+    private GradientHashing gradientHashing = Billow.DEFAULT_BILLOW_GRADIENT_HASHING;
+    private PermutationTable[] permutations;
+    // Octaves of the current settings, or null if a setting has changed.
+    private Octaves octaves;
 
     /**
      * Create a new {@link Billow} module, with all fields initialized to their
@@ -128,6 +145,9 @@ public class Billow extends NoiseModule {
             throw new IllegalArgumentException("octaveCount must be between 1 and BILLOW_MAX_OCTAVE: " + Billow.BILLOW_MAX_OCTAVE);
         }
         this.octaveCount = octaveCount;
+        this.recalculateOctaveLimit();
+        this.recalculatePermutations();
+        this.octaves = null;
     }
 
     /**
@@ -147,6 +167,8 @@ public class Billow extends NoiseModule {
      */
     public void setFrequency(final double frequency) {
         this.frequency = frequency;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -175,6 +197,8 @@ public class Billow extends NoiseModule {
      */
     public void setLacunarity(final double lacunarity) {
         this.lacunarity = lacunarity;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -200,6 +224,8 @@ public class Billow extends NoiseModule {
      */
     public void setQuality(final NoiseQuality quality) {
         this.quality = quality;
+        this.kernel = GradientNoiseKernel.of(quality);
+        this.octaves = null;
     }
 
     /**
@@ -226,6 +252,65 @@ public class Billow extends NoiseModule {
      */
     public void setPersistence(final double persistence) {
         this.persistence = persistence;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the distance between adjacent samples of the billowy noise.
+     *
+     * @return the sample spacing, or zero if every octave is evaluated
+     */
+    public double sampleSpacing() {
+        return this.sampleSpacing;
+    }
+
+    /**
+     * Sets the distance between adjacent samples of the billowy noise.
+     *
+     * <p>When an application samples this noise module on a regular grid, for
+     * example a terrain mesh at a given level of detail, octaves whose
+     * wavelength is shorter than twice the distance between samples cannot be
+     * represented and only add aliasing. Setting the sample spacing to the
+     * grid spacing, in input units, skips those octaves, which also reduces
+     * the time required to calculate the billowy noise value.</p>
+     *
+     * <p>A sample spacing of zero, the default, evaluates every octave.</p>
+     *
+     * @param sampleSpacing the distance between adjacent samples
+     * @throws IllegalArgumentException if the sample spacing is negative
+     */
+    public void setSampleSpacing(final double sampleSpacing) {
+        if (!(sampleSpacing >= 0.0)) {
+            throw new IllegalArgumentException("sampleSpacing must not be negative: " + sampleSpacing);
+        }
+        this.sampleSpacing = sampleSpacing;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
+    }
+
+    /**
+     * Get whether the last octave fades out near the Nyquist limit.
+     *
+     * @return whether the last octave fades out
+     */
+    public boolean fadeLastOctave() {
+        return this.fadeLastOctave;
+    }
+
+    /**
+     * Sets whether the last octave fades out near the Nyquist limit.
+     *
+     * <p>When enabled, the last octave that is evaluated at the current
+     * {@link #setSampleSpacing(double) sample spacing} is weighted by how far
+     * its frequency is from the Nyquist limit, so that the output changes
+     * smoothly instead of popping when the sample spacing changes.</p>
+     *
+     * @param fadeLastOctave whether the last octave fades out
+     */
+    public void setFadeLastOctave(final boolean fadeLastOctave) {
+        this.fadeLastOctave = fadeLastOctave;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -245,16 +330,109 @@ public class Billow extends NoiseModule {
      */
     public void setSeed(final int seed) {
         this.seed = seed;
+        this.recalculatePermutations();
+        this.octaves = null;
+    }
+
+    /**
+     * Get the way the billowy noise function assigns gradient vectors to
+     * lattice vertices.
+     *
+     * @return the gradient hashing
+     * @see #DEFAULT_BILLOW_GRADIENT_HASHING
+     */
+    public GradientHashing gradientHashing() {
+        return this.gradientHashing;
+    }
+
+    /**
+     * Set the way the billowy noise function assigns gradient vectors to
+     * lattice vertices.
+     *
+     * <p>With {@link GradientHashing#PERMUTATION}, this noise module keeps a
+     * {@link PermutationTable} for each octave, which is rebuilt whenever the
+     * seed or the number of octaves changes.</p>
+     *
+     * @param gradientHashing the gradient hashing
+     * @throws IllegalArgumentException if the gradient hashing is null
+     */
+    public void setGradientHashing(final GradientHashing gradientHashing) {
+        if (gradientHashing == null) {
+            throw new IllegalArgumentException("gradientHashing cannot be null");
+        }
+        this.gradientHashing = gradientHashing;
+        this.recalculatePermutations();
+        this.octaves = null;
+    }
+
+    private void recalculatePermutations() {
+        this.permutations = this.gradientHashing == GradientHashing.PERMUTATION ? PermutationTable.octaves(this.seed, this.octaveCount) : null;
+    }
+
+    private void recalculateOctaveLimit() {
+        final double limit = Utils.octaveLimit(this.frequency, this.lacunarity, this.sampleSpacing, this.octaveCount, this.fadeLastOctave);
+        this.octaveLimit = (int) Math.ceil(limit);
+        this.lastOctaveWeight = limit - (this.octaveLimit - 1);
+    }
+
+    // Get the coherent-noise value and gradient of an octave with the configured
+    // gradient hashing.
+    private double coherentNoise(final double x, final double y, final double z, final int seed, final int octave, final double[] gradient) {
+        if (this.permutations != null) {
+            return this.kernel.get(x, y, z, this.permutations[octave], gradient);
+        }
+        return this.kernel.get(x, y, z, seed, gradient);
+    }
+
+    // Get the octaves of the current settings, rebuilding them after a change.
+    private Octaves octaves() {
+        Octaves octaves = this.octaves;
+        if (octaves == null) {
+            final FractalBasis basis = new GradientBasis(this.quality, this.seed, -1, this.permutations, true);
+            octaves = new Octaves(FractalType.BILLOW, basis, this.frequency, this.lacunarity, Octaves.persistenceWeights(this.persistence, this.octaveLimit),
+                this.octaveLimit, this.lastOctaveWeight, 0.0, 0.0, 0.25, 1.0);
+            this.octaves = octaves;
+        }
+        return octaves;
+    }
+
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("frequency", this.frequency);
+        visitor.visit("lacunarity", this.lacunarity);
+        visitor.visit("quality", this.quality);
+        visitor.visit("octaveCount", this.octaveCount);
+        visitor.visit("persistence", this.persistence);
+        visitor.visit("seed", this.seed);
+        visitor.visit("gradientHashing", this.gradientHashing);
+        visitor.visit("sampleSpacing", this.sampleSpacing);
+        visitor.visit("fadeLastOctave", this.fadeLastOctave);
     }
 
     @Override
     public double get(final double x, final double y, final double z) {
+        return this.octaves().get(x, y, z);
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+        this.octaves().get(x, y, z, dest, offset, length);
+    }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
         double z1 = z;
         double y1 = y;
         double x1 = x;
         double value = 0.0;
         double signal;
         double curPersistence = 1.0;
+        // Rate of change of the octave coordinates relative to the input value.
+        double curFrequency = this.frequency;
+        double xGradient = 0.0;
+        double yGradient = 0.0;
+        double zGradient = 0.0;
         double nx, ny, nz;
         int seed;
 
@@ -262,28 +440,41 @@ public class Billow extends NoiseModule {
         y1 *= this.frequency;
         z1 *= this.frequency;
 
-        for (int curOctave = 0; curOctave < this.octaveCount; curOctave++) {
+        for (int curOctave = 0; curOctave < this.octaveLimit; curOctave++) {
             // Make sure that these floating-point values have the same range as a 32-
             // bit integer so that we can pass them to the coherent-noise functions.
             nx = Utils.makeInt32Range(x1);
             ny = Utils.makeInt32Range(y1);
             nz = Utils.makeInt32Range(z1);
 
-            // Get the coherent-noise value from the input value and add it to the
-            // final result.
+            // Get the coherent-noise value and gradient from the input value and
+            // add them to the final result. The absolute value flips the gradient
+            // wherever the signal is negative.
             seed = (this.seed + curOctave);
-            signal = Noise.gradientCoherentNoise3D(nx, ny, nz, seed, this.quality) * 2 - 1;
+            signal = this.coherentNoise(nx, ny, nz, seed, curOctave, gradient) * 2 - 1;
+            // Fade out the last octave as it approaches the Nyquist limit.
+            if (curOctave == this.octaveLimit - 1) {
+                curPersistence *= this.lastOctaveWeight;
+            }
+            final double gradientScale = (signal < 0.0 ? -2.0 : 2.0) * curPersistence * curFrequency;
             signal = Math.abs(signal);
             value += signal * curPersistence;
+            xGradient += gradient[0] * gradientScale;
+            yGradient += gradient[1] * gradientScale;
+            zGradient += gradient[2] * gradientScale;
 
             // Prepare the next octave.
             x1 *= this.lacunarity;
             y1 *= this.lacunarity;
             z1 *= this.lacunarity;
+            curFrequency *= this.lacunarity;
             curPersistence *= this.persistence;
         }
         value += 0.25;
 
+        gradient[0] = xGradient;
+        gradient[1] = yGradient;
+        gradient[2] = zGradient;
         return value;
     }
 }
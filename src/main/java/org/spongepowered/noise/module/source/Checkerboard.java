@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.source;
 
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs a checkerboard pattern.
@@ -48,6 +49,11 @@ public class Checkerboard extends NoiseModule {
         super(0);
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        // This module has no parameters.
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         final int ix = Utils.floor(Utils.makeInt32Range(x));
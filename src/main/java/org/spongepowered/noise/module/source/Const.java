@@ -30,6 +30,9 @@
 package org.spongepowered.noise.module.source;
 
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
+
+import java.util.Arrays;
 
 /**
  * Noise module that outputs a constant value.
@@ -67,8 +70,25 @@ public class Const extends NoiseModule {
         this.value = value;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("value", this.value);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         return this.value;
     }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        gradient[0] = gradient[1] = gradient[2] = 0.0;
+        return this.value;
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+        Arrays.fill(dest, offset, offset + length, this.value);
+    }
 }
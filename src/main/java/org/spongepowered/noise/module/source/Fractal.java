@@ -0,0 +1,413 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.source;
+
+import org.spongepowered.noise.NoiseQuality;
+import org.spongepowered.noise.Utils;
+import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
+
+import java.util.Objects;
+
+/**
+ * Noise module that combines octaves of any basis function.
+ *
+ * <p>This noise module generates fractal noise the same way as the
+ * {@link Perlin}, {@link Billow} and {@link RidgedMulti} noise modules, but
+ * the coherent-noise function of each octave is a {@link FractalBasis} and
+ * the way the octaves are combined is a {@link FractalType}. This makes it
+ * possible to generate, for example, ridged multifractal Voronoi cells, or
+ * hybrid multifractal Simplex-style noise.</p>
+ *
+ * <p>The built-in gradient-noise basis ranges from about {@code -1.0} to
+ * {@code +1.0}, like the octaves of the {@link Billow} noise module, so with
+ * {@link FractalType#BILLOW} this noise module generates the output values of
+ * a {@link Billow} noise module with the same settings, less the
+ * {@code 0.25} that it adds to them. The {@link Perlin} noise module sums
+ * octaves that range from about {@code 0.0} to {@code +1.0}, and the
+ * {@link RidgedMulti} noise module normalizes its own output values, so
+ * theirs differ.</p>
+ *
+ * <p>The range of the output values depends on the basis, the type and the
+ * settings.</p>
+ *
+ * <p>The {@linkplain #get(double, double, double, double[]) gradient} of
+ * this noise module is estimated from differences between output values.</p>
+ *
+ * @sourceModules 0
+ */
+public class Fractal extends NoiseModule {
+
+    /**
+     * Default frequency for the {@link Fractal} noise module.
+     */
+    public static final double DEFAULT_FRACTAL_FREQUENCY = 1.0;
+
+    /**
+     * Default lacunarity for the {@link Fractal} noise module.
+     */
+    public static final double DEFAULT_FRACTAL_LACUNARITY = 2.0;
+
+    /**
+     * Default number of octaves for the {@link Fractal} noise module.
+     */
+    public static final int DEFAULT_FRACTAL_OCTAVE_COUNT = 6;
+
+    /**
+     * Default persistence value for the {@link Fractal} noise module.
+     */
+    public static final double DEFAULT_FRACTAL_PERSISTENCE = 0.5;
+
+    /**
+     * Default offset for the {@link Fractal} noise module.
+     */
+    public static final double DEFAULT_FRACTAL_OFFSET = 1.0;
+
+    /**
+     * Default gain for the {@link Fractal} noise module.
+     */
+    public static final double DEFAULT_FRACTAL_GAIN = 2.0;
+
+    /**
+     * Default type for the {@link Fractal} noise module.
+     */
+    public static final FractalType DEFAULT_FRACTAL_TYPE = FractalType.FBM;
+
+    /**
+     * Maximum number of octaves for the {@link Fractal} noise module.
+     */
+    public static final int FRACTAL_MAX_OCTAVE = 30;
+
+    // Coherent-noise function of each octave.
+    private FractalBasis basis = FractalBasis.perlin(NoiseQuality.STANDARD, 0);
+    // How the octaves are combined.
+    private FractalType type = Fractal.DEFAULT_FRACTAL_TYPE;
+    // Frequency of the first octave.
+    private double frequency = Fractal.DEFAULT_FRACTAL_FREQUENCY;
+    // Frequency multiplier between successive octaves.
+    private double lacunarity = Fractal.DEFAULT_FRACTAL_LACUNARITY;
+    // Total number of octaves.
+    private int octaveCount = Fractal.DEFAULT_FRACTAL_OCTAVE_COUNT;
+    // Amplitude multiplier between successive octaves.
+    private double persistence = Fractal.DEFAULT_FRACTAL_PERSISTENCE;
+    // Offset and gain of the ridged and hybrid types.
+    private double offset = Fractal.DEFAULT_FRACTAL_OFFSET;
+    private double gain = Fractal.DEFAULT_FRACTAL_GAIN;
+    // Distance between adjacent samples, or zero to evaluate every octave.
+    private double sampleSpacing = 0.0;
+    // Determines if the last octave fades out near the Nyquist limit.
+    private boolean fadeLastOctave = false;
+    // Octaves of the current settings, or null if a setting has changed.
+    private Octaves octaves;
+
+    public Fractal() {
+        super(0);
+    }
+
+    /**
+     * Get the coherent-noise function of each octave.
+     *
+     * @return the basis
+     */
+    public FractalBasis basis() {
+        return this.basis;
+    }
+
+    /**
+     * Set the coherent-noise function of each octave.
+     *
+     * <p>The default is {@linkplain FractalBasis#perlin(NoiseQuality, int)
+     * gradient noise} of standard quality with a seed of {@code 0}.</p>
+     *
+     * @param basis the basis
+     */
+    public void setBasis(final FractalBasis basis) {
+        this.basis = Objects.requireNonNull(basis, "basis");
+        this.octaves = null;
+    }
+
+    /**
+     * Get how the octaves are combined.
+     *
+     * @return the fractal type
+     * @see #DEFAULT_FRACTAL_TYPE
+     */
+    public FractalType type() {
+        return this.type;
+    }
+
+    /**
+     * Set how the octaves are combined.
+     *
+     * @param type the fractal type
+     */
+    public void setType(final FractalType type) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.octaves = null;
+    }
+
+    /**
+     * Get the frequency of the first octave.
+     *
+     * @return the frequency of the first octave
+     * @see #DEFAULT_FRACTAL_FREQUENCY
+     */
+    public double frequency() {
+        return this.frequency;
+    }
+
+    /**
+     * Set the frequency of the first octave.
+     *
+     * @param frequency the frequency of the first octave
+     */
+    public void setFrequency(final double frequency) {
+        this.frequency = frequency;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the lacunarity of the fractal noise.
+     *
+     * <p>The lacunarity is the frequency multiplier between successive
+     * octaves.</p>
+     *
+     * @return the lacunarity of the fractal noise
+     * @see #DEFAULT_FRACTAL_LACUNARITY
+     */
+    public double lacunarity() {
+        return this.lacunarity;
+    }
+
+    /**
+     * Set the lacunarity of the fractal noise.
+     *
+     * <p>The lacunarity is the frequency multiplier between successive
+     * octaves.</p>
+     *
+     * <p>For best results, set the lacunarity to a number between 1.5 and
+     * 3.5.</p>
+     *
+     * @param lacunarity the lacunarity of the fractal noise
+     */
+    public void setLacunarity(final double lacunarity) {
+        this.lacunarity = lacunarity;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the number of octaves that generate the fractal noise.
+     *
+     * @return the number of octaves that generate the fractal noise
+     * @see #DEFAULT_FRACTAL_OCTAVE_COUNT
+     */
+    public int octaveCount() {
+        return this.octaveCount;
+    }
+
+    /**
+     * Set the number of octaves that generate the fractal noise.
+     *
+     * <p>The octave count must be between 1 and {@link #FRACTAL_MAX_OCTAVE},
+     * inclusive.</p>
+     *
+     * @param octaveCount the number of octaves that generate the fractal
+     *     noise
+     * @throws IllegalArgumentException if the octave count is out of bounds
+     */
+    public void setOctaveCount(final int octaveCount) {
+        if (octaveCount < 1 || octaveCount > Fractal.FRACTAL_MAX_OCTAVE) {
+            throw new IllegalArgumentException("octaveCount must be between 1 and MAX OCTAVE: " + Fractal.FRACTAL_MAX_OCTAVE);
+        }
+        this.octaveCount = octaveCount;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the persistence value of the fractal noise.
+     *
+     * <p>The amplitude of the first octave is 1.0, and the amplitude of each
+     * subsequent octave is the amplitude of the previous octave times the
+     * persistence value.</p>
+     *
+     * @return the persistence value
+     * @see #DEFAULT_FRACTAL_PERSISTENCE
+     */
+    public double persistence() {
+        return this.persistence;
+    }
+
+    /**
+     * Sets the persistence value of the fractal noise.
+     *
+     * <p>The amplitude of the first octave is 1.0, and the amplitude of each
+     * subsequent octave is the amplitude of the previous octave times the
+     * persistence value. For the ridged and hybrid types, a persistence of
+     * one over the lacunarity gives the spectral weights used by
+     * {@link RidgedMulti}.</p>
+     *
+     * @param persistence the persistence value
+     */
+    public void setPersistence(final double persistence) {
+        this.persistence = persistence;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the offset of the ridged and hybrid types.
+     *
+     * @return the offset
+     * @see #DEFAULT_FRACTAL_OFFSET
+     */
+    public double offset() {
+        return this.offset;
+    }
+
+    /**
+     * Set the offset of the ridged and hybrid types.
+     *
+     * <p>The ridged type subtracts the absolute value of each octave from the
+     * offset, and the hybrid type adds the offset to each octave.</p>
+     *
+     * @param offset the offset
+     */
+    public void setOffset(final double offset) {
+        this.offset = offset;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the gain of the ridged type.
+     *
+     * @return the gain
+     * @see #DEFAULT_FRACTAL_GAIN
+     */
+    public double gain() {
+        return this.gain;
+    }
+
+    /**
+     * Set the gain of the ridged type.
+     *
+     * <p>Each octave is weighted by the previous octave times the gain,
+     * clamped to {@code [0, 1]}.</p>
+     *
+     * @param gain the gain
+     */
+    public void setGain(final double gain) {
+        this.gain = gain;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the distance between adjacent samples of the fractal noise.
+     *
+     * @return the sample spacing, or zero if every octave is evaluated
+     */
+    public double sampleSpacing() {
+        return this.sampleSpacing;
+    }
+
+    /**
+     * Sets the distance between adjacent samples of the fractal noise.
+     *
+     * <p>Octaves whose wavelength is shorter than twice the sample spacing are
+     * skipped, as by {@link Perlin#setSampleSpacing(double)}. A sample spacing
+     * of zero, the default, evaluates every octave.</p>
+     *
+     * @param sampleSpacing the distance between adjacent samples
+     * @throws IllegalArgumentException if the sample spacing is negative
+     */
+    public void setSampleSpacing(final double sampleSpacing) {
+        if (!(sampleSpacing >= 0.0)) {
+            throw new IllegalArgumentException("sampleSpacing must not be negative: " + sampleSpacing);
+        }
+        this.sampleSpacing = sampleSpacing;
+        this.octaves = null;
+    }
+
+    /**
+     * Get whether the last octave fades out near the Nyquist limit.
+     *
+     * @return whether the last octave fades out
+     */
+    public boolean fadeLastOctave() {
+        return this.fadeLastOctave;
+    }
+
+    /**
+     * Sets whether the last octave fades out near the Nyquist limit.
+     *
+     * @param fadeLastOctave whether the last octave fades out
+     * @see Perlin#setFadeLastOctave(boolean)
+     */
+    public void setFadeLastOctave(final boolean fadeLastOctave) {
+        this.fadeLastOctave = fadeLastOctave;
+        this.octaves = null;
+    }
+
+    // Get the octaves of the current settings, rebuilding them after a change.
+    private Octaves octaves() {
+        Octaves octaves = this.octaves;
+        if (octaves == null) {
+            final double limit = Utils.octaveLimit(this.frequency, this.lacunarity, this.sampleSpacing, this.octaveCount, this.fadeLastOctave);
+            final int octaveLimit = (int) Math.ceil(limit);
+            octaves = new Octaves(this.type, this.basis, this.frequency, this.lacunarity, Octaves.persistenceWeights(this.persistence, octaveLimit),
+                octaveLimit, limit - (octaveLimit - 1), this.offset, this.gain, 0.0, 1.0);
+            this.octaves = octaves;
+        }
+        return octaves;
+    }
+
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("type", this.type);
+        visitor.visit("frequency", this.frequency);
+        visitor.visit("lacunarity", this.lacunarity);
+        visitor.visit("octaveCount", this.octaveCount);
+        visitor.visit("persistence", this.persistence);
+        visitor.visit("offset", this.offset);
+        visitor.visit("gain", this.gain);
+        visitor.visit("sampleSpacing", this.sampleSpacing);
+        visitor.visit("fadeLastOctave", this.fadeLastOctave);
+        this.basis.visitParameters(visitor);
+    }
+
+    @Override
+    public double get(final double x, final double y, final double z) {
+        return this.octaves().get(x, y, z);
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+        this.octaves().get(x, y, z, dest, offset, length);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.source;
+
+import org.spongepowered.noise.LatticeOrientation;
+import org.spongepowered.noise.NoiseQuality;
+import org.spongepowered.noise.NoiseQualitySimplex;
+import org.spongepowered.noise.exception.NoiseException;
+import org.spongepowered.noise.module.ParameterVisitor;
+
+/**
+ * A coherent-noise function whose octaves are combined by a {@link Fractal}
+ * noise module.
+ *
+ * <p>Each octave is evaluated at coordinates that have already been scaled
+ * by the frequency of the octave, and is identified by its index so that a
+ * basis can vary between octaves, usually by offsetting its seed. Output
+ * values should range from about {@code -1.0} to {@code +1.0}.</p>
+ *
+ * <p>Implementations should override the bulk
+ * {@link #get(double[], double[], double[], int, int, int, double[])}
+ * method when they can evaluate many input values faster than one at a time,
+ * and {@link #visitParameters(ParameterVisitor)} so that fractal modules
+ * with different bases have different
+ * {@linkplain org.spongepowered.noise.module.ModuleFingerprint fingerprints}.
+ * Fractal modules with a basis that does not override it, such as a lambda,
+ * cannot be fingerprinted.</p>
+ */
+@FunctionalInterface
+public interface FractalBasis {
+
+    /**
+     * Create a basis of gradient noise, as used by the {@link Billow} and
+     * {@link RidgedMulti} noise modules.
+     *
+     * <p>The coherent noise used by the {@link Perlin} noise module ranges
+     * from about {@code 0.0} to {@code +1.0}, so this basis doubles it and
+     * then decreases it by one.</p>
+     *
+     * @param quality the quality of the noise
+     * @param seed the seed of the first octave, which is incremented for each
+     *     subsequent octave
+     * @return a new basis
+     */
+    static FractalBasis perlin(final NoiseQuality quality, final int seed) {
+        return new GradientBasis(quality, seed, -1, null, true);
+    }
+
+    /**
+     * Create a basis of Simplex-style gradient noise, as used by the
+     * {@link RidgedMultiSimplex} noise module.
+     *
+     * <p>The coherent noise used by the {@link Simplex} noise module ranges
+     * from about {@code 0.0} to {@code +1.0}, so this basis doubles it and
+     * then decreases it by one.</p>
+     *
+     * @param orientation the orientation of the lattice
+     * @param quality the quality of the noise
+     * @param seed the seed of the first octave, which is incremented for each
+     *     subsequent octave
+     * @return a new basis
+     */
+    static FractalBasis simplex(final LatticeOrientation orientation, final NoiseQualitySimplex quality, final int seed) {
+        return new SimplexBasis(orientation, quality, seed, -1, true);
+    }
+
+    /**
+     * Create a basis of Voronoi cells, as output by the {@link Voronoi} noise
+     * module with a frequency of {@code 1.0}.
+     *
+     * @param seed the seed of the first octave, which is incremented for each
+     *     subsequent octave
+     * @param displacement the range of random values assigned to each cell
+     * @param enableDistance whether the distance from the nearest seed point
+     *     is added to the output value
+     * @return a new basis
+     */
+    static FractalBasis voronoi(final int seed, final double displacement, final boolean enableDistance) {
+        return new VoronoiBasis(seed, displacement, enableDistance);
+    }
+
+    /**
+     * Get the value of an octave at an input value.
+     *
+     * @param x the {@code x} coordinate of the input value, scaled by the
+     *     frequency of the octave
+     * @param y the {@code y} coordinate of the input value, scaled by the
+     *     frequency of the octave
+     * @param z the {@code z} coordinate of the input value, scaled by the
+     *     frequency of the octave
+     * @param octave the index of the octave, starting from {@code 0}
+     * @return the value of the octave
+     */
+    double get(double x, double y, double z, int octave);
+
+    /**
+     * Get the values of an octave at a list of input values.
+     *
+     * <p>The value at the input value with index {@code offset + n} is written
+     * to {@code dest[n]}, for each {@code n} from {@code 0} to
+     * {@code length - 1}. Implementations must not modify the coordinate
+     * arrays.</p>
+     *
+     * @param x the {@code x} coordinates of the input values, scaled by the
+     *     frequency of the octave
+     * @param y the {@code y} coordinates of the input values, scaled by the
+     *     frequency of the octave
+     * @param z the {@code z} coordinates of the input values, scaled by the
+     *     frequency of the octave
+     * @param offset the index of the first input value
+     * @param length the number of input values
+     * @param octave the index of the octave, starting from {@code 0}
+     * @param dest an array of at least {@code length} elements that receives
+     *     the values
+     */
+    default void get(final double[] x, final double[] y, final double[] z, final int offset, final int length, final int octave, final double[] dest) {
+        for (int n = 0; n < length; n++) {
+            dest[n] = this.get(x[offset + n], y[offset + n], z[offset + n], octave);
+        }
+    }
+
+    /**
+     * Passes every parameter of this basis to a visitor.
+     *
+     * <p>The parameters are reported as parameters of the fractal module, so
+     * their names should identify the kind of basis. The default
+     * implementation throws a {@link NoiseException}, so that a fractal module
+     * with a basis that does not describe itself cannot be fingerprinted.</p>
+     *
+     * @param visitor the visitor that receives the parameters
+     * @throws NoiseException if this basis does not describe its parameters
+     */
+    default void visitParameters(final ParameterVisitor visitor) {
+        throw new NoiseException(this.getClass().getName() + " does not describe its parameters");
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.source;
+
+/**
+ * The ways a {@link Fractal} noise module combines the octaves of its basis
+ * function.
+ *
+ * <p>Octave {@code n} is evaluated at the input value multiplied by the
+ * frequency and by the lacunarity to the power {@code n}, and is weighted by
+ * the persistence to the power {@code n}.</p>
+ */
+public enum FractalType {
+    /**
+     * Fractional Brownian motion, the weighted sum of the octaves.
+     *
+     * <p>This is the type of noise generated by the {@link Perlin} and
+     * {@link Simplex} noise modules.</p>
+     */
+    FBM,
+    /**
+     * The weighted sum of the absolute values of the octaves, which produces
+     * rounded, billowy formations.
+     *
+     * <p>This is the type of noise generated by the {@link Billow} noise
+     * module. Output values are never negative.</p>
+     */
+    BILLOW,
+    /**
+     * Ridged multifractal noise, as generated by the {@link RidgedMulti} noise
+     * module.
+     *
+     * <p>Each octave is subtracted from the offset after taking its absolute
+     * value, then squared to sharpen the ridges. Each octave is also
+     * multiplied by the previous octave times the gain, clamped to
+     * {@code [0, 1]}, so that detail gathers along the ridges.</p>
+     */
+    RIDGED,
+    /**
+     * F. Kenton Musgrave's hybrid multifractal.
+     *
+     * <p>The offset is added to each octave, and each octave after the first
+     * is multiplied by the product of the previous octaves, clamped to at
+     * most {@code 1}. Valleys are therefore smooth, while higher regions
+     * gather detail.</p>
+     */
+    HYBRID
+}
@@ -0,0 +1,287 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.source;
+
+import java.util.Arrays;
+
+/**
+ * The octave settings of a fractal noise module, and the loops that combine
+ * the octaves of its basis function.
+ *
+ * <p>Instances are immutable; modules replace them when a setting
+ * changes.</p>
+ */
+final class Octaves {
+    private final FractalType type;
+    private final FractalBasis basis;
+    private final double frequency;
+    private final double lacunarity;
+    // Weight of each evaluated octave, including the fade of the last one.
+    private final double[] weights;
+    // Offset and gain of the ridged and hybrid types.
+    private final double offset;
+    private final double gain;
+    // Added to the sum of the octaves, which is then divided by the divisor.
+    private final double bias;
+    private final double divisor;
+
+    Octaves(final FractalType type, final FractalBasis basis, final double frequency, final double lacunarity, final double[] weights,
+        final int octaveLimit, final double lastOctaveWeight, final double offset, final double gain, final double bias, final double divisor) {
+        this.type = type;
+        this.basis = basis;
+        this.frequency = frequency;
+        this.lacunarity = lacunarity;
+        this.weights = Arrays.copyOf(weights, octaveLimit);
+        // Fade out the last octave as it approaches the Nyquist limit.
+        this.weights[octaveLimit - 1] *= lastOctaveWeight;
+        this.offset = offset;
+        this.gain = gain;
+        this.bias = bias;
+        this.divisor = divisor;
+    }
+
+    // Get the weights of octaves that are each the persistence times the
+    // weight of the previous octave.
+    static double[] persistenceWeights(final double persistence, final int octaveCount) {
+        final double[] weights = new double[octaveCount];
+        double weight = 1.0;
+        for (int octave = 0; octave < octaveCount; octave++) {
+            weights[octave] = weight;
+            weight *= persistence;
+        }
+        return weights;
+    }
+
+    double get(final double x, final double y, final double z) {
+        final double x1 = x * this.frequency;
+        final double y1 = y * this.frequency;
+        final double z1 = z * this.frequency;
+        // Each type has its own loop, so that the basis is called from a
+        // separate site by each type.
+        final double value;
+        switch (this.type) {
+            case FBM:
+                value = this.fbm(x1, y1, z1);
+                break;
+            case BILLOW:
+                value = this.billow(x1, y1, z1);
+                break;
+            case RIDGED:
+                value = this.ridged(x1, y1, z1);
+                break;
+            case HYBRID:
+                value = this.hybrid(x1, y1, z1);
+                break;
+            default:
+                throw new IllegalStateException("Unknown fractal type " + this.type);
+        }
+        return this.finish(value);
+    }
+
+    private double fbm(final double x, final double y, final double z) {
+        double x1 = x;
+        double y1 = y;
+        double z1 = z;
+        final double[] weights = this.weights;
+        double value = 0.0;
+        for (int octave = 0; octave < weights.length; octave++) {
+            value += this.basis.get(x1, y1, z1, octave) * weights[octave];
+
+            // Prepare the next octave.
+            x1 *= this.lacunarity;
+            y1 *= this.lacunarity;
+            z1 *= this.lacunarity;
+        }
+        return value;
+    }
+
+    private double billow(final double x, final double y, final double z) {
+        double x1 = x;
+        double y1 = y;
+        double z1 = z;
+        final double[] weights = this.weights;
+        double value = 0.0;
+        for (int octave = 0; octave < weights.length; octave++) {
+            value += Math.abs(this.basis.get(x1, y1, z1, octave)) * weights[octave];
+
+            // Prepare the next octave.
+            x1 *= this.lacunarity;
+            y1 *= this.lacunarity;
+            z1 *= this.lacunarity;
+        }
+        return value;
+    }
+
+    private double ridged(final double x, final double y, final double z) {
+        double x1 = x;
+        double y1 = y;
+        double z1 = z;
+        final double[] weights = this.weights;
+        double value = 0.0;
+        // Weighting applied to the next octave.
+        double weight = 1.0;
+        for (int octave = 0; octave < weights.length; octave++) {
+            // Make the ridges and square the signal to increase their sharpness,
+            // then apply the weighting from the previous octave.
+            double signal = this.offset - Math.abs(this.basis.get(x1, y1, z1, octave));
+            signal *= signal;
+            signal *= weight;
+
+            // Weight successive contributions by the previous signal.
+            weight = Octaves.clamp(signal * this.gain);
+            value += signal * weights[octave];
+
+            // Prepare the next octave.
+            x1 *= this.lacunarity;
+            y1 *= this.lacunarity;
+            z1 *= this.lacunarity;
+        }
+        return value;
+    }
+
+    private double hybrid(final double x, final double y, final double z) {
+        double x1 = x;
+        double y1 = y;
+        double z1 = z;
+        final double[] weights = this.weights;
+        double value = 0.0;
+        // Product of the previous octaves.
+        double weight = 1.0;
+        for (int octave = 0; octave < weights.length; octave++) {
+            final double signal = (this.basis.get(x1, y1, z1, octave) + this.offset) * weights[octave];
+            if (weight > 1.0) {
+                weight = 1.0;
+            }
+            value += weight * signal;
+            weight *= signal;
+
+            // Prepare the next octave.
+            x1 *= this.lacunarity;
+            y1 *= this.lacunarity;
+            z1 *= this.lacunarity;
+        }
+        return value;
+    }
+
+    // Evaluate the octaves of a list of input values, as by the bulk get of
+    // a noise module. Each octave is evaluated for every input value before
+    // moving on to the next one, scaling the coordinates in place as we go.
+    void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            x[i] *= this.frequency;
+            y[i] *= this.frequency;
+            z[i] *= this.frequency;
+            dest[i] = 0.0;
+        }
+
+        final double[] signals = new double[length];
+        // Weighting applied to the next octave of each input value by the
+        // ridged and hybrid types.
+        double[] weights = null;
+        if (this.type == FractalType.RIDGED || this.type == FractalType.HYBRID) {
+            weights = new double[length];
+            Arrays.fill(weights, 1.0);
+        }
+
+        final FractalBasis basis = this.basis;
+        final double ridgeOffset = this.offset;
+        final double gain = this.gain;
+        for (int octave = 0; octave < this.weights.length; octave++) {
+            basis.get(x, y, z, offset, length, octave, signals);
+            final double octaveWeight = this.weights[octave];
+            switch (this.type) {
+                case FBM:
+                    for (int n = 0; n < length; n++) {
+                        dest[offset + n] += signals[n] * octaveWeight;
+                    }
+                    break;
+                case BILLOW:
+                    for (int n = 0; n < length; n++) {
+                        dest[offset + n] += Math.abs(signals[n]) * octaveWeight;
+                    }
+                    break;
+                case RIDGED:
+                    for (int n = 0; n < length; n++) {
+                        double ridge = ridgeOffset - Math.abs(signals[n]);
+                        ridge *= ridge;
+                        ridge *= weights[n];
+                        weights[n] = Octaves.clamp(ridge * gain);
+                        dest[offset + n] += ridge * octaveWeight;
+                    }
+                    break;
+                case HYBRID:
+                    for (int n = 0; n < length; n++) {
+                        final double octaveValue = (signals[n] + ridgeOffset) * octaveWeight;
+                        final double weight = Math.min(weights[n], 1.0);
+                        dest[offset + n] += weight * octaveValue;
+                        weights[n] = weight * octaveValue;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown fractal type " + this.type);
+            }
+
+            // Prepare the next octave.
+            for (int i = offset; i < end; i++) {
+                x[i] *= this.lacunarity;
+                y[i] *= this.lacunarity;
+                z[i] *= this.lacunarity;
+            }
+        }
+
+        if (this.bias != 0.0 || this.divisor != 1.0) {
+            for (int i = offset; i < end; i++) {
+                dest[i] = this.finish(dest[i]);
+            }
+        }
+    }
+
+    private double finish(final double value) {
+        double result = value;
+        if (this.bias != 0.0) {
+            result += this.bias;
+        }
+        if (this.divisor != 1.0) {
+            result /= this.divisor;
+        }
+        return result;
+    }
+
+    private static double clamp(final double weight) {
+        if (weight > 1.0) {
+            return 1.0;
+        }
+        if (weight < 0.0) {
+            return 0.0;
+        }
+        return weight;
+    }
+}
@@ -29,10 +29,13 @@
  */
 package org.spongepowered.noise.module.source;
 
-import org.spongepowered.noise.Noise;
+import org.spongepowered.noise.GradientHashing;
+import org.spongepowered.noise.GradientNoiseKernel;
 import org.spongepowered.noise.NoiseQuality;
+import org.spongepowered.noise.PermutationTable;
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs 3-dimensional Perlin noise.
@@ -158,23 +161,57 @@ public class Perlin extends NoiseModule {
      */
     public static final int DEFAULT_PERLIN_SEED = 0;
 
+    /**
+     * Default gradient hashing for the {@link Perlin} noise module.
+     */
+    public static final GradientHashing DEFAULT_PERLIN_GRADIENT_HASHING = GradientHashing.ARITHMETIC;
+
     /**
      * Maximum number of octaves for the {@link Perlin} noise module.
      */
     public static final int PERLIN_MAX_OCTAVE = 30;
 
+    // Largest period of the lattice of an octave, in lattice cells.
+    private static final long MAX_LATTICE_PERIOD = 1L << 30;
+
     // Frequency of the first octave.
     private double frequency = Perlin.DEFAULT_PERLIN_FREQUENCY;
     // Frequency multiplier between successive octaves.
     private double lacunarity = Perlin.DEFAULT_PERLIN_LACUNARITY;
     // Quality of the Perlin noise.
     private NoiseQuality noiseQuality = Perlin.DEFAULT_PERLIN_QUALITY;
+    // Coherent-noise kernel specialized for the noise quality.
+    private GradientNoiseKernel kernel = GradientNoiseKernel.of(Perlin.DEFAULT_PERLIN_QUALITY);
     // Total number of octaves that generate the Perlin noise.
     private int octaveCount = Perlin.DEFAULT_PERLIN_OCTAVE_COUNT;
     // Persistence of the Perlin noise.
     private double persistence = Perlin.DEFAULT_PERLIN_PERSISTENCE;
     // Seed value used by the Perlin-noise function.
     private int seed = Perlin.DEFAULT_PERLIN_SEED;
+    // Distance between adjacent samples, or zero to evaluate every octave.
+    private double sampleSpacing = 0.0;
+    // Determines if the last octave fades out near the Nyquist limit.
+    private boolean fadeLastOctave = false;
+    // Number of octaves evaluated at the current sample spacing.
+    private int octaveLimit = Perlin.DEFAULT_PERLIN_OCTAVE_COUNT;
+    // Weight of the last evaluated octave.
+    private double lastOctaveWeight = 1.0;
+    // Way of assigning gradient vectors to lattice vertices.
+    private GradientHashing gradientHashing = Perlin.DEFAULT_PERLIN_GRADIENT_HASHING;
+    // Permutation table of each octave, or null when hashing arithmetically.
+    private PermutationTable[] permutations;
+    // Octaves of the current settings, or null if a setting has changed.
+    private Octaves octaves;
+    // Period of the output value along each axis, or zero if it does not repeat.
+    private double periodX = 0.0;
+    private double periodY = 0.0;
+    private double periodZ = 0.0;
+    // Period of the lattice of each octave along each axis, in lattice cells,
+    // or null if the output value does not repeat.
+    private int[] latticePeriods;
+    // Scale from input coordinates to the lattice of each octave along each
+    // axis, or null if the output value does not repeat.
+    private double[] latticeScales;
 
     public Perlin() {
         super(0);
@@ -197,6 +234,9 @@ public class Perlin extends NoiseModule {
      */
     public void setFrequency(final double frequency) {
         this.frequency = frequency;
+        this.recalculateOctaveLimit();
+        this.recalculateLatticePeriods();
+        this.octaves = null;
     }
 
     /**
@@ -224,6 +264,9 @@ public class Perlin extends NoiseModule {
      */
     public void setLacunarity(final double lacunarity) {
         this.lacunarity = lacunarity;
+        this.recalculateOctaveLimit();
+        this.recalculateLatticePeriods();
+        this.octaves = null;
     }
 
     /**
@@ -249,6 +292,8 @@ public class Perlin extends NoiseModule {
      */
     public void setNoiseQuality(final NoiseQuality noiseQuality) {
         this.noiseQuality = noiseQuality;
+        this.kernel = GradientNoiseKernel.of(noiseQuality);
+        this.octaves = null;
     }
 
     /**
@@ -285,6 +330,10 @@ public class Perlin extends NoiseModule {
         }
 
         this.octaveCount = octaveCount;
+        this.recalculateOctaveLimit();
+        this.recalculatePermutations();
+        this.recalculateLatticePeriods();
+        this.octaves = null;
     }
 
     /**
@@ -311,6 +360,65 @@ public class Perlin extends NoiseModule {
      */
     public void setPersistence(final double persistence) {
         this.persistence = persistence;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the distance between adjacent samples of the Perlin noise.
+     *
+     * @return the sample spacing, or zero if every octave is evaluated
+     */
+    public double sampleSpacing() {
+        return this.sampleSpacing;
+    }
+
+    /**
+     * Sets the distance between adjacent samples of the Perlin noise.
+     *
+     * <p>When an application samples this noise module on a regular grid, for
+     * example a terrain mesh at a given level of detail, octaves whose
+     * wavelength is shorter than twice the distance between samples cannot be
+     * represented and only add aliasing. Setting the sample spacing to the
+     * grid spacing, in input units, skips those octaves, which also reduces
+     * the time required to calculate the Perlin noise value.</p>
+     *
+     * <p>A sample spacing of zero, the default, evaluates every octave.</p>
+     *
+     * @param sampleSpacing the distance between adjacent samples
+     * @throws IllegalArgumentException if the sample spacing is negative
+     */
+    public void setSampleSpacing(final double sampleSpacing) {
+        if (!(sampleSpacing >= 0.0)) {
+            throw new IllegalArgumentException("sampleSpacing must not be negative: " + sampleSpacing);
+        }
+        this.sampleSpacing = sampleSpacing;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
+    }
+
+    /**
+     * Get whether the last octave fades out near the Nyquist limit.
+     *
+     * @return whether the last octave fades out
+     */
+    public boolean fadeLastOctave() {
+        return this.fadeLastOctave;
+    }
+
+    /**
+     * Sets whether the last octave fades out near the Nyquist limit.
+     *
+     * <p>When enabled, the last octave that is evaluated at the current
+     * {@link #setSampleSpacing(double) sample spacing} is weighted by how far
+     * its frequency is from the Nyquist limit, so that the output changes
+     * smoothly instead of popping when the sample spacing changes.</p>
+     *
+     * @param fadeLastOctave whether the last octave fades out
+     */
+    public void setFadeLastOctave(final boolean fadeLastOctave) {
+        this.fadeLastOctave = fadeLastOctave;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -330,6 +438,143 @@ public class Perlin extends NoiseModule {
      */
     public void setSeed(final int seed) {
         this.seed = seed;
+        this.recalculatePermutations();
+        this.octaves = null;
+    }
+
+    /**
+     * Get the way the Perlin noise function assigns gradient vectors to
+     * lattice vertices.
+     *
+     * @return the gradient hashing
+     * @see #DEFAULT_PERLIN_GRADIENT_HASHING
+     */
+    public GradientHashing gradientHashing() {
+        return this.gradientHashing;
+    }
+
+    /**
+     * Set the way the Perlin noise function assigns gradient vectors to
+     * lattice vertices.
+     *
+     * <p>With {@link GradientHashing#PERMUTATION}, this noise module keeps a
+     * {@link PermutationTable} for each octave, which is rebuilt whenever the
+     * seed or the number of octaves changes.</p>
+     *
+     * @param gradientHashing the gradient hashing
+     * @throws IllegalArgumentException if the gradient hashing is null
+     */
+    public void setGradientHashing(final GradientHashing gradientHashing) {
+        if (gradientHashing == null) {
+            throw new IllegalArgumentException("gradientHashing cannot be null");
+        }
+        this.gradientHashing = gradientHashing;
+        this.recalculatePermutations();
+        this.octaves = null;
+    }
+
+    /**
+     * Get the period of the output value along the {@code x} axis.
+     *
+     * @return the period, or zero if the output value does not repeat
+     */
+    public double periodX() {
+        return this.periodX;
+    }
+
+    /**
+     * Get the period of the output value along the {@code y} axis.
+     *
+     * @return the period, or zero if the output value does not repeat
+     */
+    public double periodY() {
+        return this.periodY;
+    }
+
+    /**
+     * Get the period of the output value along the {@code z} axis.
+     *
+     * @return the period, or zero if the output value does not repeat
+     */
+    public double periodZ() {
+        return this.periodZ;
+    }
+
+    /**
+     * Sets the periods with which the output value repeats.
+     *
+     * <p>With a non-zero period along an axis, the lattice of every octave
+     * wraps around after a whole number of cells, so that for example
+     * {@code get(x + periodX, y, z)} equals {@code get(x, y, z)}. The
+     * frequency of each octave along that axis is changed to
+     * {@code cells / period}, where {@code cells} is
+     * {@code period * frequency} rounded to the nearest whole number, but at
+     * least {@code 1} and at most {@code 2^30}. The change is slight when the
+     * period holds many cells, but a period that holds less than half a cell
+     * at the frequency of an octave raises that frequency to
+     * {@code 1 / period}, and a period that holds more than {@code 2^30}
+     * cells lowers it.</p>
+     *
+     * <p>Setting the periods along {@code x} and {@code z} to the size of a
+     * region of a {@link org.spongepowered.noise.model.Plane} makes maps of
+     * that region tile seamlessly, at the cost of a single evaluation per
+     * sample. A period of zero, the default, does not repeat.</p>
+     *
+     * @param x the period along the {@code x} axis
+     * @param y the period along the {@code y} axis
+     * @param z the period along the {@code z} axis
+     * @throws IllegalArgumentException if a period is negative or not finite
+     */
+    public void setPeriod(final double x, final double y, final double z) {
+        if (!(x >= 0.0 && y >= 0.0 && z >= 0.0) || Double.isInfinite(x) || Double.isInfinite(y) || Double.isInfinite(z)) {
+            throw new IllegalArgumentException("Periods must be finite and not negative: " + x + ", " + y + ", " + z);
+        }
+        this.periodX = x;
+        this.periodY = y;
+        this.periodZ = z;
+        this.recalculateLatticePeriods();
+        this.octaves = null;
+    }
+
+    private void recalculatePermutations() {
+        this.permutations = this.gradientHashing == GradientHashing.PERMUTATION ? PermutationTable.octaves(this.seed, this.octaveCount) : null;
+    }
+
+    private void recalculateLatticePeriods() {
+        if (this.periodX == 0.0 && this.periodY == 0.0 && this.periodZ == 0.0) {
+            this.latticePeriods = null;
+            this.latticeScales = null;
+            return;
+        }
+        final int[] periods = new int[3 * this.octaveCount];
+        final double[] scales = new double[3 * this.octaveCount];
+        double curFrequency = this.frequency;
+        for (int curOctave = 0; curOctave < this.octaveCount; curOctave++) {
+            Perlin.fitLattice(this.periodX, curFrequency, periods, scales, 3 * curOctave);
+            Perlin.fitLattice(this.periodY, curFrequency, periods, scales, 3 * curOctave + 1);
+            Perlin.fitLattice(this.periodZ, curFrequency, periods, scales, 3 * curOctave + 2);
+            curFrequency *= this.lacunarity;
+        }
+        this.latticePeriods = periods;
+        this.latticeScales = scales;
+    }
+
+    // Fit a whole number of lattice cells of an octave into a period.
+    private static void fitLattice(final double period, final double frequency, final int[] periods, final double[] scales, final int index) {
+        if (period == 0.0) {
+            periods[index] = 0;
+            scales[index] = frequency;
+            return;
+        }
+        final long cells = Math.max(1L, Math.min(Perlin.MAX_LATTICE_PERIOD, Math.round(period * frequency)));
+        periods[index] = (int) cells;
+        scales[index] = cells / period;
+    }
+
+    private void recalculateOctaveLimit() {
+        final double limit = Utils.octaveLimit(this.frequency, this.lacunarity, this.sampleSpacing, this.octaveCount, this.fadeLastOctave);
+        this.octaveLimit = (int) Math.ceil(limit);
+        this.lastOctaveWeight = limit - (this.octaveLimit - 1);
     }
 
     /**
@@ -348,14 +593,140 @@ public class Perlin extends NoiseModule {
         return (Math.pow(this.persistence(), this.octaveCount()) - 1) / (this.persistence() - 1);
     }
 
+    // Get the coherent-noise value and gradient of an octave with the configured
+    // gradient hashing.
+    private double coherentNoise(final double x, final double y, final double z, final int seed, final int octave, final double[] gradient) {
+        if (this.permutations != null) {
+            return this.kernel.get(x, y, z, this.permutations[octave], gradient);
+        }
+        return this.kernel.get(x, y, z, seed, gradient);
+    }
+
+    // Get the coherent-noise value of an octave on a lattice that wraps around.
+    private double coherentNoise(final double x, final double y, final double z, final int seed, final int octave, final int periodX,
+            final int periodY, final int periodZ, final double[] gradient) {
+        if (this.permutations != null) {
+            return gradient == null
+                ? this.kernel.get(x, y, z, this.permutations[octave], periodX, periodY, periodZ)
+                : this.kernel.get(x, y, z, this.permutations[octave], periodX, periodY, periodZ, gradient);
+        }
+        return gradient == null
+            ? this.kernel.get(x, y, z, seed, periodX, periodY, periodZ)
+            : this.kernel.get(x, y, z, seed, periodX, periodY, periodZ, gradient);
+    }
+
+    // Get the output value, and its gradient if requested, when the output
+    // value repeats.
+    private double periodicValue(final double x, final double y, final double z, final double[] gradient) {
+        final int[] periods = this.latticePeriods;
+        final double[] scales = this.latticeScales;
+        double value = 0.0;
+        double curPersistence = 1.0;
+        double xGradient = 0.0;
+        double yGradient = 0.0;
+        double zGradient = 0.0;
+
+        for (int curOctave = 0; curOctave < this.octaveLimit; curOctave++) {
+            final int index = 3 * curOctave;
+            // Reduce the coordinates to a single period of the lattice, which
+            // also keeps them within the range of a 32-bit integer.
+            final double nx = Perlin.wrap(x * scales[index], periods[index]);
+            final double ny = Perlin.wrap(y * scales[index + 1], periods[index + 1]);
+            final double nz = Perlin.wrap(z * scales[index + 2], periods[index + 2]);
+            final double signal = this.coherentNoise(nx, ny, nz, this.seed + curOctave, curOctave,
+                periods[index], periods[index + 1], periods[index + 2], gradient);
+            // Fade out the last octave as it approaches the Nyquist limit.
+            if (curOctave == this.octaveLimit - 1) {
+                curPersistence *= this.lastOctaveWeight;
+            }
+            value += signal * curPersistence;
+            if (gradient != null) {
+                xGradient += gradient[0] * curPersistence * scales[index];
+                yGradient += gradient[1] * curPersistence * scales[index + 1];
+                zGradient += gradient[2] * curPersistence * scales[index + 2];
+            }
+            curPersistence *= this.persistence;
+        }
+
+        if (gradient != null) {
+            gradient[0] = xGradient;
+            gradient[1] = yGradient;
+            gradient[2] = zGradient;
+        }
+        return value;
+    }
+
+    // Reduce a lattice coordinate into [0, period), or into the range of a
+    // 32-bit integer if it does not repeat.
+    private static double wrap(final double n, final int period) {
+        if (period == 0) {
+            return Utils.makeInt32Range(n);
+        }
+        return n - period * Math.floor(n / period);
+    }
+
+    // Get the octaves of the current settings, rebuilding them after a change.
+    private Octaves octaves() {
+        Octaves octaves = this.octaves;
+        if (octaves == null) {
+            final FractalBasis basis = new GradientBasis(this.noiseQuality, this.seed, -1, this.permutations, false);
+            octaves = new Octaves(FractalType.FBM, basis, this.frequency, this.lacunarity, Octaves.persistenceWeights(this.persistence, this.octaveLimit),
+                this.octaveLimit, this.lastOctaveWeight, 0.0, 0.0, 0.0, 1.0);
+            this.octaves = octaves;
+        }
+        return octaves;
+    }
+
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("frequency", this.frequency);
+        visitor.visit("lacunarity", this.lacunarity);
+        visitor.visit("quality", this.noiseQuality);
+        visitor.visit("octaveCount", this.octaveCount);
+        visitor.visit("persistence", this.persistence);
+        visitor.visit("seed", this.seed);
+        visitor.visit("gradientHashing", this.gradientHashing);
+        visitor.visit("sampleSpacing", this.sampleSpacing);
+        visitor.visit("fadeLastOctave", this.fadeLastOctave);
+        visitor.visit("periodX", this.periodX);
+        visitor.visit("periodY", this.periodY);
+        visitor.visit("periodZ", this.periodZ);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
+        if (this.latticePeriods != null) {
+            return this.periodicValue(x, y, z, null);
+        }
+        return this.octaves().get(x, y, z);
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        if (this.latticePeriods != null) {
+            super.get(x, y, z, dest, offset, length);
+            return;
+        }
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+        this.octaves().get(x, y, z, dest, offset, length);
+    }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
+        if (this.latticePeriods != null) {
+            return this.periodicValue(x, y, z, gradient);
+        }
         double x1 = x;
         double y1 = y;
         double z1 = z;
         double value = 0.0;
         double signal;
         double curPersistence = 1.0;
+        // Rate of change of the octave coordinates relative to the input value.
+        double curFrequency = this.frequency;
+        double xGradient = 0.0;
+        double yGradient = 0.0;
+        double zGradient = 0.0;
         double nx, ny, nz;
         int seed;
 
@@ -363,7 +734,7 @@ public class Perlin extends NoiseModule {
         y1 *= this.frequency;
         z1 *= this.frequency;
 
-        for (int curOctave = 0; curOctave < this.octaveCount; curOctave++) {
+        for (int curOctave = 0; curOctave < this.octaveLimit; curOctave++) {
 
             // Make sure that these floating-point values have the same range as a 32-
             // bit integer so that we can pass them to the coherent-noise functions.
@@ -371,19 +742,31 @@ public class Perlin extends NoiseModule {
             ny = Utils.makeInt32Range(y1);
             nz = Utils.makeInt32Range(z1);
 
-            // Get the coherent-noise value from the input value and add it to the
-            // final result.
+            // Get the coherent-noise value and gradient from the input value and
+            // add them to the final result.
             seed = (this.seed + curOctave);
-            signal = Noise.gradientCoherentNoise3D(nx, ny, nz, seed, this.noiseQuality);
+            signal = this.coherentNoise(nx, ny, nz, seed, curOctave, gradient);
+            // Fade out the last octave as it approaches the Nyquist limit.
+            if (curOctave == this.octaveLimit - 1) {
+                curPersistence *= this.lastOctaveWeight;
+            }
             value += signal * curPersistence;
+            final double gradientScale = curPersistence * curFrequency;
+            xGradient += gradient[0] * gradientScale;
+            yGradient += gradient[1] * gradientScale;
+            zGradient += gradient[2] * gradientScale;
 
             // Prepare the next octave.
             x1 *= this.lacunarity;
             y1 *= this.lacunarity;
             z1 *= this.lacunarity;
+            curFrequency *= this.lacunarity;
             curPersistence *= this.persistence;
         }
 
+        gradient[0] = xGradient;
+        gradient[1] = yGradient;
+        gradient[2] = zGradient;
         return value;
     }
 }
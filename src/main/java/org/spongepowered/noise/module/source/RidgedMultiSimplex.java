@@ -30,10 +30,12 @@
 package org.spongepowered.noise.module.source;
 
 import org.spongepowered.noise.LatticeOrientation;
-import org.spongepowered.noise.Noise;
 import org.spongepowered.noise.NoiseQualitySimplex;
+import org.spongepowered.noise.SimplexNoiseKernel;
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
+
 
 /**
  * Generates ridged Simplex-style noise.
@@ -91,12 +93,24 @@ public class RidgedMultiSimplex extends NoiseModule {
     private LatticeOrientation latticeOrientation = RidgedMultiSimplex.DEFAULT_SIMPLEX_ORIENTATION;
     // Quality of the ridged-multifractal noise.
     private NoiseQualitySimplex noiseQuality = RidgedMultiSimplex.DEFAULT_RIDGED_QUALITY;
+    // Coherent-noise kernel specialized for the lattice orientation and noise quality.
+    private SimplexNoiseKernel kernel = SimplexNoiseKernel.of(RidgedMultiSimplex.DEFAULT_SIMPLEX_ORIENTATION, RidgedMultiSimplex.DEFAULT_RIDGED_QUALITY);
     // Total number of octaves that generate the ridged-multifractal noise.
     private int octaveCount = RidgedMultiSimplex.DEFAULT_RIDGED_OCTAVE_COUNT;
     // Contains the spectral weights for each octave.
     private double[] spectralWeights;
     // Seed value used by the ridged-multfractal-noise function.
     private int seed = RidgedMultiSimplex.DEFAULT_RIDGED_SEED;
+    // Distance between adjacent samples, or zero to evaluate every octave.
+    private double sampleSpacing = 0.0;
+    // Determines if the last octave fades out near the Nyquist limit.
+    private boolean fadeLastOctave = false;
+    // Number of octaves evaluated at the current sample spacing.
+    private int octaveLimit = RidgedMultiSimplex.DEFAULT_RIDGED_OCTAVE_COUNT;
+    // Weight of the last evaluated octave.
+    private double lastOctaveWeight = 1.0;
+    // Octaves of the current settings, or null if a setting has changed.
+    private Octaves octaves;
 
     public RidgedMultiSimplex() {
         super(0);
@@ -120,6 +134,8 @@ public class RidgedMultiSimplex extends NoiseModule {
      */
     public void setFrequency(final double frequency) {
         this.frequency = frequency;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -145,6 +161,8 @@ public class RidgedMultiSimplex extends NoiseModule {
      */
     public void setLacunarity(final double lacunarity) {
         this.lacunarity = lacunarity;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -164,6 +182,8 @@ public class RidgedMultiSimplex extends NoiseModule {
      */
     public void setLatticeOrientation(final LatticeOrientation latticeOrientation) {
         this.latticeOrientation = latticeOrientation;
+        this.kernel = SimplexNoiseKernel.of(latticeOrientation, this.noiseQuality);
+        this.octaves = null;
     }
 
     /**
@@ -189,6 +209,8 @@ public class RidgedMultiSimplex extends NoiseModule {
      */
     public void setNoiseQuality(final NoiseQualitySimplex noiseQuality) {
         this.noiseQuality = noiseQuality;
+        this.kernel = SimplexNoiseKernel.of(this.latticeOrientation, noiseQuality);
+        this.octaves = null;
     }
 
     /**
@@ -225,6 +247,66 @@ public class RidgedMultiSimplex extends NoiseModule {
             throw new IllegalArgumentException("octaveCount must be between 1 and MAX OCTAVE: " + RidgedMulti.RIDGED_MAX_OCTAVE);
         }
         this.octaveCount = octaveCount;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
+    }
+
+    /**
+     * Get the distance between adjacent samples of the ridged-multifractal noise.
+     *
+     * @return the sample spacing, or zero if every octave is evaluated
+     */
+    public double sampleSpacing() {
+        return this.sampleSpacing;
+    }
+
+    /**
+     * Sets the distance between adjacent samples of the ridged-multifractal noise.
+     *
+     * <p>When an application samples this noise module on a regular grid, for
+     * example a terrain mesh at a given level of detail, octaves whose
+     * wavelength is shorter than twice the distance between samples cannot be
+     * represented and only add aliasing. Setting the sample spacing to the
+     * grid spacing, in input units, skips those octaves, which also reduces
+     * the time required to calculate the ridged-multifractal noise value.</p>
+     *
+     * <p>A sample spacing of zero, the default, evaluates every octave.</p>
+     *
+     * @param sampleSpacing the distance between adjacent samples
+     * @throws IllegalArgumentException if the sample spacing is negative
+     */
+    public void setSampleSpacing(final double sampleSpacing) {
+        if (!(sampleSpacing >= 0.0)) {
+            throw new IllegalArgumentException("sampleSpacing must not be negative: " + sampleSpacing);
+        }
+        this.sampleSpacing = sampleSpacing;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
+    }
+
+    /**
+     * Get whether the last octave fades out near the Nyquist limit.
+     *
+     * @return whether the last octave fades out
+     */
+    public boolean fadeLastOctave() {
+        return this.fadeLastOctave;
+    }
+
+    /**
+     * Sets whether the last octave fades out near the Nyquist limit.
+     *
+     * <p>When enabled, the last octave that is evaluated at the current
+     * {@link #setSampleSpacing(double) sample spacing} is weighted by how far
+     * its frequency is from the Nyquist limit, so that the output changes
+     * smoothly instead of popping when the sample spacing changes.</p>
+     *
+     * @param fadeLastOctave whether the last octave fades out
+     */
+    public void setFadeLastOctave(final boolean fadeLastOctave) {
+        this.fadeLastOctave = fadeLastOctave;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -244,6 +326,7 @@ public class RidgedMultiSimplex extends NoiseModule {
      */
     public void setSeed(final int seed) {
         this.seed = seed;
+        this.octaves = null;
     }
 
     private void calcSpectralWeights() {
@@ -260,6 +343,12 @@ public class RidgedMultiSimplex extends NoiseModule {
         }
     }
 
+    private void recalculateOctaveLimit() {
+        final double limit = Utils.octaveLimit(this.frequency, this.lacunarity, this.sampleSpacing, this.octaveCount, this.fadeLastOctave);
+        this.octaveLimit = (int) Math.ceil(limit);
+        this.lastOctaveWeight = limit - (this.octaveLimit - 1);
+    }
+
     /**
      * Returns the maximum value the RidgedMultiSimplex module can output in
      * its current configuration.
@@ -276,25 +365,70 @@ public class RidgedMultiSimplex extends NoiseModule {
         return (this.lacunarity() - Math.pow(this.lacunarity(), 1 - this.octaveCount())) / (this.lacunarity() - 1) / 1.6;
     }
 
+    // Get the octaves of the current settings, rebuilding them after a change.
+    private Octaves octaves() {
+        Octaves octaves = this.octaves;
+        if (octaves == null) {
+            // The offset and gain should be user-defined; they may be exposed in a
+            // future version of libnoise.
+            final FractalBasis basis = new SimplexBasis(this.latticeOrientation, this.noiseQuality, this.seed, 0x7fffffff, true);
+            octaves = new Octaves(FractalType.RIDGED, basis, this.frequency, this.lacunarity, this.spectralWeights,
+                this.octaveLimit, this.lastOctaveWeight, 1.0, 2.0, 0.0, 1.6);
+            this.octaves = octaves;
+        }
+        return octaves;
+    }
+
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("frequency", this.frequency);
+        visitor.visit("lacunarity", this.lacunarity);
+        visitor.visit("quality", this.noiseQuality);
+        visitor.visit("latticeOrientation", this.latticeOrientation);
+        visitor.visit("octaveCount", this.octaveCount);
+        visitor.visit("seed", this.seed);
+        visitor.visit("sampleSpacing", this.sampleSpacing);
+        visitor.visit("fadeLastOctave", this.fadeLastOctave);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
+        return this.octaves().get(x, y, z);
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+        this.octaves().get(x, y, z, dest, offset, length);
+    }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
         double x1 = x;
         double y1 = y;
         double z1 = z;
         x1 *= this.frequency;
         y1 *= this.frequency;
         z1 *= this.frequency;
+        // Rate of change of the octave coordinates relative to the input value.
+        double curFrequency = this.frequency;
 
         double signal;
         double value = 0.0;
         double weight = 1.0;
+        double xValue = 0.0;
+        double yValue = 0.0;
+        double zValue = 0.0;
+        double xWeight = 0.0;
+        double yWeight = 0.0;
+        double zWeight = 0.0;
 
         // These parameters should be user-defined; they may be exposed in a
         // future version of libnoise.
         final double offset = 1.0;
         final double gain = 2.0;
 
-        for (int curOctave = 0; curOctave < this.octaveCount; curOctave++) {
+        for (int curOctave = 0; curOctave < this.octaveLimit; curOctave++) {
 
             // Make sure that these floating-point values have the same range as a 32-
             // bit integer so that we can pass them to the coherent-noise functions.
@@ -303,40 +437,64 @@ public class RidgedMultiSimplex extends NoiseModule {
             ny = Utils.makeInt32Range(y1);
             nz = Utils.makeInt32Range(z1);
 
-            // Get the coherent-noise value.
+            // Get the coherent-noise value and gradient.
             final int seed = (this.seed + curOctave) & 0x7fffffff;
-            signal = Noise.simplexStyleGradientCoherentNoise3D(nx, ny, nz, seed, this.latticeOrientation, this.noiseQuality) * 2 - 1;
+            signal = this.kernel.get(nx, ny, nz, seed, gradient) * 2 - 1;
 
-            // Make the ridges.
+            // Make the ridges. The absolute value and the offset flip the gradient
+            // wherever the signal is positive.
+            final double ridgeScale = (signal < 0.0 ? 2.0 : -2.0) * curFrequency;
             signal = Math.abs(signal);
             signal = offset - signal;
 
             // Square the signal to increase the sharpness of the ridges.
+            final double squareScale = 2.0 * signal * ridgeScale;
             signal *= signal;
 
             // The weighting from the previous octave is applied to the signal.
             // Larger values have higher weights, producing sharp points along the
             // ridges.
+            final double xSignal = gradient[0] * squareScale * weight + signal * xWeight;
+            final double ySignal = gradient[1] * squareScale * weight + signal * yWeight;
+            final double zSignal = gradient[2] * squareScale * weight + signal * zWeight;
             signal *= weight;
 
-            // Weight successive contributions by the previous signal.
+            // Weight successive contributions by the previous signal. Once the
+            // weight is clamped it no longer changes with the input value.
             weight = signal * gain;
             if (weight > 1.0) {
                 weight = 1.0;
-            }
-            if (weight < 0.0) {
+                xWeight = yWeight = zWeight = 0.0;
+            } else if (weight < 0.0) {
                 weight = 0.0;
+                xWeight = yWeight = zWeight = 0.0;
+            } else {
+                xWeight = xSignal * gain;
+                yWeight = ySignal * gain;
+                zWeight = zSignal * gain;
             }
 
-            // Add the signal to the output value.
-            value += (signal * this.spectralWeights[curOctave]);
+            // Add the signal to the output value, fading out the last octave as it
+            // approaches the Nyquist limit.
+            double spectralWeight = this.spectralWeights[curOctave];
+            if (curOctave == this.octaveLimit - 1) {
+                spectralWeight *= this.lastOctaveWeight;
+            }
+            value += (signal * spectralWeight);
+            xValue += xSignal * spectralWeight;
+            yValue += ySignal * spectralWeight;
+            zValue += zSignal * spectralWeight;
 
             // Go to the next octave.
             x1 *= this.lacunarity;
             y1 *= this.lacunarity;
             z1 *= this.lacunarity;
+            curFrequency *= this.lacunarity;
         }
 
+        gradient[0] = xValue / 1.6;
+        gradient[1] = yValue / 1.6;
+        gradient[2] = zValue / 1.6;
         return value / 1.6;
     }
 }
@@ -30,10 +30,11 @@
 package org.spongepowered.noise.module.source;
 
 import org.spongepowered.noise.LatticeOrientation;
-import org.spongepowered.noise.Noise;
 import org.spongepowered.noise.NoiseQualitySimplex;
+import org.spongepowered.noise.SimplexNoiseKernel;
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Generates summed octave Simplex-style noise.
@@ -94,12 +95,24 @@ public class Simplex extends NoiseModule {
     private LatticeOrientation latticeOrientation = Simplex.DEFAULT_SIMPLEX_ORIENTATION;
     // Quality of the Simplex-style noise.
     private NoiseQualitySimplex noiseQuality = Simplex.DEFAULT_SIMPLEX_QUALITY;
+    // Coherent-noise kernel specialized for the lattice orientation and noise quality.
+    private SimplexNoiseKernel kernel = SimplexNoiseKernel.of(Simplex.DEFAULT_SIMPLEX_ORIENTATION, Simplex.DEFAULT_SIMPLEX_QUALITY);
     // Total number of octaves that generate the Simplex-style noise.
     private int octaveCount = Simplex.DEFAULT_SIMPLEX_OCTAVE_COUNT;
     // Persistence of the Simplex-style noise.
     private double persistence = Simplex.DEFAULT_SIMPLEX_PERSISTENCE;
     // Seed value used by the Simplex-style noise function.
     private int seed = Simplex.DEFAULT_SIMPLEX_SEED;
+    // Distance between adjacent samples, or zero to evaluate every octave.
+    private double sampleSpacing = 0.0;
+    // Determines if the last octave fades out near the Nyquist limit.
+    private boolean fadeLastOctave = false;
+    // Number of octaves evaluated at the current sample spacing.
+    private int octaveLimit = Simplex.DEFAULT_SIMPLEX_OCTAVE_COUNT;
+    // Weight of the last evaluated octave.
+    private double lastOctaveWeight = 1.0;
+    // Octaves of the current settings, or null if a setting has changed.
+    private Octaves octaves;
 
     public Simplex() {
         super(0);
@@ -122,6 +135,8 @@ public class Simplex extends NoiseModule {
      */
     public void setFrequency(final double frequency) {
         this.frequency = frequency;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -149,6 +164,8 @@ public class Simplex extends NoiseModule {
      */
     public void setLacunarity(final double lacunarity) {
         this.lacunarity = lacunarity;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -168,6 +185,8 @@ public class Simplex extends NoiseModule {
      */
     public void setLatticeOrientation(final LatticeOrientation latticeOrientation) {
         this.latticeOrientation = latticeOrientation;
+        this.kernel = SimplexNoiseKernel.of(latticeOrientation, this.noiseQuality);
+        this.octaves = null;
     }
 
     /**
@@ -193,6 +212,8 @@ public class Simplex extends NoiseModule {
      */
     public void setNoiseQuality(final NoiseQualitySimplex noiseQuality) {
         this.noiseQuality = noiseQuality;
+        this.kernel = SimplexNoiseKernel.of(this.latticeOrientation, noiseQuality);
+        this.octaves = null;
     }
 
     /**
@@ -229,6 +250,8 @@ public class Simplex extends NoiseModule {
         }
 
         this.octaveCount = octaveCount;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -255,6 +278,65 @@ public class Simplex extends NoiseModule {
      */
     public void setPersistence(final double persistence) {
         this.persistence = persistence;
+        this.octaves = null;
+    }
+
+    /**
+     * Get the distance between adjacent samples of the simplex noise.
+     *
+     * @return the sample spacing, or zero if every octave is evaluated
+     */
+    public double sampleSpacing() {
+        return this.sampleSpacing;
+    }
+
+    /**
+     * Sets the distance between adjacent samples of the simplex noise.
+     *
+     * <p>When an application samples this noise module on a regular grid, for
+     * example a terrain mesh at a given level of detail, octaves whose
+     * wavelength is shorter than twice the distance between samples cannot be
+     * represented and only add aliasing. Setting the sample spacing to the
+     * grid spacing, in input units, skips those octaves, which also reduces
+     * the time required to calculate the simplex noise value.</p>
+     *
+     * <p>A sample spacing of zero, the default, evaluates every octave.</p>
+     *
+     * @param sampleSpacing the distance between adjacent samples
+     * @throws IllegalArgumentException if the sample spacing is negative
+     */
+    public void setSampleSpacing(final double sampleSpacing) {
+        if (!(sampleSpacing >= 0.0)) {
+            throw new IllegalArgumentException("sampleSpacing must not be negative: " + sampleSpacing);
+        }
+        this.sampleSpacing = sampleSpacing;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
+    }
+
+    /**
+     * Get whether the last octave fades out near the Nyquist limit.
+     *
+     * @return whether the last octave fades out
+     */
+    public boolean fadeLastOctave() {
+        return this.fadeLastOctave;
+    }
+
+    /**
+     * Sets whether the last octave fades out near the Nyquist limit.
+     *
+     * <p>When enabled, the last octave that is evaluated at the current
+     * {@link #setSampleSpacing(double) sample spacing} is weighted by how far
+     * its frequency is from the Nyquist limit, so that the output changes
+     * smoothly instead of popping when the sample spacing changes.</p>
+     *
+     * @param fadeLastOctave whether the last octave fades out
+     */
+    public void setFadeLastOctave(final boolean fadeLastOctave) {
+        this.fadeLastOctave = fadeLastOctave;
+        this.recalculateOctaveLimit();
+        this.octaves = null;
     }
 
     /**
@@ -274,6 +356,13 @@ public class Simplex extends NoiseModule {
      */
     public void setSeed(final int seed) {
         this.seed = seed;
+        this.octaves = null;
+    }
+
+    private void recalculateOctaveLimit() {
+        final double limit = Utils.octaveLimit(this.frequency, this.lacunarity, this.sampleSpacing, this.octaveCount, this.fadeLastOctave);
+        this.octaveLimit = (int) Math.ceil(limit);
+        this.lastOctaveWeight = limit - (this.octaveLimit - 1);
     }
 
     /**
@@ -292,14 +381,55 @@ public class Simplex extends NoiseModule {
         return (Math.pow(this.persistence(), this.octaveCount()) - 1) / (this.persistence() - 1);
     }
 
+    // Get the octaves of the current settings, rebuilding them after a change.
+    private Octaves octaves() {
+        Octaves octaves = this.octaves;
+        if (octaves == null) {
+            final FractalBasis basis = new SimplexBasis(this.latticeOrientation, this.noiseQuality, this.seed, -1, false);
+            octaves = new Octaves(FractalType.FBM, basis, this.frequency, this.lacunarity, Octaves.persistenceWeights(this.persistence, this.octaveLimit),
+                this.octaveLimit, this.lastOctaveWeight, 0.0, 0.0, 0.0, 1.0);
+            this.octaves = octaves;
+        }
+        return octaves;
+    }
+
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("frequency", this.frequency);
+        visitor.visit("lacunarity", this.lacunarity);
+        visitor.visit("quality", this.noiseQuality);
+        visitor.visit("latticeOrientation", this.latticeOrientation);
+        visitor.visit("octaveCount", this.octaveCount);
+        visitor.visit("persistence", this.persistence);
+        visitor.visit("seed", this.seed);
+        visitor.visit("sampleSpacing", this.sampleSpacing);
+        visitor.visit("fadeLastOctave", this.fadeLastOctave);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
+        return this.octaves().get(x, y, z);
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+        NoiseModule.checkRange(x, y, z, dest, offset, length);
+        this.octaves().get(x, y, z, dest, offset, length);
+    }
+
+    @Override
+    public double get(final double x, final double y, final double z, final double[] gradient) {
         double x1 = x;
         double y1 = y;
         double z1 = z;
         double value = 0.0;
         double signal;
         double curPersistence = 1.0;
+        // Rate of change of the octave coordinates relative to the input value.
+        double curFrequency = this.frequency;
+        double xGradient = 0.0;
+        double yGradient = 0.0;
+        double zGradient = 0.0;
         double nx, ny, nz;
         int seed;
 
@@ -307,7 +437,7 @@ public class Simplex extends NoiseModule {
         y1 *= this.frequency;
         z1 *= this.frequency;
 
-        for (int curOctave = 0; curOctave < this.octaveCount; curOctave++) {
+        for (int curOctave = 0; curOctave < this.octaveLimit; curOctave++) {
 
             // Make sure that these floating-point values have the same range as a 32-
             // bit integer so that we can pass them to the coherent-noise functions.
@@ -315,19 +445,31 @@ public class Simplex extends NoiseModule {
             ny = Utils.makeInt32Range(y1);
             nz = Utils.makeInt32Range(z1);
 
-            // Get the coherent-noise value from the input value and add it to the
-            // final result.
+            // Get the coherent-noise value and gradient from the input value and
+            // add them to the final result.
             seed = (this.seed + curOctave);
-            signal = Noise.simplexStyleGradientCoherentNoise3D(nx, ny, nz, seed, this.latticeOrientation, this.noiseQuality);
+            signal = this.kernel.get(nx, ny, nz, seed, gradient);
+            // Fade out the last octave as it approaches the Nyquist limit.
+            if (curOctave == this.octaveLimit - 1) {
+                curPersistence *= this.lastOctaveWeight;
+            }
             value += signal * curPersistence;
+            final double gradientScale = curPersistence * curFrequency;
+            xGradient += gradient[0] * gradientScale;
+            yGradient += gradient[1] * gradientScale;
+            zGradient += gradient[2] * gradientScale;
 
             // Prepare the next octave.
             x1 *= this.lacunarity;
             y1 *= this.lacunarity;
             z1 *= this.lacunarity;
+            curFrequency *= this.lacunarity;
             curPersistence *= this.persistence;
         }
 
+        gradient[0] = xGradient;
+        gradient[1] = yGradient;
+        gradient[2] = zGradient;
         return value;
     }
 }
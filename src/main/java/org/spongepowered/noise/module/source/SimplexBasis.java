@@ -0,0 +1,92 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.source;
+
+import org.spongepowered.noise.LatticeOrientation;
+import org.spongepowered.noise.NoiseQualitySimplex;
+import org.spongepowered.noise.SimplexNoiseKernel;
+import org.spongepowered.noise.Utils;
+import org.spongepowered.noise.module.ParameterVisitor;
+
+/**
+ * A basis of Simplex-style gradient noise, with a seed per octave.
+ */
+final class SimplexBasis implements FractalBasis {
+    private final LatticeOrientation orientation;
+    private final NoiseQualitySimplex quality;
+    private final SimplexNoiseKernel kernel;
+    private final int seed;
+    // Mask applied to the seed of each octave.
+    private final int seedMask;
+    // Whether kernel values are doubled and then decreased by one, as by the
+    // ridged-multifractal noise module and the public basis.
+    private final boolean doubled;
+
+    SimplexBasis(final LatticeOrientation orientation, final NoiseQualitySimplex quality, final int seed, final int seedMask, final boolean doubled) {
+        this.orientation = orientation;
+        this.quality = quality;
+        this.kernel = SimplexNoiseKernel.of(orientation, quality);
+        this.seed = seed;
+        this.seedMask = seedMask;
+        this.doubled = doubled;
+    }
+
+    @Override
+    public double get(final double x, final double y, final double z, final int octave) {
+        // Make sure that these floating-point values have the same range as a 32-
+        // bit integer so that we can pass them to the coherent-noise functions.
+        final double nx = Utils.makeInt32Range(x);
+        final double ny = Utils.makeInt32Range(y);
+        final double nz = Utils.makeInt32Range(z);
+        final double value = this.kernel.get(nx, ny, nz, (this.seed + octave) & this.seedMask);
+        return this.doubled ? value * 2 - 1 : value;
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final int offset, final int length, final int octave, final double[] dest) {
+        final SimplexNoiseKernel kernel = this.kernel;
+        final int seed = (this.seed + octave) & this.seedMask;
+        final boolean doubled = this.doubled;
+        for (int n = 0; n < length; n++) {
+            final double nx = Utils.makeInt32Range(x[offset + n]);
+            final double ny = Utils.makeInt32Range(y[offset + n]);
+            final double nz = Utils.makeInt32Range(z[offset + n]);
+            final double value = kernel.get(nx, ny, nz, seed);
+            dest[n] = doubled ? value * 2 - 1 : value;
+        }
+    }
+
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("simplexOrientation", this.orientation);
+        visitor.visit("simplexQuality", this.quality);
+        visitor.visit("simplexSeed", this.seed);
+    }
+}
@@ -31,6 +31,7 @@ package org.spongepowered.noise.module.source;
 
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs concentric spheres.
@@ -94,6 +95,11 @@ public class Spheres extends NoiseModule {
         this.frequency = frequency;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("frequency", this.frequency);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         double x1 = x;
@@ -32,6 +32,7 @@ package org.spongepowered.noise.module.source;
 import org.spongepowered.noise.Noise;
 import org.spongepowered.noise.Utils;
 import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
 
 /**
  * Noise module that outputs Voronoi cells.
@@ -212,6 +213,14 @@ public class Voronoi extends NoiseModule {
         this.seed = seed;
     }
 
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("displacement", this.displacement);
+        visitor.visit("enableDistance", this.enableDistance);
+        visitor.visit("frequency", this.frequency);
+        visitor.visit("seed", this.seed);
+    }
+
     @Override
     public double get(final double x, final double y, final double z) {
         double x1 = x;
@@ -223,7 +232,12 @@ public class Voronoi extends NoiseModule {
         x1 *= this.frequency;
         y1 *= this.frequency;
         z1 *= this.frequency;
+        return Voronoi.cell(x1, y1, z1, this.seed, this.displacement, this.enableDistance);
+    }
 
+    // Get the output value of the Voronoi cell that contains a point, in units
+    // where the seed points are one apart on average.
+    static double cell(final double x1, final double y1, final double z1, final int seed, final double displacement, final boolean enableDistance) {
         final int xInt = (x1 > 0.0 ? (int) x1 : (int) x1 - 1);
         final int yInt = (y1 > 0.0 ? (int) y1 : (int) y1 - 1);
         final int zInt = (z1 > 0.0 ? (int) z1 : (int) z1 - 1);
@@ -242,9 +256,9 @@ public class Voronoi extends NoiseModule {
 
                     // Calculate the position and distance to the seed point inside of
                     // this unit cube.
-                    final double xPos = xCur + Noise.valueNoise3D(xCur, yCur, zCur, this.seed);
-                    final double yPos = yCur + Noise.valueNoise3D(xCur, yCur, zCur, this.seed + 1);
-                    final double zPos = zCur + Noise.valueNoise3D(xCur, yCur, zCur, this.seed + 2);
+                    final double xPos = xCur + Noise.valueNoise3D(xCur, yCur, zCur, seed);
+                    final double yPos = yCur + Noise.valueNoise3D(xCur, yCur, zCur, seed + 1);
+                    final double zPos = zCur + Noise.valueNoise3D(xCur, yCur, zCur, seed + 2);
                     final double xDist = xPos - x1;
                     final double yDist = yPos - y1;
                     final double zDist = zPos - z1;
@@ -263,7 +277,7 @@ public class Voronoi extends NoiseModule {
         }
 
         final double value;
-        if (this.enableDistance) {
+        if (enableDistance) {
             // Determine the distance to the nearest seed point.
             final double xDist = xCandidate - x1;
             final double yDist = yCandidate - y1;
@@ -274,6 +288,6 @@ public class Voronoi extends NoiseModule {
         }
 
         // Return the calculated distance with the displacement value applied.
-        return value + (this.displacement * Noise.valueNoise3D(Utils.floor(xCandidate), Utils.floor(yCandidate), Utils.floor(zCandidate), this.seed));
+        return value + (displacement * Noise.valueNoise3D(Utils.floor(xCandidate), Utils.floor(yCandidate), Utils.floor(zCandidate), seed));
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.source;
+
+import org.spongepowered.noise.module.ParameterVisitor;
+
+/**
+ * A basis of Voronoi cells, with a seed per octave.
+ */
+final class VoronoiBasis implements FractalBasis {
+    private final int seed;
+    private final double displacement;
+    private final boolean enableDistance;
+
+    VoronoiBasis(final int seed, final double displacement, final boolean enableDistance) {
+        this.seed = seed;
+        this.displacement = displacement;
+        this.enableDistance = enableDistance;
+    }
+
+    @Override
+    public double get(final double x, final double y, final double z, final int octave) {
+        return Voronoi.cell(x, y, z, this.seed + octave, this.displacement, this.enableDistance);
+    }
+
+    @Override
+    public void get(final double[] x, final double[] y, final double[] z, final int offset, final int length, final int octave, final double[] dest) {
+        final int seed = this.seed + octave;
+        for (int n = 0; n < length; n++) {
+            dest[n] = Voronoi.cell(x[offset + n], y[offset + n], z[offset + n], seed, this.displacement, this.enableDistance);
+        }
+    }
+
+    @Override
+    public void visitParameters(final ParameterVisitor visitor) {
+        visitor.visit("voronoiSeed", this.seed);
+        visitor.visit("voronoiDisplacement", this.displacement);
+        visitor.visit("voronoiEnableDistance", this.enableDistance);
+    }
+}
@@ -0,0 +1,527 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.spongepowered.noise.Utils;
+import org.spongepowered.noise.module.NoiseModule;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Samples a noise module over chunks of a voxel volume by interpolating
+ * between the corners of a coarse lattice.
+ *
+ * <p>Each chunk is a box of {@link #chunkWidth()} by {@link #chunkHeight()}
+ * by {@link #chunkDepth()} samples, divided into cells of
+ * {@link #cellWidth()} by {@link #cellHeight()} by {@link #cellDepth()}
+ * samples. The source module is only evaluated at the corners of the cells,
+ * and the samples within a cell are interpolated trilinearly between its
+ * eight corners. Sample {@code (i, j, k)} of chunk
+ * {@code (chunkX, chunkY, chunkZ)} corresponds to the input value</p>
+ *
+ * <pre>
+ * x = originX + (chunkX * chunkWidth + i) * spacing
+ * y = originY + (chunkY * chunkHeight + j) * spacing
+ * z = originZ + (chunkZ * chunkDepth + k) * spacing</pre>
+ *
+ * <p>and samples at the corners of the cells are the exact output values of
+ * the source module. As with {@link TileLayout}, samples are stored with
+ * {@code x} varying fastest, then {@code y}, then {@code z}.</p>
+ *
+ * <p>Adjacent chunks share the corners on their common face. The corner
+ * values of recently sampled chunks are kept in a small cache, and the
+ * shared faces are copied from it instead of being evaluated again. The
+ * cache must be cleared with {@link #clearCache()} if the source module is
+ * reconfigured.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public final class DensitySampler {
+    private final NoiseModule module;
+    private int chunkWidth = 16;
+    private int chunkHeight = 16;
+    private int chunkDepth = 16;
+    private int cellWidth = 4;
+    private int cellHeight = 8;
+    private int cellDepth = 4;
+    private double originX = 0.0;
+    private double originY = 0.0;
+    private double originZ = 0.0;
+    private double spacing = 1.0;
+    private int cacheSize = 32;
+    // Corner values of recently sampled chunks, in access order.
+    private final LinkedHashMap<ChunkKey, double[]> corners = new LinkedHashMap<ChunkKey, double[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ChunkKey, double[]> eldest) {
+            return this.size() > DensitySampler.this.cacheSize;
+        }
+    };
+    // Scratch space for the input values of the corners that are evaluated.
+    private double[] xScratch = new double[0];
+    private double[] yScratch = new double[0];
+    private double[] zScratch = new double[0];
+    private double[] valueScratch = new double[0];
+
+    /**
+     * Create a new sampler of 16 by 16 by 16 chunks, divided into cells of
+     * 4 by 8 by 4 samples, with an origin at zero and a spacing of
+     * {@code 1.0}.
+     *
+     * @param module the source module
+     */
+    public DensitySampler(final NoiseModule module) {
+        this.module = Objects.requireNonNull(module, "module");
+    }
+
+    /**
+     * Get the source module of this sampler.
+     *
+     * @return the source module
+     */
+    public NoiseModule module() {
+        return this.module;
+    }
+
+    /**
+     * Get the number of samples of a chunk along the {@code x} axis.
+     *
+     * @return the number of samples
+     */
+    public int chunkWidth() {
+        return this.chunkWidth;
+    }
+
+    /**
+     * Get the number of samples of a chunk along the {@code y} axis.
+     *
+     * @return the number of samples
+     */
+    public int chunkHeight() {
+        return this.chunkHeight;
+    }
+
+    /**
+     * Get the number of samples of a chunk along the {@code z} axis.
+     *
+     * @return the number of samples
+     */
+    public int chunkDepth() {
+        return this.chunkDepth;
+    }
+
+    /**
+     * Get the number of samples in a chunk.
+     *
+     * @return the number of samples
+     */
+    public int chunkSampleCount() {
+        return this.chunkWidth * this.chunkHeight * this.chunkDepth;
+    }
+
+    /**
+     * Get the number of samples of a cell along the {@code x} axis.
+     *
+     * @return the number of samples
+     */
+    public int cellWidth() {
+        return this.cellWidth;
+    }
+
+    /**
+     * Get the number of samples of a cell along the {@code y} axis.
+     *
+     * @return the number of samples
+     */
+    public int cellHeight() {
+        return this.cellHeight;
+    }
+
+    /**
+     * Get the number of samples of a cell along the {@code z} axis.
+     *
+     * @return the number of samples
+     */
+    public int cellDepth() {
+        return this.cellDepth;
+    }
+
+    /**
+     * Set the number of samples of each chunk and each cell.
+     *
+     * <p>Changing the sizes clears the corner cache.</p>
+     *
+     * @param chunkWidth the number of samples of a chunk along the {@code x}
+     *     axis
+     * @param chunkHeight the number of samples of a chunk along the {@code y}
+     *     axis
+     * @param chunkDepth the number of samples of a chunk along the {@code z}
+     *     axis
+     * @param cellWidth the number of samples of a cell along the {@code x}
+     *     axis
+     * @param cellHeight the number of samples of a cell along the {@code y}
+     *     axis
+     * @param cellDepth the number of samples of a cell along the {@code z}
+     *     axis
+     * @throws IllegalArgumentException if a dimension is not positive, a chunk
+     *     dimension is not a multiple of the cell dimension, or a chunk would
+     *     have more than {@link Integer#MAX_VALUE} samples
+     */
+    public void setSize(final int chunkWidth, final int chunkHeight, final int chunkDepth, final int cellWidth, final int cellHeight, final int cellDepth) {
+        if (chunkWidth <= 0 || chunkHeight <= 0 || chunkDepth <= 0 || cellWidth <= 0 || cellHeight <= 0 || cellDepth <= 0) {
+            throw new IllegalArgumentException("Chunk and cell dimensions must be positive: " + chunkWidth + "x" + chunkHeight + "x" + chunkDepth
+                + ", " + cellWidth + "x" + cellHeight + "x" + cellDepth);
+        }
+        if (chunkWidth % cellWidth != 0 || chunkHeight % cellHeight != 0 || chunkDepth % cellDepth != 0) {
+            throw new IllegalArgumentException("Chunk dimensions " + chunkWidth + "x" + chunkHeight + "x" + chunkDepth
+                + " must be multiples of the cell dimensions " + cellWidth + "x" + cellHeight + "x" + cellDepth);
+        }
+        if ((long) chunkWidth * chunkHeight * chunkDepth > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk is too large: " + chunkWidth + "x" + chunkHeight + "x" + chunkDepth);
+        }
+        this.chunkWidth = chunkWidth;
+        this.chunkHeight = chunkHeight;
+        this.chunkDepth = chunkDepth;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.cellDepth = cellDepth;
+        this.clearCache();
+    }
+
+    /**
+     * Get the {@code x} coordinate of the first sample of chunk
+     * {@code (0, 0, 0)}.
+     *
+     * @return the {@code x} coordinate of the origin
+     */
+    public double originX() {
+        return this.originX;
+    }
+
+    /**
+     * Get the {@code y} coordinate of the first sample of chunk
+     * {@code (0, 0, 0)}.
+     *
+     * @return the {@code y} coordinate of the origin
+     */
+    public double originY() {
+        return this.originY;
+    }
+
+    /**
+     * Get the {@code z} coordinate of the first sample of chunk
+     * {@code (0, 0, 0)}.
+     *
+     * @return the {@code z} coordinate of the origin
+     */
+    public double originZ() {
+        return this.originZ;
+    }
+
+    /**
+     * Set the input value of the first sample of chunk {@code (0, 0, 0)}.
+     *
+     * <p>Changing the origin clears the corner cache.</p>
+     *
+     * @param x the {@code x} coordinate of the origin
+     * @param y the {@code y} coordinate of the origin
+     * @param z the {@code z} coordinate of the origin
+     */
+    public void setOrigin(final double x, final double y, final double z) {
+        this.originX = x;
+        this.originY = y;
+        this.originZ = z;
+        this.clearCache();
+    }
+
+    /**
+     * Get the distance between adjacent samples.
+     *
+     * @return the spacing
+     */
+    public double spacing() {
+        return this.spacing;
+    }
+
+    /**
+     * Set the distance between adjacent samples.
+     *
+     * <p>Changing the spacing clears the corner cache.</p>
+     *
+     * @param spacing the spacing
+     * @throws IllegalArgumentException if the spacing is not positive
+     */
+    public void setSpacing(final double spacing) {
+        if (!(spacing > 0.0)) {
+            throw new IllegalArgumentException("Spacing must be positive: " + spacing);
+        }
+        this.spacing = spacing;
+        this.clearCache();
+    }
+
+    /**
+     * Get the number of chunks whose corner values are cached.
+     *
+     * @return the size of the corner cache
+     */
+    public int cacheSize() {
+        return this.cacheSize;
+    }
+
+    /**
+     * Set the number of chunks whose corner values are cached.
+     *
+     * <p>A cache of at least 3 chunks shares the corners of a chunk with
+     * its neighbours along one axis, which covers chunks sampled in rows. Up
+     * to 7 chunks may be needed when the neighbours along all three axes were
+     * sampled last. A size of {@code 0} disables the cache.</p>
+     *
+     * @param cacheSize the size of the corner cache
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public void setCacheSize(final int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        if (this.corners.size() > cacheSize) {
+            this.clearCache();
+        }
+    }
+
+    /**
+     * Discards the corner values of all previously sampled chunks.
+     *
+     * <p>This must be called after the source module is reconfigured, as the
+     * cached values would otherwise be reused for the neighbours of chunks
+     * sampled earlier.</p>
+     */
+    public void clearCache() {
+        this.corners.clear();
+    }
+
+    /**
+     * Samples a chunk.
+     *
+     * @param chunkX the {@code x} index of the chunk
+     * @param chunkY the {@code y} index of the chunk
+     * @param chunkZ the {@code z} index of the chunk
+     * @return a new array of {@link #chunkSampleCount()} samples
+     */
+    public double[] sample(final int chunkX, final int chunkY, final int chunkZ) {
+        final double[] dest = new double[this.chunkSampleCount()];
+        this.sample(chunkX, chunkY, chunkZ, dest, 0);
+        return dest;
+    }
+
+    /**
+     * Samples a chunk into an existing array.
+     *
+     * @param chunkX the {@code x} index of the chunk
+     * @param chunkY the {@code y} index of the chunk
+     * @param chunkZ the {@code z} index of the chunk
+     * @param dest the array that receives the samples
+     * @param offset the index in {@code dest} of the first sample
+     * @throws IllegalArgumentException if {@code dest} cannot hold
+     *     {@link #chunkSampleCount()} samples starting at {@code offset}
+     */
+    public void sample(final int chunkX, final int chunkY, final int chunkZ, final double[] dest, final int offset) {
+        final int count = this.chunkSampleCount();
+        if (offset < 0 || offset > dest.length - count) {
+            throw new IllegalArgumentException("Cannot store " + count + " samples at offset " + offset + " of an array of length " + dest.length);
+        }
+        final double[] corners = this.corners(chunkX, chunkY, chunkZ);
+
+        final int cellsX = this.chunkWidth / this.cellWidth;
+        final int cellsY = this.chunkHeight / this.cellHeight;
+        final int cellsZ = this.chunkDepth / this.cellDepth;
+        final int cornersX = cellsX + 1;
+        final int cornerLayer = cornersX * (cellsY + 1);
+        final int sampleLayer = this.chunkWidth * this.chunkHeight;
+        for (int cz = 0; cz < cellsZ; cz++) {
+            for (int cy = 0; cy < cellsY; cy++) {
+                for (int cx = 0; cx < cellsX; cx++) {
+                    final int corner = cx + cornersX * cy + cornerLayer * cz;
+                    final double c000 = corners[corner];
+                    final double c100 = corners[corner + 1];
+                    final double c010 = corners[corner + cornersX];
+                    final double c110 = corners[corner + cornersX + 1];
+                    final double c001 = corners[corner + cornerLayer];
+                    final double c101 = corners[corner + cornerLayer + 1];
+                    final double c011 = corners[corner + cornerLayer + cornersX];
+                    final double c111 = corners[corner + cornerLayer + cornersX + 1];
+                    final int base = offset + cx * this.cellWidth + this.chunkWidth * cy * this.cellHeight + sampleLayer * cz * this.cellDepth;
+                    for (int k = 0; k < this.cellDepth; k++) {
+                        final double tz = (double) k / this.cellDepth;
+                        // Interpolate along z first, then y, then x.
+                        final double c00 = Utils.linearInterp(c000, c001, tz);
+                        final double c10 = Utils.linearInterp(c100, c101, tz);
+                        final double c01 = Utils.linearInterp(c010, c011, tz);
+                        final double c11 = Utils.linearInterp(c110, c111, tz);
+                        for (int j = 0; j < this.cellHeight; j++) {
+                            final double ty = (double) j / this.cellHeight;
+                            final double c0 = Utils.linearInterp(c00, c01, ty);
+                            final double c1 = Utils.linearInterp(c10, c11, ty);
+                            final int row = base + this.chunkWidth * j + sampleLayer * k;
+                            for (int i = 0; i < this.cellWidth; i++) {
+                                dest[row + i] = Utils.linearInterp(c0, c1, (double) i / this.cellWidth);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Get the corner values of a chunk, from the cache if possible. Corners on
+    // faces shared with cached neighbours are copied; the rest are evaluated.
+    private double[] corners(final int chunkX, final int chunkY, final int chunkZ) {
+        final ChunkKey key = new ChunkKey(chunkX, chunkY, chunkZ);
+        final double[] cached = this.corners.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final int cornersX = this.chunkWidth / this.cellWidth + 1;
+        final int cornersY = this.chunkHeight / this.cellHeight + 1;
+        final int cornersZ = this.chunkDepth / this.cellDepth + 1;
+        final double[] values = new double[cornersX * cornersY * cornersZ];
+        final boolean[] known = new boolean[values.length];
+        this.copyFace(chunkX - 1, chunkY, chunkZ, 0, cornersX - 1, values, known);
+        this.copyFace(chunkX + 1, chunkY, chunkZ, 0, 0, values, known);
+        this.copyFace(chunkX, chunkY - 1, chunkZ, 1, cornersY - 1, values, known);
+        this.copyFace(chunkX, chunkY + 1, chunkZ, 1, 0, values, known);
+        this.copyFace(chunkX, chunkY, chunkZ - 1, 2, cornersZ - 1, values, known);
+        this.copyFace(chunkX, chunkY, chunkZ + 1, 2, 0, values, known);
+
+        // Evaluate the remaining corners all at once.
+        final int remaining = values.length - DensitySampler.count(known);
+        if (this.xScratch.length < remaining) {
+            this.xScratch = new double[values.length];
+            this.yScratch = new double[values.length];
+            this.zScratch = new double[values.length];
+            this.valueScratch = new double[values.length];
+        }
+        int n = 0;
+        for (int index = 0; index < values.length; index++) {
+            if (!known[index]) {
+                final int i = index % cornersX;
+                final int j = index / cornersX % cornersY;
+                final int k = index / (cornersX * cornersY);
+                this.xScratch[n] = this.coordinate(this.originX, chunkX, this.chunkWidth, i * this.cellWidth);
+                this.yScratch[n] = this.coordinate(this.originY, chunkY, this.chunkHeight, j * this.cellHeight);
+                this.zScratch[n] = this.coordinate(this.originZ, chunkZ, this.chunkDepth, k * this.cellDepth);
+                n++;
+            }
+        }
+        this.module.get(this.xScratch, this.yScratch, this.zScratch, this.valueScratch, 0, n);
+        n = 0;
+        for (int index = 0; index < values.length; index++) {
+            if (!known[index]) {
+                values[index] = this.valueScratch[n++];
+            }
+        }
+
+        if (this.cacheSize > 0) {
+            this.corners.put(key, values);
+        }
+        return values;
+    }
+
+    // Get the input coordinate of a sample along one axis. Samples on the
+    // faces of adjacent chunks get the same coordinate from either chunk.
+    private double coordinate(final double origin, final int chunk, final int chunkSize, final int sample) {
+        return origin + ((long) chunk * chunkSize + sample) * this.spacing;
+    }
+
+    // Copy the corners on the face shared with a cached neighbour. The face of
+    // the neighbour at the given index along the axis is the opposite face of
+    // this chunk.
+    private void copyFace(final int chunkX, final int chunkY, final int chunkZ, final int axis, final int neighbourIndex,
+        final double[] values, final boolean[] known) {
+        final double[] neighbour = this.corners.get(new ChunkKey(chunkX, chunkY, chunkZ));
+        if (neighbour == null) {
+            return;
+        }
+        final int cornersX = this.chunkWidth / this.cellWidth + 1;
+        final int cornersY = this.chunkHeight / this.cellHeight + 1;
+        final int cornersZ = this.chunkDepth / this.cellDepth + 1;
+        final int[] size = {cornersX, cornersY, cornersZ};
+        final int[] stride = {1, cornersX, cornersX * cornersY};
+        final int ownIndex = neighbourIndex == 0 ? size[axis] - 1 : 0;
+        final int u = axis == 0 ? 1 : 0;
+        final int v = axis == 2 ? 1 : 2;
+        for (int b = 0; b < size[v]; b++) {
+            for (int a = 0; a < size[u]; a++) {
+                final int face = a * stride[u] + b * stride[v];
+                final int own = face + ownIndex * stride[axis];
+                values[own] = neighbour[face + neighbourIndex * stride[axis]];
+                known[own] = true;
+            }
+        }
+    }
+
+    private static int count(final boolean[] values) {
+        int count = 0;
+        for (final boolean value : values) {
+            if (value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static final class ChunkKey {
+        private final int x;
+        private final int y;
+        private final int z;
+
+        ChunkKey(final int x, final int y, final int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof ChunkKey)) {
+                return false;
+            }
+            final ChunkKey that = (ChunkKey) other;
+            return this.x == that.x && this.y == that.y && this.z == that.z;
+        }
+
+        @Override
+        public int hashCode() {
+            return (this.x * 31 + this.y) * 31 + this.z;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.spongepowered.noise.model.Plane;
+import org.spongepowered.noise.module.NoiseModule;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Renders a window of tiles that moves over an unbounded region, keeping the
+ * tiles that remain in view.
+ *
+ * <p>The tiles are laid out as described by {@link TileLayout}, except that
+ * tile indices are not limited to the region: the tile count of the layout is
+ * the size of the window instead. When the window is moved with
+ * {@link #moveTo(int, int, int)}, only the tiles that were not in view before
+ * are rendered. Tiles are stored in a ring buffer in which tile
+ * {@code (tileX, tileY, tileZ)} always occupies the same slot, so moving the
+ * window does not copy any samples.</p>
+ *
+ * <p>The window is initially empty and contains no tiles until it is first
+ * moved. A window over a {@link Plane} renders height maps, and requires a
+ * two-dimensional layout as for {@link TileStore#render(Plane, int, int)}.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public final class SlidingWindow {
+    // Noise module that renders the tiles, if the window is not over a plane.
+    private final NoiseModule module;
+    // Plane that renders the tiles, if the window is over a plane.
+    private final Plane plane;
+    private final TileLayout layout;
+    private final TileRenderer renderer;
+    // Samples of the tile in each slot of the ring buffer.
+    private final double[][] tiles;
+    // Indices of the tile in each slot, three per slot.
+    private final int[] slotTiles;
+    // Whether each slot contains a rendered tile.
+    private final boolean[] rendered;
+    // Indices of the first tile in the window.
+    private int windowX;
+    private int windowY;
+    private int windowZ;
+    private boolean positioned = false;
+
+    /**
+     * Create a new window over a noise module.
+     *
+     * @param module the noise module that renders the tiles
+     * @param layout the layout of the tiles, whose tile count is the size of
+     *     the window; later changes to the layout do not affect the window
+     */
+    public SlidingWindow(final NoiseModule module, final TileLayout layout) {
+        this(Objects.requireNonNull(module, "module"), null, layout);
+    }
+
+    /**
+     * Create a new window of height maps over a plane.
+     *
+     * <p>Samples are taken with {@link Plane#get(double, double)}, so the
+     * {@code y} coordinate of the origin is ignored.</p>
+     *
+     * @param plane the plane that renders the tiles
+     * @param layout the layout of the tiles, whose tile count is the size of
+     *     the window; later changes to the layout do not affect the window
+     * @throws IllegalArgumentException if the layout is not two-dimensional
+     */
+    public SlidingWindow(final Plane plane, final TileLayout layout) {
+        this(null, Objects.requireNonNull(plane, "plane"), layout);
+        if (layout.tileHeight() != 1 || layout.tileCountY() != 1) {
+            throw new IllegalArgumentException("Planes can only be rendered into a two-dimensional layout");
+        }
+    }
+
+    private SlidingWindow(final NoiseModule module, final Plane plane, final TileLayout layout) {
+        this.module = module;
+        this.plane = plane;
+        this.layout = new TileLayout(layout);
+        this.renderer = new TileRenderer(this.layout);
+        final int tileCount = this.layout.tileCount();
+        final int sampleCount = this.layout.tileSampleCount();
+        if ((long) tileCount * sampleCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window is too large: " + tileCount + " tiles of " + sampleCount + " samples");
+        }
+        this.tiles = new double[tileCount][sampleCount];
+        this.slotTiles = new int[tileCount * 3];
+        this.rendered = new boolean[tileCount];
+    }
+
+    /**
+     * Get the layout of the tiles in this window.
+     *
+     * @return a copy of the layout
+     */
+    public TileLayout layout() {
+        return new TileLayout(this.layout);
+    }
+
+    /**
+     * Get the {@code x} index of the first tile in the window.
+     *
+     * @return the {@code x} index of the first tile
+     */
+    public int windowX() {
+        return this.windowX;
+    }
+
+    /**
+     * Get the {@code y} index of the first tile in the window.
+     *
+     * @return the {@code y} index of the first tile
+     */
+    public int windowY() {
+        return this.windowY;
+    }
+
+    /**
+     * Get the {@code z} index of the first tile in the window.
+     *
+     * @return the {@code z} index of the first tile
+     */
+    public int windowZ() {
+        return this.windowZ;
+    }
+
+    /**
+     * Moves the window and renders the tiles that come into view.
+     *
+     * <p>Tiles that are in view both before and after the move keep their
+     * samples. When the window moves by a few tiles, only the newly exposed
+     * rows, columns or slabs of tiles are rendered.</p>
+     *
+     * @param tileX the {@code x} index of the first tile in the window
+     * @param tileY the {@code y} index of the first tile in the window
+     * @param tileZ the {@code z} index of the first tile in the window
+     * @return the number of tiles that were rendered
+     * @throws IllegalArgumentException if the window is over a plane and
+     *     {@code tileY} is not {@code 0}, or the window would extend past the
+     *     range of tile indices
+     */
+    public int moveTo(final int tileX, final int tileY, final int tileZ) {
+        final TileLayout layout = this.layout;
+        if (this.plane != null && tileY != 0) {
+            throw new IllegalArgumentException("A window over a plane must have a y index of 0: " + tileY);
+        }
+        if ((long) tileX + layout.tileCountX() - 1 > Integer.MAX_VALUE || (long) tileY + layout.tileCountY() - 1 > Integer.MAX_VALUE
+            || (long) tileZ + layout.tileCountZ() - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window at (" + tileX + ", " + tileY + ", " + tileZ + ") is out of range");
+        }
+        this.windowX = tileX;
+        this.windowY = tileY;
+        this.windowZ = tileZ;
+        this.positioned = true;
+
+        int count = 0;
+        for (int z = tileZ; z < tileZ + layout.tileCountZ(); z++) {
+            for (int y = tileY; y < tileY + layout.tileCountY(); y++) {
+                for (int x = tileX; x < tileX + layout.tileCountX(); x++) {
+                    final int slot = this.slot(x, y, z);
+                    if (!this.rendered[slot] || this.slotTiles[slot * 3] != x || this.slotTiles[slot * 3 + 1] != y || this.slotTiles[slot * 3 + 2] != z) {
+                        this.render(slot, x, y, z);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Moves a window of height maps and renders the tiles that come into
+     * view.
+     *
+     * @param tileX the {@code x} index of the first tile in the window
+     * @param tileZ the {@code z} index of the first tile in the window
+     * @return the number of tiles that were rendered
+     * @throws IllegalArgumentException if the window would extend past the
+     *     range of tile indices
+     * @see #moveTo(int, int, int)
+     */
+    public int moveTo(final int tileX, final int tileZ) {
+        return this.moveTo(tileX, 0, tileZ);
+    }
+
+    /**
+     * Discards the samples of all tiles, so that they are rendered again when
+     * the window is next moved.
+     *
+     * <p>This must be called after the noise module is reconfigured.</p>
+     */
+    public void invalidate() {
+        Arrays.fill(this.rendered, false);
+    }
+
+    /**
+     * Get whether a tile is in the window and rendered.
+     *
+     * <p>After {@link #invalidate()}, no tile is rendered until the window
+     * is moved again.</p>
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @return whether the tile is in the window and rendered
+     */
+    public boolean contains(final int tileX, final int tileY, final int tileZ) {
+        return this.positioned
+            && tileX >= this.windowX && (long) tileX - this.windowX < this.layout.tileCountX()
+            && tileY >= this.windowY && (long) tileY - this.windowY < this.layout.tileCountY()
+            && tileZ >= this.windowZ && (long) tileZ - this.windowZ < this.layout.tileCountZ()
+            && this.rendered[this.slot(tileX, tileY, tileZ)];
+    }
+
+    /**
+     * Get a sample of a tile in the window.
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @param i the {@code x} index of the sample within the tile
+     * @param j the {@code y} index of the sample within the tile
+     * @param k the {@code z} index of the sample within the tile
+     * @return the sample
+     * @throws IllegalArgumentException if the tile is not rendered in the
+     *     window, or the sample is outside of the tile
+     */
+    public double get(final int tileX, final int tileY, final int tileZ, final int i, final int j, final int k) {
+        final TileLayout layout = this.layout;
+        if (i < 0 || i >= layout.tileWidth() || j < 0 || j >= layout.tileHeight() || k < 0 || k >= layout.tileDepth()) {
+            throw new IllegalArgumentException("Sample (" + i + ", " + j + ", " + k + ") is outside of the tile");
+        }
+        return this.tile(tileX, tileY, tileZ)[i + layout.tileWidth() * (j + layout.tileHeight() * k)];
+    }
+
+    /**
+     * Copies the samples of a tile in the window.
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @param dest the array that receives the samples, stored as described by
+     *     {@link TileLayout}
+     * @param offset the index in {@code dest} of the first sample
+     * @throws IllegalArgumentException if the tile is not rendered in the
+     *     window, or {@code dest} cannot hold the samples of a tile starting at
+     *     {@code offset}
+     */
+    public void copyTile(final int tileX, final int tileY, final int tileZ, final double[] dest, final int offset) {
+        final double[] tile = this.tile(tileX, tileY, tileZ);
+        if (offset < 0 || offset > dest.length - tile.length) {
+            throw new IllegalArgumentException("Cannot store " + tile.length + " samples at offset " + offset + " of an array of length " + dest.length);
+        }
+        System.arraycopy(tile, 0, dest, offset, tile.length);
+    }
+
+    private double[] tile(final int tileX, final int tileY, final int tileZ) {
+        if (!this.contains(tileX, tileY, tileZ)) {
+            throw new IllegalArgumentException("Tile (" + tileX + ", " + tileY + ", " + tileZ + ") is not rendered in the window");
+        }
+        return this.tiles[this.slot(tileX, tileY, tileZ)];
+    }
+
+    // Get the slot of the ring buffer that holds a tile.
+    private int slot(final int tileX, final int tileY, final int tileZ) {
+        final TileLayout layout = this.layout;
+        final int x = Math.floorMod(tileX, layout.tileCountX());
+        final int y = Math.floorMod(tileY, layout.tileCountY());
+        final int z = Math.floorMod(tileZ, layout.tileCountZ());
+        return x + layout.tileCountX() * (y + layout.tileCountY() * z);
+    }
+
+    private void render(final int slot, final int tileX, final int tileY, final int tileZ) {
+        final TileLayout layout = this.layout;
+        final double spacing = layout.spacing();
+        final double x = layout.tileOriginX(tileX, spacing);
+        final double y = this.plane != null ? 0.0 : layout.tileOriginY(tileY, spacing);
+        final double z = layout.tileOriginZ(tileZ, spacing);
+        final NoiseModule module = this.plane != null ? this.plane.module() : this.module;
+        this.renderer.render(module, x, y, z, spacing, this.tiles[slot], 0, null);
+        this.slotTiles[slot * 3] = tileX;
+        this.slotTiles[slot * 3 + 1] = tileY;
+        this.slotTiles[slot * 3 + 2] = tileZ;
+        this.rendered[slot] = true;
+    }
+}
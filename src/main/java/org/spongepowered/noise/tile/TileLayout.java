@@ -0,0 +1,419 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+/**
+ * Describes how a region of noise is divided into tiles.
+ *
+ * <p>A region is a box of {@link #tileCountX()} by {@link #tileCountY()} by
+ * {@link #tileCountZ()} tiles. Each tile contains {@link #tileWidth()} by
+ * {@link #tileHeight()} by {@link #tileDepth()} samples, along the {@code x},
+ * {@code y} and {@code z} axes respectively. Sample {@code (i, j, k)} of tile
+ * {@code (tileX, tileY, tileZ)} is taken at the input value</p>
+ *
+ * <pre>
+ * x = originX + (tileX * tileWidth + i) * spacing
+ * y = originY + (tileY * tileHeight + j) * spacing
+ * z = originZ + (tileZ * tileDepth + k) * spacing</pre>
+ *
+ * <p>Within a tile, samples are stored with {@code x} varying fastest, then
+ * {@code y}, then {@code z}. A two-dimensional height map uses a tile
+ * height and tile count of {@code 1} along the {@code y} axis.</p>
+ *
+ * <p>The {@linkplain #setTraversal(TileOrder, int) traversal} controls the
+ * order in which the samples of a tile are computed. It does not affect the
+ * values of the samples, nor the order in which they are stored.</p>
+ */
+public final class TileLayout {
+
+    /**
+     * The type of the elements in which samples are stored.
+     */
+    public enum ElementType {
+        /**
+         * Samples are narrowed to 32-bit floating point values.
+         */
+        FLOAT(Float.BYTES),
+        /**
+         * Samples are stored as 64-bit floating point values.
+         */
+        DOUBLE(Double.BYTES);
+
+        private final int size;
+
+        ElementType(final int size) {
+            this.size = size;
+        }
+
+        /**
+         * Get the size of a single element, in bytes.
+         *
+         * @return the size of an element
+         */
+        public int size() {
+            return this.size;
+        }
+    }
+
+    private ElementType elementType = ElementType.DOUBLE;
+    private int tileWidth = 16;
+    private int tileHeight = 1;
+    private int tileDepth = 16;
+    private int tileCountX = 1;
+    private int tileCountY = 1;
+    private int tileCountZ = 1;
+    private double originX = 0.0;
+    private double originY = 0.0;
+    private double originZ = 0.0;
+    private double spacing = 1.0;
+    private TileOrder traversal = TileOrder.SCANLINE;
+    private int traversalBlockSize = 8;
+
+    /**
+     * Create a new layout of a single 16 by 1 by 16 tile of {@code double}
+     * samples, with an origin at zero and a spacing of {@code 1.0}.
+     */
+    public TileLayout() {
+    }
+
+    TileLayout(final TileLayout other) {
+        this.elementType = other.elementType;
+        this.tileWidth = other.tileWidth;
+        this.tileHeight = other.tileHeight;
+        this.tileDepth = other.tileDepth;
+        this.tileCountX = other.tileCountX;
+        this.tileCountY = other.tileCountY;
+        this.tileCountZ = other.tileCountZ;
+        this.originX = other.originX;
+        this.originY = other.originY;
+        this.originZ = other.originZ;
+        this.spacing = other.spacing;
+        this.traversal = other.traversal;
+        this.traversalBlockSize = other.traversalBlockSize;
+    }
+
+    /**
+     * Get the type of the elements in which samples are stored.
+     *
+     * @return the element type
+     */
+    public ElementType elementType() {
+        return this.elementType;
+    }
+
+    /**
+     * Set the type of the elements in which samples are stored.
+     *
+     * @param elementType the element type
+     */
+    public void setElementType(final ElementType elementType) {
+        if (elementType == null) {
+            throw new IllegalArgumentException("elementType must not be null");
+        }
+        this.elementType = elementType;
+    }
+
+    /**
+     * Get the number of samples of a tile along the {@code x} axis.
+     *
+     * @return the tile width
+     */
+    public int tileWidth() {
+        return this.tileWidth;
+    }
+
+    /**
+     * Get the number of samples of a tile along the {@code y} axis.
+     *
+     * @return the tile height
+     */
+    public int tileHeight() {
+        return this.tileHeight;
+    }
+
+    /**
+     * Get the number of samples of a tile along the {@code z} axis.
+     *
+     * @return the tile depth
+     */
+    public int tileDepth() {
+        return this.tileDepth;
+    }
+
+    /**
+     * Set the number of samples of each tile.
+     *
+     * @param width the number of samples along the {@code x} axis
+     * @param height the number of samples along the {@code y} axis
+     * @param depth the number of samples along the {@code z} axis
+     * @throws IllegalArgumentException if a dimension is not positive, or a
+     *     tile would be larger than 2 GiB
+     */
+    public void setTileSize(final int width, final int height, final int depth) {
+        if (width <= 0 || height <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Tile dimensions must be positive: " + width + "x" + height + "x" + depth);
+        }
+        if ((long) width * height * depth > Integer.MAX_VALUE / Double.BYTES) {
+            throw new IllegalArgumentException("Tile is too large: " + width + "x" + height + "x" + depth);
+        }
+        this.tileWidth = width;
+        this.tileHeight = height;
+        this.tileDepth = depth;
+    }
+
+    /**
+     * Get the number of tiles along the {@code x} axis.
+     *
+     * @return the number of tiles
+     */
+    public int tileCountX() {
+        return this.tileCountX;
+    }
+
+    /**
+     * Get the number of tiles along the {@code y} axis.
+     *
+     * @return the number of tiles
+     */
+    public int tileCountY() {
+        return this.tileCountY;
+    }
+
+    /**
+     * Get the number of tiles along the {@code z} axis.
+     *
+     * @return the number of tiles
+     */
+    public int tileCountZ() {
+        return this.tileCountZ;
+    }
+
+    /**
+     * Set the number of tiles in the region.
+     *
+     * @param x the number of tiles along the {@code x} axis
+     * @param y the number of tiles along the {@code y} axis
+     * @param z the number of tiles along the {@code z} axis
+     * @throws IllegalArgumentException if a count is not positive, or the
+     *     region has more than {@link Integer#MAX_VALUE} tiles
+     */
+    public void setTileCount(final int x, final int y, final int z) {
+        if (x <= 0 || y <= 0 || z <= 0) {
+            throw new IllegalArgumentException("Tile counts must be positive: " + x + "x" + y + "x" + z);
+        }
+        if ((long) x * y * z > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many tiles: " + x + "x" + y + "x" + z);
+        }
+        this.tileCountX = x;
+        this.tileCountY = y;
+        this.tileCountZ = z;
+    }
+
+    /**
+     * Get the {@code x} coordinate of the first sample of the region.
+     *
+     * @return the {@code x} coordinate of the origin
+     */
+    public double originX() {
+        return this.originX;
+    }
+
+    /**
+     * Get the {@code y} coordinate of the first sample of the region.
+     *
+     * @return the {@code y} coordinate of the origin
+     */
+    public double originY() {
+        return this.originY;
+    }
+
+    /**
+     * Get the {@code z} coordinate of the first sample of the region.
+     *
+     * @return the {@code z} coordinate of the origin
+     */
+    public double originZ() {
+        return this.originZ;
+    }
+
+    /**
+     * Set the coordinates of the first sample of the region.
+     *
+     * @param x the {@code x} coordinate of the origin
+     * @param y the {@code y} coordinate of the origin
+     * @param z the {@code z} coordinate of the origin
+     */
+    public void setOrigin(final double x, final double y, final double z) {
+        this.originX = x;
+        this.originY = y;
+        this.originZ = z;
+    }
+
+    /**
+     * Get the distance between adjacent samples.
+     *
+     * @return the sample spacing
+     */
+    public double spacing() {
+        return this.spacing;
+    }
+
+    /**
+     * Set the distance between adjacent samples.
+     *
+     * @param spacing the sample spacing
+     * @throws IllegalArgumentException if the spacing is not positive
+     */
+    public void setSpacing(final double spacing) {
+        if (!(spacing > 0.0)) {
+            throw new IllegalArgumentException("spacing must be positive: " + spacing);
+        }
+        this.spacing = spacing;
+    }
+
+    /**
+     * Get the order in which the blocks of a tile are computed.
+     *
+     * @return the traversal order
+     */
+    public TileOrder traversal() {
+        return this.traversal;
+    }
+
+    /**
+     * Get the size of the blocks of a tile that are traversed together.
+     *
+     * @return the block size, in samples along each axis
+     */
+    public int traversalBlockSize() {
+        return this.traversalBlockSize;
+    }
+
+    /**
+     * Set the order in which the samples of a tile are computed.
+     *
+     * <p>With {@link TileOrder#SCANLINE}, samples are computed in the order
+     * they are stored and the block size is ignored. Otherwise the tile is
+     * divided into cubes of {@code blockSize} samples along each axis, which
+     * are visited in the given order, and the samples of each block are
+     * computed together. {@link TileOrder#SPIRAL} starts from the block at
+     * the center of the tile.</p>
+     *
+     * <p>Visiting nearby samples close together in time keeps the data that
+     * a module shares between neighbouring inputs, such as the cells of a
+     * {@link org.spongepowered.noise.module.source.Voronoi} module or the
+     * entries of a cache, in the processor caches for longer. The samples are
+     * still stored in the order described above.</p>
+     *
+     * @param order the order of the blocks
+     * @param blockSize the size of the blocks, in samples along each axis
+     * @throws IllegalArgumentException if the block size is not positive
+     */
+    public void setTraversal(final TileOrder order, final int blockSize) {
+        if (order == null) {
+            throw new IllegalArgumentException("order must not be null");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.traversal = order;
+        this.traversalBlockSize = blockSize;
+    }
+
+    /**
+     * Get the number of samples in a tile.
+     *
+     * @return the number of samples in a tile
+     */
+    public int tileSampleCount() {
+        return this.tileWidth * this.tileHeight * this.tileDepth;
+    }
+
+    /**
+     * Get the number of tiles in the region.
+     *
+     * @return the number of tiles
+     */
+    public int tileCount() {
+        return this.tileCountX * this.tileCountY * this.tileCountZ;
+    }
+
+    /**
+     * Get the {@code x} coordinate of the first sample of a tile.
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param spacing the distance between adjacent samples, which is larger
+     *     than {@link #spacing()} at lower levels of detail
+     * @return the {@code x} coordinate of the first sample
+     */
+    double tileOriginX(final int tileX, final double spacing) {
+        return this.originX + (double) tileX * this.tileWidth * spacing;
+    }
+
+    /**
+     * Get the {@code y} coordinate of the first sample of a tile.
+     *
+     * @param tileY the {@code y} index of the tile
+     * @param spacing the distance between adjacent samples
+     * @return the {@code y} coordinate of the first sample
+     * @see #tileOriginX(int, double)
+     */
+    double tileOriginY(final int tileY, final double spacing) {
+        return this.originY + (double) tileY * this.tileHeight * spacing;
+    }
+
+    /**
+     * Get the {@code z} coordinate of the first sample of a tile.
+     *
+     * @param tileZ the {@code z} index of the tile
+     * @param spacing the distance between adjacent samples
+     * @return the {@code z} coordinate of the first sample
+     * @see #tileOriginX(int, double)
+     */
+    double tileOriginZ(final int tileZ, final double spacing) {
+        return this.originZ + (double) tileZ * this.tileDepth * spacing;
+    }
+
+    /**
+     * Get the index of a tile within the region.
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @return the index of the tile
+     * @throws IllegalArgumentException if the tile is outside of the region
+     */
+    int tileIndex(final int tileX, final int tileY, final int tileZ) {
+        if (tileX < 0 || tileX >= this.tileCountX || tileY < 0 || tileY >= this.tileCountY || tileZ < 0 || tileZ >= this.tileCountZ) {
+            throw new IllegalArgumentException("Tile (" + tileX + ", " + tileY + ", " + tileZ + ") is outside of the region");
+        }
+        return (tileZ * this.tileCountY + tileY) * this.tileCountX + tileX;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import java.util.Arrays;
+
+/**
+ * The order in which the tiles of a region are visited.
+ */
+public enum TileOrder {
+    /**
+     * Tiles are visited in order of their index, with {@code x} varying
+     * fastest, then {@code y}, then {@code z}.
+     */
+    SCANLINE,
+    /**
+     * Tiles are visited along a Z-order (Morton) curve, which interleaves the
+     * bits of the tile indices, so that tiles that are close together in the
+     * region are visited close together in time.
+     *
+     * <p>This order supports at most {@code 2^21} tiles along each axis.</p>
+     */
+    Z_ORDER,
+    /**
+     * Tiles are visited in rings of increasing distance from a focus tile,
+     * where the distance is the largest difference of the tile indices along
+     * any axis. Within a ring, tiles are visited in {@link #SCANLINE}
+     * order.
+     */
+    SPIRAL;
+
+    // Largest number of tiles along an axis in Z-order.
+    private static final int MAX_MORTON_TILES = 1 << 21;
+
+    /**
+     * Get the indices of the tiles of a region, in this order.
+     *
+     * @param layout the layout of the region
+     * @param focusX the {@code x} index of the focus tile of {@link #SPIRAL}
+     * @param focusY the {@code y} index of the focus tile of {@link #SPIRAL}
+     * @param focusZ the {@code z} index of the focus tile of {@link #SPIRAL}
+     * @return the tile indices, as computed by {@link TileLayout}
+     * @throws IllegalArgumentException if the region has too many tiles along
+     *     an axis for this order
+     */
+    int[] order(final TileLayout layout, final int focusX, final int focusY, final int focusZ) {
+        final int countX = layout.tileCountX();
+        final int countY = layout.tileCountY();
+        final int countZ = layout.tileCountZ();
+        final int total = layout.tileCount();
+        final int[] order = new int[total];
+        switch (this) {
+            case SCANLINE:
+                for (int i = 0; i < total; i++) {
+                    order[i] = i;
+                }
+                break;
+            case Z_ORDER: {
+                if (countX > TileOrder.MAX_MORTON_TILES || countY > TileOrder.MAX_MORTON_TILES || countZ > TileOrder.MAX_MORTON_TILES) {
+                    throw new IllegalArgumentException("Z-order supports at most " + TileOrder.MAX_MORTON_TILES + " tiles along each axis");
+                }
+                final long[] codes = new long[total];
+                int i = 0;
+                for (int z = 0; z < countZ; z++) {
+                    for (int y = 0; y < countY; y++) {
+                        for (int x = 0; x < countX; x++) {
+                            codes[i++] = TileOrder.spread(x) | TileOrder.spread(y) << 1 | TileOrder.spread(z) << 2;
+                        }
+                    }
+                }
+                Arrays.sort(codes);
+                for (i = 0; i < total; i++) {
+                    final long code = codes[i];
+                    order[i] = (TileOrder.compact(code >>> 2) * countY + TileOrder.compact(code >>> 1)) * countX + TileOrder.compact(code);
+                }
+                break;
+            }
+            case SPIRAL: {
+                // Sort by ring, then by index; both fit in a long as the ring is
+                // less than 2^31 and there are at most 2^31 - 1 tiles.
+                final long[] keys = new long[total];
+                int i = 0;
+                for (int z = 0; z < countZ; z++) {
+                    for (int y = 0; y < countY; y++) {
+                        for (int x = 0; x < countX; x++) {
+                            final long ring = Math.max(Math.abs((long) x - focusX), Math.max(Math.abs((long) y - focusY), Math.abs((long) z - focusZ)));
+                            keys[i] = Math.min(ring, Integer.MAX_VALUE) * total + i;
+                            i++;
+                        }
+                    }
+                }
+                Arrays.sort(keys);
+                for (i = 0; i < total; i++) {
+                    order[i] = (int) (keys[i] % total);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown tile order " + this);
+        }
+        return order;
+    }
+
+    // Spread the low 21 bits of a value so that two zero bits follow each bit.
+    static long spread(final int value) {
+        long bits = value & 0x1FFFFFL;
+        bits = (bits | bits << 32) & 0x1F00000000FFFFL;
+        bits = (bits | bits << 16) & 0x1F0000FF0000FFL;
+        bits = (bits | bits << 8) & 0x100F00F00F00F00FL;
+        bits = (bits | bits << 4) & 0x10C30C30C30C30C3L;
+        bits = (bits | bits << 2) & 0x1249249249249249L;
+        return bits;
+    }
+
+    // Inverse of spread, gathering every third bit starting at the lowest.
+    static int compact(final long code) {
+        long bits = code & 0x1249249249249249L;
+        bits = (bits | bits >>> 2) & 0x10C30C30C30C30C3L;
+        bits = (bits | bits >>> 4) & 0x100F00F00F00F00FL;
+        bits = (bits | bits >>> 8) & 0x1F0000FF0000FFL;
+        bits = (bits | bits >>> 16) & 0x1F00000000FFFFL;
+        bits = (bits | bits >>> 32) & 0x1FFFFFL;
+        return (int) bits;
+    }
+}
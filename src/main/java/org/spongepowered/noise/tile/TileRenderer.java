@@ -0,0 +1,157 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.spongepowered.noise.module.NoiseModule;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Computes the samples of single tiles, in the traversal order of a layout.
+ */
+final class TileRenderer {
+    // Number of samples calculated at once.
+    static final int BATCH_SIZE = 512;
+
+    private final int width;
+    private final int height;
+    private final int total;
+    // Indices of the samples of a tile in traversal order, or null to
+    // compute them in storage order.
+    private final int[] order;
+
+    TileRenderer(final TileLayout layout) {
+        this.width = layout.tileWidth();
+        this.height = layout.tileHeight();
+        this.total = layout.tileSampleCount();
+        this.order = layout.traversal() == TileOrder.SCANLINE ? null : TileRenderer.traversalOrder(layout);
+    }
+
+    /**
+     * Get the indices of the samples of a tile, in the traversal order of a
+     * layout.
+     *
+     * @param layout the layout
+     * @return the sample indices
+     */
+    static int[] traversalOrder(final TileLayout layout) {
+        final int width = layout.tileWidth();
+        final int height = layout.tileHeight();
+        final int depth = layout.tileDepth();
+        final int size = layout.traversalBlockSize();
+        final TileLayout blocks = new TileLayout();
+        blocks.setTileCount((width + size - 1) / size, (height + size - 1) / size, (depth + size - 1) / size);
+        final int[] blockOrder = layout.traversal().order(blocks, blocks.tileCountX() / 2, blocks.tileCountY() / 2, blocks.tileCountZ() / 2);
+
+        final int[] order = new int[layout.tileSampleCount()];
+        int n = 0;
+        for (final int block : blockOrder) {
+            final int x0 = block % blocks.tileCountX() * size;
+            final int y0 = block / blocks.tileCountX() % blocks.tileCountY() * size;
+            final int z0 = block / blocks.tileCountX() / blocks.tileCountY() * size;
+            final int x1 = Math.min(x0 + size, width);
+            final int y1 = Math.min(y0 + size, height);
+            final int z1 = Math.min(z0 + size, depth);
+            for (int k = z0; k < z1; k++) {
+                for (int j = y0; j < y1; j++) {
+                    for (int i = x0; i < x1; i++) {
+                        order[n++] = (k * height + j) * width + i;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Compute the samples of a tile.
+     *
+     * @param module the module to sample
+     * @param x the {@code x} coordinate of the first sample
+     * @param y the {@code y} coordinate of the first sample
+     * @param z the {@code z} coordinate of the first sample
+     * @param spacing the distance between adjacent samples
+     * @param dest the destination of the samples, in storage order
+     * @param offset the index of the first sample in {@code dest}
+     * @param cancelled checked between batches of samples, or {@code null}
+     * @return whether all samples were computed, {@code false} if
+     *     {@code cancelled} returned {@code true}
+     */
+    boolean render(final NoiseModule module, final double x, final double y, final double z, final double spacing,
+            final double[] dest, final int offset, final BooleanSupplier cancelled) {
+        final int width = this.width;
+        final int height = this.height;
+        final int total = this.total;
+        final int[] order = this.order;
+        final int batchSize = Math.min(total, TileRenderer.BATCH_SIZE);
+        final double[] xBatch = new double[batchSize];
+        final double[] yBatch = new double[batchSize];
+        final double[] zBatch = new double[batchSize];
+        final double[] values = new double[batchSize];
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        for (int sample = 0; sample < total; sample += batchSize) {
+            if (cancelled != null && cancelled.getAsBoolean()) {
+                return false;
+            }
+            final int count = Math.min(batchSize, total - sample);
+            if (order == null) {
+                for (int n = 0; n < count; n++) {
+                    xBatch[n] = x + i * spacing;
+                    yBatch[n] = y + j * spacing;
+                    zBatch[n] = z + k * spacing;
+                    if (++i == width) {
+                        i = 0;
+                        if (++j == height) {
+                            j = 0;
+                            k++;
+                        }
+                    }
+                }
+                module.get(xBatch, yBatch, zBatch, values, 0, count);
+                System.arraycopy(values, 0, dest, offset + sample, count);
+            } else {
+                for (int n = 0; n < count; n++) {
+                    final int index = order[sample + n];
+                    xBatch[n] = x + index % width * spacing;
+                    yBatch[n] = y + index / width % height * spacing;
+                    zBatch[n] = z + index / width / height * spacing;
+                }
+                module.get(xBatch, yBatch, zBatch, values, 0, count);
+                for (int n = 0; n < count; n++) {
+                    dest[offset + order[sample + n]] = values[n];
+                }
+            }
+        }
+        return true;
+    }
+}
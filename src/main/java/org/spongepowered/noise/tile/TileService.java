@@ -0,0 +1,377 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.spongepowered.noise.module.NoiseModule;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Renders tiles of a noise module asynchronously.
+ *
+ * <p>Tiles are laid out as described by {@link TileLayout}, except that tile
+ * indices are not limited to the region and the tile count of the layout is
+ * ignored. Each tile can be requested at a level of detail: at level
+ * {@code lod}, the spacing between samples is multiplied by {@code 2^lod},
+ * so a tile covers a region {@code 2^lod} times larger along each axis with
+ * the same number of samples.</p>
+ *
+ * <p>Requests are queued by priority, and at most {@link #parallelism()}
+ * tiles are rendered at once on the executor passed to the constructor. Any
+ * executor may be used, such as a fixed thread pool, or a virtual thread per
+ * task executor for consumers that block. Requesting a tile that is already
+ * queued or being rendered does not render it again: both requests complete
+ * with the same samples, and the tile takes the higher of their
+ * priorities.</p>
+ *
+ * <p>The future returned for a request may be cancelled when the tile is no
+ * longer needed. Once every request for a tile has been cancelled, the tile
+ * is removed from the queue, or its rendering stops early.</p>
+ *
+ * <p>Several tiles may be rendered concurrently, so the noise module must
+ * support concurrent calls to
+ * {@link NoiseModule#get(double[], double[], double[], double[], int, int)}
+ * unless the parallelism is {@code 1}. This is the case for modules that
+ * are not reconfigured while tiles are rendered, except for
+ * {@link org.spongepowered.noise.module.Cache}.</p>
+ */
+public final class TileService implements AutoCloseable {
+    // Maximum level of detail.
+    private static final int MAX_LOD = 30;
+
+    private final NoiseModule module;
+    private final TileLayout layout;
+    private final TileRenderer renderer;
+    private final Executor executor;
+    private final int parallelism;
+    // Guards all of the fields below.
+    private final Object lock = new Object();
+    // Tiles waiting to be rendered, with the highest priority first.
+    private final PriorityQueue<Task> queue = new PriorityQueue<>();
+    // Tiles that are queued or being rendered.
+    private final Map<TileKey, Task> tasks = new HashMap<>();
+    // Number of tiles being rendered.
+    private int running = 0;
+    // Orders tasks with the same priority by the time of their first request.
+    private long sequence = 0;
+    private boolean closed = false;
+
+    /**
+     * Create a new tile service.
+     *
+     * @param module the noise module that renders the tiles
+     * @param layout the layout of the tiles; later changes to the layout do
+     *     not affect the service
+     * @param executor the executor that renders the tiles
+     * @param parallelism the maximum number of tiles that are rendered at
+     *     once
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public TileService(final NoiseModule module, final TileLayout layout, final Executor executor, final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.module = Objects.requireNonNull(module, "module");
+        this.layout = new TileLayout(Objects.requireNonNull(layout, "layout"));
+        this.renderer = new TileRenderer(this.layout);
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Get the layout of the tiles rendered by this service.
+     *
+     * @return a copy of the layout
+     */
+    public TileLayout layout() {
+        return new TileLayout(this.layout);
+    }
+
+    /**
+     * Get the maximum number of tiles that are rendered at once.
+     *
+     * @return the parallelism
+     */
+    public int parallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Get the number of tiles that are queued or being rendered.
+     *
+     * @return the number of pending tiles
+     */
+    public int pendingCount() {
+        synchronized (this.lock) {
+            return this.tasks.size();
+        }
+    }
+
+    /**
+     * Requests a tile at the full level of detail.
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @param priority the priority of the request; tiles with a higher
+     *     priority are rendered first
+     * @return a future of the samples of the tile
+     * @see #request(int, int, int, int, int)
+     */
+    public CompletableFuture<double[]> request(final int tileX, final int tileY, final int tileZ, final int priority) {
+        return this.request(tileX, tileY, tileZ, 0, priority);
+    }
+
+    /**
+     * Requests a tile.
+     *
+     * <p>The returned future completes with a new array of samples, stored as
+     * described by {@link TileLayout}, or exceptionally if the noise module
+     * throws an exception or the service is closed before the tile is
+     * rendered. Cancelling the future withdraws this request.</p>
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @param lod the level of detail, where each level doubles the spacing
+     *     between samples
+     * @param priority the priority of the request; tiles with a higher
+     *     priority are rendered first
+     * @return a future of the samples of the tile
+     * @throws IllegalArgumentException if the level of detail is negative or
+     *     greater than 30
+     */
+    public CompletableFuture<double[]> request(final int tileX, final int tileY, final int tileZ, final int lod, final int priority) {
+        if (lod < 0 || lod > TileService.MAX_LOD) {
+            throw new IllegalArgumentException("Level of detail must be between 0 and " + TileService.MAX_LOD + ": " + lod);
+        }
+        final TileKey key = new TileKey(tileX, tileY, tileZ, lod);
+        final CompletableFuture<double[]> consumer = new CompletableFuture<>();
+        final Task task;
+        synchronized (this.lock) {
+            if (this.closed) {
+                consumer.completeExceptionally(new RejectedExecutionException("Tile service is closed"));
+                return consumer;
+            }
+            Task existing = this.tasks.get(key);
+            if (existing == null) {
+                existing = new Task(key, priority, this.sequence++);
+                this.tasks.put(key, existing);
+                this.queue.add(existing);
+            } else if (priority > existing.priority && existing.queued) {
+                // Re-insert the task to move it up the queue.
+                this.queue.remove(existing);
+                existing.priority = priority;
+                this.queue.add(existing);
+            }
+            existing.consumers++;
+            task = existing;
+        }
+
+        task.result.whenComplete((samples, failure) -> {
+            if (failure != null) {
+                consumer.completeExceptionally(failure);
+            } else {
+                consumer.complete(samples.clone());
+            }
+        });
+        consumer.whenComplete((samples, failure) -> {
+            if (consumer.isCancelled()) {
+                this.release(task);
+            }
+        });
+        this.dispatch();
+        return consumer;
+    }
+
+    /**
+     * Stops accepting requests and cancels every tile that has not been
+     * rendered yet.
+     *
+     * <p>Tiles that are being rendered stop early. The executor is not shut
+     * down.</p>
+     */
+    @Override
+    public void close() {
+        final Task[] cancelled;
+        synchronized (this.lock) {
+            this.closed = true;
+            cancelled = this.tasks.values().toArray(new Task[0]);
+            for (final Task task : cancelled) {
+                task.cancelled = true;
+            }
+            this.tasks.clear();
+            this.queue.clear();
+        }
+        for (final Task task : cancelled) {
+            task.result.completeExceptionally(new CancellationException("Tile service is closed"));
+        }
+    }
+
+    // Withdraw one request for a task, cancelling it if no requests remain.
+    private void release(final Task task) {
+        synchronized (this.lock) {
+            if (--task.consumers > 0 || task.cancelled) {
+                return;
+            }
+            task.cancelled = true;
+            if (this.tasks.get(task.key) == task) {
+                this.tasks.remove(task.key);
+            }
+            if (task.queued) {
+                this.queue.remove(task);
+                task.queued = false;
+            }
+        }
+        task.result.cancel(false);
+    }
+
+    // Start rendering queued tasks, up to the parallelism.
+    private void dispatch() {
+        while (true) {
+            final Task task;
+            synchronized (this.lock) {
+                if (this.running >= this.parallelism || this.queue.isEmpty()) {
+                    return;
+                }
+                task = this.queue.poll();
+                task.queued = false;
+                this.running++;
+            }
+            try {
+                this.executor.execute(() -> this.run(task));
+            } catch (final RuntimeException ex) {
+                this.finish(task);
+                task.result.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void run(final Task task) {
+        double[] samples = null;
+        Throwable failure = null;
+        try {
+            samples = this.render(task);
+        } catch (final Throwable ex) {
+            failure = ex;
+        }
+        this.finish(task);
+        if (failure != null) {
+            task.result.completeExceptionally(failure);
+        } else if (samples != null) {
+            task.result.complete(samples);
+        }
+        this.dispatch();
+    }
+
+    // Mark a task as no longer running.
+    private void finish(final Task task) {
+        synchronized (this.lock) {
+            this.running--;
+            if (this.tasks.get(task.key) == task) {
+                this.tasks.remove(task.key);
+            }
+        }
+    }
+
+    // Render the samples of a task, or return null if the task is cancelled
+    // before it is done.
+    private double[] render(final Task task) {
+        final TileLayout layout = this.layout;
+        final double spacing = layout.spacing() * (1 << task.key.lod);
+        final double x = layout.tileOriginX(task.key.x, spacing);
+        final double y = layout.tileOriginY(task.key.y, spacing);
+        final double z = layout.tileOriginZ(task.key.z, spacing);
+
+        final double[] samples = new double[layout.tileSampleCount()];
+        return this.renderer.render(this.module, x, y, z, spacing, samples, 0, () -> task.cancelled) ? samples : null;
+    }
+
+    private static final class TileKey {
+        final int x;
+        final int y;
+        final int z;
+        final int lod;
+
+        TileKey(final int x, final int y, final int z, final int lod) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.lod = lod;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof TileKey)) {
+                return false;
+            }
+            final TileKey that = (TileKey) other;
+            return this.x == that.x && this.y == that.y && this.z == that.z && this.lod == that.lod;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((this.x * 31 + this.y) * 31 + this.z) * 31 + this.lod;
+        }
+    }
+
+    private static final class Task implements Comparable<Task> {
+        final TileKey key;
+        final long sequence;
+        final CompletableFuture<double[]> result = new CompletableFuture<>();
+        // The fields below are guarded by the lock of the service.
+        int priority;
+        int consumers = 0;
+        boolean queued = true;
+        // Read without the lock while rendering.
+        volatile boolean cancelled = false;
+
+        Task(final TileKey key, final int priority, final long sequence) {
+            this.key = key;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(final Task other) {
+            if (this.priority != other.priority) {
+                return Integer.compare(other.priority, this.priority);
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
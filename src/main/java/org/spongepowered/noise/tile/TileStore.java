@@ -0,0 +1,397 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.spongepowered.noise.exception.NoiseException;
+import org.spongepowered.noise.model.Plane;
+import org.spongepowered.noise.module.ModuleFingerprint;
+import org.spongepowered.noise.module.NoiseModule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A cache of rendered noise tiles in a memory-mapped file.
+ *
+ * <p>The file starts with a header that records the {@link TileLayout} of the
+ * region, the element type, and a fingerprint and seed supplied by the
+ * application to identify the noise module that rendered the tiles. The header
+ * is followed by an index with one entry per tile, recording whether the tile
+ * has been rendered, and by the tiles themselves, each a fixed-size block of
+ * little-endian elements.</p>
+ *
+ * <p>When an existing file is opened with the same layout, fingerprint and
+ * seed, its rendered tiles are available immediately. Otherwise, the file is
+ * cleared and every tile must be rendered again.</p>
+ *
+ * <p>The tiles are mapped into memory on first use, in chunks of up to
+ * {@code 1 GiB} so that large regions only need a few mappings, and
+ * {@link #tile(int, int, int)} returns a view of the mapping itself, so
+ * reading a tile does not copy it.</p>
+ *
+ * <p>Different tiles may be rendered and read concurrently. A tile is only
+ * marked as rendered once its samples have been written to storage and are
+ * visible to other threads. Rendering the same tile from several threads at
+ * once produces the same contents, but wastes work.</p>
+ */
+public final class TileStore implements Closeable {
+    // Identifies tile store files: "NOISTILE" in ASCII.
+    private static final long MAGIC = 0x4E4F495354494C45L;
+    // Version of the file format.
+    private static final int VERSION = 1;
+    // Size of the header, in bytes.
+    private static final int HEADER_SIZE = 96;
+    // Alignment of the first tile, in bytes.
+    private static final int DATA_ALIGNMENT = 64;
+    // Largest size of a mapping of the tiles, in bytes, unless a single tile
+    // is larger.
+    private static final long CHUNK_SIZE = 1L << 30;
+    private final FileChannel channel;
+    private final TileLayout layout;
+    private final TileRenderer renderer;
+    private final long fingerprint;
+    private final int seed;
+    // Mapping of the header and the index.
+    private final MappedByteBuffer index;
+    // Copy of the index, through which rendered tiles are published to other
+    // threads.
+    private final AtomicIntegerArray rendered;
+    // Mappings of consecutive runs of whole tiles, created on first use.
+    private final MappedByteBuffer[] chunks;
+    // Number of tiles in each chunk.
+    private final int chunkTileCount;
+    // Byte offset of the first tile.
+    private final long dataOffset;
+    // Size of a single tile, in bytes.
+    private final int tileSize;
+
+    private TileStore(final FileChannel channel, final TileLayout layout, final long fingerprint, final int seed) throws IOException {
+        this.channel = channel;
+        this.layout = layout;
+        this.renderer = new TileRenderer(layout);
+        this.fingerprint = fingerprint;
+        this.seed = seed;
+        this.tileSize = layout.tileSampleCount() * layout.elementType().size();
+        this.chunkTileCount = (int) Math.max(1, TileStore.CHUNK_SIZE / this.tileSize);
+        this.chunks = new MappedByteBuffer[(layout.tileCount() + this.chunkTileCount - 1) / this.chunkTileCount];
+        final long indexEnd = (long) TileStore.HEADER_SIZE + layout.tileCount();
+        this.dataOffset = (indexEnd + TileStore.DATA_ALIGNMENT - 1) / TileStore.DATA_ALIGNMENT * TileStore.DATA_ALIGNMENT;
+
+        final long fileSize = this.dataOffset + (long) this.tileSize * layout.tileCount();
+        final boolean valid = channel.size() == fileSize && this.headerMatches();
+        if (!valid) {
+            // Start over with an empty index; the tiles are rendered again.
+            channel.truncate(0);
+            final ByteBuffer empty = ByteBuffer.allocate(1);
+            channel.write(empty, fileSize - 1);
+        }
+        this.index = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.dataOffset);
+        this.index.order(ByteOrder.LITTLE_ENDIAN);
+        this.rendered = new AtomicIntegerArray(layout.tileCount());
+        if (valid) {
+            for (int n = 0; n < layout.tileCount(); n++) {
+                if (this.index.get(TileStore.HEADER_SIZE + n) != 0) {
+                    this.rendered.set(n, 1);
+                }
+            }
+        } else {
+            this.writeHeader();
+        }
+    }
+
+    /**
+     * Opens a tile store, creating the file if it does not exist.
+     *
+     * <p>If the file already contains a tile store with the same layout,
+     * fingerprint and seed, its tiles are kept. Otherwise the file is
+     * overwritten with an empty tile store.</p>
+     *
+     * @param path the file that contains the tiles
+     * @param layout the layout of the tiles; later changes to the layout do
+     *     not affect the store
+     * @param fingerprint a value that identifies the noise module that renders
+     *     the tiles, such as {@link ModuleFingerprint#toLong()}
+     * @param seed the seed of the noise module that renders the tiles
+     * @return the tile store
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static TileStore open(final Path path, final TileLayout layout, final long fingerprint, final int seed) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new TileStore(channel, new TileLayout(layout), fingerprint, seed);
+        } catch (final IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Get the layout of the tiles in this store.
+     *
+     * @return a copy of the layout
+     */
+    public TileLayout layout() {
+        return new TileLayout(this.layout);
+    }
+
+    /**
+     * Get the fingerprint of the noise module that renders the tiles.
+     *
+     * @return the fingerprint
+     */
+    public long fingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * Get the seed of the noise module that renders the tiles.
+     *
+     * @return the seed
+     */
+    public int seed() {
+        return this.seed;
+    }
+
+    /**
+     * Get whether a tile has been rendered.
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @return whether the tile has been rendered
+     * @throws IllegalArgumentException if the tile is outside of the region
+     */
+    public boolean contains(final int tileX, final int tileY, final int tileZ) {
+        return this.rendered.get(this.layout.tileIndex(tileX, tileY, tileZ)) != 0;
+    }
+
+    /**
+     * Get a read-only view of a rendered tile.
+     *
+     * <p>The view is backed by the memory-mapped file and uses little-endian
+     * byte order. Samples are stored as described by {@link TileLayout}.</p>
+     *
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @return a view of the tile
+     * @throws IllegalArgumentException if the tile is outside of the region
+     * @throws NoiseException if the tile has not been rendered
+     * @throws IOException if the tile cannot be mapped
+     */
+    public ByteBuffer tile(final int tileX, final int tileY, final int tileZ) throws IOException {
+        if (!this.contains(tileX, tileY, tileZ)) {
+            throw new NoiseException("Tile (" + tileX + ", " + tileY + ", " + tileZ + ") has not been rendered");
+        }
+        return this.slice(this.layout.tileIndex(tileX, tileY, tileZ)).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Get a read-only view of a tile, rendering it first if necessary.
+     *
+     * @param module the noise module that renders the tile
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @return a view of the tile
+     * @throws IllegalArgumentException if the tile is outside of the region
+     * @throws IOException if the tile cannot be mapped
+     * @see #tile(int, int, int)
+     */
+    public ByteBuffer tile(final NoiseModule module, final int tileX, final int tileY, final int tileZ) throws IOException {
+        if (!this.contains(tileX, tileY, tileZ)) {
+            this.render(module, tileX, tileY, tileZ);
+        }
+        return this.tile(tileX, tileY, tileZ);
+    }
+
+    /**
+     * Renders a tile of a noise module and stores it.
+     *
+     * <p>The module should match the fingerprint and seed of this store.</p>
+     *
+     * @param module the noise module that renders the tile
+     * @param tileX the {@code x} index of the tile
+     * @param tileY the {@code y} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @throws IllegalArgumentException if the tile is outside of the region
+     * @throws IOException if the tile cannot be mapped
+     */
+    public void render(final NoiseModule module, final int tileX, final int tileY, final int tileZ) throws IOException {
+        final TileLayout layout = this.layout;
+        final double spacing = layout.spacing();
+        this.render(module, tileX, tileY, tileZ,
+            layout.tileOriginX(tileX, spacing), layout.tileOriginY(tileY, spacing), layout.tileOriginZ(tileZ, spacing));
+    }
+
+    /**
+     * Renders a tile of a height map from a plane and stores it.
+     *
+     * <p>The layout of this store must be two-dimensional, with a tile height
+     * and tile count of {@code 1} along the {@code y} axis. Samples are taken
+     * with {@link Plane#get(double, double)}, so the {@code y} coordinate of
+     * the origin is ignored.</p>
+     *
+     * @param plane the plane that renders the tile
+     * @param tileX the {@code x} index of the tile
+     * @param tileZ the {@code z} index of the tile
+     * @throws IllegalArgumentException if the layout is not two-dimensional or
+     *     the tile is outside of the region
+     * @throws IOException if the tile cannot be mapped
+     */
+    public void render(final Plane plane, final int tileX, final int tileZ) throws IOException {
+        final TileLayout layout = this.layout;
+        if (layout.tileHeight() != 1 || layout.tileCountY() != 1) {
+            throw new IllegalArgumentException("Planes can only be rendered into a two-dimensional layout");
+        }
+        final double spacing = layout.spacing();
+        this.render(plane.module(), tileX, 0, tileZ,
+            layout.tileOriginX(tileX, spacing), 0.0, layout.tileOriginZ(tileZ, spacing));
+    }
+
+    /**
+     * Writes all changes to the underlying storage.
+     */
+    public void flush() {
+        synchronized (this.chunks) {
+            for (final MappedByteBuffer chunk : this.chunks) {
+                if (chunk != null) {
+                    chunk.force();
+                }
+            }
+        }
+        this.index.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        this.channel.close();
+    }
+
+    private void render(final NoiseModule module, final int tileX, final int tileY, final int tileZ, final double x, final double y,
+            final double z) throws IOException {
+        final TileLayout layout = this.layout;
+        final int tileIndex = layout.tileIndex(tileX, tileY, tileZ);
+        final ByteBuffer tile = this.slice(tileIndex).order(ByteOrder.LITTLE_ENDIAN);
+        final boolean floats = layout.elementType() == TileLayout.ElementType.FLOAT;
+        final double[] values = new double[layout.tileSampleCount()];
+        this.renderer.render(module, x, y, z, layout.spacing(), values, 0, null);
+        for (int n = 0; n < values.length; n++) {
+            if (floats) {
+                tile.putFloat(n * Float.BYTES, (float) values[n]);
+            } else {
+                tile.putDouble(n * Double.BYTES, values[n]);
+            }
+        }
+
+        // Only mark the tile as rendered once all of its samples are stored,
+        // so that the index never refers to a partially written tile. The
+        // volatile write publishes the samples to threads that see the mark.
+        this.chunk(tileIndex / this.chunkTileCount).force();
+        this.index.put(TileStore.HEADER_SIZE + tileIndex, (byte) 1);
+        this.rendered.set(tileIndex, 1);
+    }
+
+    // Get a view of the bytes of a tile in the mapping of its chunk.
+    private ByteBuffer slice(final int tileIndex) throws IOException {
+        final ByteBuffer tile = this.chunk(tileIndex / this.chunkTileCount).duplicate();
+        final int offset = tileIndex % this.chunkTileCount * this.tileSize;
+        tile.position(offset);
+        tile.limit(offset + this.tileSize);
+        return tile.slice();
+    }
+
+    private MappedByteBuffer chunk(final int chunkIndex) throws IOException {
+        synchronized (this.chunks) {
+            MappedByteBuffer chunk = this.chunks[chunkIndex];
+            if (chunk == null) {
+                final int firstTile = chunkIndex * this.chunkTileCount;
+                final int tileCount = Math.min(this.chunkTileCount, this.layout.tileCount() - firstTile);
+                chunk = this.channel.map(FileChannel.MapMode.READ_WRITE, this.dataOffset + (long) firstTile * this.tileSize, (long) tileCount * this.tileSize);
+                this.chunks[chunkIndex] = chunk;
+            }
+            return chunk;
+        }
+    }
+
+    private boolean headerMatches() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(TileStore.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (this.channel.read(header, header.position()) < 0) {
+                return false;
+            }
+        }
+        final TileLayout layout = this.layout;
+        return header.getLong(0) == TileStore.MAGIC
+            && header.getInt(8) == TileStore.VERSION
+            && header.getInt(12) == layout.elementType().size()
+            && header.getLong(16) == this.fingerprint
+            && header.getInt(24) == this.seed
+            && header.getInt(28) == layout.tileWidth()
+            && header.getInt(32) == layout.tileHeight()
+            && header.getInt(36) == layout.tileDepth()
+            && header.getInt(40) == layout.tileCountX()
+            && header.getInt(44) == layout.tileCountY()
+            && header.getInt(48) == layout.tileCountZ()
+            && Double.doubleToLongBits(header.getDouble(56)) == Double.doubleToLongBits(layout.originX())
+            && Double.doubleToLongBits(header.getDouble(64)) == Double.doubleToLongBits(layout.originY())
+            && Double.doubleToLongBits(header.getDouble(72)) == Double.doubleToLongBits(layout.originZ())
+            && Double.doubleToLongBits(header.getDouble(80)) == Double.doubleToLongBits(layout.spacing());
+    }
+
+    private void writeHeader() {
+        final TileLayout layout = this.layout;
+        final MappedByteBuffer header = this.index;
+        header.putLong(0, TileStore.MAGIC);
+        header.putInt(8, TileStore.VERSION);
+        header.putInt(12, layout.elementType().size());
+        header.putLong(16, this.fingerprint);
+        header.putInt(24, this.seed);
+        header.putInt(28, layout.tileWidth());
+        header.putInt(32, layout.tileHeight());
+        header.putInt(36, layout.tileDepth());
+        header.putInt(40, layout.tileCountX());
+        header.putInt(44, layout.tileCountY());
+        header.putInt(48, layout.tileCountZ());
+        header.putDouble(56, layout.originX());
+        header.putDouble(64, layout.originY());
+        header.putDouble(72, layout.originZ());
+        header.putDouble(80, layout.spacing());
+        header.force();
+    }
+}
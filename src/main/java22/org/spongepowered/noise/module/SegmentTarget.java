@@ -0,0 +1,317 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * A destination for output values of a noise module, backed by a
+ * {@link MemorySegment}.
+ *
+ * <p>A segment target writes output values directly into memory that is
+ * shared with native code or other off-heap data structures, without first
+ * collecting them in a {@code double[]} the size of the whole region. Each
+ * target describes an element layout, either {@code double} or
+ * {@code float}, the byte offset of its first element and the byte stride
+ * between successive elements, which allows writing into one field of an
+ * interleaved structure such as a vertex buffer.</p>
+ *
+ * <p>Output values are calculated in small blocks with
+ * {@link NoiseModule#get(double[], double[], double[], double[], int, int)}, so
+ * noise modules still benefit from their list evaluation, and are then written
+ * to the segment. Contiguous {@code double} targets are written with a single
+ * bulk copy per block.</p>
+ *
+ * <p>This class is only available when running on Java 22 or later.</p>
+ */
+public final class SegmentTarget {
+    // Number of output values calculated before they are written to the segment.
+    private static final int BLOCK_SIZE = 512;
+
+    // Segment that receives the output values.
+    private final MemorySegment segment;
+    // Layout of each element when writing doubles, or null when writing floats.
+    private final ValueLayout.OfDouble doubleLayout;
+    // Layout of each element when writing floats, or null when writing doubles.
+    private final ValueLayout.OfFloat floatLayout;
+    // Byte offset of the first element.
+    private final long offset;
+    // Number of bytes between the start of successive elements.
+    private final long stride;
+
+    private SegmentTarget(final MemorySegment segment, final ValueLayout.OfDouble doubleLayout, final ValueLayout.OfFloat floatLayout,
+            final ValueLayout layout, final long offset, final long stride) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative: " + offset);
+        }
+        if (stride < layout.byteSize()) {
+            throw new IllegalArgumentException("stride must be at least the element size of " + layout.byteSize() + ": " + stride);
+        }
+        this.segment = segment;
+        this.doubleLayout = doubleLayout;
+        this.floatLayout = floatLayout;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * Create a target that writes packed native-order {@code double} values
+     * starting at the beginning of a segment.
+     *
+     * @param segment the segment that receives the output values
+     * @return a new target
+     */
+    public static SegmentTarget ofDoubles(final MemorySegment segment) {
+        return SegmentTarget.ofDoubles(segment, ValueLayout.JAVA_DOUBLE, 0, ValueLayout.JAVA_DOUBLE.byteSize());
+    }
+
+    /**
+     * Create a target that writes {@code double} values.
+     *
+     * @param segment the segment that receives the output values
+     * @param layout the layout of each element, which determines its byte
+     *     order and alignment
+     * @param offset the byte offset of the first element
+     * @param stride the number of bytes between the start of successive
+     *     elements
+     * @return a new target
+     * @throws IllegalArgumentException if the offset is negative or the stride
+     *     is smaller than the element size
+     */
+    public static SegmentTarget ofDoubles(final MemorySegment segment, final ValueLayout.OfDouble layout, final long offset, final long stride) {
+        return new SegmentTarget(segment, layout, null, layout, offset, stride);
+    }
+
+    /**
+     * Create a target that writes packed native-order {@code float} values
+     * starting at the beginning of a segment.
+     *
+     * @param segment the segment that receives the output values
+     * @return a new target
+     */
+    public static SegmentTarget ofFloats(final MemorySegment segment) {
+        return SegmentTarget.ofFloats(segment, ValueLayout.JAVA_FLOAT, 0, ValueLayout.JAVA_FLOAT.byteSize());
+    }
+
+    /**
+     * Create a target that writes {@code float} values.
+     *
+     * <p>Output values are narrowed to {@code float} when they are
+     * written.</p>
+     *
+     * @param segment the segment that receives the output values
+     * @param layout the layout of each element, which determines its byte
+     *     order and alignment
+     * @param offset the byte offset of the first element
+     * @param stride the number of bytes between the start of successive
+     *     elements
+     * @return a new target
+     * @throws IllegalArgumentException if the offset is negative or the stride
+     *     is smaller than the element size
+     */
+    public static SegmentTarget ofFloats(final MemorySegment segment, final ValueLayout.OfFloat layout, final long offset, final long stride) {
+        return new SegmentTarget(segment, null, layout, layout, offset, stride);
+    }
+
+    /**
+     * Get the segment that receives the output values.
+     *
+     * @return the segment
+     */
+    public MemorySegment segment() {
+        return this.segment;
+    }
+
+    /**
+     * Get the number of elements that fit in the segment.
+     *
+     * @return the number of elements
+     */
+    public long elementCount() {
+        final long size = this.segment.byteSize() - this.offset - this.elementSize();
+        return size < 0 ? 0 : size / this.stride + 1;
+    }
+
+    /**
+     * Writes a single value to an element of this target.
+     *
+     * @param index the index of the element
+     * @param value the value to write
+     * @throws IllegalArgumentException if the element is outside of the segment
+     */
+    public void set(final long index, final double value) {
+        this.checkRange(index, 1);
+        this.write(index, value);
+    }
+
+    /**
+     * Generates output values for a list of input values and writes them to
+     * successive elements of this target.
+     *
+     * <p>The output value of input value {@code offset + i} is written to the
+     * element {@code index + i}. The coordinate arrays are not modified.</p>
+     *
+     * @param module the noise module to evaluate
+     * @param x the {@code x} coordinates of the input values
+     * @param y the {@code y} coordinates of the input values
+     * @param z the {@code z} coordinates of the input values
+     * @param offset the index of the first input value
+     * @param length the number of input values
+     * @param index the index of the first element to write
+     * @throws IllegalArgumentException if either range is out of bounds
+     */
+    public void get(final NoiseModule module, final double[] x, final double[] y, final double[] z, final int offset, final int length,
+            final long index) {
+        if (offset < 0 || length < 0 || offset + length > x.length || offset + length > y.length || offset + length > z.length) {
+            throw new IllegalArgumentException("Range [" + offset + ", " + (offset + length) + ") is out of bounds");
+        }
+        this.checkRange(index, length);
+        if (length == 0) {
+            return;
+        }
+
+        final int blockSize = Math.min(length, SegmentTarget.BLOCK_SIZE);
+        final double[] xBlock = new double[blockSize];
+        final double[] yBlock = new double[blockSize];
+        final double[] zBlock = new double[blockSize];
+        final double[] values = new double[blockSize];
+
+        for (int start = 0; start < length; start += blockSize) {
+            final int count = Math.min(blockSize, length - start);
+            // The list evaluation may overwrite its coordinates, so each block
+            // is evaluated over a copy.
+            System.arraycopy(x, offset + start, xBlock, 0, count);
+            System.arraycopy(y, offset + start, yBlock, 0, count);
+            System.arraycopy(z, offset + start, zBlock, 0, count);
+            module.get(xBlock, yBlock, zBlock, values, 0, count);
+            this.write(values, count, index + start);
+        }
+    }
+
+    /**
+     * Generates output values for a regular three-dimensional grid of input
+     * values and writes them to successive elements of this target.
+     *
+     * <p>The input value at grid position {@code (i, j, k)} is
+     * {@code (x + i * xStep, y + j * yStep, z + k * zStep)}, and its output
+     * value is written to the element
+     * {@code index + (k * height + j) * width + i}, so that {@code x} varies
+     * fastest. A two-dimensional grid has a depth of {@code 1}.</p>
+     *
+     * @param module the noise module to evaluate
+     * @param x the {@code x} coordinate of the first input value
+     * @param y the {@code y} coordinate of the first input value
+     * @param z the {@code z} coordinate of the first input value
+     * @param xStep the distance between input values along the {@code x} axis
+     * @param yStep the distance between input values along the {@code y} axis
+     * @param zStep the distance between input values along the {@code z} axis
+     * @param width the number of input values along the {@code x} axis
+     * @param height the number of input values along the {@code y} axis
+     * @param depth the number of input values along the {@code z} axis
+     * @param index the index of the first element to write
+     * @throws IllegalArgumentException if a dimension is negative or the grid
+     *     does not fit in this target
+     */
+    public void fill(final NoiseModule module, final double x, final double y, final double z, final double xStep, final double yStep,
+            final double zStep, final int width, final int height, final int depth, final long index) {
+        if (width < 0 || height < 0 || depth < 0) {
+            throw new IllegalArgumentException("Grid dimensions must not be negative: " + width + "x" + height + "x" + depth);
+        }
+        final long total = (long) width * height * depth;
+        this.checkRange(index, total);
+        if (total == 0) {
+            return;
+        }
+
+        final int blockSize = (int) Math.min(total, SegmentTarget.BLOCK_SIZE);
+        final double[] xBlock = new double[blockSize];
+        final double[] yBlock = new double[blockSize];
+        final double[] zBlock = new double[blockSize];
+        final double[] values = new double[blockSize];
+
+        long element = 0;
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (element < total) {
+            final int count = (int) Math.min(blockSize, total - element);
+            for (int n = 0; n < count; n++) {
+                xBlock[n] = x + i * xStep;
+                yBlock[n] = y + j * yStep;
+                zBlock[n] = z + k * zStep;
+                if (++i == width) {
+                    i = 0;
+                    if (++j == height) {
+                        j = 0;
+                        k++;
+                    }
+                }
+            }
+            module.get(xBlock, yBlock, zBlock, values, 0, count);
+            this.write(values, count, index + element);
+            element += count;
+        }
+    }
+
+    private long elementSize() {
+        return this.doubleLayout != null ? this.doubleLayout.byteSize() : this.floatLayout.byteSize();
+    }
+
+    private void checkRange(final long index, final long count) {
+        if (index < 0 || count < 0) {
+            throw new IllegalArgumentException("index and count must not be negative: " + index + ", " + count);
+        }
+        if (count > 0 && index + count > this.elementCount()) {
+            throw new IllegalArgumentException("Elements [" + index + ", " + (index + count) + ") do not fit in a target of "
+                + this.elementCount() + " elements");
+        }
+    }
+
+    private void write(final long index, final double value) {
+        final long position = this.offset + index * this.stride;
+        if (this.doubleLayout != null) {
+            this.segment.set(this.doubleLayout, position, value);
+        } else {
+            this.segment.set(this.floatLayout, position, (float) value);
+        }
+    }
+
+    private void write(final double[] values, final int count, final long index) {
+        final long position = this.offset + index * this.stride;
+        if (this.doubleLayout != null && this.stride == this.doubleLayout.byteSize()) {
+            MemorySegment.copy(values, 0, this.segment, this.doubleLayout, position, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            this.write(index + i, values[i]);
+        }
+    }
+}
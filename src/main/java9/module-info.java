@@ -38,11 +38,16 @@
  * @see org.spongepowered.noise.module.NoiseModule
  */
 module org.spongepowered.noise {
+    exports org.spongepowered.noise.codec;
     exports org.spongepowered.noise.exception;
+    exports org.spongepowered.noise.image;
     exports org.spongepowered.noise.model;
     exports org.spongepowered.noise.module;
     exports org.spongepowered.noise.module.combiner;
     exports org.spongepowered.noise.module.modifier;
     exports org.spongepowered.noise.module.source;
+    exports org.spongepowered.noise.tile;
     exports org.spongepowered.noise;
+
+    uses org.spongepowered.noise.codec.ModuleFactory;
 }
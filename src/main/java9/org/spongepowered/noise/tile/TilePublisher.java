@@ -0,0 +1,306 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.spongepowered.noise.module.NoiseModule;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the rendered tiles of a region as a reactive stream.
+ *
+ * <p>Each subscriber receives every tile of the region described by a
+ * {@link TileLayout}, in the {@link TileOrder} configured when it
+ * subscribed, followed by completion. Tiles are only rendered when a
+ * subscriber has requested them, one at a time and on the executor passed to
+ * the constructor, so a slow subscriber holds back rendering and at most one
+ * tile per subscriber is in memory in addition to those it keeps.</p>
+ *
+ * <p>Subscribers render the region independently. The noise module must
+ * support concurrent calls to
+ * {@link NoiseModule#get(double[], double[], double[], double[], int, int)}
+ * if several subscribers may be active at once.</p>
+ *
+ * <p>This class is only available when running on Java 9 or later.</p>
+ */
+public final class TilePublisher implements Flow.Publisher<TilePublisher.Tile> {
+    private final NoiseModule module;
+    private final TileLayout layout;
+    private final TileRenderer renderer;
+    private final Executor executor;
+    private volatile TileOrder order = TileOrder.SCANLINE;
+    private volatile int focusX = 0;
+    private volatile int focusY = 0;
+    private volatile int focusZ = 0;
+
+    /**
+     * A rendered tile of the region.
+     */
+    public static final class Tile {
+        private final int x;
+        private final int y;
+        private final int z;
+        private final double[] samples;
+
+        Tile(final int x, final int y, final int z, final double[] samples) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.samples = samples;
+        }
+
+        /**
+         * Get the {@code x} index of this tile.
+         *
+         * @return the {@code x} index
+         */
+        public int x() {
+            return this.x;
+        }
+
+        /**
+         * Get the {@code y} index of this tile.
+         *
+         * @return the {@code y} index
+         */
+        public int y() {
+            return this.y;
+        }
+
+        /**
+         * Get the {@code z} index of this tile.
+         *
+         * @return the {@code z} index
+         */
+        public int z() {
+            return this.z;
+        }
+
+        /**
+         * Get the samples of this tile, stored as described by
+         * {@link TileLayout}.
+         *
+         * <p>The array is not shared with the publisher, and may be kept or
+         * modified by the subscriber.</p>
+         *
+         * @return the samples
+         */
+        public double[] samples() {
+            return this.samples;
+        }
+    }
+
+    /**
+     * Create a new publisher of the tiles of a region.
+     *
+     * @param module the noise module that renders the tiles
+     * @param layout the layout of the region; later changes to the layout do
+     *     not affect the publisher
+     * @param executor the executor that renders the tiles and signals the
+     *     subscribers
+     */
+    public TilePublisher(final NoiseModule module, final TileLayout layout, final Executor executor) {
+        this.module = Objects.requireNonNull(module, "module");
+        this.layout = new TileLayout(Objects.requireNonNull(layout, "layout"));
+        this.renderer = new TileRenderer(this.layout);
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Get the layout of the region.
+     *
+     * @return a copy of the layout
+     */
+    public TileLayout layout() {
+        return new TileLayout(this.layout);
+    }
+
+    /**
+     * Get the order in which tiles are published to new subscribers.
+     *
+     * @return the tile order
+     */
+    public TileOrder order() {
+        return this.order;
+    }
+
+    /**
+     * Set the order in which tiles are published to new subscribers.
+     *
+     * @param order the tile order
+     */
+    public void setOrder(final TileOrder order) {
+        this.order = Objects.requireNonNull(order, "order");
+    }
+
+    /**
+     * Set the tile around which {@link TileOrder#SPIRAL} starts.
+     *
+     * @param tileX the {@code x} index of the focus tile
+     * @param tileY the {@code y} index of the focus tile
+     * @param tileZ the {@code z} index of the focus tile
+     */
+    public void setFocus(final int tileX, final int tileY, final int tileZ) {
+        this.focusX = tileX;
+        this.focusY = tileY;
+        this.focusZ = tileZ;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the region has too many tiles along
+     *     an axis for the configured order
+     */
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Tile> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        final int[] tiles = this.order.order(this.layout, this.focusX, this.focusY, this.focusZ);
+        final TileSubscription subscription = new TileSubscription(subscriber, tiles);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class TileSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super Tile> subscriber;
+        // Indices of the tiles to publish, in order.
+        private final int[] tiles;
+        // Number of tiles that have been requested but not yet published.
+        private final AtomicLong demand = new AtomicLong();
+        // Number of signals that the drain loop has not yet handled.
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled = false;
+        // The error to signal to the subscriber, delivered by the drain loop.
+        private volatile Throwable error;
+        // Only accessed by the drain loop.
+        private int next = 0;
+
+        TileSubscription(final Flow.Subscriber<? super Tile> subscriber, final int[] tiles) {
+            this.subscriber = subscriber;
+            this.tiles = tiles;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                this.fail(new IllegalArgumentException("Requested a non-positive number of tiles: " + n));
+            } else {
+                this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            this.signal();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        // Record an error for the drain loop to signal, keeping the first.
+        private void fail(final Throwable ex) {
+            if (this.error == null) {
+                this.error = ex;
+            }
+        }
+
+        // Run the drain loop on the executor, unless it is already running.
+        private void signal() {
+            if (this.pending.getAndIncrement() == 0) {
+                try {
+                    TilePublisher.this.executor.execute(this::drain);
+                } catch (final RuntimeException ex) {
+                    // This thread still owns the drain loop, so it can signal
+                    // the error without overlapping any other signal.
+                    this.fail(ex);
+                    this.drain();
+                }
+            }
+        }
+
+        // Signal the subscriber. Only one thread runs this at a time, and a
+        // terminated or cancelled subscription keeps the pending count above
+        // zero so that the loop is never run again.
+        private void drain() {
+            int missed = 1;
+            do {
+                while (!this.cancelled && this.error == null && this.next < this.tiles.length && this.demand.get() > 0) {
+                    final Tile tile;
+                    try {
+                        tile = this.render(this.tiles[this.next++]);
+                    } catch (final RuntimeException ex) {
+                        this.fail(ex);
+                        break;
+                    }
+                    if (tile == null) {
+                        break;
+                    }
+                    this.demand.decrementAndGet();
+                    this.subscriber.onNext(tile);
+                }
+                if (this.cancelled) {
+                    return;
+                }
+                final Throwable error = this.error;
+                if (error != null) {
+                    this.cancelled = true;
+                    this.subscriber.onError(error);
+                    return;
+                }
+                if (this.next == this.tiles.length) {
+                    this.cancelled = true;
+                    this.subscriber.onComplete();
+                    return;
+                }
+                missed = this.pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        // Render a tile, or return null if the subscription is cancelled or
+        // fails before it is done.
+        private Tile render(final int tileIndex) {
+            final TileLayout layout = TilePublisher.this.layout;
+            final int tileX = tileIndex % layout.tileCountX();
+            final int tileY = tileIndex / layout.tileCountX() % layout.tileCountY();
+            final int tileZ = tileIndex / layout.tileCountX() / layout.tileCountY();
+            final double spacing = layout.spacing();
+            final double x = layout.tileOriginX(tileX, spacing);
+            final double y = layout.tileOriginY(tileY, spacing);
+            final double z = layout.tileOriginZ(tileZ, spacing);
+
+            final double[] samples = new double[layout.tileSampleCount()];
+            if (!TilePublisher.this.renderer.render(TilePublisher.this.module, x, y, z, spacing, samples, 0, () -> this.cancelled || this.error != null)) {
+                return null;
+            }
+            return new Tile(tileX, tileY, tileZ, samples);
+        }
+    }
+}
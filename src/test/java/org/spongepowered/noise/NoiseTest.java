@@ -33,9 +33,143 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.Random;
 
 
 public class NoiseTest {
+    @Test
+    public void testGradientCoherentNoiseDerivative() {
+        final Random random = new Random(1234);
+        final double[] gradient = new double[3];
+        final double delta = 1e-6;
+        for (final NoiseQuality quality : NoiseQuality.values()) {
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 200 - 100;
+                final double y = random.nextDouble() * 200 - 100;
+                final double z = random.nextDouble() * 200 - 100;
+                final double value = Noise.gradientCoherentNoise3D(x, y, z, 7, quality, gradient);
+                Assertions.assertEquals(Noise.gradientCoherentNoise3D(x, y, z, 7, quality), value);
+                Assertions.assertEquals((Noise.gradientCoherentNoise3D(x + delta, y, z, 7, quality) - Noise.gradientCoherentNoise3D(x - delta, y, z, 7, quality)) / (2 * delta), gradient[0], 1e-5);
+                Assertions.assertEquals((Noise.gradientCoherentNoise3D(x, y + delta, z, 7, quality) - Noise.gradientCoherentNoise3D(x, y - delta, z, 7, quality)) / (2 * delta), gradient[1], 1e-5);
+                Assertions.assertEquals((Noise.gradientCoherentNoise3D(x, y, z + delta, 7, quality) - Noise.gradientCoherentNoise3D(x, y, z - delta, 7, quality)) / (2 * delta), gradient[2], 1e-5);
+            }
+        }
+    }
+
+    @Test
+    public void testPermutationGradientCoherentNoise() {
+        final Random random = new Random(1234);
+        final PermutationTable table = new PermutationTable(7);
+        final double[] gradient = new double[3];
+        final double delta = 1e-6;
+        for (final NoiseQuality quality : NoiseQuality.values()) {
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 10000 - 5000;
+                final double y = random.nextDouble() * 10000 - 5000;
+                final double z = random.nextDouble() * 10000 - 5000;
+                final double value = Noise.gradientCoherentNoise3D(x, y, z, table, quality, gradient);
+                Assertions.assertEquals(Noise.gradientCoherentNoise3D(x, y, z, table, quality), value);
+                Assertions.assertTrue(value >= 0.0 && value <= 1.0, "Permutation noise out of range: " + value);
+                Assertions.assertEquals((Noise.gradientCoherentNoise3D(x + delta, y, z, table, quality) - Noise.gradientCoherentNoise3D(x - delta, y, z, table, quality)) / (2 * delta), gradient[0], 1e-5);
+                Assertions.assertEquals((Noise.gradientCoherentNoise3D(x, y + delta, z, table, quality) - Noise.gradientCoherentNoise3D(x, y - delta, z, table, quality)) / (2 * delta), gradient[1], 1e-5);
+                Assertions.assertEquals((Noise.gradientCoherentNoise3D(x, y, z + delta, table, quality) - Noise.gradientCoherentNoise3D(x, y, z - delta, table, quality)) / (2 * delta), gradient[2], 1e-5);
+            }
+        }
+    }
+
+    @Test
+    public void testNoiseKernels() {
+        final Random random = new Random(1234);
+        final PermutationTable table = new PermutationTable(7);
+        final double[] expected = new double[3];
+        final double[] gradient = new double[3];
+        for (final NoiseQuality quality : NoiseQuality.values()) {
+            final GradientNoiseKernel kernel = GradientNoiseKernel.of(quality);
+            Assertions.assertEquals(quality, kernel.quality());
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 2e6 - 1e6;
+                final double y = random.nextDouble() * 2e6 - 1e6;
+                final double z = random.nextDouble() * 2e6 - 1e6;
+                final int seed = random.nextInt();
+                Assertions.assertEquals(Noise.gradientCoherentNoise3D(x, y, z, seed, quality), kernel.get(x, y, z, seed));
+                Assertions.assertEquals(Noise.gradientCoherentNoise3D(x, y, z, seed, quality, expected), kernel.get(x, y, z, seed, gradient));
+                Assertions.assertArrayEquals(expected, gradient);
+                Assertions.assertEquals(Noise.gradientCoherentNoise3D(x, y, z, table, quality), kernel.get(x, y, z, table));
+                Assertions.assertEquals(Noise.gradientCoherentNoise3D(x, y, z, table, quality, expected), kernel.get(x, y, z, table, gradient));
+                Assertions.assertArrayEquals(expected, gradient);
+            }
+        }
+        for (final NoiseQualitySimplex quality : NoiseQualitySimplex.values()) {
+            for (final LatticeOrientation orientation : LatticeOrientation.values()) {
+                final SimplexNoiseKernel kernel = SimplexNoiseKernel.of(orientation, quality);
+                Assertions.assertEquals(orientation, kernel.orientation());
+                Assertions.assertEquals(quality, kernel.quality());
+                for (int i = 0; i < 1000; i++) {
+                    final double x = random.nextDouble() * 2e4 - 1e4;
+                    final double y = random.nextDouble() * 2e4 - 1e4;
+                    final double z = random.nextDouble() * 2e4 - 1e4;
+                    final int seed = random.nextInt();
+                    Assertions.assertEquals(Noise.simplexStyleGradientCoherentNoise3D(x, y, z, seed, orientation, quality), kernel.get(x, y, z, seed));
+                    Assertions.assertEquals(Noise.simplexStyleGradientCoherentNoise3D(x, y, z, seed, orientation, quality, expected),
+                        kernel.get(x, y, z, seed, gradient));
+                    Assertions.assertArrayEquals(expected, gradient);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPeriodicNoiseKernels() {
+        final Random random = new Random(1234);
+        final PermutationTable table = new PermutationTable(7);
+        final double[] expected = new double[3];
+        final double[] gradient = new double[3];
+        for (final NoiseQuality quality : NoiseQuality.values()) {
+            final GradientNoiseKernel kernel = GradientNoiseKernel.of(quality);
+            for (int i = 0; i < 1000; i++) {
+                final double x = random.nextDouble() * 200 - 100;
+                final double y = random.nextDouble() * 200 - 100;
+                final double z = random.nextDouble() * 200 - 100;
+                final int seed = random.nextInt();
+                // A period of zero does not wrap.
+                Assertions.assertEquals(kernel.get(x, y, z, seed), kernel.get(x, y, z, seed, 0, 0, 0));
+                Assertions.assertEquals(kernel.get(x, y, z, seed, expected), kernel.get(x, y, z, seed, 0, 0, 0, gradient));
+                Assertions.assertArrayEquals(expected, gradient);
+                Assertions.assertEquals(kernel.get(x, y, z, table), kernel.get(x, y, z, table, 0, 0, 0));
+                Assertions.assertEquals(kernel.get(x, y, z, table, expected), kernel.get(x, y, z, table, 0, 0, 0, gradient));
+                Assertions.assertArrayEquals(expected, gradient);
+
+                // Whole periods apart, the lattice cells hash alike.
+                Assertions.assertEquals(kernel.get(x, y, z, seed, 3, 5, 7), kernel.get(x + 3, y - 10, z + 7, seed, 3, 5, 7), 1e-9);
+                Assertions.assertEquals(kernel.get(x, y, z, table, 3, 5, 7), kernel.get(x - 6, y + 5, z - 14, table, 3, 5, 7), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testSimplexStyleGradientCoherentNoiseDerivative() {
+        final Random random = new Random(1234);
+        final double[] gradient = new double[3];
+        final double delta = 1e-6;
+        for (final NoiseQualitySimplex quality : NoiseQualitySimplex.values()) {
+            for (final LatticeOrientation orientation : LatticeOrientation.values()) {
+                for (int i = 0; i < 1000; i++) {
+                    final double x = random.nextDouble() * 200 - 100;
+                    final double y = random.nextDouble() * 200 - 100;
+                    final double z = random.nextDouble() * 200 - 100;
+                    final double value = Noise.simplexStyleGradientCoherentNoise3D(x, y, z, 7, orientation, quality, gradient);
+                    Assertions.assertEquals(Noise.simplexStyleGradientCoherentNoise3D(x, y, z, 7, orientation, quality), value);
+                    Assertions.assertEquals((Noise.simplexStyleGradientCoherentNoise3D(x + delta, y, z, 7, orientation, quality)
+                        - Noise.simplexStyleGradientCoherentNoise3D(x - delta, y, z, 7, orientation, quality)) / (2 * delta), gradient[0], 1e-4);
+                    Assertions.assertEquals((Noise.simplexStyleGradientCoherentNoise3D(x, y + delta, z, 7, orientation, quality)
+                        - Noise.simplexStyleGradientCoherentNoise3D(x, y - delta, z, 7, orientation, quality)) / (2 * delta), gradient[1], 1e-4);
+                    Assertions.assertEquals((Noise.simplexStyleGradientCoherentNoise3D(x, y, z + delta, 7, orientation, quality)
+                        - Noise.simplexStyleGradientCoherentNoise3D(x, y, z - delta, 7, orientation, quality)) / (2 * delta), gradient[2], 1e-4);
+                }
+            }
+        }
+    }
+
     @Test
     public void test() throws IOException {
 
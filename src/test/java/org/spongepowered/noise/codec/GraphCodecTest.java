@@ -0,0 +1,240 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.codec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.GradientHashing;
+import org.spongepowered.noise.LatticeOrientation;
+import org.spongepowered.noise.NoiseQuality;
+import org.spongepowered.noise.NoiseQualitySimplex;
+import org.spongepowered.noise.exception.NoiseException;
+import org.spongepowered.noise.model.Line;
+import org.spongepowered.noise.module.ModuleFingerprint;
+import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.ParameterVisitor;
+import org.spongepowered.noise.module.combiner.Add;
+import org.spongepowered.noise.module.combiner.Blend;
+import org.spongepowered.noise.module.combiner.Select;
+import org.spongepowered.noise.module.modifier.Curve;
+import org.spongepowered.noise.module.modifier.Terrace;
+import org.spongepowered.noise.module.modifier.Turbulence;
+import org.spongepowered.noise.module.source.Billow;
+import org.spongepowered.noise.module.source.Fractal;
+import org.spongepowered.noise.module.source.FractalBasis;
+import org.spongepowered.noise.module.source.FractalType;
+import org.spongepowered.noise.module.source.Perlin;
+import org.spongepowered.noise.module.source.RidgedMulti;
+import org.spongepowered.noise.module.source.RidgedMultiSimplex;
+import org.spongepowered.noise.module.source.Voronoi;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class GraphCodecTest {
+
+    private static NoiseModule graph() {
+        final Perlin perlin = new Perlin();
+        perlin.setSeed(-7);
+        perlin.setNoiseQuality(NoiseQuality.BEST);
+        perlin.setOctaveCount(4);
+        final Curve curve = new Curve(perlin);
+        curve.addControlPoint(-1.0, -0.5);
+        curve.addControlPoint(0.0, 0.25);
+        curve.addControlPoint(0.5, 0.5);
+        curve.addControlPoint(1.0, 1.0);
+        final RidgedMultiSimplex ridged = new RidgedMultiSimplex();
+        ridged.setNoiseQuality(NoiseQualitySimplex.SMOOTH);
+        ridged.setLatticeOrientation(LatticeOrientation.XZ_BEFORE_Y);
+        ridged.setSampleSpacing(0.25);
+        ridged.setFadeLastOctave(true);
+        final Terrace terrace = new Terrace(new Billow());
+        terrace.makeControlPoints(5);
+        terrace.setInvertTerraces(true);
+        final Voronoi voronoi = new Voronoi();
+        voronoi.setEnableDistance(true);
+        final Turbulence turbulence = new Turbulence(voronoi);
+        turbulence.setRoughness(2);
+        final Select select = new Select(curve, ridged, perlin);
+        select.setBounds(0.75, -0.25);
+        select.setEdgeFalloff(0.125);
+        return new Add(select, new Blend(terrace, turbulence, perlin));
+    }
+
+    // Decode a module with a built-in factory from the parameters it reports,
+    // leaving out parameters added in later versions of the module.
+    private static NoiseModule recreate(final NoiseModule module, final String... omitted) {
+        final List<String> skipped = Arrays.asList(omitted);
+        final ModuleParameters parameters = new ModuleParameters();
+        module.visitParameters(new ParameterVisitor() {
+            @Override
+            public void visit(final String name, final double value) {
+                if (!skipped.contains(name)) {
+                    parameters.put(name, value);
+                }
+            }
+
+            @Override
+            public void visit(final String name, final int value) {
+                if (!skipped.contains(name)) {
+                    parameters.put(name, value);
+                }
+            }
+
+            @Override
+            public void visit(final String name, final boolean value) {
+                if (!skipped.contains(name)) {
+                    parameters.put(name, value);
+                }
+            }
+
+            @Override
+            public void visit(final String name, final Enum<?> value) {
+                if (!skipped.contains(name)) {
+                    parameters.put(name, new ModuleParameters.EnumValue(value.getDeclaringClass().getName(), value.name()));
+                }
+            }
+
+            @Override
+            public void visit(final String name, final double[] values) {
+                if (!skipped.contains(name)) {
+                    parameters.put(name, values);
+                }
+            }
+        });
+        for (final ModuleFactory factory : BuiltinModuleFactories.factories()) {
+            if (factory.type() == module.getClass()) {
+                return factory.create(parameters);
+            }
+        }
+        throw new AssertionError("No factory for " + module.getClass().getName());
+    }
+
+    @Test
+    public void testRoundTripPreservesGraph() {
+        final GraphCodec codec = new GraphCodec();
+        final NoiseModule module = GraphCodecTest.graph();
+        final NoiseModule decoded = codec.decode(codec.encode(module), NoiseModule.class);
+
+        Assertions.assertEquals(ModuleFingerprint.of(module), ModuleFingerprint.of(decoded));
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(module.get(i * 1.37, i * -0.71, i * 0.23), decoded.get(i * 1.37, i * -0.71, i * 0.23));
+        }
+    }
+
+    @Test
+    public void testSharedModulesStayShared() {
+        final GraphCodec codec = new GraphCodec();
+        final Add decoded = codec.decode(codec.encode(GraphCodecTest.graph()), Add.class);
+        final NoiseModule select = decoded.sourceModule(0);
+        final NoiseModule blend = decoded.sourceModule(1);
+        Assertions.assertSame(select.sourceModule(2), blend.sourceModule(2));
+        Assertions.assertSame(select.sourceModule(2), select.sourceModule(0).sourceModule(0));
+    }
+
+    @Test
+    public void testLineRoundTrip() {
+        final GraphCodec codec = new GraphCodec();
+        final Line line = new Line(new Perlin());
+        line.setAttenuate(true);
+        line.setStartPoint(1.0, 2.0, 3.0);
+        line.setEndPoint(-4.0, 5.5, 6.0);
+        final Line decoded = codec.decode(codec.encode(line), Line.class);
+        Assertions.assertTrue(decoded.attenuate());
+        for (int i = 0; i <= 10; i++) {
+            Assertions.assertEquals(line.get(i / 10.0), decoded.get(i / 10.0));
+        }
+    }
+
+    @Test
+    public void testFractalRoundTrip() {
+        final GraphCodec codec = new GraphCodec();
+        final FractalBasis[] bases = {
+            FractalBasis.perlin(NoiseQuality.BEST, 3),
+            FractalBasis.simplex(LatticeOrientation.XY_BEFORE_Z, NoiseQualitySimplex.SMOOTH, -5),
+            FractalBasis.voronoi(11, 0.5, true)
+        };
+        for (final FractalBasis basis : bases) {
+            final Fractal fractal = new Fractal();
+            fractal.setBasis(basis);
+            fractal.setType(FractalType.HYBRID);
+            fractal.setOctaveCount(4);
+            fractal.setOffset(0.75);
+            fractal.setGain(1.5);
+            fractal.setSampleSpacing(0.125);
+            final NoiseModule decoded = codec.decode(codec.encode(fractal), NoiseModule.class);
+            Assertions.assertEquals(ModuleFingerprint.of(fractal), ModuleFingerprint.of(decoded));
+            for (int i = 0; i < 100; i++) {
+                Assertions.assertEquals(fractal.get(i * 1.37, i * -0.71, i * 0.23), decoded.get(i * 1.37, i * -0.71, i * 0.23));
+            }
+        }
+
+        final Fractal custom = new Fractal();
+        custom.setBasis((x, y, z, octave) -> Math.sin(x + y + z));
+        Assertions.assertThrows(NoiseException.class, () -> codec.encode(new Add(custom, new Perlin())));
+    }
+
+    @Test
+    public void testMissingGradientHashingIsArithmetic() {
+        final Perlin perlin = new Perlin();
+        perlin.setSeed(9);
+        final Billow billow = new Billow();
+        billow.setOctaveCount(3);
+        final RidgedMulti ridged = new RidgedMulti();
+        ridged.setFrequency(2.5);
+        for (final NoiseModule module : new NoiseModule[] {perlin, billow, ridged}) {
+            final NoiseModule decoded = GraphCodecTest.recreate(module, "gradientHashing");
+            Assertions.assertEquals(ModuleFingerprint.of(module), ModuleFingerprint.of(decoded));
+        }
+        perlin.setGradientHashing(GradientHashing.PERMUTATION);
+        Assertions.assertEquals(GradientHashing.PERMUTATION, ((Perlin) GraphCodecTest.recreate(perlin)).gradientHashing());
+    }
+
+    @Test
+    public void testMissingPeriodsDoNotRepeat() {
+        final Perlin perlin = new Perlin();
+        perlin.setFrequency(0.5);
+        Assertions.assertEquals(ModuleFingerprint.of(perlin), ModuleFingerprint.of(GraphCodecTest.recreate(perlin, "periodX", "periodY", "periodZ")));
+        perlin.setPeriod(8.0, 0.0, 4.0);
+        final Perlin decoded = (Perlin) GraphCodecTest.recreate(perlin);
+        Assertions.assertEquals(8.0, decoded.periodX());
+        Assertions.assertEquals(4.0, decoded.periodZ());
+    }
+
+    @Test
+    public void testMalformedDataIsRejected() {
+        final GraphCodec codec = new GraphCodec();
+        final byte[] data = codec.encode(GraphCodecTest.graph());
+        Assertions.assertThrows(NoiseException.class, () -> codec.decode(Arrays.copyOf(data, data.length - 1), NoiseModule.class));
+        Assertions.assertThrows(NoiseException.class, () -> codec.decode(new byte[] {1, 2, 3, 4, 5}, NoiseModule.class));
+        Assertions.assertThrows(NoiseException.class, () -> codec.decode(data, Line.class));
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.image;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.model.Plane;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.imageio.ImageIO;
+
+public class HeightMapExporterTest {
+
+    private static final int WIDTH = 37;
+    private static final int HEIGHT = 29;
+
+    private static HeightMapExporter exporter(final Plane plane) {
+        final HeightMapExporter exporter = HeightMapExporter.plane(plane, -2.0, 3.0, 1.0, 4.0);
+        exporter.setSize(HeightMapExporterTest.WIDTH, HeightMapExporterTest.HEIGHT);
+        // Small strips so that the test covers several of them.
+        exporter.setStripHeight(4);
+        return exporter;
+    }
+
+    // The value of the pixel at a column and row of the image, which is upside
+    // down relative to the grid.
+    private static double expected(final Plane plane, final int column, final int row) {
+        final double x = -2.0 + column * 5.0 / HeightMapExporterTest.WIDTH;
+        final double z = 1.0 + (HeightMapExporterTest.HEIGHT - 1 - row) * 3.0 / HeightMapExporterTest.HEIGHT;
+        return plane.get(x, z);
+    }
+
+    @Test
+    public void testGrayscale() throws IOException {
+        final Plane plane = new Plane(new Perlin());
+        final HeightMapExporter exporter = HeightMapExporterTest.exporter(plane);
+        for (final int bitDepth : new int[] {8, 16}) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            exporter.writeGrayscale(out, bitDepth);
+            final BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+            Assertions.assertEquals(HeightMapExporterTest.WIDTH, image.getWidth());
+            Assertions.assertEquals(HeightMapExporterTest.HEIGHT, image.getHeight());
+            final int maxLevel = (1 << bitDepth) - 1;
+            for (int row = 0; row < HeightMapExporterTest.HEIGHT; row++) {
+                for (int column = 0; column < HeightMapExporterTest.WIDTH; column++) {
+                    final double t = (HeightMapExporterTest.expected(plane, column, row) + 1.0) / 2.0;
+                    final long level = Math.round(Math.min(Math.max(t, 0.0), 1.0) * maxLevel);
+                    Assertions.assertEquals(level, image.getRaster().getSample(column, row, 0), 1.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testColor() throws IOException {
+        final Plane plane = new Plane(new Perlin());
+        final HeightMapExporter exporter = HeightMapExporterTest.exporter(plane);
+        final ColorGradient gradient = exporter.renderer().gradient();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.writeColor(out);
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        for (int row = 0; row < HeightMapExporterTest.HEIGHT; row++) {
+            for (int column = 0; column < HeightMapExporterTest.WIDTH; column++) {
+                final int expected = gradient.color(HeightMapExporterTest.expected(plane, column, row));
+                final int actual = image.getRGB(column, row);
+                // Colours are looked up in a table, so may differ slightly.
+                for (int shift = 0; shift < 24; shift += 8) {
+                    Assertions.assertEquals(expected >>> shift & 0xff, actual >>> shift & 0xff, 2);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFlatHillshadeKeepsColors() throws IOException {
+        final Plane plane = new Plane(new Perlin());
+        final HeightMapExporter exporter = HeightMapExporterTest.exporter(plane);
+        exporter.renderer().setLightContrast(0.0);
+        final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        exporter.writeColor(plain);
+        exporter.renderer().setHillshade(true);
+        final ByteArrayOutputStream shaded = new ByteArrayOutputStream();
+        exporter.writeColor(shaded);
+        final BufferedImage plainImage = ImageIO.read(new ByteArrayInputStream(plain.toByteArray()));
+        final BufferedImage shadedImage = ImageIO.read(new ByteArrayInputStream(shaded.toByteArray()));
+        for (int row = 0; row < HeightMapExporterTest.HEIGHT; row++) {
+            for (int column = 0; column < HeightMapExporterTest.WIDTH; column++) {
+                final int expected = plainImage.getRGB(column, row);
+                final int actual = shadedImage.getRGB(column, row);
+                for (int shift = 0; shift < 24; shift += 8) {
+                    Assertions.assertEquals(expected >>> shift & 0xff, actual >>> shift & 0xff, 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRaw() throws IOException {
+        final Plane plane = new Plane(new Perlin());
+        final HeightMapExporter exporter = HeightMapExporterTest.exporter(plane);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.writeRaw(out);
+        final ByteBuffer values = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        Assertions.assertEquals(Float.BYTES * HeightMapExporterTest.WIDTH * HeightMapExporterTest.HEIGHT, values.remaining());
+        for (int row = 0; row < HeightMapExporterTest.HEIGHT; row++) {
+            for (int column = 0; column < HeightMapExporterTest.WIDTH; column++) {
+                Assertions.assertEquals((float) HeightMapExporterTest.expected(plane, column, row), values.getFloat(), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidSettings() {
+        final Plane plane = new Plane(new Perlin());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HeightMapExporter.plane(plane, 1.0, 1.0, 0.0, 1.0));
+        final HeightMapExporter exporter = HeightMapExporter.plane(plane, 0.0, 1.0, 0.0, 1.0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> exporter.setSize(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> exporter.setValueRange(1.0, -1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> exporter.writeGrayscale(new ByteArrayOutputStream(), 4));
+        exporter.renderer().setGradient(new ColorGradient());
+        Assertions.assertThrows(IllegalStateException.class, () -> exporter.writeColor(new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.image;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.model.Plane;
+import org.spongepowered.noise.module.source.Perlin;
+
+public class ImageRendererTest {
+
+    private static final int WIDTH = 53;
+    private static final int HEIGHT = 41;
+
+    private static double[] grid() {
+        final double[] values = new double[ImageRendererTest.WIDTH * ImageRendererTest.HEIGHT];
+        new Plane(new Perlin()).render(-1.0, 2.0, 0.5, 3.0, ImageRendererTest.WIDTH, ImageRendererTest.HEIGHT, values, 0);
+        return values;
+    }
+
+    @Test
+    public void testLookupMatchesGradient() {
+        final ColorGradient gradient = ColorGradient.grayscale();
+        final int[] table = gradient.lookupTable(5);
+        Assertions.assertArrayEquals(new int[] {0xff000000, 0xff3f3f3f, 0xff7f7f7f, 0xffbfbfbf, 0xffffffff}, table);
+
+        final double[] values = {-2.0, -1.0, -0.5, 0.0, 0.5, 1.0, 2.0, Double.NaN};
+        final ImageRenderer renderer = new ImageRenderer();
+        renderer.setGradient(gradient);
+        renderer.setLookupSize(5);
+        final int[] pixels = new int[values.length + 1];
+        renderer.render(values, values.length, 1, pixels, 1);
+        Assertions.assertArrayEquals(new int[] {0, 0xff000000, 0xff000000, 0xff3f3f3f, 0xff7f7f7f, 0xffbfbfbf, 0xffffffff, 0xffffffff, 0xff000000},
+            pixels);
+    }
+
+    @Test
+    public void testImageIsUpsideDown() {
+        final double[] values = {-1.0, -1.0, 1.0, 1.0};
+        final ImageRenderer renderer = new ImageRenderer();
+        renderer.setGradient(ColorGradient.grayscale());
+        final int[] pixels = new int[4];
+        renderer.render(values, 2, 2, pixels, 0);
+        Assertions.assertArrayEquals(new int[] {0xffffffff, 0xffffffff, 0xff000000, 0xff000000}, pixels);
+    }
+
+    @Test
+    public void testParallelMatchesSerial() {
+        final double[] values = ImageRendererTest.grid();
+        final ImageRenderer renderer = new ImageRenderer();
+        renderer.setHillshade(true);
+        renderer.setLightContrast(5.0);
+        renderer.setStripHeight(3);
+
+        final int[] serial = new int[values.length];
+        Assertions.assertFalse(renderer.parallel());
+        renderer.render(values, ImageRendererTest.WIDTH, ImageRendererTest.HEIGHT, serial, 0);
+        final int[] parallel = new int[values.length];
+        renderer.setParallel(true);
+        renderer.render(values, ImageRendererTest.WIDTH, ImageRendererTest.HEIGHT, parallel, 0);
+        Assertions.assertArrayEquals(serial, parallel);
+    }
+
+    @Test
+    public void testHillshadeLightsSlopesFacingTheLight() {
+        // A surface rising from left to right, which faces the left.
+        final double[] values = {0.0, 0.1, 0.2, 0.0, 0.1, 0.2};
+        final ImageRenderer renderer = new ImageRenderer();
+        renderer.setGradient(ColorGradient.grayscale());
+        renderer.setHillshade(true);
+        final int[] pixels = new int[values.length];
+        renderer.setLightDirection(180.0, 45.0);
+        renderer.render(values, 3, 2, pixels, 0);
+        final int facing = pixels[1] & 0xff;
+        renderer.setLightDirection(0.0, 45.0);
+        renderer.render(values, 3, 2, pixels, 0);
+        final int behind = pixels[1] & 0xff;
+        Assertions.assertTrue(facing > behind, () -> facing + " <= " + behind);
+    }
+
+    @Test
+    public void testRejectsInvalidArguments() {
+        final ImageRenderer renderer = new ImageRenderer();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> renderer.setLookupSize(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> renderer.render(new double[4], 2, 2, new int[4], 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> renderer.render(new double[3], 2, 2, new int[4], 0));
+        renderer.setGradient(new ColorGradient());
+        Assertions.assertThrows(IllegalStateException.class, () -> renderer.render(new double[4], 2, 2, new int[4], 0));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.util.Arrays;
+
+public class CylinderTest {
+
+    // Marks the elements of the destination outside of the grid.
+    private static final double UNTOUCHED = -1234.5;
+
+    private static void assertRender(final Cylinder cylinder, final double lowerAngle, final double upperAngle, final double lowerHeight,
+            final double upperHeight, final int width, final int height) {
+        final int offset = 3;
+        final double[] dest = new double[offset + width * height + 4];
+        Arrays.fill(dest, CylinderTest.UNTOUCHED);
+        cylinder.render(lowerAngle, upperAngle, lowerHeight, upperHeight, width, height, dest, offset);
+
+        final double angleDelta = (upperAngle - lowerAngle) / width;
+        final double heightDelta = (upperHeight - lowerHeight) / height;
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                Assertions.assertEquals(cylinder.get(lowerAngle + column * angleDelta, lowerHeight + row * heightDelta),
+                    dest[offset + row * width + column]);
+            }
+        }
+        for (int i = 0; i < offset; i++) {
+            Assertions.assertEquals(CylinderTest.UNTOUCHED, dest[i]);
+        }
+        for (int i = offset + width * height; i < dest.length; i++) {
+            Assertions.assertEquals(CylinderTest.UNTOUCHED, dest[i]);
+        }
+    }
+
+    @Test
+    public void testRenderMatchesGet() {
+        CylinderTest.assertRender(new Cylinder(new Perlin()), 15.0, 95.0, -2.0, 3.5, 8, 5);
+    }
+
+    @Test
+    public void testRenderWrapsAround() {
+        // The angles cover the cylinder more than once, so the columns wrap
+        // around past 360 degrees.
+        CylinderTest.assertRender(new Cylinder(new Perlin()), -180.0, 540.0, 0.0, 1.0, 24, 4);
+    }
+
+    @Test
+    public void testRenderInvalidArguments() {
+        final Cylinder cylinder = new Cylinder(new Perlin());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cylinder.render(0.0, 360.0, 0.0, 1.0, 4, 0, new double[16], 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cylinder.render(0.0, 360.0, 0.0, 1.0, 4, 4, new double[16], 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cylinder.render(0.0, 360.0, 0.0, 1.0, 4, 4, new double[16], -1));
+    }
+
+}
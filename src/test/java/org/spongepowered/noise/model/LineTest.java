@@ -0,0 +1,124 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.util.Arrays;
+
+public class LineTest {
+
+    // Marks the elements of the destination outside of the samples.
+    private static final double UNTOUCHED = -1234.5;
+
+    private static Line line(final boolean attenuate) {
+        final Line line = new Line(new Perlin());
+        line.setStartPoint(-1.25, 0.5, 3.0);
+        line.setEndPoint(4.0, -2.0, 7.5);
+        line.setAttenuate(attenuate);
+        return line;
+    }
+
+    private static void assertUntouched(final double[] dest, final int offset, final int count) {
+        for (int i = 0; i < dest.length; i++) {
+            if (i < offset || i >= offset + count) {
+                Assertions.assertEquals(LineTest.UNTOUCHED, dest[i]);
+            }
+        }
+    }
+
+    private static void assertEvenlySpaced(final Line line, final int count) {
+        final int offset = 2;
+        final double[] dest = new double[offset + count + 3];
+        Arrays.fill(dest, LineTest.UNTOUCHED);
+        line.render(dest, offset, count);
+        final double step = count > 1 ? 1.0 / (count - 1) : 0.0;
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(line.get(i * step), dest[offset + i]);
+        }
+        LineTest.assertUntouched(dest, offset, count);
+    }
+
+    @Test
+    public void testEvenlySpacedMatchesGet() {
+        for (final boolean attenuate : new boolean[] {false, true}) {
+            final Line line = LineTest.line(attenuate);
+            LineTest.assertEvenlySpaced(line, 33);
+            LineTest.assertEvenlySpaced(line, 2);
+            LineTest.assertEvenlySpaced(line, 1);
+            LineTest.assertEvenlySpaced(line, 0);
+        }
+    }
+
+    @Test
+    public void testEndpoints() {
+        final Line line = LineTest.line(false);
+        final double[] dest = new double[5];
+        line.render(dest, 0, dest.length);
+        Assertions.assertEquals(line.module().get(-1.25, 0.5, 3.0), dest[0]);
+        Assertions.assertEquals(line.module().get(4.0, -2.0, 7.5), dest[4]);
+
+        // Attenuation fades the output values to zero at both ends.
+        line.setAttenuate(true);
+        line.render(dest, 0, dest.length);
+        Assertions.assertEquals(0.0, dest[0]);
+        Assertions.assertEquals(0.0, dest[4]);
+    }
+
+    @Test
+    public void testPositionsMatchGet() {
+        final double[] positions = {9.0, 0.0, 0.125, 0.5, 1.0, -0.25, 1.5, 0.9, 9.0};
+        for (final boolean attenuate : new boolean[] {false, true}) {
+            final Line line = LineTest.line(attenuate);
+            final int destOffset = 4;
+            final int length = positions.length - 2;
+            final double[] dest = new double[destOffset + length + 2];
+            Arrays.fill(dest, LineTest.UNTOUCHED);
+            line.render(positions, 1, dest, destOffset, length);
+            for (int i = 0; i < length; i++) {
+                Assertions.assertEquals(line.get(positions[1 + i]), dest[destOffset + i]);
+            }
+            LineTest.assertUntouched(dest, destOffset, length);
+        }
+    }
+
+    @Test
+    public void testRenderInvalidArguments() {
+        final Line line = LineTest.line(false);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> line.render(new double[4], 1, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> line.render(new double[4], -1, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> line.render(new double[4], 0, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> line.render(new double[3], 0, new double[4], 0, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> line.render(new double[4], 0, new double[4], 1, 4));
+    }
+
+}
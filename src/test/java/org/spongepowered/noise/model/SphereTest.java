@@ -0,0 +1,90 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.util.Arrays;
+
+public class SphereTest {
+
+    // Marks the elements of the destination outside of the grid.
+    private static final double UNTOUCHED = -1234.5;
+
+    private static void assertRender(final Sphere sphere, final double southLat, final double northLat, final double westLon, final double eastLon,
+            final int width, final int height) {
+        final int offset = 5;
+        final double[] dest = new double[offset + width * height + 4];
+        Arrays.fill(dest, SphereTest.UNTOUCHED);
+        sphere.render(southLat, northLat, westLon, eastLon, width, height, dest, offset);
+
+        final double latDelta = (northLat - southLat) / height;
+        final double lonDelta = (eastLon - westLon) / width;
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                Assertions.assertEquals(sphere.get(southLat + row * latDelta, westLon + column * lonDelta), dest[offset + row * width + column]);
+            }
+        }
+        for (int i = 0; i < offset; i++) {
+            Assertions.assertEquals(SphereTest.UNTOUCHED, dest[i]);
+        }
+        for (int i = offset + width * height; i < dest.length; i++) {
+            Assertions.assertEquals(SphereTest.UNTOUCHED, dest[i]);
+        }
+    }
+
+    @Test
+    public void testRenderMatchesGet() {
+        SphereTest.assertRender(new Sphere(new Perlin()), -20.0, 35.0, 10.0, 70.0, 9, 6);
+    }
+
+    @Test
+    public void testRenderWholeSphere() {
+        // Row zero lies on the south pole, and the columns span the whole
+        // circle of longitudes.
+        SphereTest.assertRender(new Sphere(new Perlin()), -90.0, 90.0, -180.0, 180.0, 16, 8);
+    }
+
+    @Test
+    public void testRenderAcrossAntimeridian() {
+        SphereTest.assertRender(new Sphere(new Perlin()), 60.0, 90.0, 150.0, 240.0, 12, 3);
+    }
+
+    @Test
+    public void testRenderInvalidArguments() {
+        final Sphere sphere = new Sphere(new Perlin());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sphere.render(-90.0, 90.0, -180.0, 180.0, 0, 4, new double[16], 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sphere.render(-90.0, 90.0, -180.0, 180.0, 4, 4, new double[16], 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sphere.render(-90.0, 90.0, -180.0, 180.0, 4, 4, new double[16], -1));
+    }
+
+}
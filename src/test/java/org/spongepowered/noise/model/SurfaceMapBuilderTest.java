@@ -0,0 +1,200 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.Utils;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+public class SurfaceMapBuilderTest {
+
+    private static final int WIDTH = 7;
+    private static final int HEIGHT = 5;
+    private static final double HEIGHT_SCALE = 2.5;
+    // Marks the elements of a buffer past the end of the maps.
+    private static final double UNTOUCHED = -1234.5;
+
+    @FunctionalInterface
+    private interface Sampler {
+        double get(int row, int column);
+    }
+
+    private static double[] buffer(final int length) {
+        final double[] buffer = new double[length + 3];
+        Arrays.fill(buffer, SurfaceMapBuilderTest.UNTOUCHED);
+        return buffer;
+    }
+
+    private static void assertUntouched(final double[] buffer, final int length) {
+        for (int i = length; i < buffer.length; i++) {
+            Assertions.assertEquals(SurfaceMapBuilderTest.UNTOUCHED, buffer[i]);
+        }
+    }
+
+    // Builds every map into buffers larger than required and checks each cell
+    // against samples taken independently of the builder.
+    private static void assertMaps(final SurfaceMapBuilder builder, final Sampler sampler, final IntToDoubleFunction columnSpacing,
+            final double rowSpacing) {
+        final int cells = SurfaceMapBuilderTest.WIDTH * SurfaceMapBuilderTest.HEIGHT;
+        final double[] heights = SurfaceMapBuilderTest.buffer(cells);
+        final double[] normals = SurfaceMapBuilderTest.buffer(3 * cells);
+        final double[] slopes = SurfaceMapBuilderTest.buffer(cells);
+        final double[] curvatures = SurfaceMapBuilderTest.buffer(cells);
+        builder.setDestSize(SurfaceMapBuilderTest.WIDTH, SurfaceMapBuilderTest.HEIGHT);
+        builder.setHeightScale(SurfaceMapBuilderTest.HEIGHT_SCALE);
+        builder.setHeightBuffer(heights);
+        builder.setNormalBuffer(normals);
+        builder.setSlopeBuffer(slopes);
+        builder.setCurvatureBuffer(curvatures);
+        builder.build();
+
+        final double scale = SurfaceMapBuilderTest.HEIGHT_SCALE;
+        for (int row = 0; row < SurfaceMapBuilderTest.HEIGHT; row++) {
+            final double xSpacing = columnSpacing.applyAsDouble(row);
+            for (int column = 0; column < SurfaceMapBuilderTest.WIDTH; column++) {
+                final int index = row * SurfaceMapBuilderTest.WIDTH + column;
+                final double center = sampler.get(row, column);
+                final double west = sampler.get(row, column - 1);
+                final double east = sampler.get(row, column + 1);
+                final double south = sampler.get(row - 1, column);
+                final double north = sampler.get(row + 1, column);
+                final double dx = (east - west) * scale / (2.0 * xSpacing);
+                final double dz = (north - south) * scale / (2.0 * rowSpacing);
+                final double length = Math.sqrt(dx * dx + 1.0 + dz * dz);
+                final double curvature = (east - 2.0 * center + west) * scale / (xSpacing * xSpacing)
+                    + (north - 2.0 * center + south) * scale / (rowSpacing * rowSpacing);
+
+                Assertions.assertEquals(center, heights[index]);
+                Assertions.assertEquals(-dx / length, normals[3 * index], 1.0e-12);
+                Assertions.assertEquals(1.0 / length, normals[3 * index + 1], 1.0e-12);
+                Assertions.assertEquals(-dz / length, normals[3 * index + 2], 1.0e-12);
+                Assertions.assertEquals(Math.sqrt(dx * dx + dz * dz), slopes[index], 1.0e-9 * Math.max(1.0, slopes[index]));
+                Assertions.assertEquals(curvature, curvatures[index], 1.0e-9 * Math.max(1.0, Math.abs(curvature)));
+            }
+        }
+        SurfaceMapBuilderTest.assertUntouched(heights, cells);
+        SurfaceMapBuilderTest.assertUntouched(normals, 3 * cells);
+        SurfaceMapBuilderTest.assertUntouched(slopes, cells);
+        SurfaceMapBuilderTest.assertUntouched(curvatures, cells);
+    }
+
+    @Test
+    public void testPlaneMatchesScalarGet() {
+        final Plane plane = new Plane(new Perlin());
+        final PlaneSurfaceBuilder builder = plane.surfaceBuilder();
+        builder.setBounds(-1.5, 2.0, 0.25, 3.0);
+        final double xDelta = 3.5 / SurfaceMapBuilderTest.WIDTH;
+        final double zDelta = 2.75 / SurfaceMapBuilderTest.HEIGHT;
+        // The rows and columns just outside of the region are sampled too.
+        SurfaceMapBuilderTest.assertMaps(builder, (row, column) -> plane.get(-1.5 + column * xDelta, 0.25 + row * zDelta), row -> xDelta, zDelta);
+    }
+
+    @Test
+    public void testSeamlessPlaneWrapsAround() {
+        final Plane plane = new Plane(new Perlin());
+        final PlaneSurfaceBuilder builder = plane.surfaceBuilder();
+        builder.setBounds(-1.5, 2.0, 0.25, 3.0);
+        builder.setSeamless(true);
+        final double xDelta = 3.5 / SurfaceMapBuilderTest.WIDTH;
+        final double zDelta = 2.75 / SurfaceMapBuilderTest.HEIGHT;
+        final Sampler blended = (row, column) -> {
+            // Neighbours beyond an edge are the cells on the opposite edge.
+            final int wrappedRow = Math.floorMod(row, SurfaceMapBuilderTest.HEIGHT);
+            final int wrappedColumn = Math.floorMod(column, SurfaceMapBuilderTest.WIDTH);
+            final double x = -1.5 + wrappedColumn * xDelta;
+            final double z = 0.25 + wrappedRow * zDelta;
+            final double xBlend = 1.0 - wrappedColumn / (double) SurfaceMapBuilderTest.WIDTH;
+            final double zBlend = 1.0 - wrappedRow / (double) SurfaceMapBuilderTest.HEIGHT;
+            final double south = Utils.linearInterp(plane.get(x, z), plane.get(x + 3.5, z), xBlend);
+            final double north = Utils.linearInterp(plane.get(x, z + 2.75), plane.get(x + 3.5, z + 2.75), xBlend);
+            return Utils.linearInterp(south, north, zBlend);
+        };
+        SurfaceMapBuilderTest.assertMaps(builder, blended, row -> xDelta, zDelta);
+    }
+
+    @Test
+    public void testSphereMatchesScalarGet() {
+        final Sphere sphere = new Sphere(new Perlin());
+        final SphereSurfaceBuilder builder = sphere.surfaceBuilder();
+        // The default bounds cover the whole sphere, so the first and last
+        // rows lie on the poles and the neighbouring rows past them.
+        final double latDelta = 180.0 / SurfaceMapBuilderTest.HEIGHT;
+        final double lonDelta = 360.0 / SurfaceMapBuilderTest.WIDTH;
+        final IntToDoubleFunction latitude = row -> -90.0 + row * 180.0 / SurfaceMapBuilderTest.HEIGHT;
+        SurfaceMapBuilderTest.assertMaps(builder, (row, column) -> sphere.get(latitude.applyAsDouble(row), -180.0 + column * lonDelta),
+            row -> Math.max(Math.toRadians(lonDelta) * Math.cos(Math.toRadians(latitude.applyAsDouble(row))), 1.0e-9),
+            Math.toRadians(latDelta));
+    }
+
+    @Test
+    public void testSphereRegion() {
+        final Sphere sphere = new Sphere(new Perlin());
+        final SphereSurfaceBuilder builder = sphere.surfaceBuilder();
+        builder.setBounds(-30.0, 45.0, 170.0, 200.0);
+        final double lonDelta = 30.0 / SurfaceMapBuilderTest.WIDTH;
+        final IntToDoubleFunction latitude = row -> -30.0 + row * 75.0 / SurfaceMapBuilderTest.HEIGHT;
+        SurfaceMapBuilderTest.assertMaps(builder, (row, column) -> sphere.get(latitude.applyAsDouble(row), 170.0 + column * lonDelta),
+            row -> Math.toRadians(lonDelta) * Math.cos(Math.toRadians(latitude.applyAsDouble(row))),
+            Math.toRadians(75.0 / SurfaceMapBuilderTest.HEIGHT));
+    }
+
+    @Test
+    public void testHeightsOnly() {
+        final Plane plane = new Plane(new Perlin());
+        final PlaneSurfaceBuilder builder = plane.surfaceBuilder();
+        final double[] heights = new double[SurfaceMapBuilderTest.WIDTH * SurfaceMapBuilderTest.HEIGHT];
+        builder.setDestSize(SurfaceMapBuilderTest.WIDTH, SurfaceMapBuilderTest.HEIGHT);
+        builder.setHeightBuffer(heights);
+        builder.build();
+        final double xDelta = 1.0 / SurfaceMapBuilderTest.WIDTH;
+        final double zDelta = 1.0 / SurfaceMapBuilderTest.HEIGHT;
+        for (int row = 0; row < SurfaceMapBuilderTest.HEIGHT; row++) {
+            for (int column = 0; column < SurfaceMapBuilderTest.WIDTH; column++) {
+                Assertions.assertEquals(plane.get(column * xDelta, row * zDelta), heights[row * SurfaceMapBuilderTest.WIDTH + column]);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        final PlaneSurfaceBuilder builder = new Plane(new Perlin()).surfaceBuilder();
+        Assertions.assertThrows(IllegalStateException.class, builder::build);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.setDestSize(0, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.setBounds(1.0, 1.0, 0.0, 1.0));
+        builder.setDestSize(4, 4);
+        builder.setNormalBuffer(new double[3 * 16 - 1]);
+        Assertions.assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.exception.NoiseException;
+import org.spongepowered.noise.module.combiner.Add;
+import org.spongepowered.noise.module.combiner.Select;
+import org.spongepowered.noise.module.modifier.Curve;
+import org.spongepowered.noise.module.source.Const;
+import org.spongepowered.noise.module.source.Fractal;
+import org.spongepowered.noise.module.source.FractalBasis;
+import org.spongepowered.noise.module.source.Perlin;
+import org.spongepowered.noise.module.source.RidgedMulti;
+
+public class ModuleFingerprintTest {
+
+    private static NoiseModule graph(final boolean shared, final double curveOutput) {
+        final Perlin perlin = new Perlin();
+        perlin.setSeed(42);
+        final Curve curve = new Curve(perlin);
+        curve.addControlPoint(-1.0, -1.0);
+        curve.addControlPoint(0.0, curveOutput);
+        curve.addControlPoint(0.5, 0.5);
+        curve.addControlPoint(1.0, 1.0);
+        final Perlin other;
+        if (shared) {
+            other = perlin;
+        } else {
+            other = new Perlin();
+            other.setSeed(42);
+        }
+        final Select select = new Select(curve, new RidgedMulti(), other);
+        select.setBounds(0.75, -0.25);
+        return new Add(select, other);
+    }
+
+    @Test
+    public void testEqualGraphsHaveEqualFingerprints() {
+        final ModuleFingerprint shared = ModuleFingerprint.of(ModuleFingerprintTest.graph(true, 0.25));
+        Assertions.assertEquals(shared, ModuleFingerprint.of(ModuleFingerprintTest.graph(true, 0.25)));
+        Assertions.assertEquals(shared, ModuleFingerprint.of(ModuleFingerprintTest.graph(false, 0.25)));
+        Assertions.assertNotEquals(shared, ModuleFingerprint.of(ModuleFingerprintTest.graph(true, 0.3)));
+    }
+
+    @Test
+    public void testFingerprintIsStable() {
+        // Guards against accidental changes to the hashed representation, which
+        // would invalidate every persisted cache.
+        final Const constant = new Const();
+        constant.setValue(0.5);
+        Assertions.assertEquals("947d8344204d85981a4efa97ac34ac8ae09c0e3a2054ef7952e531b3940cb5f5", ModuleFingerprint.of(constant).toString());
+    }
+
+    @Test
+    public void testSourceOrderMatters() {
+        final Const a = new Const();
+        a.setValue(1.0);
+        final Const b = new Const();
+        b.setValue(2.0);
+        Assertions.assertNotEquals(ModuleFingerprint.of(new Add(a, b)), ModuleFingerprint.of(new Add(b, a)));
+    }
+
+    @Test
+    public void testUndescribedModuleIsRejected() {
+        final NoiseModule custom = new NoiseModule(0) {
+            @Override
+            public double get(final double x, final double y, final double z) {
+                return 0.0;
+            }
+        };
+        Assertions.assertThrows(NoiseException.class, () -> ModuleFingerprint.of(new Add(custom, new Const())));
+    }
+
+    @Test
+    public void testUndescribedFractalBasisIsRejected() {
+        final Fractal sine = new Fractal();
+        sine.setBasis((x, y, z, octave) -> Math.sin(x));
+        final Fractal cosine = new Fractal();
+        cosine.setBasis((x, y, z, octave) -> 0.3 * Math.cos(y));
+        Assertions.assertThrows(NoiseException.class, () -> ModuleFingerprint.of(sine));
+        Assertions.assertThrows(NoiseException.class, () -> ModuleFingerprint.of(new Add(cosine, new Const())));
+        // The built-in bases describe themselves.
+        final Fractal voronoi = new Fractal();
+        voronoi.setBasis(FractalBasis.voronoi(0, 1.0, false));
+        Assertions.assertNotEquals(ModuleFingerprint.of(new Fractal()), ModuleFingerprint.of(voronoi));
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.GradientHashing;
+import org.spongepowered.noise.module.combiner.Add;
+import org.spongepowered.noise.module.combiner.Displace;
+import org.spongepowered.noise.module.modifier.RotatePoint;
+import org.spongepowered.noise.module.modifier.ScalePoint;
+import org.spongepowered.noise.module.modifier.TranslatePoint;
+import org.spongepowered.noise.module.modifier.Turbulence;
+import org.spongepowered.noise.module.source.Billow;
+import org.spongepowered.noise.module.source.Const;
+import org.spongepowered.noise.module.source.Perlin;
+import org.spongepowered.noise.module.source.RidgedMulti;
+import org.spongepowered.noise.module.source.RidgedMultiSimplex;
+import org.spongepowered.noise.module.source.Simplex;
+
+import java.util.Random;
+
+public class NoiseModuleTest {
+
+    private static void assertListMatchesSingleValues(final NoiseModule module) {
+        final Random random = new Random(42);
+        final int offset = 3;
+        final int length = 257;
+        final double[] x = new double[offset + length + 2];
+        final double[] y = new double[x.length];
+        final double[] z = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = (random.nextDouble() - 0.5) * 200.0;
+            y[i] = (random.nextDouble() - 0.5) * 200.0;
+            z[i] = (random.nextDouble() - 0.5) * 200.0;
+        }
+        final double[] xCopy = x.clone();
+        final double[] yCopy = y.clone();
+        final double[] zCopy = z.clone();
+
+        final double[] dest = new double[x.length];
+        module.get(x, y, z, dest, offset, length);
+        for (int i = 0; i < x.length; i++) {
+            if (i < offset || i >= offset + length) {
+                Assertions.assertEquals(0.0, dest[i]);
+            } else {
+                Assertions.assertEquals(module.get(xCopy[i], yCopy[i], zCopy[i]), dest[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testSourceListMatchesSingleValues() {
+        final Perlin perlin = new Perlin();
+        perlin.setSampleSpacing(0.01);
+        perlin.setFadeLastOctave(true);
+        NoiseModuleTest.assertListMatchesSingleValues(perlin);
+        NoiseModuleTest.assertListMatchesSingleValues(new Billow());
+        NoiseModuleTest.assertListMatchesSingleValues(new Simplex());
+        NoiseModuleTest.assertListMatchesSingleValues(new RidgedMulti());
+        NoiseModuleTest.assertListMatchesSingleValues(new RidgedMultiSimplex());
+        final Const constant = new Const();
+        constant.setValue(0.5);
+        NoiseModuleTest.assertListMatchesSingleValues(constant);
+
+        final Perlin permutedPerlin = new Perlin();
+        permutedPerlin.setGradientHashing(GradientHashing.PERMUTATION);
+        NoiseModuleTest.assertListMatchesSingleValues(permutedPerlin);
+        final Billow permutedBillow = new Billow();
+        permutedBillow.setGradientHashing(GradientHashing.PERMUTATION);
+        NoiseModuleTest.assertListMatchesSingleValues(permutedBillow);
+        final RidgedMulti permutedRidged = new RidgedMulti();
+        permutedRidged.setGradientHashing(GradientHashing.PERMUTATION);
+        NoiseModuleTest.assertListMatchesSingleValues(permutedRidged);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> permutedPerlin.setGradientHashing(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> permutedBillow.setGradientHashing(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> permutedRidged.setGradientHashing(null));
+    }
+
+    @Test
+    public void testTransformerListMatchesSingleValues() {
+        final RotatePoint rotate = new RotatePoint(new Perlin());
+        rotate.setAngles(12.0, 34.0, 56.0);
+        final ScalePoint scale = new ScalePoint(rotate);
+        scale.setXScale(0.5);
+        scale.setYScale(2.0);
+        scale.setZScale(0.25);
+        final TranslatePoint translate = new TranslatePoint(scale);
+        translate.setTranslations(10.0, -3.0, 0.5);
+        NoiseModuleTest.assertListMatchesSingleValues(translate);
+
+        final Turbulence turbulence = new Turbulence(new Simplex());
+        turbulence.setPower(0.5);
+        NoiseModuleTest.assertListMatchesSingleValues(turbulence);
+    }
+
+    @Test
+    public void testDisplaceListMatchesSingleValues() {
+        // Add has no override, so the source is evaluated by the default
+        // implementation over the displaced list.
+        NoiseModuleTest.assertListMatchesSingleValues(new Displace(new Add(new Billow(), new Perlin()), new Perlin(), new RidgedMulti(), new Simplex()));
+
+        // Displacement modules that are transformers themselves must not see
+        // the offsets applied by the other axes.
+        final TranslatePoint translate = new TranslatePoint(new Perlin());
+        translate.setTranslations(10.0, -3.0, 0.5);
+        final Turbulence turbulence = new Turbulence(new Simplex());
+        turbulence.setPower(0.5);
+        NoiseModuleTest.assertListMatchesSingleValues(new Displace(new Add(new Billow(), translate), turbulence, translate, new Simplex()));
+        final Displace nested = new Displace(new Billow(), new Const(), translate, turbulence);
+        NoiseModuleTest.assertListMatchesSingleValues(new Displace(nested, nested, new RidgedMulti(), new Const()));
+    }
+
+}
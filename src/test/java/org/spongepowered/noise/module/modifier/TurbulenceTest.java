@@ -0,0 +1,122 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.modifier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.source.Perlin;
+
+public class TurbulenceTest {
+
+    private static final double[][] POINTS = {
+        {0.0, 0.0, 0.0},
+        {0.3, -1.7, 2.25},
+        {-12.5, 4.125, 0.875},
+        {101.9, -55.3, 7.0},
+        {-0.001, 1.0e-4, 3.5}
+    };
+
+    // A source module that outputs one coordinate of its input value, so the
+    // displaced coordinates can be read back.
+    private static NoiseModule axis(final int axis) {
+        return new NoiseModule(0) {
+            @Override
+            public double get(final double x, final double y, final double z) {
+                return axis == 0 ? x : axis == 1 ? y : z;
+            }
+        };
+    }
+
+    private static Perlin perlin(final Turbulence turbulence, final int seed) {
+        final Perlin perlin = new Perlin();
+        perlin.setFrequency(turbulence.frequency());
+        perlin.setOctaveCount(turbulence.roughnessCount());
+        perlin.setSeed(seed);
+        return perlin;
+    }
+
+    // Compares the displaced coordinates of a turbulence module with three
+    // standalone Perlin noise modules at the documented offsets.
+    private static void assertDisplacement(final Turbulence turbulence, final int xSeed, final int ySeed, final int zSeed) {
+        final Perlin xPerlin = TurbulenceTest.perlin(turbulence, xSeed);
+        final Perlin yPerlin = TurbulenceTest.perlin(turbulence, ySeed);
+        final Perlin zPerlin = TurbulenceTest.perlin(turbulence, zSeed);
+        final int length = TurbulenceTest.POINTS.length;
+        for (int axis = 0; axis < 3; axis++) {
+            turbulence.setSourceModule(0, TurbulenceTest.axis(axis));
+            final double[] x = new double[length + 1];
+            final double[] y = new double[length + 1];
+            final double[] z = new double[length + 1];
+            final double[] bulk = new double[length + 1];
+            for (int i = 0; i < length; i++) {
+                x[i + 1] = TurbulenceTest.POINTS[i][0];
+                y[i + 1] = TurbulenceTest.POINTS[i][1];
+                z[i + 1] = TurbulenceTest.POINTS[i][2];
+            }
+            turbulence.get(x, y, z, bulk, 1, length);
+
+            for (int i = 0; i < length; i++) {
+                final double px = TurbulenceTest.POINTS[i][0];
+                final double py = TurbulenceTest.POINTS[i][1];
+                final double pz = TurbulenceTest.POINTS[i][2];
+                final double expected;
+                if (axis == 0) {
+                    expected = px + xPerlin.get(px + (12414.0 / 65536.0), py + (65124.0 / 65536.0), pz + (31337.0 / 65536.0)) * turbulence.power();
+                } else if (axis == 1) {
+                    expected = py + yPerlin.get(px + (26519.0 / 65536.0), py + (18128.0 / 65536.0), pz + (60493.0 / 65536.0)) * turbulence.power();
+                } else {
+                    expected = pz + zPerlin.get(px + (53820.0 / 65536.0), py + (11213.0 / 65536.0), pz + (44845.0 / 65536.0)) * turbulence.power();
+                }
+                Assertions.assertEquals(expected, turbulence.get(px, py, pz));
+                Assertions.assertEquals(expected, bulk[i + 1]);
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultSeedMatchesPerlin() {
+        // Until a seed is set, all three Perlin noise modules share the
+        // default seed.
+        final Turbulence turbulence = new Turbulence();
+        TurbulenceTest.assertDisplacement(turbulence, Perlin.DEFAULT_PERLIN_SEED, Perlin.DEFAULT_PERLIN_SEED, Perlin.DEFAULT_PERLIN_SEED);
+    }
+
+    @Test
+    public void testSeedMatchesPerlin() {
+        final Turbulence turbulence = new Turbulence();
+        turbulence.setSeed(-17);
+        turbulence.setFrequency(2.5);
+        turbulence.setPower(0.375);
+        turbulence.setRoughness(4);
+        TurbulenceTest.assertDisplacement(turbulence, -17, -16, -15);
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.source;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.LatticeOrientation;
+import org.spongepowered.noise.NoiseQuality;
+import org.spongepowered.noise.NoiseQualitySimplex;
+import org.spongepowered.noise.module.ModuleFingerprint;
+import org.spongepowered.noise.module.NoiseModule;
+
+public class FractalTest {
+
+    private static final int COUNT = 300;
+
+    private static double[] coordinates(final double scale, final double shift) {
+        final double[] coordinates = new double[FractalTest.COUNT];
+        for (int n = 0; n < coordinates.length; n++) {
+            coordinates[n] = (n * 0.731 + shift) * scale;
+        }
+        return coordinates;
+    }
+
+    private static void assertBulkMatchesScalar(final NoiseModule module, final String message) {
+        final double[] x = FractalTest.coordinates(0.37, -40.0);
+        final double[] y = FractalTest.coordinates(0.11, 3.0);
+        final double[] z = FractalTest.coordinates(-0.53, 17.0);
+        final double[] expected = new double[FractalTest.COUNT];
+        for (int n = 0; n < expected.length; n++) {
+            expected[n] = module.get(x[n], y[n], z[n]);
+        }
+        final double[] actual = new double[FractalTest.COUNT];
+        module.get(x, y, z, actual, 0, FractalTest.COUNT);
+        Assertions.assertArrayEquals(expected, actual, message);
+    }
+
+    @Test
+    public void testFbmMatchesRescaledPerlin() {
+        final Fractal fractal = new Fractal();
+        fractal.setBasis(FractalBasis.perlin(NoiseQuality.BEST, 7));
+        fractal.setOctaveCount(5);
+        final Perlin perlin = new Perlin();
+        perlin.setNoiseQuality(NoiseQuality.BEST);
+        perlin.setSeed(7);
+        perlin.setOctaveCount(5);
+        // Each octave of the basis is doubled and then decreased by one, so the
+        // sum is decreased by the sum of the persistence weights.
+        final double weights = 1.0 + 0.5 + 0.25 + 0.125 + 0.0625;
+        for (int n = 0; n < FractalTest.COUNT; n++) {
+            final double expected = perlin.get(n * 0.37, n * -0.11, n * 0.05) * 2 - weights;
+            Assertions.assertEquals(expected, fractal.get(n * 0.37, n * -0.11, n * 0.05), 1e-12);
+        }
+    }
+
+    @Test
+    public void testBillowMatchesBillow() {
+        final Fractal fractal = new Fractal();
+        fractal.setType(FractalType.BILLOW);
+        fractal.setBasis(FractalBasis.perlin(NoiseQuality.BEST, 7));
+        fractal.setOctaveCount(5);
+        fractal.setPersistence(0.6);
+        final Billow billow = new Billow();
+        billow.setQuality(NoiseQuality.BEST);
+        billow.setSeed(7);
+        billow.setOctaveCount(5);
+        billow.setPersistence(0.6);
+        for (int n = 0; n < FractalTest.COUNT; n++) {
+            Assertions.assertEquals(billow.get(n * 0.37, n * -0.11, n * 0.05), fractal.get(n * 0.37, n * -0.11, n * 0.05) + 0.25);
+        }
+    }
+
+    @Test
+    public void testTypesDifferFromFbm() {
+        final FractalBasis[] bases = {
+            FractalBasis.perlin(NoiseQuality.STANDARD, 3),
+            FractalBasis.simplex(LatticeOrientation.XZ_BEFORE_Y, NoiseQualitySimplex.STANDARD, -5)
+        };
+        for (int basis = 0; basis < bases.length; basis++) {
+            final Fractal fbm = new Fractal();
+            fbm.setBasis(bases[basis]);
+            for (final FractalType type : new FractalType[] {FractalType.BILLOW, FractalType.RIDGED}) {
+                final Fractal fractal = new Fractal();
+                fractal.setType(type);
+                fractal.setBasis(bases[basis]);
+                int same = 0;
+                for (int n = 0; n < FractalTest.COUNT; n++) {
+                    final double x = n * 0.37 + 0.13;
+                    final double y = n * -0.11 + 0.29;
+                    final double z = n * 0.05 + 0.71;
+                    if (fbm.get(x, y, z) == fractal.get(x, y, z)) {
+                        same++;
+                    }
+                }
+                // Billow noise only matches where every octave is positive.
+                Assertions.assertTrue(same < FractalTest.COUNT / 10, type + " basis " + basis + " matched FBM " + same + " times");
+            }
+        }
+    }
+
+    @Test
+    public void testBasesHaveSignedOutput() {
+        final FractalBasis[] bases = {
+            FractalBasis.perlin(NoiseQuality.STANDARD, 3),
+            FractalBasis.simplex(LatticeOrientation.XZ_BEFORE_Y, NoiseQualitySimplex.STANDARD, -5)
+        };
+        for (int basis = 0; basis < bases.length; basis++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int n = 0; n < 10_000; n++) {
+                final double value = bases[basis].get(n * 0.37, n * -0.11, n * 0.05, 0);
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            Assertions.assertTrue(min < -0.5 && min >= -1.0, "minimum of basis " + basis + " is " + min);
+            Assertions.assertTrue(max > 0.5 && max <= 1.0, "maximum of basis " + basis + " is " + max);
+        }
+    }
+
+    @Test
+    public void testBulkMatchesScalar() {
+        final FractalBasis[] bases = {
+            FractalBasis.perlin(NoiseQuality.STANDARD, 3),
+            FractalBasis.simplex(LatticeOrientation.XZ_BEFORE_Y, NoiseQualitySimplex.STANDARD, -5),
+            FractalBasis.voronoi(11, 1.0, true),
+            (x, y, z, octave) -> Math.sin(x + octave) * Math.cos(z - y)
+        };
+        for (final FractalType type : FractalType.values()) {
+            for (int basis = 0; basis < bases.length; basis++) {
+                final Fractal fractal = new Fractal();
+                fractal.setType(type);
+                fractal.setBasis(bases[basis]);
+                fractal.setSampleSpacing(0.01);
+                fractal.setFadeLastOctave(true);
+                FractalTest.assertBulkMatchesScalar(fractal, type + " basis " + basis);
+            }
+        }
+    }
+
+    @Test
+    public void testBuiltinModulesMatchScalar() {
+        final RidgedMulti ridged = new RidgedMulti();
+        ridged.setSeed(-2);
+        FractalTest.assertBulkMatchesScalar(ridged, "RidgedMulti");
+        FractalTest.assertBulkMatchesScalar(new Billow(), "Billow");
+        FractalTest.assertBulkMatchesScalar(new Simplex(), "Simplex");
+        FractalTest.assertBulkMatchesScalar(new RidgedMultiSimplex(), "RidgedMultiSimplex");
+    }
+
+    @Test
+    public void testSettingsApplyAfterEvaluation() {
+        final Billow billow = new Billow();
+        billow.get(0.3, 0.5, 0.7);
+        billow.setSeed(12);
+        billow.setLacunarity(2.5);
+        final Billow expected = new Billow();
+        expected.setSeed(12);
+        expected.setLacunarity(2.5);
+        Assertions.assertEquals(expected.get(0.3, 0.5, 0.7), billow.get(0.3, 0.5, 0.7));
+
+        final Fractal fractal = new Fractal();
+        final double before = fractal.get(0.3, 0.5, 0.7);
+        fractal.setType(FractalType.RIDGED);
+        Assertions.assertNotEquals(before, fractal.get(0.3, 0.5, 0.7));
+    }
+
+    @Test
+    public void testBasisAffectsFingerprint() {
+        final Fractal first = new Fractal();
+        final Fractal second = new Fractal();
+        Assertions.assertEquals(ModuleFingerprint.of(first), ModuleFingerprint.of(second));
+        second.setBasis(FractalBasis.perlin(NoiseQuality.STANDARD, 1));
+        Assertions.assertNotEquals(ModuleFingerprint.of(first), ModuleFingerprint.of(second));
+        second.setBasis(FractalBasis.voronoi(0, 1.0, false));
+        Assertions.assertNotEquals(ModuleFingerprint.of(first), ModuleFingerprint.of(second));
+    }
+
+    @Test
+    public void testRejectsInvalidSettings() {
+        final Fractal fractal = new Fractal();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> fractal.setOctaveCount(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> fractal.setOctaveCount(Fractal.FRACTAL_MAX_OCTAVE + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> fractal.setSampleSpacing(-1.0));
+    }
+}
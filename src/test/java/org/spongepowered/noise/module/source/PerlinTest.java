@@ -52,4 +52,75 @@ public class PerlinTest {
         Assertions.assertEquals(max, methodVal, 5e-16);
     }
 
+    @Test
+    public void testGradientMatchesFiniteDifferences() {
+        final Perlin perlin = new Perlin();
+        perlin.setFrequency(0.37);
+        perlin.setOctaveCount(5);
+        final double[] gradient = new double[3];
+        final double delta = 1e-7;
+        for (int i = 0; i < 100; i++) {
+            final double x = i * 1.37;
+            final double y = i * -0.71;
+            final double z = i * 0.23;
+            final double value = perlin.get(x, y, z, gradient);
+            Assertions.assertEquals(perlin.get(x, y, z), value);
+            Assertions.assertEquals((perlin.get(x + delta, y, z) - perlin.get(x - delta, y, z)) / (2 * delta), gradient[0], 1e-5);
+            Assertions.assertEquals((perlin.get(x, y + delta, z) - perlin.get(x, y - delta, z)) / (2 * delta), gradient[1], 1e-5);
+            Assertions.assertEquals((perlin.get(x, y, z + delta) - perlin.get(x, y, z - delta)) / (2 * delta), gradient[2], 1e-5);
+        }
+    }
+
+    @Test
+    public void testSampleSpacingCullsOctaves() {
+        final Perlin culled = new Perlin();
+        final Perlin reference = new Perlin();
+        // Octave frequencies 1, 2, 4 and 8 are at or below the Nyquist limit of 8.
+        culled.setSampleSpacing(1.0 / 16.0);
+        reference.setOctaveCount(4);
+
+        final Perlin faded = new Perlin();
+        final Perlin fadedReference = new Perlin();
+        faded.setFadeLastOctave(true);
+        // The fourth octave is only just evaluated and barely contributes.
+        faded.setSampleSpacing(1.0 / 16.0 - 1e-9);
+        fadedReference.setOctaveCount(3);
+
+        for (int i = 0; i < 100; i++) {
+            final double x = i * 1.37;
+            final double y = i * -0.71;
+            final double z = i * 0.23;
+            Assertions.assertEquals(reference.get(x, y, z), culled.get(x, y, z));
+            Assertions.assertEquals(fadedReference.get(x, y, z), faded.get(x, y, z), 1e-6);
+        }
+    }
+
+    @Test
+    public void testPeriodRepeatsOutput() {
+        final Perlin perlin = new Perlin();
+        perlin.setFrequency(0.37);
+        perlin.setPeriod(10.5, 0.0, 7.25);
+        final double[] gradient = new double[3];
+        final double[] shiftedGradient = new double[3];
+
+        for (int i = 0; i < 100; i++) {
+            final double x = i * 1.37;
+            final double y = i * -0.71;
+            final double z = i * 0.23;
+            final double value = perlin.get(x, y, z, gradient);
+            Assertions.assertEquals(value, perlin.get(x, y, z), 1e-12);
+            Assertions.assertEquals(value, perlin.get(x - 3 * 10.5, y, z + 2 * 7.25, shiftedGradient), 1e-12);
+            for (int axis = 0; axis < 3; axis++) {
+                Assertions.assertEquals(gradient[axis], shiftedGradient[axis], 1e-9);
+            }
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> perlin.setPeriod(-1.0, 0.0, 0.0));
+
+        // A period shorter than half a cell holds a single cell.
+        perlin.setPeriod(0.75, 0.0, 0.0);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(perlin.get(i * 0.13, 0.5, 0.25), perlin.get(i * 0.13 + 0.75, 0.5, 0.25), 1e-12);
+        }
+    }
+
 }
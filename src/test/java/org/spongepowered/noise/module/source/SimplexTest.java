@@ -0,0 +1,109 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module.source;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.LatticeOrientation;
+import org.spongepowered.noise.NoiseQualitySimplex;
+import org.spongepowered.noise.module.NoiseModule;
+
+public class SimplexTest {
+
+    private static final double[][] POINTS = {
+        {0.3, -1.7, 2.25},
+        {-12.5, 4.125, 0.875},
+        {101.9, -55.3, 7.0}
+    };
+
+    // Output values generated before the lattice hashes of the simplex-style
+    // walk were precomputed, one row per lattice orientation and quality in
+    // declaration order: the value at each point, then the gradient at the
+    // first point.
+    private static final double[][] SIMPLEX_VALUES = {
+        {0.9409045378222248, 1.1609790881919562, 1.3800650133604275, -2.9849755737443715, 1.9917791800161297, 0.7647284397107698},
+        {0.8828004708796845, 1.2032422509463438, 1.3540017953074033, 0.11557665132971234, 2.250904023322817, 2.147202521900484},
+        {1.1196176414301242, 0.8758792622152571, 0.9046371318412901, -2.259036813942178, -0.4315306928687938, 2.125654660744601},
+        {1.0125868734005683, 0.9739457932566624, 1.0784631568594587, -2.991358732621598, -1.0439528945882868, 1.904477691963565},
+        {1.1874136311232781, 1.0751321891082697, 0.5933360012351812, 2.489215939645236, -0.8021109017365848, 1.1503543591194398},
+        {1.1026915684018188, 1.0794125254751792, 0.728004648710179, 2.0603905536419576, -0.6931502739178128, 0.7935230408612475},
+    };
+
+    private static final double[][] RIDGED_VALUES = {
+        {0.21957452974378677, 0.9999048775486389, 0.9136714264268522, -1.2470059370658775, 1.3726918505641699, -1.4347777189887947},
+        {0.1687701349361249, 0.8707584360185722, 0.5428950289711502, 0.010385818039373926, 1.3052916396911096, -0.7980657233348233},
+        {0.5961044451142268, 0.9891799610436592, 0.103520337898773, -0.8925729420124187, -9.286239046944983, -4.381036417386362},
+        {0.7207578760806951, 0.8522011996794016, 0.33235124180198755, 0.5668134800855053, -8.015209467110713, -4.241544170240514},
+        {0.8221155072978322, 0.09866985673175771, 0.893992075582147, 1.9065250779915293, 0.5096799376170044, 9.352409710610655},
+        {0.7899743308949144, 0.10564936728397874, 0.88400457087297, 2.425545684641561, 2.07487444078564, 5.299418484666063},
+    };
+
+    private static void assertValues(final NoiseModule module, final double[] expected) {
+        for (int i = 0; i < SimplexTest.POINTS.length; i++) {
+            final double[] point = SimplexTest.POINTS[i];
+            Assertions.assertEquals(expected[i], module.get(point[0], point[1], point[2]));
+        }
+        final double[] gradient = new double[3];
+        final double[] point = SimplexTest.POINTS[0];
+        Assertions.assertEquals(expected[0], module.get(point[0], point[1], point[2], gradient));
+        Assertions.assertEquals(expected[3], gradient[0]);
+        Assertions.assertEquals(expected[4], gradient[1]);
+        Assertions.assertEquals(expected[5], gradient[2]);
+    }
+
+    @Test
+    public void testSimplexGoldenValues() {
+        for (final LatticeOrientation orientation : LatticeOrientation.values()) {
+            for (final NoiseQualitySimplex quality : NoiseQualitySimplex.values()) {
+                final Simplex simplex = new Simplex();
+                simplex.setLatticeOrientation(orientation);
+                simplex.setNoiseQuality(quality);
+                simplex.setSeed(1729);
+                final int row = orientation.ordinal() * NoiseQualitySimplex.values().length + quality.ordinal();
+                SimplexTest.assertValues(simplex, SimplexTest.SIMPLEX_VALUES[row]);
+            }
+        }
+    }
+
+    @Test
+    public void testRidgedMultiSimplexGoldenValues() {
+        for (final LatticeOrientation orientation : LatticeOrientation.values()) {
+            for (final NoiseQualitySimplex quality : NoiseQualitySimplex.values()) {
+                final RidgedMultiSimplex ridged = new RidgedMultiSimplex();
+                ridged.setLatticeOrientation(orientation);
+                ridged.setNoiseQuality(quality);
+                ridged.setSeed(-42);
+                final int row = orientation.ordinal() * NoiseQualitySimplex.values().length + quality.ordinal();
+                SimplexTest.assertValues(ridged, SimplexTest.RIDGED_VALUES[row]);
+            }
+        }
+    }
+
+}
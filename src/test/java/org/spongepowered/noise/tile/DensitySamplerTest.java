@@ -0,0 +1,124 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.source.Perlin;
+
+public class DensitySamplerTest {
+
+    // Counts the input values that reach the source module.
+    private static final class CountingModule extends NoiseModule {
+        private final NoiseModule source = new Perlin();
+        int count;
+
+        CountingModule() {
+            super(0);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z) {
+            this.count++;
+            return this.source.get(x, y, z);
+        }
+    }
+
+    @Test
+    public void testInterpolatesCorners() {
+        final Perlin perlin = new Perlin();
+        final DensitySampler sampler = new DensitySampler(perlin);
+        sampler.setSize(8, 16, 8, 4, 8, 2);
+        sampler.setOrigin(0.25, -3.0, 1.5);
+        sampler.setSpacing(0.125);
+        final double[] samples = sampler.sample(-1, 2, 3);
+        Assertions.assertEquals(sampler.chunkSampleCount(), samples.length);
+        for (int k = 0; k < 8; k++) {
+            for (int j = 0; j < 16; j++) {
+                for (int i = 0; i < 8; i++) {
+                    final double x = 0.25 + (-8 + i) * 0.125;
+                    final double y = -3.0 + (32 + j) * 0.125;
+                    final double z = 1.5 + (24 + k) * 0.125;
+                    final double sample = samples[i + 8 * (j + 16 * k)];
+                    if (i % 4 == 0 && j % 8 == 0 && k % 2 == 0) {
+                        Assertions.assertEquals(perlin.get(x, y, z), sample);
+                    } else {
+                        // Trilinear interpolation stays within the range of the corners.
+                        final double x0 = x - (i % 4) * 0.125;
+                        final double y0 = y - (j % 8) * 0.125;
+                        final double z0 = z - (k % 2) * 0.125;
+                        double min = Double.POSITIVE_INFINITY;
+                        double max = Double.NEGATIVE_INFINITY;
+                        for (int corner = 0; corner < 8; corner++) {
+                            final double value = perlin.get(x0 + (corner & 1) * 0.5, y0 + (corner >> 1 & 1), z0 + (corner >> 2) * 0.25);
+                            min = Math.min(min, value);
+                            max = Math.max(max, value);
+                        }
+                        Assertions.assertTrue(sample >= min - 1e-12 && sample <= max + 1e-12);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSharesCorners() {
+        final CountingModule module = new CountingModule();
+        final DensitySampler sampler = new DensitySampler(module);
+        // 5 x 3 x 5 corners per chunk.
+        sampler.setSize(16, 16, 16, 4, 8, 4);
+
+        final double[] first = sampler.sample(0, 0, 0);
+        Assertions.assertEquals(75, module.count);
+        // The neighbour along x shares a face of 3 x 5 corners.
+        final double[] second = sampler.sample(1, 0, 0);
+        Assertions.assertEquals(75 + 60, module.count);
+        // A chunk that was sampled before is not evaluated again.
+        Assertions.assertArrayEquals(first, sampler.sample(0, 0, 0));
+        Assertions.assertEquals(75 + 60, module.count);
+
+        // Copied corners give the same samples as evaluated ones.
+        final DensitySampler uncached = new DensitySampler(new Perlin());
+        uncached.setSize(16, 16, 16, 4, 8, 4);
+        uncached.setCacheSize(0);
+        Assertions.assertArrayEquals(second, uncached.sample(1, 0, 0));
+        Assertions.assertArrayEquals(first, uncached.sample(0, 0, 0));
+    }
+
+    @Test
+    public void testInvalidSizes() {
+        final DensitySampler sampler = new DensitySampler(new Perlin());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sampler.setSize(16, 16, 16, 0, 8, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sampler.setSize(16, 12, 16, 4, 8, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sampler.sample(0, 0, 0, new double[4096], 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sampler.setSpacing(0.0));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.model.Plane;
+import org.spongepowered.noise.module.source.Perlin;
+
+public class SlidingWindowTest {
+
+    @Test
+    public void testRendersExposedTiles() {
+        final Perlin perlin = new Perlin();
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(4, 2, 3);
+        layout.setTileCount(4, 2, 3);
+        layout.setOrigin(0.5, -1.0, 2.0);
+        layout.setSpacing(0.25);
+        final SlidingWindow window = new SlidingWindow(perlin, layout);
+        Assertions.assertFalse(window.contains(0, 0, 0));
+
+        Assertions.assertEquals(24, window.moveTo(0, 0, 0));
+        Assertions.assertEquals(0, window.moveTo(0, 0, 0));
+        // One slab of 2 x 3 tiles is exposed along x.
+        Assertions.assertEquals(6, window.moveTo(1, 0, 0));
+        // Moving back along x and forward along y keeps 3 x 1 x 3 tiles.
+        Assertions.assertEquals(24 - 3 * 1 * 3, window.moveTo(0, 1, 0));
+        Assertions.assertEquals(24, window.moveTo(-10, 5, 7));
+
+        final double[] tile = new double[layout.tileSampleCount()];
+        for (int tz = 7; tz < 10; tz++) {
+            for (int ty = 5; ty < 7; ty++) {
+                for (int tx = -10; tx < -6; tx++) {
+                    window.copyTile(tx, ty, tz, tile, 0);
+                    for (int k = 0; k < 3; k++) {
+                        for (int j = 0; j < 2; j++) {
+                            for (int i = 0; i < 4; i++) {
+                                final double expected = perlin.get(0.5 + (tx * 4) * 0.25 + i * 0.25, -1.0 + (ty * 2) * 0.25 + j * 0.25,
+                                    2.0 + (tz * 3) * 0.25 + k * 0.25);
+                                Assertions.assertEquals(expected, tile[i + 4 * (j + 2 * k)]);
+                                Assertions.assertEquals(expected, window.get(tx, ty, tz, i, j, k));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> window.copyTile(-11, 5, 7, tile, 0));
+
+        window.invalidate();
+        Assertions.assertFalse(window.contains(-10, 5, 7));
+        Assertions.assertEquals(24, window.moveTo(-10, 5, 7));
+    }
+
+    @Test
+    public void testPlane() {
+        final Plane plane = new Plane(new Perlin());
+        final TileLayout layout = new TileLayout();
+        layout.setTileCount(3, 1, 3);
+        final SlidingWindow window = new SlidingWindow(plane, layout);
+        Assertions.assertEquals(9, window.moveTo(0, 0));
+        Assertions.assertEquals(3, window.moveTo(0, 1));
+        Assertions.assertEquals(plane.get(16 + 5, 48 + 7), window.get(1, 0, 3, 5, 0, 7));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> window.moveTo(0, 1, 0));
+
+        final TileLayout volume = new TileLayout();
+        volume.setTileSize(16, 2, 16);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SlidingWindow(plane, volume));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class TileOrderTest {
+
+    @Test
+    public void testOrdersArePermutations() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileCount(5, 3, 4);
+        for (final TileOrder order : TileOrder.values()) {
+            final int[] tiles = order.order(layout, 1, 1, 2);
+            Arrays.sort(tiles);
+            for (int i = 0; i < tiles.length; i++) {
+                Assertions.assertEquals(i, tiles[i], order.name());
+            }
+            Assertions.assertEquals(5 * 3 * 4, tiles.length, order.name());
+        }
+    }
+
+    @Test
+    public void testZOrder() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileCount(4, 1, 2);
+        Assertions.assertArrayEquals(new int[] {0, 1, 4, 5, 2, 3, 6, 7},
+            TileOrder.Z_ORDER.order(layout, 0, 0, 0));
+    }
+
+    @Test
+    public void testSpiralStartsAtFocus() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileCount(5, 1, 5);
+        final int[] tiles = TileOrder.SPIRAL.order(layout, 2, 0, 2);
+        Assertions.assertEquals(layout.tileIndex(2, 0, 2), tiles[0]);
+        for (int n = 1; n < 9; n++) {
+            final int tileX = tiles[n] % 5;
+            final int tileZ = tiles[n] / 5;
+            Assertions.assertTrue(Math.abs(tileX - 2) <= 1 && Math.abs(tileZ - 2) <= 1);
+        }
+    }
+
+    @Test
+    public void testMortonRoundTrip() {
+        for (final int value : new int[] {0, 1, 5, 1000, (1 << 21) - 1}) {
+            Assertions.assertEquals(value, TileOrder.compact(TileOrder.spread(value)));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.util.Arrays;
+
+public class TileRendererTest {
+
+    @Test
+    public void testTraversalVisitsEverySample() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(10, 3, 7);
+        for (final TileOrder order : TileOrder.values()) {
+            layout.setTraversal(order, 4);
+            final int[] samples = TileRenderer.traversalOrder(layout);
+            final boolean[] visited = new boolean[layout.tileSampleCount()];
+            for (final int sample : samples) {
+                Assertions.assertFalse(visited[sample], order.name());
+                visited[sample] = true;
+            }
+            Assertions.assertEquals(visited.length, samples.length, order.name());
+        }
+    }
+
+    @Test
+    public void testTraversalVisitsBlocksTogether() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(8, 1, 8);
+        layout.setTraversal(TileOrder.Z_ORDER, 2);
+        final int[] samples = TileRenderer.traversalOrder(layout);
+        Assertions.assertArrayEquals(new int[] {0, 1, 8, 9, 2, 3, 10, 11, 16, 17, 24, 25}, Arrays.copyOf(samples, 12));
+    }
+
+    @Test
+    public void testTraversalDoesNotChangeSamples() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(20, 5, 30);
+        layout.setOrigin(-3.5, 1.25, 7.0);
+        layout.setSpacing(0.37);
+        final Perlin perlin = new Perlin();
+
+        final double[] expected = new double[layout.tileSampleCount()];
+        new TileRenderer(layout).render(perlin, 1.0, 2.0, 3.0, 0.37, expected, 0, null);
+        for (final TileOrder order : TileOrder.values()) {
+            layout.setTraversal(order, 8);
+            final double[] actual = new double[expected.length + 3];
+            Assertions.assertTrue(new TileRenderer(layout).render(perlin, 1.0, 2.0, 3.0, 0.37, actual, 3, null));
+            for (int n = 0; n < expected.length; n++) {
+                Assertions.assertEquals(expected[n], actual[n + 3], order.name());
+            }
+        }
+    }
+
+    @Test
+    public void testCancellation() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(64, 1, 64);
+        final double[] samples = new double[layout.tileSampleCount()];
+        Assertions.assertFalse(new TileRenderer(layout).render(new Perlin(), 0.0, 0.0, 0.0, 1.0, samples, 0, () -> true));
+    }
+
+    @Test
+    public void testRejectsInvalidTraversal() {
+        final TileLayout layout = new TileLayout();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> layout.setTraversal(TileOrder.Z_ORDER, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> layout.setTraversal(null, 8));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.NoiseModule;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TileServiceTest {
+
+    // Records the first input value of each list of input values.
+    private static final class RecordingModule extends NoiseModule {
+        private final NoiseModule source = new Perlin();
+        final List<Double> starts = new ArrayList<>();
+
+        RecordingModule() {
+            super(0);
+        }
+
+        @Override
+        public double get(final double x, final double y, final double z) {
+            return this.source.get(x, y, z);
+        }
+
+        @Override
+        public void get(final double[] x, final double[] y, final double[] z, final double[] dest, final int offset, final int length) {
+            this.starts.add(x[0]);
+            super.get(x, y, z, dest, offset, length);
+        }
+    }
+
+    private static TileLayout layout() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(8, 2, 4);
+        layout.setOrigin(1.0, 2.0, 3.0);
+        layout.setSpacing(0.5);
+        return layout;
+    }
+
+    @Test
+    public void testRendersTiles() throws ExecutionException, InterruptedException {
+        final Perlin perlin = new Perlin();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (final TileService service = new TileService(perlin, TileServiceTest.layout(), executor, 2)) {
+            final CompletableFuture<double[]> full = service.request(-1, 2, 3, 0);
+            final CompletableFuture<double[]> coarse = service.request(-1, 2, 3, 2, 0);
+            final double[] fullSamples = full.get();
+            final double[] coarseSamples = coarse.get();
+            for (int k = 0; k < 4; k++) {
+                for (int j = 0; j < 2; j++) {
+                    for (int i = 0; i < 8; i++) {
+                        final int index = i + 8 * (j + 2 * k);
+                        Assertions.assertEquals(perlin.get(1.0 + -8 * 0.5 + i * 0.5, 2.0 + 4 * 0.5 + j * 0.5, 3.0 + 12 * 0.5 + k * 0.5), fullSamples[index]);
+                        Assertions.assertEquals(perlin.get(1.0 + -8 * 2.0 + i * 2.0, 2.0 + 4 * 2.0 + j * 2.0, 3.0 + 12 * 2.0 + k * 2.0), coarseSamples[index]);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRendersLargeTiles() throws ExecutionException, InterruptedException {
+        final Perlin perlin = new Perlin();
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(40, 1, 30);
+        layout.setTraversal(TileOrder.Z_ORDER, 8);
+        final Queue<Runnable> pending = new ArrayDeque<>();
+        final TileService service = new TileService(perlin, layout, pending::add, 1);
+        final CompletableFuture<double[]> tile = service.request(1, 0, 2, 0);
+        pending.remove().run();
+        final double[] samples = tile.get();
+        for (int k = 0; k < 30; k++) {
+            for (int i = 0; i < 40; i++) {
+                Assertions.assertEquals(perlin.get(40 + i, 0.0, 60 + k), samples[i + 40 * k]);
+            }
+        }
+    }
+
+    @Test
+    public void testScheduling() throws ExecutionException, InterruptedException {
+        final RecordingModule module = new RecordingModule();
+        final Queue<Runnable> pending = new ArrayDeque<>();
+        final TileService service = new TileService(module, TileServiceTest.layout(), pending::add, 1);
+
+        // The first request is handed to the executor immediately.
+        final CompletableFuture<double[]> first = service.request(0, 0, 0, 0);
+        final CompletableFuture<double[]> low = service.request(1, 0, 0, 1);
+        final CompletableFuture<double[]> high = service.request(2, 0, 0, 5);
+        final CompletableFuture<double[]> cancelled = service.request(3, 0, 0, 9);
+        final CompletableFuture<double[]> duplicate = service.request(1, 0, 0, 3);
+        Assertions.assertEquals(1, pending.size());
+        Assertions.assertEquals(4, service.pendingCount());
+
+        // Cancelling the only request for a tile removes it from the queue.
+        cancelled.cancel(false);
+        Assertions.assertEquals(3, service.pendingCount());
+        // A tile with a cancelled request is still rendered for the others.
+        final CompletableFuture<double[]> shared = service.request(2, 0, 0, 0);
+        shared.cancel(false);
+
+        while (!pending.isEmpty()) {
+            pending.poll().run();
+        }
+        // Tiles are rendered by priority, and each tile is rendered once.
+        final List<Double> expected = new ArrayList<>();
+        expected.add(1.0);
+        expected.add(1.0 + 2 * 8 * 0.5);
+        expected.add(1.0 + 8 * 0.5);
+        Assertions.assertEquals(expected, module.starts);
+        Assertions.assertArrayEquals(low.get(), duplicate.get());
+        Assertions.assertTrue(first.isDone() && high.isDone());
+        Assertions.assertTrue(cancelled.isCancelled());
+        Assertions.assertEquals(0, service.pendingCount());
+
+        final CompletableFuture<double[]> queued = service.request(4, 0, 0, 0);
+        service.close();
+        Assertions.assertTrue(queued.isCompletedExceptionally());
+        Assertions.assertTrue(service.request(5, 0, 0, 0).isCompletedExceptionally());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.request(0, 0, 0, 31, 0));
+    }
+}
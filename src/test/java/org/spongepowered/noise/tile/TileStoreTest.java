@@ -0,0 +1,217 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.model.Plane;
+import org.spongepowered.noise.module.ModuleFingerprint;
+import org.spongepowered.noise.module.source.Const;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TileStoreTest {
+
+    private static TileLayout layout() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(4, 3, 2);
+        layout.setTileCount(2, 1, 2);
+        layout.setOrigin(1.0, 2.0, 3.0);
+        layout.setSpacing(0.5);
+        return layout;
+    }
+
+    private static TileLayout planeLayout() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(5, 1, 3);
+        layout.setTileCount(2, 1, 2);
+        layout.setOrigin(-1.0, 7.0, 2.0);
+        layout.setSpacing(0.25);
+        return layout;
+    }
+
+    private static void assertTile(final Perlin perlin, final TileLayout layout, final ByteBuffer tile, final int tileX, final int tileY, final int tileZ) {
+        final boolean floats = layout.elementType() == TileLayout.ElementType.FLOAT;
+        final double spacing = layout.spacing();
+        for (int k = 0; k < layout.tileDepth(); k++) {
+            for (int j = 0; j < layout.tileHeight(); j++) {
+                for (int i = 0; i < layout.tileWidth(); i++) {
+                    final int index = i + layout.tileWidth() * (j + layout.tileHeight() * k);
+                    final double expected = perlin.get(
+                        layout.originX() + (tileX * layout.tileWidth() + i) * spacing,
+                        layout.originY() + (tileY * layout.tileHeight() + j) * spacing,
+                        layout.originZ() + (tileZ * layout.tileDepth() + k) * spacing);
+                    if (floats) {
+                        Assertions.assertEquals((float) expected, tile.getFloat(index * Float.BYTES));
+                    } else {
+                        Assertions.assertEquals(expected, tile.getDouble(index * Double.BYTES));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final Perlin perlin = new Perlin();
+        final long fingerprint = ModuleFingerprint.of(perlin).toLong();
+        for (final TileLayout.ElementType type : TileLayout.ElementType.values()) {
+            final TileLayout layout = TileStoreTest.layout();
+            layout.setElementType(type);
+            final Path path = Files.createTempFile("tiles", ".bin");
+            try (final TileStore store = TileStore.open(path, layout, fingerprint, perlin.seed())) {
+                Assertions.assertFalse(store.contains(1, 0, 1));
+                Assertions.assertThrows(RuntimeException.class, () -> store.tile(1, 0, 1));
+                TileStoreTest.assertTile(perlin, layout, store.tile(perlin, 1, 0, 1), 1, 0, 1);
+                Assertions.assertTrue(store.contains(1, 0, 1));
+                Assertions.assertFalse(store.contains(0, 0, 1));
+                store.render(perlin, 0, 0, 0);
+                TileStoreTest.assertTile(perlin, layout, store.tile(0, 0, 0), 0, 0, 0);
+                Assertions.assertThrows(IllegalArgumentException.class, () -> store.render(perlin, 2, 0, 0));
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testManyTiles() throws IOException {
+        // More tiles than the default limit of memory mappings per process on
+        // Linux, so the store must not map each tile separately.
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(4, 1, 4);
+        layout.setTileCount(257, 1, 256);
+        layout.setElementType(TileLayout.ElementType.FLOAT);
+        final Const constant = new Const();
+        final Path path = Files.createTempFile("tiles", ".bin");
+        try (final TileStore store = TileStore.open(path, layout, 0L, 0)) {
+            for (int tileZ = 0; tileZ < layout.tileCountZ(); tileZ++) {
+                for (int tileX = 0; tileX < layout.tileCountX(); tileX++) {
+                    constant.setValue(tileX - tileZ);
+                    store.render(constant, tileX, 0, tileZ);
+                }
+            }
+            for (int tileZ = 0; tileZ < layout.tileCountZ(); tileZ++) {
+                for (int tileX = 0; tileX < layout.tileCountX(); tileX++) {
+                    final ByteBuffer tile = store.tile(tileX, 0, tileZ);
+                    Assertions.assertEquals(layout.tileSampleCount() * Float.BYTES, tile.remaining());
+                    Assertions.assertEquals(tileX - tileZ, tile.getFloat(0));
+                    Assertions.assertEquals(tileX - tileZ, tile.getFloat(tile.limit() - Float.BYTES));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testReopenKeepsTiles() throws IOException {
+        final Perlin perlin = new Perlin();
+        final long fingerprint = ModuleFingerprint.of(perlin).toLong();
+        final TileLayout layout = TileStoreTest.layout();
+        final Path path = Files.createTempFile("tiles", ".bin");
+        try {
+            try (final TileStore store = TileStore.open(path, layout, fingerprint, perlin.seed())) {
+                store.render(perlin, 1, 0, 0);
+            }
+            try (final TileStore store = TileStore.open(path, layout, fingerprint, perlin.seed())) {
+                Assertions.assertTrue(store.contains(1, 0, 0));
+                Assertions.assertFalse(store.contains(0, 0, 0));
+                TileStoreTest.assertTile(perlin, layout, store.tile(1, 0, 0), 1, 0, 0);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testReopenClearsTiles() throws IOException {
+        final Perlin perlin = new Perlin();
+        final long fingerprint = ModuleFingerprint.of(perlin).toLong();
+        final TileLayout layout = TileStoreTest.layout();
+        final TileLayout moved = TileStoreTest.layout();
+        moved.setOrigin(1.0, 2.0, 4.0);
+        final TileLayout narrowed = TileStoreTest.layout();
+        narrowed.setElementType(TileLayout.ElementType.FLOAT);
+        final Path path = Files.createTempFile("tiles", ".bin");
+        try {
+            try (final TileStore store = TileStore.open(path, layout, fingerprint, perlin.seed())) {
+                store.render(perlin, 1, 0, 0);
+            }
+            try (final TileStore store = TileStore.open(path, layout, fingerprint + 1, perlin.seed())) {
+                Assertions.assertFalse(store.contains(1, 0, 0), "fingerprint");
+                store.render(perlin, 1, 0, 0);
+            }
+            try (final TileStore store = TileStore.open(path, layout, fingerprint + 1, perlin.seed() + 1)) {
+                Assertions.assertFalse(store.contains(1, 0, 0), "seed");
+                store.render(perlin, 1, 0, 0);
+            }
+            try (final TileStore store = TileStore.open(path, moved, fingerprint + 1, perlin.seed() + 1)) {
+                Assertions.assertFalse(store.contains(1, 0, 0), "origin");
+                store.render(perlin, 1, 0, 0);
+            }
+            try (final TileStore store = TileStore.open(path, narrowed, fingerprint + 1, perlin.seed() + 1)) {
+                Assertions.assertFalse(store.contains(1, 0, 0), "element type");
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testRenderPlane() throws IOException {
+        final Perlin perlin = new Perlin();
+        final Plane plane = new Plane(perlin);
+        final long fingerprint = ModuleFingerprint.of(perlin).toLong();
+        final Path path = Files.createTempFile("tiles", ".bin");
+        try {
+            final TileLayout layout = TileStoreTest.planeLayout();
+            try (final TileStore store = TileStore.open(path, layout, fingerprint, perlin.seed())) {
+                store.render(plane, 1, 1);
+                final ByteBuffer tile = store.tile(1, 0, 1);
+                for (int k = 0; k < 3; k++) {
+                    for (int i = 0; i < 5; i++) {
+                        Assertions.assertEquals(plane.get(-1.0 + (5 + i) * 0.25, 2.0 + (3 + k) * 0.25), tile.getDouble((i + 5 * k) * Double.BYTES));
+                    }
+                }
+            }
+            try (final TileStore store = TileStore.open(path, TileStoreTest.layout(), fingerprint, perlin.seed())) {
+                Assertions.assertThrows(IllegalArgumentException.class, () -> store.render(plane, 0, 0));
+                Assertions.assertFalse(store.contains(0, 0, 0));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.module;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+public class SegmentTargetTest {
+
+    // Marks the elements of a segment that must not be written.
+    private static final float UNTOUCHED_FLOAT = -1234.5f;
+    private static final double UNTOUCHED_DOUBLE = -1234.5;
+
+    @Test
+    public void testStridedFloats() {
+        // Vertices of four floats, with the output values in the third one.
+        final int vertexCount = 7;
+        final long stride = 4 * Float.BYTES;
+        final Perlin perlin = new Perlin();
+        try (final Arena arena = Arena.ofConfined()) {
+            final MemorySegment segment = arena.allocate(vertexCount * stride, Float.BYTES);
+            for (long position = 0; position < segment.byteSize(); position += Float.BYTES) {
+                segment.set(ValueLayout.JAVA_FLOAT, position, SegmentTargetTest.UNTOUCHED_FLOAT);
+            }
+            final SegmentTarget target = SegmentTarget.ofFloats(segment, ValueLayout.JAVA_FLOAT, 2 * Float.BYTES, stride);
+            Assertions.assertEquals(vertexCount, target.elementCount());
+
+            final double[] x = new double[vertexCount + 2];
+            final double[] y = new double[vertexCount + 2];
+            final double[] z = new double[vertexCount + 2];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = i * 0.37 - 1.0;
+                y[i] = i * -0.21;
+                z[i] = 2.5 + i * 0.05;
+            }
+            final double[] xCopy = x.clone();
+            target.get(perlin, x, y, z, 2, vertexCount - 1, 1);
+            target.set(0, 0.125);
+
+            Assertions.assertArrayEquals(xCopy, x);
+            Assertions.assertEquals(0.125f, segment.get(ValueLayout.JAVA_FLOAT, 2 * Float.BYTES));
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                for (int field = 0; field < 4; field++) {
+                    final float value = segment.get(ValueLayout.JAVA_FLOAT, vertex * stride + field * Float.BYTES);
+                    if (field != 2) {
+                        Assertions.assertEquals(SegmentTargetTest.UNTOUCHED_FLOAT, value);
+                    } else if (vertex > 0) {
+                        final int input = vertex + 1;
+                        Assertions.assertEquals((float) perlin.get(x[input], y[input], z[input]), value);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testContiguousDoublesSpanBlocks() {
+        // The grid holds more output values than a single block.
+        final int width = 20;
+        final int height = 13;
+        final int depth = 5;
+        final int first = 3;
+        final int count = width * height * depth;
+        final Perlin perlin = new Perlin();
+        try (final Arena arena = Arena.ofConfined()) {
+            final MemorySegment segment = arena.allocate((long) (count + first + 4) * Double.BYTES, Double.BYTES);
+            for (long position = 0; position < segment.byteSize(); position += Double.BYTES) {
+                segment.set(ValueLayout.JAVA_DOUBLE, position, SegmentTargetTest.UNTOUCHED_DOUBLE);
+            }
+            final SegmentTarget target = SegmentTarget.ofDoubles(segment);
+            Assertions.assertEquals(count + first + 4, target.elementCount());
+            target.fill(perlin, -1.5, 0.25, 3.0, 0.1, 0.2, 0.3, width, height, depth, first);
+
+            for (int element = 0; element < target.elementCount(); element++) {
+                final double value = segment.getAtIndex(ValueLayout.JAVA_DOUBLE, element);
+                final int n = element - first;
+                if (n < 0 || n >= count) {
+                    Assertions.assertEquals(SegmentTargetTest.UNTOUCHED_DOUBLE, value);
+                } else {
+                    final int i = n % width;
+                    final int j = (n / width) % height;
+                    final int k = n / (width * height);
+                    Assertions.assertEquals(perlin.get(-1.5 + i * 0.1, 0.25 + j * 0.2, 3.0 + k * 0.3), value);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final Perlin perlin = new Perlin();
+        final double[] coordinates = new double[8];
+        try (final Arena arena = Arena.ofConfined()) {
+            final MemorySegment segment = arena.allocate(8 * Double.BYTES, Double.BYTES);
+            final SegmentTarget doubles = SegmentTarget.ofDoubles(segment);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> doubles.set(8, 0.0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> doubles.set(-1, 0.0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> doubles.get(perlin, coordinates, coordinates, coordinates, 0, 8, 1));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> doubles.get(perlin, coordinates, coordinates, coordinates, 4, 5, 0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> doubles.get(perlin, coordinates, coordinates, coordinates, 0, -1, 0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> doubles.fill(perlin, 0.0, 0.0, 0.0, 1.0, 1.0, 1.0, 3, 3, 1, 0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> doubles.fill(perlin, 0.0, 0.0, 0.0, 1.0, 1.0, 1.0, -1, 1, 1, 0));
+
+            // The last element of a strided target only needs room for itself.
+            final SegmentTarget floats = SegmentTarget.ofFloats(segment, ValueLayout.JAVA_FLOAT, 4, 12);
+            Assertions.assertEquals(5, floats.elementCount());
+            floats.set(4, 1.0);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> floats.set(5, 1.0));
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> SegmentTarget.ofDoubles(segment, ValueLayout.JAVA_DOUBLE, -8, 8));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> SegmentTarget.ofFloats(segment, ValueLayout.JAVA_FLOAT, 0, 2));
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * This file is part of Noise, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Flow Powered <https://github.com/flow>
+ * Copyright (c) SpongePowered <https://github.com/SpongePowered>
+ * Copyright (c) contributors
+ *
+ * Original libnoise C++ library by Jason Bevins <http://libnoise.sourceforge.net>
+ * jlibnoise Java port by Garrett Fleenor <https://github.com/RoyAwesome/jlibnoise>
+ * Noise is re-licensed with permission from jlibnoise author.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.noise.tile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.noise.module.source.Perlin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+
+public class TilePublisherTest {
+
+    // Records the signals it receives, and requests more tiles or cancels
+    // from its callbacks if asked to.
+    private static final class RecordingSubscriber implements Flow.Subscriber<TilePublisher.Tile> {
+        final List<TilePublisher.Tile> tiles = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        int completions = 0;
+        Flow.Subscription subscription;
+        int cancelAfter = -1;
+        long requestOnNext = 0;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final TilePublisher.Tile item) {
+            this.tiles.add(item);
+            if (this.tiles.size() == this.cancelAfter) {
+                this.subscription.cancel();
+            }
+            if (this.requestOnNext > 0) {
+                this.subscription.request(this.requestOnNext);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.errors.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            this.completions++;
+        }
+    }
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private static TileLayout layout() {
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(4, 1, 2);
+        layout.setTileCount(3, 1, 2);
+        layout.setOrigin(1.0, 2.0, 3.0);
+        layout.setSpacing(0.5);
+        return layout;
+    }
+
+    @Test
+    public void testBoundedDemand() {
+        final TilePublisher publisher = new TilePublisher(new Perlin(), TilePublisherTest.layout(), TilePublisherTest.DIRECT);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        Assertions.assertTrue(subscriber.tiles.isEmpty());
+
+        subscriber.subscription.request(2);
+        Assertions.assertEquals(2, subscriber.tiles.size());
+        Assertions.assertEquals(0, subscriber.completions);
+
+        subscriber.subscription.request(3);
+        Assertions.assertEquals(5, subscriber.tiles.size());
+        Assertions.assertEquals(0, subscriber.completions);
+        Assertions.assertTrue(subscriber.errors.isEmpty());
+    }
+
+    @Test
+    public void testCompletesAfterLastTile() {
+        final Perlin perlin = new Perlin();
+        final TilePublisher publisher = new TilePublisher(perlin, TilePublisherTest.layout(), TilePublisherTest.DIRECT);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        subscriber.requestOnNext = 1;
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        Assertions.assertEquals(6, subscriber.tiles.size());
+        Assertions.assertEquals(1, subscriber.completions);
+        Assertions.assertTrue(subscriber.errors.isEmpty());
+        for (int t = 0; t < 6; t++) {
+            final TilePublisher.Tile tile = subscriber.tiles.get(t);
+            // The default order is a scanline over the tiles.
+            Assertions.assertEquals(t % 3, tile.x());
+            Assertions.assertEquals(t / 3, tile.z());
+            for (int k = 0; k < 2; k++) {
+                for (int i = 0; i < 4; i++) {
+                    Assertions.assertEquals(perlin.get(1.0 + (tile.x() * 4 + i) * 0.5, 2.0, 3.0 + (tile.z() * 2 + k) * 0.5), tile.samples()[i + 4 * k]);
+                }
+            }
+        }
+
+        // No signals follow completion.
+        subscriber.subscription.request(1);
+        Assertions.assertEquals(6, subscriber.tiles.size());
+        Assertions.assertEquals(1, subscriber.completions);
+    }
+
+    @Test
+    public void testCancelPartWay() {
+        final TilePublisher publisher = new TilePublisher(new Perlin(), TilePublisherTest.layout(), TilePublisherTest.DIRECT);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        subscriber.cancelAfter = 2;
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        Assertions.assertEquals(2, subscriber.tiles.size());
+        Assertions.assertEquals(0, subscriber.completions);
+        Assertions.assertTrue(subscriber.errors.isEmpty());
+
+        subscriber.subscription.request(1);
+        Assertions.assertEquals(2, subscriber.tiles.size());
+    }
+
+    @Test
+    public void testErrorOnNonPositiveRequest() {
+        final TilePublisher publisher = new TilePublisher(new Perlin(), TilePublisherTest.layout(), TilePublisherTest.DIRECT);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        Assertions.assertTrue(subscriber.tiles.isEmpty());
+        Assertions.assertEquals(1, subscriber.errors.size());
+        Assertions.assertTrue(subscriber.errors.get(0) instanceof IllegalArgumentException);
+
+        // No signals follow the error.
+        subscriber.subscription.request(1);
+        subscriber.subscription.request(-1);
+        Assertions.assertTrue(subscriber.tiles.isEmpty());
+        Assertions.assertEquals(1, subscriber.errors.size());
+        Assertions.assertEquals(0, subscriber.completions);
+    }
+
+    @Test
+    public void testErrorOnRejectedExecution() {
+        final Executor rejecting = command -> {
+            throw new RejectedExecutionException();
+        };
+        final TilePublisher publisher = new TilePublisher(new Perlin(), TilePublisherTest.layout(), rejecting);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        Assertions.assertTrue(subscriber.tiles.isEmpty());
+        Assertions.assertEquals(1, subscriber.errors.size());
+        Assertions.assertTrue(subscriber.errors.get(0) instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testRendersLargeTiles() {
+        final Perlin perlin = new Perlin();
+        final TileLayout layout = new TileLayout();
+        layout.setTileSize(40, 1, 30);
+        layout.setTileCount(2, 1, 1);
+        final TilePublisher publisher = new TilePublisher(perlin, layout, TilePublisherTest.DIRECT);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(2);
+
+        Assertions.assertEquals(2, subscriber.tiles.size());
+        final double[] samples = subscriber.tiles.get(1).samples();
+        for (int k = 0; k < 30; k++) {
+            for (int i = 0; i < 40; i++) {
+                Assertions.assertEquals(perlin.get(40 + i, 0.0, k), samples[i + 40 * k]);
+            }
+        }
+    }
+}